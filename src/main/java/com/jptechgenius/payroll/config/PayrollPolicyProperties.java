@@ -0,0 +1,44 @@
+package com.jptechgenius.payroll.config;
+
+import com.jptechgenius.payroll.engine.PayrollStageType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [Payroll Policy Config]
+ * -----------------------
+ * Company-r salary niyom gula ekhon code e hard-code na, application.properties e thake
+ * ('app.payroll.policy.*'). Onno company/subsidiary r jonno alada profile
+ * (application-<company>.properties) diye niyom bodlano jay - code change lage na.
+ * * Run shuru howar somoy PayrollInputLoader eta CompiledPayrollPolicy te compile kore.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.payroll.policy")
+public class PayrollPolicyProperties {
+
+    // Saptahik chutir din (ekadhik hote pare, jemon FRIDAY,SATURDAY)
+    private List<DayOfWeek> weekendDays = new ArrayList<>(List.of(DayOfWeek.FRIDAY));
+
+    // Office koto ghonta (hourly rate = daily rate / hoursPerDay)
+    private int hoursPerDay = 8;
+
+    // Overtime e regular hourly rate er koto gun
+    private BigDecimal overtimeMultiplier = new BigDecimal("1.5");
+
+    // Payable basic er upor tax (percent, doshomik chole: 2.5)
+    private BigDecimal taxPercent = new BigDecimal("5");
+
+    // Pipeline order: age earnings, tarpor deductions
+    private List<PayrollStageType> earnings = new ArrayList<>(List.of(
+            PayrollStageType.BASIC_PRORATED, PayrollStageType.OVERTIME));
+
+    private List<PayrollStageType> deductions = new ArrayList<>(List.of(
+            PayrollStageType.TAX, PayrollStageType.PENALTY, PayrollStageType.FIXED_DEDUCTION));
+}
@@ -1,9 +1,11 @@
 package com.jptechgenius.payroll.controller;
 
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
 import com.jptechgenius.payroll.model.Attendance;
 import com.jptechgenius.payroll.model.Employee;
 import com.jptechgenius.payroll.repository.AttendanceRepository;
 import com.jptechgenius.payroll.repository.EmployeeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -19,10 +21,13 @@ public class AdminDisputeController {
 
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher events;
 
-    public AdminDisputeController(AttendanceRepository attendanceRepository, EmployeeRepository employeeRepository) {
+    public AdminDisputeController(AttendanceRepository attendanceRepository, EmployeeRepository employeeRepository,
+                                  ApplicationEventPublisher events) {
         this.attendanceRepository = attendanceRepository;
         this.employeeRepository = employeeRepository;
+        this.events = events;
     }
 
     // 1. Show Dispute List
@@ -60,6 +65,10 @@ public class AdminDisputeController {
             return "redirect:/admin/disputes";
         }
 
+        // Counter (dispute/present badge) er jonno ager obostha
+        boolean wasPresent = att.isPresent();
+        String fromStatus = att.getStatus();
+
         if ("ACCEPT".equals(action)) {
             // Admin mene niyeche: TAKE PRESENT KORE DAO
             att.setPresent(true);
@@ -79,6 +88,7 @@ public class AdminDisputeController {
         }
 
         attendanceRepository.save(att);
+        events.publishEvent(AttendanceChangedEvent.of(wasPresent, fromStatus, att));
         return "redirect:/admin/disputes";
     }
 }
\ No newline at end of file
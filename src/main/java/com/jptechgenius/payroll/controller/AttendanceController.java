@@ -1,16 +1,21 @@
 package com.jptechgenius.payroll.controller;
 
+import com.jptechgenius.payroll.dto.EmployeeListRow;
+import com.jptechgenius.payroll.dto.KeysetPage;
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
 import com.jptechgenius.payroll.model.Attendance;
 import com.jptechgenius.payroll.model.Employee;
 import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.service.AttendanceService;
 import com.jptechgenius.payroll.service.EmployeeService;
 import lombok.Data;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,11 +33,16 @@ public class AttendanceController {
 
     private final EmployeeService employeeService;
     private final AttendanceRepository attendanceRepository;
+    private final AttendanceService attendanceService;
+    private final ApplicationEventPublisher events;
 
     // Constructor Injection: Database access er jonno Service ar Repository load kora holo.
-    public AttendanceController(EmployeeService employeeService, AttendanceRepository attendanceRepository) {
+    public AttendanceController(EmployeeService employeeService, AttendanceRepository attendanceRepository,
+                                AttendanceService attendanceService, ApplicationEventPublisher events) {
         this.employeeService = employeeService;
         this.attendanceRepository = attendanceRepository;
+        this.attendanceService = attendanceService;
+        this.events = events;
     }
 
     /**
@@ -40,10 +50,11 @@ public class AttendanceController {
      * Ei choto class ta banano hoise shudhu HTML page e data pathanor subidhar jonno.
      * Ete Employee details ar tar status (Present/Absent) eksathe thake.
      * Database e eta save hoy na, just View er jonno.
+     * employee: EmployeeListRow projection (naam, chobi, contact) - puro Employee entity na.
      */
     @Data
     public static class DailyAttendanceDTO {
-        private Employee employee;
+        private EmployeeListRow employee;
         private String status; // Status: Present, Absent
         private Double overtime;
     }
@@ -51,60 +62,70 @@ public class AttendanceController {
     // ==========================================
     // 1. SHOW ATTENDANCE LIST (Daily Report)
     // ==========================================
+    /**
+     * [Daily Report - One Page]
+     * Employee ra keyset cursor e ek page kore ase (naam/department filter, sort database e),
+     * tarpor shudhu oi page er employee der oi diner hajira. Total/Present/Absent badge COUNT query theke -
+     * puro company er hisab, shudhu ei page er na.
+     */
     @GetMapping("/list")
-    public String showAttendanceList(@RequestParam(value = "date", required = false) String dateStr, Model model) {
+    public String showAttendanceList(@RequestParam(value = "date", required = false) String dateStr,
+                                     @RequestParam(value = "keyword", required = false) String keyword,
+                                     @RequestParam(value = "department", required = false) String department,
+                                     @RequestParam(value = "sort", defaultValue = "name") String sort,
+                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                     @RequestParam(value = "size", required = false) Integer size,
+                                     Model model) {
 
         // 1. Date Selection: User jodi kono date select na kore, tahole automatcally ajker date nibe.
         LocalDate date = (dateStr == null || dateStr.isEmpty()) ? LocalDate.now() : LocalDate.parse(dateStr);
+        int pageSize = KeysetPage.clampSize(size);
 
-        // 2. Fetch Data: Database theke sob Employee ebong oi tarikh er Attendance record niye aslam.
-        List<Employee> employees = employeeService.getAllEmployees();
-        List<Attendance> attendances = attendanceRepository.findByDate(date);
+        // 2. Fetch Data: Ek page employee, ar shudhu tader oi tarikh er Attendance record.
+        // (Bondho mash compact hoye thakle AttendanceService oikhan theke oi din ta ber kore dey.)
+        KeysetPage<EmployeeListRow> employees = employeeService.findEmployeePage(keyword, department, null,
+                EmployeeRepository.directorySort(sort), cursor, pageSize);
+        List<Long> employeeIds = employees.content().stream().map(EmployeeListRow::getId).toList();
 
         // Map Conversion: List theke Map e convert korlam jate Employee ID diye sohojei attendance khuje pawa jay.
         // Eta loop er vitore bar bar database call kora thekay.
-        Map<Long, Attendance> attendanceMap = attendances.stream()
+        Map<Long, Attendance> attendanceMap = attendanceService.findByDateForEmployees(date, employeeIds).stream()
                 .collect(Collectors.toMap(Attendance::getEmployeeId, a -> a));
 
-        List<DailyAttendanceDTO> reportList = new ArrayList<>();
-        int presentCount = 0;
-        int absentCount = 0;
-
-        // 3. Loop Logic: Prottek Employee er jonno check korbo se ajke present kina.
-        for (Employee emp : employees) {
+        // 3. Loop Logic: Prottek Employee er jonno check korbo se oi dine present kina.
+        KeysetPage<DailyAttendanceDTO> reportPage = employees.map(emp -> {
             DailyAttendanceDTO dto = new DailyAttendanceDTO();
             dto.setEmployee(emp);
 
-            // Check korchi ei employee er kono record map e ache kina
-            if (attendanceMap.containsKey(emp.getId())) {
-                Attendance att = attendanceMap.get(emp.getId());
+            Attendance att = attendanceMap.get(emp.getId());
+            if (att != null) {
+                // Case A/B: Record ache - Present ba Admin manual vabe Absent dise
                 dto.setOvertime(att.getOvertimeHours());
-
-                if (att.isPresent()) {
-                    // Case A: Record ache abong 'Present' mark kora
-                    dto.setStatus("Present");
-                    presentCount++;
-                } else {
-                    // Case B: Record ache kintu 'Absent' mark kora (Admin manual vabe absent dise)
-                    dto.setStatus("Absent");
-                    absentCount++;
-                }
+                dto.setStatus(att.isPresent() ? "Present" : "Absent");
             } else {
                 // Case C: Kono record nai -> Tar mane Employee check-in kore nai -> So, ABSENT.
                 dto.setStatus("Absent");
                 dto.setOvertime(0.0);
-                absentCount++; // Count e jog kore dilam
             }
-            // Final list e data add korlam
-            reportList.add(dto);
-        }
+            return dto;
+        });
 
-        // 4. Pass Data: HTML page e sob data pathiye dilam jate table e show kora jay.
-        model.addAttribute("attendanceList", reportList);
+        // 4. Summary: puro company, aggregate query theke
+        long totalCount = employeeService.countEmployees();
+        long presentCount = attendanceService.countPresentOn(date);
+
+        // 5. Pass Data: HTML page e sob data pathiye dilam jate table e show kora jay.
+        model.addAttribute("attendanceList", reportPage.content());
+        model.addAttribute("page", reportPage);
         model.addAttribute("selectedDate", date);
         model.addAttribute("presentCount", presentCount);
-        model.addAttribute("absentCount", absentCount);
-        model.addAttribute("totalCount", employees.size());
+        model.addAttribute("absentCount", Math.max(0, totalCount - presentCount));
+        model.addAttribute("totalCount", totalCount);
+        model.addAttribute("departments", employeeService.getDepartments());
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("department", department);
+        model.addAttribute("sort", sort);
+        model.addAttribute("size", pageSize);
 
         return "attendance/list";
     }
@@ -119,7 +140,7 @@ public class AttendanceController {
 
         List<Employee> employees = employeeService.getAllEmployees();
         // Oi tarikh er joto hajira ache ta niye aslam
-        List<Attendance> existingAttendances = attendanceRepository.findByDate(date);
+        List<Attendance> existingAttendances = attendanceService.findByDate(date);
 
         // Ekta Map banalam jate HTML page e checkbox gula agei 'Checked' dekhate pari jodi tara present thake.
         Map<Long, Attendance> attendanceMap = new HashMap<>();
@@ -145,12 +166,17 @@ public class AttendanceController {
 
         LocalDate localDate = LocalDate.parse(date);
 
+        // Bondho (compact) mash edit korle age daily row e ferot, tarpor nicher sadharon update
+        attendanceService.reopenMonth(employeeId, localDate);
+
         // Check korchi ei date e ei employee er kono record age theke ache kina (Duplicate avoid korar jonno)
         Attendance existing = attendanceRepository.findByEmployeeIdAndDate(employeeId, localDate)
                 .orElse(null);
 
         if (existing != null) {
             // Record thakle just update korbo (Update Mode)
+            boolean wasPresent = existing.isPresent();
+            String fromStatus = existing.getStatus();
             existing.setPresent(isPresent);
             existing.setOvertimeHours(overtimeHours);
 
@@ -162,6 +188,7 @@ public class AttendanceController {
             }
 
             attendanceRepository.save(existing);
+            events.publishEvent(AttendanceChangedEvent.of(wasPresent, fromStatus, existing));
         } else {
             // Record na thakle notun record create korbo (Create Mode)
             Attendance newAtt = new Attendance();
@@ -174,6 +201,7 @@ public class AttendanceController {
             newAtt.setStatus(isPresent ? "PRESENT_MANUAL" : "ABSENT");
 
             attendanceRepository.save(newAtt);
+            events.publishEvent(AttendanceChangedEvent.created(newAtt));
         }
 
         // Kaj sesh hole abar oi date er page ei thakbo
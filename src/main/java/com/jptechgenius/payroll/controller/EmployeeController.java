@@ -1,7 +1,10 @@
 package com.jptechgenius.payroll.controller;
 
+import com.jptechgenius.payroll.dto.EmployeeListRow;
+import com.jptechgenius.payroll.dto.KeysetPage;
 import com.jptechgenius.payroll.model.Employee;
 import com.jptechgenius.payroll.repository.DesignationRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
 import com.jptechgenius.payroll.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
@@ -46,18 +49,30 @@ public class EmployeeController {
 
     /**
      * [View Home Page]
-     * Employee list dekhano hoy. Jodi search keyword thake, tahole filter kore dekhay.
+     * Employee list, ek page kore (keyset cursor). Search, department, status filter ar sort
+     * sob database e hoy - browser e puro table pathano hoy na.
      */
     @GetMapping
-    public String viewHomePage(Model model, @RequestParam(value = "keyword", required = false) String keyword) {
-        if (keyword != null && !keyword.isEmpty()) {
-            // Search box e kichu likhle ei part kaj korbe
-            model.addAttribute("listEmployees", employeeService.searchEmployees(keyword));
-            model.addAttribute("keyword", keyword);
-        } else {
-            // Kichu na likhle sob employee show korbe
-            model.addAttribute("listEmployees", employeeService.getAllEmployees());
-        }
+    public String viewHomePage(Model model,
+                               @RequestParam(value = "keyword", required = false) String keyword,
+                               @RequestParam(value = "department", required = false) String department,
+                               @RequestParam(value = "status", required = false) String status,
+                               @RequestParam(value = "sort", defaultValue = "name") String sort,
+                               @RequestParam(value = "cursor", required = false) String cursor,
+                               @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        KeysetPage<EmployeeListRow> page = employeeService.findEmployeePage(keyword, department, status,
+                EmployeeRepository.directorySort(sort), cursor, pageSize);
+
+        model.addAttribute("listEmployees", page.content());
+        model.addAttribute("page", page);
+        model.addAttribute("departments", employeeService.getDepartments());
+        // Filter form ar Next/Previous link e abar lage
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("department", department);
+        model.addAttribute("status", status);
+        model.addAttribute("sort", sort);
+        model.addAttribute("size", pageSize);
         return "employee/index"; // employee/index.html page load hobe
     }
 
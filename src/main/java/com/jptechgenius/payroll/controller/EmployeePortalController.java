@@ -1,11 +1,15 @@
 package com.jptechgenius.payroll.controller;
 
+import com.jptechgenius.payroll.dto.PortalDashboardView;
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
 import com.jptechgenius.payroll.model.*;
 import com.jptechgenius.payroll.repository.*;
 import com.jptechgenius.payroll.security.CustomUserDetails;
+import com.jptechgenius.payroll.service.EmployeePortalReadModel;
 import com.jptechgenius.payroll.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,6 +19,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.security.Principal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -38,22 +43,22 @@ public class EmployeePortalController {
     private String allowedIpsString;
 
     private final AttendanceRepository attendanceRepository;
-    private final PayrollRepository payrollRepository;
-    private final ChargeSheetRepository chargeSheetRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher events;
+    private final EmployeePortalReadModel portalReadModel;
 
     // Constructor Injection (Sob service gula load kora holo)
     public EmployeePortalController(AttendanceRepository attendanceRepository,
-                                    PayrollRepository payrollRepository,
-                                    ChargeSheetRepository chargeSheetRepository,
                                     UserRepository userRepository,
-                                    UserService userService) {
+                                    UserService userService,
+                                    ApplicationEventPublisher events,
+                                    EmployeePortalReadModel portalReadModel) {
         this.attendanceRepository = attendanceRepository;
-        this.payrollRepository = payrollRepository;
-        this.chargeSheetRepository = chargeSheetRepository;
         this.userRepository = userRepository;
         this.userService = userService;
+        this.events = events;
+        this.portalReadModel = portalReadModel;
     }
 
     // ==========================================
@@ -70,8 +75,8 @@ public class EmployeePortalController {
             @RequestParam(required = false) Integer month, // Filter er jonno month
             @RequestParam(required = false) Integer year) { // Filter er jonno year
 
-        // Database theke user details anlam
-        User user = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
+        // Database theke user details anlam (Employee profile shoho, ek query te)
+        User user = userRepository.findWithEmployeeByUsername(userDetails.getUsername()).orElse(null);
 
         // Safety Check: Jodi kono karone user na thake, login page e pathiye dibo.
         if (user == null || user.getEmployee() == null) {
@@ -85,40 +90,29 @@ public class EmployeePortalController {
         int selectedMonth = (month != null) ? month : today.getMonthValue();
         int selectedYear = (year != null) ? year : today.getYear();
 
-        // 1. Monthly Attendance Data Ana (Optimized Query)
-        // Ager code e 'findAll' chilo ja slow. Ekhon direct month diye filter korchi.
-        List<Attendance> monthlyAttendance = attendanceRepository.findByEmployeeIdAndMonth(me.getId(), selectedMonth, selectedYear);
-
-        // 2. Present Days Count: Ei mase koto din present chilo ta count kora hocche.
-        long presentDays = monthlyAttendance.stream()
-                .filter(Attendance::isPresent)
-                .count();
-
-        // 3. Payslip History: Tar last 5 ta salary record dekhano hobe.
-        // Ekhane amra dhorchi PayrollRepository te 'findTop5ByEmployeeIdOrderByPaymentDateDesc' ache,
-        // Athoba stream use kore filter korchi (Safety r jonno stream rakhlam).
-        List<PayrollRecord> myPayslips = payrollRepository.findAll().stream()
-                .filter(r -> r.getEmployeeId().equals(me.getId()))
-                .sorted((r1, r2) -> r2.getPaymentDate().compareTo(r1.getPaymentDate())) // Newest first
-                .limit(5)
-                .collect(Collectors.toList());
-
-        // 4. Penalty Data
-        List<ChargeSheet> myPenalties = chargeSheetRepository.findByEmployeeIdAndStatus(me.getId(), "PENDING");
+        // 1-4. Masher hajira, present din, shesh 5 payslip, pending fine - read model theke
+        // (indexed top-N query, eksathe chole; kichukhon cache thake, hajira/fine bodlale bad hoy).
+        PortalDashboardView view = portalReadModel.dashboard(me.getId(), YearMonth.of(selectedYear, selectedMonth));
 
         // 5. Today's Attendance (Fix: Handling Optional)
+        // Cache chara, protibar: null mane "Check In" button - purono hole check-out hoye jabe.
         Attendance todayAttendance = attendanceRepository.findByEmployeeIdAndDate(me.getId(), today)
                 .orElse(null); // Jodi record na thake, null return korbe (Error dibe na)
 
         // Sob data HTML page e pathiye dilam
         model.addAttribute("employee", me);
-        model.addAttribute("presentDays", presentDays);
-        model.addAttribute("myPayslips", myPayslips);
-        model.addAttribute("myPenalties", myPenalties);
+        model.addAttribute("presentDays", view.presentDays());
+        model.addAttribute("myPayslips", view.recentPayslips());
+        model.addAttribute("myPenalties", view.pendingPenalties());
         model.addAttribute("attendance", todayAttendance);
-        model.addAttribute("monthlyAttendance", monthlyAttendance);
+        model.addAttribute("monthlyAttendance", view.monthlyAttendance());
         model.addAttribute("selectedMonth", selectedMonth);
         model.addAttribute("selectedYear", selectedYear);
+        List<String> unavailable = view.unavailable();
+        if (!unavailable.isEmpty()) {
+            model.addAttribute("warning", "Some sections could not be loaded (" + String.join(", ", unavailable)
+                    + "). Please refresh the page.");
+        }
 
         return "employee-portal/dashboard";
     }
@@ -167,7 +161,8 @@ public class EmployeePortalController {
 
         Employee employee = user.getEmployee();
         LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
+        // Second porjonto - compact mash (AttendanceMonthCodec) hubohu rakhte pare
+        LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Check korchi ajker record ache kina (Fix: Optional handle kora)
         Attendance attendance = attendanceRepository.findByEmployeeIdAndDate(employee.getId(), today)
@@ -188,6 +183,7 @@ public class EmployeePortalController {
             attendance.setStatus("CHECKED_IN");
 
             attendanceRepository.save(attendance);
+            events.publishEvent(AttendanceChangedEvent.created(attendance)); // header er "present" badge
 
             String formattedTime = now.format(DateTimeFormatter.ofPattern("hh:mm a"));
             redirectAttributes.addFlashAttribute("success", "Good Morning! Check-In Successful at " + formattedTime);
@@ -197,6 +193,8 @@ public class EmployeePortalController {
         // CASE B: CHECK OUT (Jodi CheckIn thake but CheckOut na thake)
         // ==========================================
         else if (attendance.getCheckOutTime() == null) {
+            boolean wasPresent = attendance.isPresent();
+            String fromStatus = attendance.getStatus();
 
             attendance.setCheckOutTime(now);
 
@@ -232,6 +230,7 @@ public class EmployeePortalController {
             }
 
             attendanceRepository.save(attendance);
+            events.publishEvent(AttendanceChangedEvent.of(wasPresent, fromStatus, attendance)); // short work -> present kome
         }
 
         // ==========================================
@@ -247,7 +246,7 @@ public class EmployeePortalController {
     // 3. Show Dispute Form Page
     @GetMapping("/dispute-absence")
     public String showDisputePage(Model model, @AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
+        User user = userRepository.findWithEmployeeByUsername(userDetails.getUsername()).orElse(null);
         if (user == null) return "redirect:/login";
 
         LocalDate today = LocalDate.now();
@@ -270,16 +269,18 @@ public class EmployeePortalController {
                                 @AuthenticationPrincipal CustomUserDetails userDetails,
                                 RedirectAttributes redirectAttributes) {
 
-        User user = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
+        User user = userRepository.findWithEmployeeByUsername(userDetails.getUsername()).orElse(null);
         LocalDate today = LocalDate.now();
 
         Attendance attendance = attendanceRepository.findByEmployeeIdAndDate(user.getEmployee().getId(), today)
                 .orElse(null);
 
         if (attendance != null && "ABSENT".equals(attendance.getStatus())) {
+            String fromStatus = attendance.getStatus();
             attendance.setDisputeReason(reason);
             attendance.setStatus("DISPUTE_OPEN"); // Status change, Admin notification pabe
             attendanceRepository.save(attendance);
+            events.publishEvent(AttendanceChangedEvent.of(attendance.isPresent(), fromStatus, attendance));
 
             redirectAttributes.addFlashAttribute("success", "Dispute submitted successfully! Admin will review it.");
         } else {
@@ -296,7 +297,7 @@ public class EmployeePortalController {
     // Profile page dekhano
     @GetMapping("/profile")
     public String showProfile(Model model, @AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
+        User user = userRepository.findWithEmployeeByUsername(userDetails.getUsername()).orElse(null);
         if (user != null && user.getEmployee() != null) {
             model.addAttribute("employee", user.getEmployee());
             model.addAttribute("user", user);
@@ -1,8 +1,6 @@
 package com.jptechgenius.payroll.controller;
 
-import com.jptechgenius.payroll.model.Attendance;
-import com.jptechgenius.payroll.repository.AttendanceRepository;
-import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.service.SidebarCounterService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,8 +9,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.time.LocalDate;
-
 /**
  * [Global Controller Advice]
  * --------------------------
@@ -72,12 +68,11 @@ public class GlobalController {
     // ==========================================
     // 3. GLOBAL DATA FETCHING
     // ==========================================
-    private final ChargeSheetRepository chargeSheetRepository;
-    private final AttendanceRepository attendanceRepository;
+    // Badge gula prottek request e lage - database na, memory r counter theke (event e update hoy)
+    private final SidebarCounterService counters;
 
-    public GlobalController(ChargeSheetRepository chargeSheetRepository, AttendanceRepository attendanceRepository) {
-        this.chargeSheetRepository = chargeSheetRepository;
-        this.attendanceRepository = attendanceRepository;
+    public GlobalController(SidebarCounterService counters) {
+        this.counters = counters;
     }
 
     /**
@@ -89,9 +84,7 @@ public class GlobalController {
     @ModelAttribute("globalPendingCount")
     public long getPendingPenaltyCount() {
         try {
-            return chargeSheetRepository.findAll().stream()
-                    .filter(c -> "PENDING".equals(c.getStatus())) // Sudhu pending gula count korbo
-                    .count();
+            return counters.pendingPenalties();
         } catch (Exception e) {
             System.err.println("Global Attribute Error (Penalty): " + e.getMessage());
             return 0; // Error hole 0 dekhabo
@@ -106,10 +99,8 @@ public class GlobalController {
     @ModelAttribute("globalDisputeCount")
     public long getDisputeCount() {
         try {
-            // Attendance table check kore dekhchi koyta 'DISPUTE_OPEN' status ache
-            return attendanceRepository.findAll().stream()
-                    .filter(a -> "DISPUTE_OPEN".equals(a.getStatus()))
-                    .count();
+            // Koyta attendance 'DISPUTE_OPEN' status e ache
+            return counters.openDisputes();
         } catch (Exception e) {
             System.err.println("Global Attribute Error (Dispute): " + e.getMessage());
             return 0;
@@ -124,10 +115,8 @@ public class GlobalController {
     @ModelAttribute("globalPresentCount")
     public long getTodayAttendanceCount() {
         try {
-            // Ajker tarikh diye filter kore shudhu present der count nilam
-            return attendanceRepository.findByDate(LocalDate.now()).stream()
-                    .filter(Attendance::isPresent)
-                    .count();
+            // Ajker tarikh e present koyjon (din bodlale counter nije abar gune)
+            return counters.presentToday();
         } catch (Exception e) {
             System.err.println("Global Attribute Error (Attendance): " + e.getMessage());
             return 0;
@@ -1,16 +1,34 @@
 package com.jptechgenius.payroll.controller;
 
+import com.jptechgenius.payroll.dto.KeysetPage;
+import com.jptechgenius.payroll.dto.PayrollBackfillProgress;
+import com.jptechgenius.payroll.dto.PayrollClusterProgress;
+import com.jptechgenius.payroll.dto.PayrollJobProgress;
+import com.jptechgenius.payroll.dto.PayrollScenario;
+import com.jptechgenius.payroll.dto.PayrollSimulationResult;
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
+import com.jptechgenius.payroll.model.PayrollJob;
 import com.jptechgenius.payroll.model.PayrollRecord;
 import com.jptechgenius.payroll.model.User;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import com.jptechgenius.payroll.service.PayrollBackfillService;
+import com.jptechgenius.payroll.service.PayrollClusterService;
+import com.jptechgenius.payroll.service.PayrollJobService;
 import com.jptechgenius.payroll.service.PayrollService;
+import com.jptechgenius.payroll.service.PayrollSimulationService;
 import com.jptechgenius.payroll.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.security.Principal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -25,11 +43,21 @@ import java.util.UUID;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PayrollJobService payrollJobService;
+    private final PayrollSimulationService simulationService;
+    private final PayrollBackfillService backfillService;
+    private final PayrollClusterService clusterService;
     private final UserService userService;
 
     // Constructor Injection: Spring automatic service gulo load kore dibe.
-    public PayrollController(PayrollService payrollService, UserService userService) {
+    public PayrollController(PayrollService payrollService, PayrollJobService payrollJobService,
+                             PayrollSimulationService simulationService, PayrollBackfillService backfillService,
+                             PayrollClusterService clusterService, UserService userService) {
         this.payrollService = payrollService;
+        this.payrollJobService = payrollJobService;
+        this.simulationService = simulationService;
+        this.backfillService = backfillService;
+        this.clusterService = clusterService;
         this.userService = userService;
     }
 
@@ -37,34 +65,195 @@ public class PayrollController {
      * [Show Generate Page]
      * Admin jokhon 'Run Payroll' button chapbe, tokhon ei page ashbe.
      * Ekhane Month ar Year select korar option thake.
+     * jobId thakle page ta oi job er live progress dekhay.
      */
     @GetMapping("/generate")
-    public String showGeneratePage() {
+    public String showGeneratePage(@RequestParam(value = "jobId", required = false) UUID jobId, Model model) {
+        if (jobId != null) {
+            payrollJobService.getJob(jobId)
+                    .ifPresent(job -> model.addAttribute("job", PayrollJobProgress.of(job)));
+        }
         return "payroll/generate";
     }
 
     /**
      * [Process Payroll]
      * User Month/Year select kore submit korle ekhane ashbe.
-     * Service layer call kore oi masher salary calculate kora hobe,
-     * tarpor Salary Sheet page e redirect kora hobe.
+     * Ekhon ar HTTP thread e puro hisab hoy na - ekta background Job submit hoy
+     * ebong sathe sathe progress page e redirect hoy.
+     * Same mash already cholle notun job hoy na, oi job tai dekhano hoy.
+     * retry = true (job card er 'Retry' button): fail kora job checkpoint theke abar.
+     * * mode = "dirty": Shudhu bodle jaoa employee der record (milliseconds er kaj),
+     * tai job na baniye sathe sathe kora hoy.
+     * * mode = "cluster": Shard banano hoy, sob node er worker mile kaj kore (progress: /payroll/cluster).
+     * "cluster-restart": oi run er max-attempts bar fail kora shard gula abar chalano.
      */
     @PostMapping("/process")
-    public String processPayroll(@RequestParam("month") int month, @RequestParam("year") int year) {
-        payrollService.generateMonthlyPayroll(month, year);
-        return "redirect:/payroll/sheet?month=" + month + "&year=" + year;
+    public String processPayroll(@RequestParam("month") int month,
+                                 @RequestParam("year") int year,
+                                 @RequestParam(value = "mode", defaultValue = "sequential") String mode,
+                                 @RequestParam(value = "retry", defaultValue = "false") boolean retry,
+                                 RedirectAttributes redirectAttributes) {
+        if ("dirty".equals(mode)) {
+            long dirty = payrollService.countDirty(month, year);
+            try {
+                PayrollRunSummary summary = payrollService.recomputeDirty(month, year);
+                redirectAttributes.addFlashAttribute("success", "Recomputed " + dirty + " changed employee(s) in "
+                        + summary.elapsedMillis() + " ms. Checksum: " + summary.checksum());
+            } catch (IllegalStateException e) {
+                redirectAttributes.addFlashAttribute("error", e.getMessage());
+            }
+            return "redirect:/payroll/generate";
+        }
+
+        if ("cluster".equals(mode) || "cluster-restart".equals(mode)) {
+            try {
+                PayrollClusterProgress progress = clusterService.startRun(month, year, "cluster-restart".equals(mode));
+                if (progress.exhaustedShards() > 0) {
+                    redirectAttributes.addFlashAttribute("error", "Cluster payroll " + month + "/" + year + " is stalled: "
+                            + progress.exhaustedShards() + " shard(s) used up all retries. "
+                            + "Fix the cause and choose 'Restart failed cluster shards'.");
+                    return "redirect:/payroll/generate";
+                }
+                redirectAttributes.addFlashAttribute("success", "Cluster payroll " + month + "/" + year + " is "
+                        + progress.status() + ": " + progress.committedShards() + " of " + progress.totalShards()
+                        + " shard(s) committed. All nodes are picking up the rest.");
+            } catch (IllegalStateException e) {
+                // Onno mode er run ei mash likhche
+                redirectAttributes.addFlashAttribute("error", e.getMessage());
+            }
+            return "redirect:/payroll/generate";
+        }
+
+        PayrollJob job = payrollJobService.submit(month, year, mode, retry);
+        return "redirect:/payroll/generate?jobId=" + job.getId();
+    }
+
+    // ==========================================
+    // PAYROLL JOB API (JSON)
+    // ==========================================
+
+    /**
+     * [Submit Job - JSON]
+     * Sathe sathe job ID return kore. Duplicate submit hole cholonto job tai return hoy.
+     * retry = true: masher shesh job FAILED (same mode) hole oi job checkpoint theke.
+     */
+    @PostMapping("/jobs")
+    @ResponseBody
+    public PayrollJobProgress submitJob(@RequestParam("month") int month,
+                                        @RequestParam("year") int year,
+                                        @RequestParam(value = "mode", defaultValue = "sequential") String mode,
+                                        @RequestParam(value = "retry", defaultValue = "false") boolean retry) {
+        return PayrollJobProgress.of(payrollJobService.submit(month, year, mode, retry));
+    }
+
+    /**
+     * [Job Progress - JSON]
+     * processed/total, percent, ETA sob ekhane. Generate page eta poll kore progress bar dekhay.
+     */
+    @GetMapping("/jobs/{id}")
+    @ResponseBody
+    public ResponseEntity<PayrollJobProgress> jobProgress(@PathVariable("id") UUID id) {
+        return payrollJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(PayrollJobProgress.of(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ==========================================
+    // CLUSTER RUN API (JSON)
+    // ==========================================
+
+    /**
+     * [Cluster Progress]
+     * Ei masher shard gula kon obosthay, kon node e.
+     */
+    @GetMapping("/cluster")
+    @ResponseBody
+    public PayrollClusterProgress clusterProgress(@RequestParam("month") int month, @RequestParam("year") int year) {
+        return clusterService.getProgress(month, year);
+    }
+
+    /**
+     * [Restart Cluster Run]
+     * STALLED run (max-attempts bar fail kora shard) er shard gula PENDING e ferot; run na thakle notun run.
+     * Onno mode ei mash likhle 409 + error message.
+     */
+    @PostMapping("/cluster/restart")
+    @ResponseBody
+    public ResponseEntity<?> restartCluster(@RequestParam("month") int month, @RequestParam("year") int year) {
+        try {
+            return ResponseEntity.ok(clusterService.startRun(month, year, true));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    // ==========================================
+    // MULTI-MONTH BACKFILL API (JSON)
+    // ==========================================
+
+    /**
+     * [Submit Backfill]
+     * from/to format: 2024-01 (duitai included). Sathe sathe backfill ID return kore,
+     * kaj background pipeline e hoy. Ekta backfill cholle oitai return hoy.
+     */
+    @PostMapping("/backfill")
+    @ResponseBody
+    public ResponseEntity<?> submitBackfill(@RequestParam("from") String from, @RequestParam("to") String to) {
+        try {
+            return ResponseEntity.ok(backfillService.submit(YearMonth.parse(from), YearMonth.parse(to)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * [Backfill Progress]
+     * Koyta mash hoyeche, prottek stage er throughput ar bottleneck.
+     */
+    @GetMapping("/backfill/{id}")
+    @ResponseBody
+    public ResponseEntity<PayrollBackfillProgress> backfillProgress(@PathVariable("id") UUID id) {
+        return backfillService.getProgress(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ==========================================
+    // WHAT-IF SIMULATOR API (JSON)
+    // ==========================================
+
+    /**
+     * [Simulate Scenario]
+     * Finance er "ki hobe jodi..." prosner uttor - baseline vs scenario, department onujayi delta.
+     * Kono record save hoy na. Vul input (designation, mash) hole 400 + error message.
+     */
+    @PostMapping("/simulate")
+    @ResponseBody
+    public ResponseEntity<?> simulate(@RequestBody PayrollScenario scenario) {
+        try {
+            PayrollSimulationResult result = simulationService.simulate(scenario);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
     }
 
     /**
      * [Show Salary Sheet]
-     * Ekhane generated salary gulor list dekhano hoy.
+     * Ekhane generated salary gulor list dekhano hoy, ek page kore (keyset cursor).
      * Filter Logic: Jodi user kono mash select na kore, tahole automatic
-     * 'Current Month' er data dekhabe.
+     * 'Current Month' er data dekhabe. Naam/designation search ar sort database e,
+     * masher mot net pay aggregate query theke.
      */
     @GetMapping("/sheet")
     public String showSalarySheet(Model model,
                                   @RequestParam(required = false) Integer month,
-                                  @RequestParam(required = false) Integer year) {
+                                  @RequestParam(required = false) Integer year,
+                                  @RequestParam(required = false) String keyword,
+                                  @RequestParam(defaultValue = "name") String sort,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size) {
 
         // Jodi parameter na thake, tobe ajker tarikh theke mash/bochor ber korbo
         if (month == null || year == null) {
@@ -72,14 +261,21 @@ public class PayrollController {
             month = now.getMonthValue();
             year = now.getYear();
         }
+        int pageSize = KeysetPage.clampSize(size);
 
-        // Oi masher record gulo database theke ana holo
-        List<PayrollRecord> records = payrollService.getRecordsByMonthAndYear(month, year);
+        // Oi masher ek page record + puro masher jogfol
+        KeysetPage<PayrollRecord> page = payrollService.getSheetPage(month, year, keyword,
+                PayrollRepository.sheetSort(sort), cursor, pageSize);
 
         // Data HTML e pathano holo
-        model.addAttribute("records", records);
+        model.addAttribute("records", page.content());
+        model.addAttribute("page", page);
+        model.addAttribute("totals", payrollService.getMonthTotals(month, year));
         model.addAttribute("selectedMonth", month);
         model.addAttribute("selectedYear", year);
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("sort", sort);
+        model.addAttribute("size", pageSize);
 
         return "payroll/sheet";
     }
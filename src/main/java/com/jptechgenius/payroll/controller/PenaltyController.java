@@ -1,15 +1,28 @@
 package com.jptechgenius.payroll.controller;
 
+import com.jptechgenius.payroll.dto.EmployeeCard;
+import com.jptechgenius.payroll.dto.KeysetPage;
+import com.jptechgenius.payroll.dto.PenaltyListRow;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
 import com.jptechgenius.payroll.model.ChargeSheet;
 import com.jptechgenius.payroll.model.Employee;
 import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.repository.KeysetCursor;
 import com.jptechgenius.payroll.service.EmployeeService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * [Penalty Controller]
@@ -23,11 +36,16 @@ public class PenaltyController {
 
     private final EmployeeService employeeService;
     private final ChargeSheetRepository chargeSheetRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher events;
 
     // Constructor Injection: Spring automatic service gulo load kore dibe.
-    public PenaltyController(EmployeeService employeeService, ChargeSheetRepository chargeSheetRepository) {
+    public PenaltyController(EmployeeService employeeService, ChargeSheetRepository chargeSheetRepository,
+                             EmployeeRepository employeeRepository, ApplicationEventPublisher events) {
         this.employeeService = employeeService;
         this.chargeSheetRepository = chargeSheetRepository;
+        this.employeeRepository = employeeRepository;
+        this.events = events;
     }
 
     // ==========================================
@@ -62,6 +80,7 @@ public class PenaltyController {
 
         // Database e save kora holo
         chargeSheetRepository.save(chargeSheet);
+        events.publishEvent(PenaltyChangedEvent.issued(employee.getId(), chargeSheet.getStatus())); // header er pending badge
 
         // Kaj sesh hole list page e redirect korbo, jekhane notun entry ta dekha jabe
         return "redirect:/penalty/list";
@@ -72,16 +91,42 @@ public class PenaltyController {
     // ==========================================
     /**
      * [View List]
-     * Ekhane companyr sob penalty record eksathe dekhano hoy.
-     * Ke kobe koto taka fine kheyeche, sob history ekhane thakbe.
+     * Companyr penalty history, ek page kore (keyset cursor) - notun fine age.
+     * Filter (employee er naam, status) ar sort database e; summary card SUM/COUNT query theke.
      */
     @GetMapping("/list")
-    public String viewPenaltyList(Model model) {
-        // Database theke sob data niye aslam
-        List<ChargeSheet> allCharges = chargeSheetRepository.findAll();
+    public String viewPenaltyList(Model model,
+                                  @RequestParam(value = "keyword", required = false) String keyword,
+                                  @RequestParam(value = "status", required = false) String status,
+                                  @RequestParam(value = "sort", defaultValue = "newest") String sort,
+                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = KeysetPage.clampSize(size);
+        Sort order = ChargeSheetRepository.listSort(sort);
+        ScrollPosition position = KeysetCursor.decode(cursor, order);
+
+        // Ek page fine (employee lazy, load hoy na)
+        Window<ChargeSheet> window = chargeSheetRepository.findBy(
+                ChargeSheetRepository.listFilter(keyword, status),
+                query -> query.sortBy(order).limit(pageSize).scroll(position));
+
+        // Oi page er employee der shudhu naam/podobi/chobi - ek IN query, projection (puro Employee entity na)
+        Set<Long> employeeIds = window.stream().map(c -> c.getEmployee().getId()).collect(Collectors.toSet());
+        Map<Long, EmployeeCard> cards = employeeIds.isEmpty() ? Map.of()
+                : employeeRepository.findCardsByIdIn(employeeIds).stream()
+                .collect(Collectors.toMap(EmployeeCard::getId, Function.identity()));
+        KeysetPage<PenaltyListRow> page = KeysetPage.of(window, position)
+                .map(charge -> PenaltyListRow.of(charge, cards.get(charge.getEmployee().getId())));
 
         // HTML page e data pathiye dilam table e dekhanor jonno
-        model.addAttribute("charges", allCharges);
+        model.addAttribute("charges", page.content());
+        model.addAttribute("page", page);
+        model.addAttribute("pendingCount", chargeSheetRepository.countByStatus("PENDING"));
+        model.addAttribute("pendingAmount", chargeSheetRepository.sumPenaltyByStatus("PENDING"));
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("status", status);
+        model.addAttribute("sort", sort);
+        model.addAttribute("size", pageSize);
 
         return "penalty/list"; // penalty/list.html page load hobe
     }
@@ -104,6 +149,7 @@ public class PenaltyController {
         // Karon 'DEDUCTED' mane taka salary theke kete neya hoyeche, oita delete kora jabe na.
         if(cs != null && "PENDING".equals(cs.getStatus())) {
             chargeSheetRepository.delete(cs);
+            events.publishEvent(PenaltyChangedEvent.deleted(cs.getEmployee().getId(), cs.getStatus()));
         }
 
         // Abar list page e ferot pathalam
@@ -0,0 +1,20 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Attendance Summary Projection]
+ * -------------------------------
+ * Ek masher attendance ke employee onujayi group kore ei summary ta toiri hoy.
+ * Payroll engine er shudhu ei duita number lage: koydin present chilo ar mot koto ghonta overtime.
+ * Tai prottek diner row Java te na ene, database ei SUM kore dey (GROUP BY employee_id).
+ */
+public interface AttendanceSummary {
+
+    // Kar summary? (Employee ID)
+    Long getEmployeeId();
+
+    // Weekend baad diye koydin present chilo
+    Long getPresentDays();
+
+    // Puro mase mot overtime ghonta (Weekend er kaj o ekhane jog hoy)
+    Double getOvertimeHours();
+}
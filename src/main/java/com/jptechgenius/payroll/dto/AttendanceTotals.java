@@ -0,0 +1,58 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Attendance Totals]
+ * -------------------
+ * Java te banano AttendanceSummary (query projection na) - compact mash (AttendanceMonth) er
+ * hisab, ba daily ar compact duita jog kore.
+ */
+public final class AttendanceTotals implements AttendanceSummary {
+
+    private final Long employeeId;
+    private final Long presentDays;
+    private final Double overtimeHours;
+
+    public AttendanceTotals(Long employeeId, long presentDays, double overtimeHours) {
+        this.employeeId = employeeId;
+        this.presentDays = presentDays;
+        this.overtimeHours = overtimeHours;
+    }
+
+    /**
+     * Duitar jog; jekono ekta null hole onno ta i.
+     */
+    public static AttendanceSummary combine(AttendanceSummary a, AttendanceSummary b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return new AttendanceTotals(a.getEmployeeId(),
+                valueOf(a.getPresentDays()) + valueOf(b.getPresentDays()),
+                valueOf(a.getOvertimeHours()) + valueOf(b.getOvertimeHours()));
+    }
+
+    @Override
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    @Override
+    public Long getPresentDays() {
+        return presentDays;
+    }
+
+    @Override
+    public Double getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jptechgenius.payroll.dto;
+
+import java.time.Instant;
+
+/**
+ * [Dashboard Delta]
+ * -----------------
+ * Live feed (/api/dashboard/feed) er prottek SSE message.
+ * type: ki bodlalo - "attendance", "dispute", "penalty" (connect er por prothom ta "hello").
+ * Songkha gula +1/-1 na, bodol er POR er purono mot (absolute) value - tai majhe kono message
+ * bad porleo porer ta pelei page thik hoye jay. Absent = totalEmployees - presentToday (page e hisab).
+ */
+public record DashboardDelta(String type,
+                             Long employeeId,
+                             long presentToday,
+                             long openDisputes,
+                             long pendingPenalties,
+                             Instant at) {
+
+    public static DashboardDelta of(String type, Long employeeId, long presentToday,
+                                    long openDisputes, long pendingPenalties) {
+        return new DashboardDelta(type, employeeId, presentToday, openDisputes, pendingPenalties, Instant.now());
+    }
+}
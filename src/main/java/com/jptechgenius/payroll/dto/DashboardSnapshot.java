@@ -0,0 +1,54 @@
+package com.jptechgenius.payroll.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * [Dashboard Snapshot]
+ * --------------------
+ * Admin dashboard (HTML ar /api/dashboard JSON) er sob songkha ek jaygay.
+ * * Dui bhag:
+ * 1. Cache kora (generatedAt e banano): employee songkha, total payroll, 12 masher chart, recent fine.
+ * 2. Live (prottek read e SidebarCounterService theke): pending fine, ajke present/absent.
+ * ageSeconds: cache bhag ta koto second purono - page/JSON e "updated Xs ago" dekhay.
+ * unavailable: je read gula timeout/error e pora jay ni (oi card e 0/khali) - emon snapshot cache hoy na.
+ */
+public record DashboardSnapshot(long totalEmployees,
+                                long presentToday,
+                                long absentToday,
+                                long pendingPenalties,
+                                double totalPayroll,
+                                int year,
+                                double[] monthlyPayroll,
+                                List<PenaltyListRow> recentPenalties,
+                                Instant generatedAt,
+                                long ageSeconds,
+                                List<String> unavailable) {
+
+    /**
+     * Database theke banano bhag (live songkha 0, pore live() diye bosano hoy).
+     */
+    public static DashboardSnapshot built(long totalEmployees, double totalPayroll, int year,
+                                          double[] monthlyPayroll, List<PenaltyListRow> recentPenalties,
+                                          List<String> unavailable) {
+        return new DashboardSnapshot(totalEmployees, 0, 0, 0, totalPayroll, year,
+                monthlyPayroll, List.copyOf(recentPenalties), Instant.now(), 0, List.copyOf(unavailable));
+    }
+
+    /**
+     * Cache copy + ekhonkar counter. Array/list share hoy (keu bodlay na), tai copy sosta.
+     */
+    public DashboardSnapshot live(long pending, long present) {
+        return new DashboardSnapshot(totalEmployees, present, Math.max(0, totalEmployees - present), pending,
+                totalPayroll, year, monthlyPayroll, recentPenalties, generatedAt, age().toSeconds(), unavailable);
+    }
+
+    public boolean isPartial() {
+        return !unavailable.isEmpty();
+    }
+
+    public Duration age() {
+        return Duration.between(generatedAt, Instant.now());
+    }
+}
@@ -0,0 +1,26 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Employee Card Projection]
+ * --------------------------
+ * List/dashboard e employee er naam, chobi ar podobi dekhanor jonno shudhu ei column gula select hoy.
+ * Puro Employee entity (address, bank account ...) hydrate hoy na, persistence context e o dhoke na.
+ */
+public interface EmployeeCard {
+
+    Long getId();
+
+    String getName();
+
+    String getDesignation();
+
+    String getDepartment();
+
+    String getImageUrl();
+
+    // Employee.getPhotosImagePath er moto - chobi na thakle default avatar
+    default String getPhotosImagePath() {
+        String imageUrl = getImageUrl();
+        return imageUrl == null || imageUrl.isEmpty() ? "/dist/img/user.jpg" : imageUrl;
+    }
+}
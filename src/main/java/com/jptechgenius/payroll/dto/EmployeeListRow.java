@@ -0,0 +1,25 @@
+package com.jptechgenius.payroll.dto;
+
+import java.time.LocalDate;
+
+/**
+ * [Employee List Row Projection]
+ * ------------------------------
+ * Employee Directory ar Attendance Log er ek row: card + contact, salary, status (profile modal e lage).
+ * Bank details, overtime rate, deduction select hoy na.
+ * * Keyset page e sort column (name, joiningDate, id) o ekhane thakte hobe - cursor oi value diye bane.
+ */
+public interface EmployeeListRow extends EmployeeCard {
+
+    String getPhoneNumber();
+
+    String getEmail();
+
+    String getAddress();
+
+    LocalDate getJoiningDate();
+
+    Double getBasicSalary();
+
+    String getStatus();
+}
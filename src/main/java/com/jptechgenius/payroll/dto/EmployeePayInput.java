@@ -0,0 +1,23 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Employee Pay Input Projection]
+ * -------------------------------
+ * What-if simulator er jonno employee er shudhu salary hisab er column gula.
+ * Puro Employee entity (validation, image, bank info) load korte hoy na,
+ * tai 1 lakh row o halka thake.
+ */
+public interface EmployeePayInput {
+
+    Long getId();
+
+    String getDepartment();
+
+    String getDesignation();
+
+    // Mul beton (Taka)
+    Number getBasicSalary();
+
+    // Fixed deduction (Taka)
+    Number getDeductions();
+}
@@ -0,0 +1,90 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.repository.KeysetCursor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * [Keyset Page]
+ * -------------
+ * Admin list page er ek page row + "Next / Previous" link er cursor (KeysetCursor).
+ * Null cursor = oi dike ar page nai; khali ("") = first page.
+ * * Spring Data Window backward scroll e hasNext() mane "aro AGER row ache" - ekhane seta
+ * previousCursor e ulte rakha hoy, tai template ke direction niye bhabte hoy na.
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor, String previousCursor) {
+
+    public static final int DEFAULT_SIZE = 25;
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * URL er ?size= ke 10..MAX_SIZE er moddhe rakha (size=100000 diye puro table chawa jabe na).
+     */
+    public static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(10, Math.min(MAX_SIZE, size));
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    /**
+     * [From Database Window]
+     * requested: je position theke ei window scroll kora hoyeche.
+     */
+    public static <T> KeysetPage<T> of(Window<T> window, ScrollPosition requested) {
+        if (window.isEmpty()) {
+            return new KeysetPage<>(List.of(), null, null);
+        }
+        boolean backward = requested instanceof KeysetScrollPosition keyset && keyset.scrollsBackward();
+        boolean hasNext = backward || window.hasNext();
+        boolean hasPrevious = backward ? window.hasNext() : !requested.isInitial();
+
+        String next = hasNext ? KeysetCursor.encode(
+                ScrollPosition.forward(keysAt(window, window.size() - 1))) : null;
+        String previous = hasPrevious ? KeysetCursor.encode(
+                ScrollPosition.backward(keysAt(window, 0))) : null;
+        return new KeysetPage<>(window.getContent(), next, previous);
+    }
+
+    /**
+     * [From In-Memory List]
+     * Archive file theke asha (immutable) list: offset cursor, karon oi list r bodlay na.
+     */
+    public static <T> KeysetPage<T> ofList(List<T> all, ScrollPosition requested, int size) {
+        long start = requested instanceof OffsetScrollPosition offset && !offset.isInitial() ? offset.getOffset() : 0;
+        int from = (int) Math.min(start, all.size());
+        int to = Math.min(from + size, all.size());
+        String next = to < all.size() ? KeysetCursor.encode(ScrollPosition.offset(to)) : null;
+        String previous = from > 0
+                ? (from - size > 0 ? KeysetCursor.encode(ScrollPosition.offset(from - size)) : "") : null;
+        return new KeysetPage<>(all.subList(from, to), next, previous);
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(content.stream().map(mapper).toList(), nextCursor, previousCursor);
+    }
+
+    // --- Helper Methods ---
+
+    private static Map<String, Object> keysAt(Window<?> window, int index) {
+        return ((KeysetScrollPosition) window.positionAt(index)).getKeys();
+    }
+}
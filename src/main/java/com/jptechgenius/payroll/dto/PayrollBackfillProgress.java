@@ -0,0 +1,39 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
+import com.jptechgenius.payroll.engine.PipelineStageStats;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [Payroll Backfill Progress]
+ * ---------------------------
+ * Backfill API ei JSON return kore: koyta mash hoyeche, prottek stage er throughput,
+ * ar kon stage bottleneck (sobcheye beshi busy).
+ */
+public record PayrollBackfillProgress(UUID backfillId,
+                                      String from,
+                                      String to,
+                                      String status,
+                                      int totalMonths,
+                                      int completedMonths,
+                                      List<Stage> stages,
+                                      String bottleneck,
+                                      List<PayrollRunSummary> months,
+                                      long elapsedMillis,
+                                      String error) {
+
+    public record Stage(String name,
+                        long months,
+                        long employees,
+                        long busyMillis,
+                        long waitMillis,
+                        long employeesPerSecond) {
+
+        public static Stage of(PipelineStageStats stats) {
+            return new Stage(stats.getName(), stats.getMonths(), stats.getEmployees(),
+                    stats.getBusyMillis(), stats.getWaitMillis(), stats.getEmployeesPerSecond());
+        }
+    }
+}
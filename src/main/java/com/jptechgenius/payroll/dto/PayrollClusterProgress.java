@@ -0,0 +1,71 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.model.PayrollShard;
+
+import java.util.List;
+
+/**
+ * [Payroll Cluster Progress]
+ * --------------------------
+ * Cluster run er JSON: koyta shard kon obosthay, kon node koyta nilo.
+ * status: "NOT_STARTED", "RUNNING" (kichu shard baki), "FINALIZED" (sob shesh),
+ * "STALLED" (kichu shard max-attempts bar fail - ar keu nibe na; restart (force) na dile mash atke thake).
+ * exhaustedShards: oi shard gula (failedShards er moddhe).
+ */
+public record PayrollClusterProgress(int month,
+                                     int year,
+                                     String status,
+                                     int totalShards,
+                                     int committedShards,
+                                     int failedShards,
+                                     int exhaustedShards,
+                                     int employees,
+                                     Double totalNetPay,
+                                     List<Shard> shards) {
+
+    public record Shard(int index,
+                        String status,
+                        String ownerNode,
+                        int attempts,
+                        boolean exhausted,
+                        int employees,
+                        String error) {
+    }
+
+    public static PayrollClusterProgress of(int month, int year, List<PayrollShard> shards, int maxAttempts) {
+        if (shards.isEmpty()) {
+            return new PayrollClusterProgress(month, year, "NOT_STARTED", 0, 0, 0, 0, 0, null, List.of());
+        }
+
+        int committed = 0;
+        int failed = 0;
+        int exhausted = 0;
+        int employees = 0;
+        long netPayMinor = 0;
+        boolean finalized = true;
+        for (PayrollShard shard : shards) {
+            boolean done = "COMMITTED".equals(shard.getStatus()) || "FINALIZED".equals(shard.getStatus());
+            if (done) {
+                committed++;
+                employees += shard.getEmployees();
+                netPayMinor += shard.getTotalNetPayMinor();
+            }
+            if ("FAILED".equals(shard.getStatus())) {
+                failed++;
+                if (shard.getAttempts() >= maxAttempts) {
+                    exhausted++;
+                }
+            }
+            finalized &= "FINALIZED".equals(shard.getStatus());
+        }
+
+        String status = finalized ? "FINALIZED" : (exhausted > 0 ? "STALLED" : "RUNNING");
+        return new PayrollClusterProgress(month, year, status,
+                shards.size(), committed, failed, exhausted, employees, netPayMinor / 100.0,
+                shards.stream()
+                        .map(s -> new Shard(s.getShardIndex(), s.getStatus(), s.getOwnerNode(), s.getAttempts(),
+                                "FAILED".equals(s.getStatus()) && s.getAttempts() >= maxAttempts,
+                                s.getEmployees(), s.getErrorMessage()))
+                        .toList());
+    }
+}
@@ -0,0 +1,38 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.model.PayrollJob;
+
+import java.util.UUID;
+
+/**
+ * [Payroll Job Progress]
+ * ----------------------
+ * Job progress JSON endpoint ei object ta return kore.
+ * Entity sorasori na pathiye shudhu dorkari field gula pathai.
+ */
+public record PayrollJobProgress(UUID jobId,
+                                 int month,
+                                 int year,
+                                 String mode,
+                                 String status,
+                                 int processed,
+                                 int total,
+                                 int percent,
+                                 Long etaSeconds,
+                                 Long checkpointEmployeeId,
+                                 Double totalNetPay,
+                                 String checksum,
+                                 String error) {
+
+    public static PayrollJobProgress of(PayrollJob job) {
+        int percent = job.getTotalEmployees() == 0
+                ? ("COMPLETED".equals(job.getStatus()) ? 100 : 0)
+                : (int) (job.getProcessedEmployees() * 100L / job.getTotalEmployees());
+
+        return new PayrollJobProgress(job.getId(), job.getMonth(), job.getYear(), job.getMode(), job.getStatus(),
+                job.getProcessedEmployees(), job.getTotalEmployees(), percent, job.getEtaSeconds(),
+                job.getLastCommittedEmployeeId(),
+                job.getTotalNetPayMinor() != null ? job.getTotalNetPayMinor() / 100.0 : null,
+                job.getChecksum(), job.getErrorMessage());
+    }
+}
@@ -0,0 +1,74 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.engine.Money;
+import com.jptechgenius.payroll.model.PayrollRecord;
+
+import java.util.List;
+
+/**
+ * [Payroll Month Totals Projection]
+ * ---------------------------------
+ * Salary Sheet er upore masher jogfol (koyjon, mot basic/bonus/deduction/net pay).
+ * Hot table e ekta SUM query (PayrollRepository.summarizeMonth) - page e jotoi row thakuk, puro masher hisab.
+ * Archive kora mash er jonno ofRecords (file theke asha list, database query nai).
+ */
+public interface PayrollMonthTotals {
+
+    Long getEmployees();
+
+    // numeric column er SUM - driver BigDecimal dey, tai Number
+    Number getTotalBasic();
+
+    Number getTotalBonus();
+
+    Number getTotalDeductions();
+
+    Number getTotalNetPay();
+
+    /**
+     * Archive mash: Java te jog (paisa te, double rounding na).
+     */
+    static PayrollMonthTotals ofRecords(List<PayrollRecord> records) {
+        long basic = 0;
+        long bonus = 0;
+        long deductions = 0;
+        long netPay = 0;
+        for (PayrollRecord record : records) {
+            basic += Money.ofMajor(record.getBasicSalary());
+            bonus += Money.ofMajor(record.getBonus());
+            deductions += Money.ofMajor(record.getDeductions());
+            netPay += Money.ofMajor(record.getNetPay());
+        }
+        return new Computed(records.size(), Money.toMajor(basic), Money.toMajor(bonus),
+                Money.toMajor(deductions), Money.toMajor(netPay));
+    }
+
+    record Computed(long employees, double basic, double bonus, double deductions, double netPay)
+            implements PayrollMonthTotals {
+
+        @Override
+        public Long getEmployees() {
+            return employees;
+        }
+
+        @Override
+        public Number getTotalBasic() {
+            return basic;
+        }
+
+        @Override
+        public Number getTotalBonus() {
+            return bonus;
+        }
+
+        @Override
+        public Number getTotalDeductions() {
+            return deductions;
+        }
+
+        @Override
+        public Number getTotalNetPay() {
+            return netPay;
+        }
+    }
+}
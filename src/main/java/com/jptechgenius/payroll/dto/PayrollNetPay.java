@@ -0,0 +1,15 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Payroll Net Pay Projection]
+ * ----------------------------
+ * Run summary (total + checksum) er jonno shudhu employee ID ar net pay.
+ * Puro PayrollRecord entity load korte hoy na.
+ */
+public interface PayrollNetPay {
+
+    Long getEmployeeId();
+
+    // Taka (numeric(19,2))
+    Number getNetPay();
+}
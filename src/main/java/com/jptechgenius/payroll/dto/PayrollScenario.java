@@ -0,0 +1,24 @@
+package com.jptechgenius.payroll.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * [Payroll What-If Scenario]
+ * --------------------------
+ * Finance er prosno JSON e: "Software Engineer der basic 8% barle ar overtime 2x hole ki hobe?"
+ * <pre>
+ * { "month": 11, "year": 2025,
+ *   "basicRaisePercent": { "Software Engineer": 8 },
+ *   "overtimeMultiplier": 2 }
+ * </pre>
+ * null field mane ajker config (application.properties) i thakbe.
+ * refresh = true hole cached snapshot baad diye database theke notun kore load hoy.
+ */
+public record PayrollScenario(int month,
+                              int year,
+                              Map<String, BigDecimal> basicRaisePercent,
+                              BigDecimal overtimeMultiplier,
+                              BigDecimal taxPercent,
+                              boolean refresh) {
+}
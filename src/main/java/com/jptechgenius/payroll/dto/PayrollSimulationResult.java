@@ -0,0 +1,40 @@
+package com.jptechgenius.payroll.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * [Payroll Simulation Result]
+ * ---------------------------
+ * What-if simulator er uttor: ajker niyom (baseline) vs scenario, mot ar department onujayi.
+ * Sob amount Taka te (2 doshomik). Kono kichu database e save hoy na.
+ */
+public record PayrollSimulationResult(int month,
+                                      int year,
+                                      int employees,
+                                      Totals baseline,
+                                      Totals scenario,
+                                      Totals delta,
+                                      List<DepartmentDelta> departments,
+                                      long snapshotAgeSeconds,
+                                      long elapsedMillis) {
+
+    /**
+     * Puro company-r jogfol.
+     */
+    public record Totals(BigDecimal payableBasic,
+                         BigDecimal bonus,
+                         BigDecimal deductions,
+                         BigDecimal netPay) {
+    }
+
+    /**
+     * Ek department er net pay koto barlo/komlo.
+     */
+    public record DepartmentDelta(String department,
+                                  int employees,
+                                  BigDecimal baselineNetPay,
+                                  BigDecimal scenarioNetPay,
+                                  BigDecimal delta) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Penalty Line Projection]
+ * -------------------------
+ * Payroll loader er jonno ek masher prottek fine er ek row (id, kar, koto, status).
+ * Ekoi query theke fine er jogfol ar je PENDING fine gula hisab e dhuklo tader id - duitai pawa jay,
+ * tai DEDUCTED shudhu oi id gula hoy (load er por asha fine PENDING e thake).
+ */
+public interface PenaltyLine {
+
+    Long getId();
+
+    Long getEmployeeId();
+
+    Double getPenaltyAmount();
+
+    String getStatus();
+}
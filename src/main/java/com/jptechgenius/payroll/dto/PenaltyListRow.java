@@ -0,0 +1,41 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.model.ChargeSheet;
+
+import java.time.LocalDate;
+
+/**
+ * [Penalty List Row]
+ * ------------------
+ * Penalty Log ar dashboard er "recent fines" table er ek row: fine + employee er naam/chobi/email.
+ * Dashboard e JPQL constructor query (ChargeSheetRepository.findRecentRows) theke sorasori;
+ * Penalty Log e keyset page er ChargeSheet + EmployeeCard jora diye (of).
+ */
+public record PenaltyListRow(Long id,
+                             LocalDate issueDate,
+                             String reason,
+                             Double penaltyAmount,
+                             String status,
+                             Long employeeId,
+                             String employeeName,
+                             String employeeDesignation,
+                             String employeeEmail,
+                             String employeeImageUrl) {
+
+    /**
+     * employee lazy proxy - shudhu id pora hoy (proxy initialize hoy na). Penalty Log e email lage na.
+     * card null hole (employee muche gele) naam khali thake, row ta tobu dekhay.
+     */
+    public static PenaltyListRow of(ChargeSheet charge, EmployeeCard card) {
+        return new PenaltyListRow(charge.getId(), charge.getIssueDate(), charge.getReason(),
+                charge.getPenaltyAmount(), charge.getStatus(), charge.getEmployee().getId(),
+                card != null ? card.getName() : null,
+                card != null ? card.getDesignation() : null,
+                null,
+                card != null ? card.getImageUrl() : null);
+    }
+
+    public String getPhotosImagePath() {
+        return employeeImageUrl == null || employeeImageUrl.isEmpty() ? "/dist/img/user.jpg" : employeeImageUrl;
+    }
+}
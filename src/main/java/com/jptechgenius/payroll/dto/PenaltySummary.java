@@ -0,0 +1,15 @@
+package com.jptechgenius.payroll.dto;
+
+/**
+ * [Penalty Summary Projection]
+ * ----------------------------
+ * Ek mase kon employee er mot koto taka fine hoyeche (GROUP BY employee_id).
+ * Payroll engine er shudhu jogfol ta lage, tai ChargeSheet entity load kora hoy na.
+ */
+public interface PenaltySummary {
+
+    Long getEmployeeId();
+
+    // numeric column er SUM - driver BigDecimal dey, tai Number; Money.of() diye paisa te nite hoy
+    Number getTotalPenalty();
+}
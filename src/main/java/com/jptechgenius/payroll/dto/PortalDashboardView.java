@@ -0,0 +1,26 @@
+package com.jptechgenius.payroll.dto;
+
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.ChargeSheet;
+import com.jptechgenius.payroll.model.PayrollRecord;
+
+import java.util.List;
+
+/**
+ * [Portal Dashboard View]
+ * -----------------------
+ * Employee portal dashboard er ek (employee, mash) er data: masher hajira, present din,
+ * shesh payslip gula, pending fine. EmployeePortalReadModel eta kichukhon cache kore.
+ * unavailable: timeout/error e je section asheni (khali dekhay) - emon view cache hoy na.
+ */
+public record PortalDashboardView(List<Attendance> monthlyAttendance,
+                                  long presentDays,
+                                  List<PayrollRecord> recentPayslips,
+                                  List<ChargeSheet> pendingPenalties,
+                                  long loadedAtMillis,
+                                  List<String> unavailable) {
+
+    public boolean isPartial() {
+        return !unavailable.isEmpty();
+    }
+}
@@ -0,0 +1,169 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.PayrollRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * [Archive Record Codec]
+ * ----------------------
+ * PayrollRecord / Attendance <-> ArchiveSegment er payload bytes.
+ * * Taka paisa (long) hisebe - double er rounding archive e dhoke na. Null field er age ekta flag byte.
+ * * Format bodlale notun field SHESHE jog korun ar ArchiveSegment.VERSION barian, purono file porte hobe.
+ * * Archive theke asha object database e nai - shudhu dekhanor jonno, save korben na.
+ */
+public final class ArchiveRecordCodec {
+
+    private ArchiveRecordCodec() {
+    }
+
+    // ==========================================
+    // 1. PAYROLL RECORD
+    // ==========================================
+
+    public static byte[] encode(PayrollRecord record) {
+        return write(out -> {
+            out.writeLong(record.getId().getMostSignificantBits());
+            out.writeLong(record.getId().getLeastSignificantBits());
+            out.writeLong(record.getEmployeeId());
+            writeString(out, record.getEmployeeName());
+            writeString(out, record.getDesignation());
+            out.writeByte(record.getMonth());
+            out.writeShort(record.getYear());
+            writeMoney(out, record.getBasicSalary());
+            writeMoney(out, record.getBonus());
+            writeMoney(out, record.getDeductions());
+            writeMoney(out, record.getNetPay());
+            writeString(out, record.getImageUrl());
+            writeDate(out, record.getPaymentDate());
+        });
+    }
+
+    public static PayrollRecord readPayroll(DataInput in) throws IOException {
+        PayrollRecord record = new PayrollRecord();
+        record.setId(new UUID(in.readLong(), in.readLong()));
+        record.setEmployeeId(in.readLong());
+        record.setEmployeeName(readString(in));
+        record.setDesignation(readString(in));
+        record.setMonth(in.readUnsignedByte());
+        record.setYear(in.readUnsignedShort());
+        record.setBasicSalary(readMoney(in));
+        record.setBonus(readMoney(in));
+        record.setDeductions(readMoney(in));
+        record.setNetPay(readMoney(in));
+        record.setImageUrl(readString(in));
+        record.setPaymentDate(readDate(in));
+        return record;
+    }
+
+    // ==========================================
+    // 2. ATTENDANCE
+    // ==========================================
+
+    public static byte[] encode(Attendance att) {
+        return write(out -> {
+            out.writeLong(att.getEmployeeId());
+            out.writeLong(att.getDate().toEpochDay());
+            writeTime(out, att.getCheckInTime());
+            writeTime(out, att.getCheckOutTime());
+            writeString(out, att.getStatus());
+            writeString(out, att.getDisputeReason());
+            writeHours(out, att.getWorkHours());
+            writeHours(out, att.getOvertimeHours());
+            out.writeBoolean(att.isPresent());
+        });
+    }
+
+    public static Attendance readAttendance(DataInput in) throws IOException {
+        Attendance att = new Attendance();
+        att.setEmployeeId(in.readLong());
+        att.setDate(LocalDate.ofEpochDay(in.readLong()));
+        att.setCheckInTime(readTime(in));
+        att.setCheckOutTime(readTime(in));
+        att.setStatus(readString(in));
+        att.setDisputeReason(readString(in));
+        att.setWorkHours(readHours(in));
+        att.setOvertimeHours(readHours(in));
+        att.setPresent(in.readBoolean());
+        return att;
+    }
+
+    // --- Helper Methods ---
+
+    @FunctionalInterface
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] write(Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            body.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteArrayOutputStream e hoy na
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeMoney(DataOutputStream out, Double taka) throws IOException {
+        out.writeBoolean(taka != null);
+        if (taka != null) {
+            out.writeLong(Money.ofMajor(taka));
+        }
+    }
+
+    private static Double readMoney(DataInput in) throws IOException {
+        return in.readBoolean() ? Money.toMajor(in.readLong()) : null;
+    }
+
+    // Ghonta: DB te double, tai hubohu bit (centi te round korle purono data bodle jeto)
+    private static void writeHours(DataOutputStream out, Double hours) throws IOException {
+        out.writeBoolean(hours != null);
+        if (hours != null) {
+            out.writeDouble(hours);
+        }
+    }
+
+    private static Double readHours(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.toEpochDay());
+        }
+    }
+
+    private static LocalDate readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalTime time) throws IOException {
+        out.writeLong(time == null ? -1 : time.toNanoOfDay());
+    }
+
+    private static LocalTime readTime(DataInput in) throws IOException {
+        long nanos = in.readLong();
+        return nanos < 0 ? null : LocalTime.ofNanoOfDay(nanos);
+    }
+}
@@ -0,0 +1,513 @@
+package com.jptechgenius.payroll.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * [Archive Segment - Cold Storage File]
+ * -------------------------------------
+ * Bondho bochorer record (payroll/attendance) ekta read-only file e, employeeId order e.
+ * * File layout (sob big-endian):
+ *   [header]    magic "PMSA", version
+ *   [block]*    rawLength, storedLength, crc32(raw), recordCount, deflate kora bytes
+ *               raw er vitore prottek record: key (employeeId), length, payload (ArchiveRecordCodec)
+ *   [index]     prottek block e ekta entry (sparse): firstKey, lastKey, block offset
+ *   [directory] (optional) record UUID -> block no, UUID order e (payslip id diye khoja)
+ *   [footer]    index/directory offset, count, kind, year, crc32(index + directory + footer er ager field), magic
+ *               (version 1 file e crc shudhu index + directory er - segula o pora jay)
+ * * Read: puro file MappedByteBuffer (OS page cache theke, heap e copy na). Employee khujte index e
+ * binary search, tarpor shudhu oi block gula inflate + CRC check. Kharap block -> IllegalStateException.
+ * * Writer temp file e lekhe fsync kore; caller verify() er por rename kore (ColdArchiveService).
+ */
+public final class ArchiveSegment {
+
+    public static final int KIND_PAYROLL = 1;
+    public static final int KIND_ATTENDANCE = 2;
+
+    private static final int MAGIC = 0x504D5341; // "PMSA"
+    private static final int VERSION = 2;
+    private static final int VERSION_UNCHECKED_FOOTER = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int BLOCK_HEADER_BYTES = 16;
+    private static final int INDEX_ENTRY_BYTES = 24;
+    private static final int DIRECTORY_ENTRY_BYTES = 20;
+    private static final int FOOTER_BYTES = 48;
+    private static final int FOOTER_CHECKED_BYTES = 40; // crc ar magic er ager field gula
+
+    // Ek block e moto raw byte (compress er age). Choto block = kom inflate, boro = bhalo compression.
+    private static final int BLOCK_TARGET_BYTES = 64 * 1024;
+
+    /**
+     * Payload theke record (ArchiveRecordCodec::readPayroll ityadi).
+     */
+    @FunctionalInterface
+    public interface RecordReader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int kind;
+    private final int year;
+    private final int blockCount;
+    private final int indexOffset;
+    private final int directoryOffset;
+    private final int directoryCount;
+    private final long recordCount;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        int version = size >= HEADER_BYTES ? buffer.getInt(4) : -1;
+        if (size < HEADER_BYTES + FOOTER_BYTES || buffer.getInt(0) != MAGIC
+                || (version != VERSION && version != VERSION_UNCHECKED_FOOTER)) {
+            throw new IOException("Not an archive segment: " + file);
+        }
+        int footer = size - FOOTER_BYTES;
+        if (buffer.getInt(footer + 44) != MAGIC) {
+            throw new IOException("Archive segment is truncated: " + file);
+        }
+        long indexAt = buffer.getLong(footer);
+        long directoryAt = buffer.getLong(footer + 12);
+        this.blockCount = buffer.getInt(footer + 8);
+        this.directoryCount = buffer.getInt(footer + 20);
+        // Offset/count bhul hole array/buffer er baire pora - checksum er agei dhori
+        if (indexAt < HEADER_BYTES || directoryAt < indexAt || directoryAt > footer
+                || blockCount < 0 || directoryCount < 0
+                || directoryAt - indexAt != (long) blockCount * INDEX_ENTRY_BYTES
+                || footer - directoryAt != (long) directoryCount * DIRECTORY_ENTRY_BYTES) {
+            throw new IOException("Archive segment footer is corrupt: " + file);
+        }
+        this.indexOffset = toOffset(indexAt);
+        this.directoryOffset = toOffset(directoryAt);
+        this.recordCount = buffer.getLong(footer + 24);
+        this.kind = buffer.getInt(footer + 32);
+        this.year = buffer.getInt(footer + 36);
+
+        // Index + directory (+ version 2 theke footer er field) - ek tana, footer index er thik pore
+        int checked = footer - indexOffset + (version == VERSION ? FOOTER_CHECKED_BYTES : 0);
+        byte[] meta = new byte[checked];
+        buffer.get(indexOffset, meta);
+        if (crc(meta, meta.length) != buffer.getInt(footer + 40)) {
+            throw new IOException("Archive segment index checksum mismatch: " + file);
+        }
+    }
+
+    /**
+     * [Open Segment]
+     * File map kore footer ar index er checksum mile kina dekhe. Channel bondho holeo mapping thake.
+     */
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Archive segment larger than 2 GB: " + file);
+            }
+            return new ArchiveSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    // ==========================================
+    // 1. LOOKUP
+    // ==========================================
+
+    /**
+     * [Records of One Employee]
+     * Sparse index e binary search: prothom je block er lastKey >= key, tarpor firstKey > key na howa porjonto.
+     */
+    public <T> List<T> findByKey(long key, RecordReader<T> reader) {
+        List<T> found = new ArrayList<>();
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastKey(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int block = low; block < blockCount && firstKey(block) <= key; block++) {
+            readBlock(block, record -> record == key, reader, found);
+        }
+        return found;
+    }
+
+    /**
+     * [Record by UUID]
+     * Directory te binary search kore block, tarpor oi block e idOf diye mela.
+     * Directory chara segment (attendance) e null.
+     */
+    public <T> T findById(UUID id, RecordReader<T> reader, Function<T, UUID> idOf) {
+        int low = 0;
+        int high = directoryCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = directoryOffset + mid * DIRECTORY_ENTRY_BYTES;
+            int cmp = compare(buffer.getLong(entry), buffer.getLong(entry + 8),
+                    id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                List<T> records = new ArrayList<>();
+                readBlock(buffer.getInt(entry + 16), key -> true, reader, records);
+                for (T record : records) {
+                    if (id.equals(idOf.apply(record))) {
+                        return record;
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * [Full Scan]
+     * Sob record (key order e) jader filter true. Ek mash/ek diner report er moto kom-use er jonno.
+     */
+    public <T> List<T> scan(RecordReader<T> reader, Predicate<T> filter) {
+        List<T> found = new ArrayList<>();
+        Iterator<T> records = iterator(reader);
+        while (records.hasNext()) {
+            T record = records.next();
+            if (filter.test(record)) {
+                found.add(record);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Ek block kore inflate kore (memory te ek block). Re-archive merge e lage.
+     */
+    public <T> Iterator<T> iterator(RecordReader<T> reader) {
+        return new Iterator<>() {
+            private final List<T> current = new ArrayList<>();
+            private int nextBlock = 0;
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (position >= current.size() && nextBlock < blockCount) {
+                    current.clear();
+                    position = 0;
+                    readBlock(nextBlock++, key -> true, reader, current);
+                }
+                return position < current.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.get(position++);
+            }
+        };
+    }
+
+    /**
+     * [Verify]
+     * Sob block er CRC check kore mot record sonkha return (footer er sathe mele kina caller dekhe).
+     */
+    public long verify() {
+        long records = 0;
+        for (int block = 0; block < blockCount; block++) {
+            records += buffer.getInt(blockOffset(block) + 12);
+            inflate(block);
+        }
+        return records;
+    }
+
+    // --- Helper Methods ---
+
+    private <T> void readBlock(int block, LongPredicate keyFilter,
+                               RecordReader<T> reader, List<T> into) {
+        ByteBuffer raw = ByteBuffer.wrap(inflate(block));
+        try {
+            while (raw.hasRemaining()) {
+                long key = raw.getLong();
+                int length = raw.getInt();
+                if (keyFilter.test(key)) {
+                    into.add(reader.read(new DataInputStream(
+                            new ByteArrayInputStream(raw.array(), raw.position(), length))));
+                }
+                raw.position(raw.position() + length);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt record in block " + block + " of " + file, e);
+        }
+    }
+
+    private byte[] inflate(int block) {
+        int offset = blockOffset(block);
+        int rawLength = buffer.getInt(offset);
+        int storedLength = buffer.getInt(offset + 4);
+        int expectedCrc = buffer.getInt(offset + 8);
+
+        byte[] stored = new byte[storedLength];
+        buffer.get(offset + BLOCK_HEADER_BYTES, stored);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            int read = inflater.inflate(raw);
+            if (read != rawLength || !inflater.finished()) {
+                throw new IllegalStateException("Archive block " + block + " of " + file + " is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Archive block " + block + " of " + file + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        if (crc(raw, rawLength) != expectedCrc) {
+            throw new IllegalStateException("Archive block " + block + " of " + file + " failed checksum");
+        }
+        return raw;
+    }
+
+    private long firstKey(int block) {
+        return buffer.getLong(indexOffset + block * INDEX_ENTRY_BYTES);
+    }
+
+    private long lastKey(int block) {
+        return buffer.getLong(indexOffset + block * INDEX_ENTRY_BYTES + 8);
+    }
+
+    private int blockOffset(int block) {
+        return toOffset(buffer.getLong(indexOffset + block * INDEX_ENTRY_BYTES + 16));
+    }
+
+    private static int toOffset(long offset) {
+        return Math.toIntExact(offset);
+    }
+
+    private static int compare(long msbA, long lsbA, long msbB, long lsbB) {
+        int cmp = Long.compare(msbA, msbB);
+        return cmp != 0 ? cmp : Long.compare(lsbA, lsbB);
+    }
+
+    private static int crc(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    // ==========================================
+    // 2. WRITER
+    // ==========================================
+
+    /**
+     * [Segment Writer]
+     * append() key (employeeId) ascending order e dite hobe. finish() index/footer likhe fsync kore.
+     * finish() chara close() korle file ta odhura - caller muche fele.
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final OutputStream out;
+        private final int kind;
+        private final int year;
+        private final boolean withDirectory;
+
+        private final ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_TARGET_BYTES + 1024);
+        private final DataOutputStream blockOut = new DataOutputStream(block);
+        private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        private final DataOutputStream indexOut = new DataOutputStream(index);
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private long[] directory = new long[3 * 1024];
+
+        private long position;
+        private int blockCount;
+        private int blockRecords;
+        private long blockFirstKey;
+        private long lastKey = Long.MIN_VALUE;
+        private long recordCount;
+
+        public Writer(Path file, int kind, int year, boolean withDirectory) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BLOCK_TARGET_BYTES);
+            this.kind = kind;
+            this.year = year;
+            this.withDirectory = withDirectory;
+
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            position = HEADER_BYTES;
+        }
+
+        public void append(long key, UUID id, byte[] payload) throws IOException {
+            if (key < lastKey) {
+                throw new IllegalArgumentException("Archive records must be appended in key order: " + key + " after " + lastKey);
+            }
+            if (blockRecords == 0) {
+                blockFirstKey = key;
+            }
+            blockOut.writeLong(key);
+            blockOut.writeInt(payload.length);
+            blockOut.write(payload);
+            lastKey = key;
+            blockRecords++;
+
+            if (withDirectory) {
+                int slot = (int) recordCount * 3;
+                if (slot + 3 > directory.length) {
+                    directory = Arrays.copyOf(directory, directory.length * 2);
+                }
+                directory[slot] = id.getMostSignificantBits();
+                directory[slot + 1] = id.getLeastSignificantBits();
+                directory[slot + 2] = blockCount;
+            }
+            recordCount++;
+
+            if (block.size() >= BLOCK_TARGET_BYTES) {
+                flushBlock();
+            }
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * Baki block, index, directory, footer likhe disk e force (fsync).
+         */
+        public void finish() throws IOException {
+            flushBlock();
+            long indexOffset = position;
+            byte[] indexBytes = index.toByteArray();
+
+            ByteArrayOutputStream dir = new ByteArrayOutputStream();
+            DataOutputStream dirOut = new DataOutputStream(dir);
+            int directoryCount = withDirectory ? (int) recordCount : 0;
+            Integer[] order = new Integer[directoryCount];
+            for (int i = 0; i < directoryCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> compare(directory[a * 3], directory[a * 3 + 1], directory[b * 3], directory[b * 3 + 1]));
+            for (Integer i : order) {
+                dirOut.writeLong(directory[i * 3]);
+                dirOut.writeLong(directory[i * 3 + 1]);
+                dirOut.writeInt((int) directory[i * 3 + 2]);
+            }
+            byte[] dirBytes = dir.toByteArray();
+
+            byte[] meta = new byte[indexBytes.length + dirBytes.length];
+            System.arraycopy(indexBytes, 0, meta, 0, indexBytes.length);
+            System.arraycopy(dirBytes, 0, meta, indexBytes.length, dirBytes.length);
+            out.write(meta);
+
+            ByteArrayOutputStream footerBytes = new ByteArrayOutputStream(FOOTER_BYTES);
+            DataOutputStream footer = new DataOutputStream(footerBytes);
+            footer.writeLong(indexOffset);
+            footer.writeInt(blockCount);
+            footer.writeLong(indexOffset + indexBytes.length);
+            footer.writeInt(directoryCount);
+            footer.writeLong(recordCount);
+            footer.writeInt(kind);
+            footer.writeInt(year);
+            byte[] fields = footerBytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(meta);
+            crc.update(fields);
+            footer.writeInt((int) crc.getValue());
+            footer.writeInt(MAGIC);
+            footerBytes.writeTo(out);
+            out.flush();
+
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            channel.close();
+        }
+
+        private void flushBlock() throws IOException {
+            if (blockRecords == 0) {
+                return;
+            }
+            byte[] raw = block.toByteArray();
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream stored = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                stored.write(chunk, 0, n);
+            }
+
+            DataOutputStream blockHeader = new DataOutputStream(out);
+            blockHeader.writeInt(raw.length);
+            blockHeader.writeInt(stored.size());
+            blockHeader.writeInt(crc(raw, raw.length));
+            blockHeader.writeInt(blockRecords);
+            stored.writeTo(out);
+
+            indexOut.writeLong(blockFirstKey);
+            indexOut.writeLong(lastKey);
+            indexOut.writeLong(position);
+
+            position += BLOCK_HEADER_BYTES + stored.size();
+            blockCount++;
+            blockRecords = 0;
+            block.reset();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [Attendance Month Codec]
+ * ------------------------
+ * Daily Attendance row <-> AttendanceMonth (compact) er encode/decode.
+ * * packedDays format: prottek din (1 tarikh theke) 11 byte, big-endian:
+ *   [0]     status code (0 = oi din kono row nai, STATUSES er index, NULL_STATUS = status null)
+ *   [1-3]   check-in  second-of-day (0-86399), NONE = null
+ *   [4-6]   check-out second-of-day
+ *   [7-8]   work hours  x 100 (centi-hour)
+ *   [9-10]  overtime hours x 100
+ * * Pack lossless: unpack kore save korle (reopenMonth) ager row i ferot ase. Ja hubohu rakha jay na -
+ * dispute reason, onno status, boro/negative ghonta, 2 doshomik er beshi ghonta, second er bhognangsho
+ * (nano) ache emon somoy - sei employee er mash daily row e e thake (pack null return kore).
+ * * Purono row (V6 er por prothom format): din prati 9 byte, somoy minute-of-day 2 byte e. packedDays er
+ * length dekhe chena jay; pora jay, notun pack sob somoy 11 byte.
+ */
+public final class AttendanceMonthCodec {
+
+    public static final int BYTES_PER_DAY = 11;
+
+    // Prothom format (minute-of-day) - shudhu porar jonno
+    private static final int LEGACY_BYTES_PER_DAY = 9;
+
+    // Index = status code; 0 = row nai. Notun status jog korle shudhu SHESHE jog korun (purono code bodlabe na).
+    private static final String[] STATUSES = {
+            null, "CHECKED_IN", "CHECKED_OUT", "PRESENT", "PRESENT_MANUAL", "SHORT_WORK", "ABSENT"
+    };
+    private static final int NULL_STATUS = 0xFF;
+    private static final int NONE = 0xFFFF;
+    private static final int NO_TIME = 0xFFFFFF;
+
+    private AttendanceMonthCodec() {
+    }
+
+    // ==========================================
+    // 1. PACK (Daily rows -> ek row)
+    // ==========================================
+
+    /**
+     * [Pack Month]
+     * rows: ek employee er oi masher sob daily row.
+     * Kono row pack kora na gele null (caller oi employee ke daily row e rekhe dey).
+     */
+    public static AttendanceMonth pack(Long employeeId, YearMonth period, List<Attendance> rows) {
+        int days = period.lengthOfMonth();
+        byte[] packed = new byte[days * BYTES_PER_DAY];
+        int presentBits = 0;
+        double overtimeTotal = 0;
+
+        for (Attendance att : rows) {
+            if (!employeeId.equals(att.getEmployeeId()) || !YearMonth.from(att.getDate()).equals(period)
+                    || att.getDisputeReason() != null) {
+                return null;
+            }
+            int statusCode = statusCode(att.getStatus());
+            int workCenti = centi(att.getWorkHours());
+            int overtimeCenti = centi(att.getOvertimeHours());
+            int checkIn = secondOfDay(att.getCheckInTime());
+            int checkOut = secondOfDay(att.getCheckOutTime());
+            if (statusCode < 0 || workCenti < 0 || overtimeCenti < 0 || checkIn < 0 || checkOut < 0) {
+                return null;
+            }
+
+            int day = att.getDate().getDayOfMonth();
+            int offset = (day - 1) * BYTES_PER_DAY;
+            if (packed[offset] != 0) {
+                return null; // Ek dine duita row - unique constraint er age er purono data
+            }
+            packed[offset] = (byte) statusCode;
+            putMedium(packed, offset + 1, checkIn);
+            putMedium(packed, offset + 4, checkOut);
+            putShort(packed, offset + 7, workCenti);
+            putShort(packed, offset + 9, overtimeCenti);
+
+            if (att.isPresent()) {
+                presentBits |= 1 << (day - 1);
+            }
+            if (att.getOvertimeHours() != null) {
+                overtimeTotal += att.getOvertimeHours();
+            }
+        }
+
+        AttendanceMonth month = new AttendanceMonth();
+        month.setId(UUID.randomUUID());
+        month.setEmployeeId(employeeId);
+        month.setMonth(period.getMonthValue());
+        month.setYear(period.getYear());
+        month.setDays(days);
+        month.setPresentBits(presentBits);
+        month.setPackedDays(packed);
+        month.setOvertimeHours(overtimeTotal);
+        month.setCompactedAt(LocalDateTime.now());
+        return month;
+    }
+
+    // ==========================================
+    // 2. UNPACK (Dekhanor jonno)
+    // ==========================================
+
+    /**
+     * [Unpack Month]
+     * Jei din gula te row chilo, segula Attendance object hisebe (tarikh order e).
+     * Object gula database e nai (id null) - shudhu dekhanor jonno, save korben na.
+     */
+    public static List<Attendance> unpack(AttendanceMonth month) {
+        List<Attendance> rows = new ArrayList<>();
+        for (int day = 1; day <= month.getDays(); day++) {
+            Attendance att = dayOf(month, day);
+            if (att != null) {
+                rows.add(att);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Ek diner row (na thakle null).
+     */
+    public static Attendance dayOf(AttendanceMonth month, int day) {
+        if (day < 1 || day > month.getDays()) {
+            return null;
+        }
+        byte[] packed = month.getPackedDays();
+        boolean legacy = packed.length == month.getDays() * LEGACY_BYTES_PER_DAY;
+        int offset = (day - 1) * (legacy ? LEGACY_BYTES_PER_DAY : BYTES_PER_DAY);
+        int statusCode = packed[offset] & 0xFF;
+        if (statusCode == 0) {
+            return null;
+        }
+
+        Attendance att = new Attendance();
+        att.setEmployeeId(month.getEmployeeId());
+        att.setDate(YearMonth.of(month.getYear(), month.getMonth()).atDay(day));
+        att.setStatus(statusCode == NULL_STATUS ? null : STATUSES[statusCode]);
+        if (legacy) {
+            att.setCheckInTime(fromMinuteOfDay(getShort(packed, offset + 1)));
+            att.setCheckOutTime(fromMinuteOfDay(getShort(packed, offset + 3)));
+            att.setWorkHours(fromCenti(getShort(packed, offset + 5)));
+            att.setOvertimeHours(fromCenti(getShort(packed, offset + 7)));
+        } else {
+            att.setCheckInTime(fromSecondOfDay(getMedium(packed, offset + 1)));
+            att.setCheckOutTime(fromSecondOfDay(getMedium(packed, offset + 4)));
+            att.setWorkHours(fromCenti(getShort(packed, offset + 7)));
+            att.setOvertimeHours(fromCenti(getShort(packed, offset + 9)));
+        }
+        att.setPresent((month.getPresentBits() & (1 << (day - 1))) != 0);
+        return att;
+    }
+
+    // ==========================================
+    // 3. PAYROLL
+    // ==========================================
+
+    /**
+     * Weekend baad present din: workdayBits (CompiledPayrollPolicy.getWorkdayBits) er sathe AND kore bit gona.
+     */
+    public static int presentWorkingDays(AttendanceMonth month, int workdayBits) {
+        return Integer.bitCount(month.getPresentBits() & workdayBits);
+    }
+
+    // --- Helper Methods ---
+
+    private static int statusCode(String status) {
+        if (status == null) {
+            return NULL_STATUS;
+        }
+        for (int i = 1; i < STATUSES.length; i++) {
+            if (STATUSES[i].equals(status)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // null -> NONE; negative, 655.34 er beshi ba 2 doshomik er beshi -> -1 (pack hobe na)
+    private static int centi(Double hours) {
+        if (hours == null) {
+            return NONE;
+        }
+        long centi = Math.round(hours * 100);
+        if (centi < 0 || centi >= NONE || centi / 100.0 != hours) {
+            return -1;
+        }
+        return (int) centi;
+    }
+
+    private static Double fromCenti(int value) {
+        return value == NONE ? null : value / 100.0;
+    }
+
+    // null -> NO_TIME; second er bhognangsho thakle -1 (pack hobe na, nahole unpack e hariye jeto)
+    private static int secondOfDay(LocalTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.getNano() != 0 ? -1 : time.toSecondOfDay();
+    }
+
+    private static LocalTime fromSecondOfDay(int secondOfDay) {
+        return secondOfDay == NO_TIME ? null : LocalTime.ofSecondOfDay(secondOfDay);
+    }
+
+    private static LocalTime fromMinuteOfDay(int minuteOfDay) {
+        return minuteOfDay == NONE ? null : LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    private static void putShort(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 8);
+        bytes[offset + 1] = (byte) value;
+    }
+
+    private static int getShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static void putMedium(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 16);
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) value;
+    }
+
+    private static int getMedium(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 16) | ((bytes[offset + 1] & 0xFF) << 8) | (bytes[offset + 2] & 0xFF);
+    }
+}
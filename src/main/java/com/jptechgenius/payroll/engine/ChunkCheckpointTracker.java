@@ -0,0 +1,47 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.Employee;
+
+import java.util.List;
+
+/**
+ * [Chunk Checkpoint Tracker]
+ * --------------------------
+ * Parallel run e chunk gula je kono order e commit hote pare (chunk 5, tarpor chunk 2...).
+ * Checkpoint hisebe amra shudhu "shuru theke por por kon chunk porjonto sob commit hoyeche"
+ * seta rakhi (contiguous prefix). Resume korle er porer sob chunk abar chalano hoy -
+ * chunk gula idempotent (delete + insert), tai duibar cholleo somossa nai.
+ */
+public class ChunkCheckpointTracker {
+
+    private final List<List<Employee>> chunks;
+    private final boolean[] committed;
+    private int prefix = 0;
+    private int processed;
+
+    public ChunkCheckpointTracker(List<List<Employee>> chunks, int alreadyProcessed) {
+        this.chunks = chunks;
+        this.committed = new boolean[chunks.size()];
+        this.processed = alreadyProcessed;
+    }
+
+    /**
+     * Chunk commit howar por call korte hobe. Listener ke notun progress janay.
+     */
+    public synchronized void chunkCommitted(int index, PayrollProgressListener listener) {
+        committed[index] = true;
+        processed += chunks.get(index).size();
+
+        int before = prefix;
+        while (prefix < committed.length && committed[prefix]) {
+            prefix++;
+        }
+
+        Long checkpoint = null;
+        if (prefix > before) {
+            List<Employee> lastChunk = chunks.get(prefix - 1);
+            checkpoint = lastChunk.get(lastChunk.size() - 1).getId();
+        }
+        listener.onChunkCommitted(processed, checkpoint);
+    }
+}
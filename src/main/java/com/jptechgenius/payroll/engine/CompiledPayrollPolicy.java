@@ -0,0 +1,154 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.config.PayrollPolicyProperties;
+import com.jptechgenius.payroll.repository.DatePeriod;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * [Compiled Payroll Policy]
+ * -------------------------
+ * PayrollPolicyProperties theke ek masher jonno ekbar banano hoy (run shurur age).
+ * * Compile e ki hoy?
+ * 1. Stage list validate hoye array te (earning ar deduction alada).
+ * 2. Overtime multiplier ar tax percent BigDecimal theke integer numerator/denominator e.
+ * 3. Working days (weekend baad) ar overtime er bhag-fol er denominator agei hisab.
+ * Tai employee prati shudhu long gun/bhag - kono config lookup, parsing ba reflection nai.
+ * * Immutable, tai parallel chunk gula eksathe use korte pare.
+ */
+@Getter
+public final class CompiledPayrollPolicy {
+
+    private final int month;
+    private final int year;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    // Repository query er jonno half-open range (startDate <= date < porer masher 1 tarikh)
+    private final DatePeriod period;
+    private final int workingDays;
+
+    // bit (d-1) = d tarikh karjodibos - compact attendance (AttendanceMonth.presentBits) er sathe AND
+    private final int workdayBits;
+
+    // HQL 'day of week' numbering e weekend (query parameter er jonno)
+    private final List<Integer> weekendHqlDays;
+
+    // ISO numbering e weekend (Monday = 1 ... Sunday = 7) - native SQL er extract(isodow) er jonno
+    private final List<Integer> weekendIsoDays;
+
+    private final PayrollStageType[] earningStages;
+    private final PayrollStageType[] deductionStages;
+
+    // overtime = basic * centiHours * overtimeNumerator / overtimeDenominator
+    private final long overtimeNumerator;
+    private final long overtimeDenominator;
+
+    // tax = payable * taxBasisPoints / 10000  (5% = 500 bp)
+    private final long taxBasisPoints;
+
+    private CompiledPayrollPolicy(PayrollPolicyProperties props, YearMonth period) {
+        this.month = period.getMonthValue();
+        this.year = period.getYear();
+        this.startDate = period.atDay(1);
+        this.endDate = period.atEndOfMonth();
+        this.period = DatePeriod.ofMonth(period);
+
+        Set<DayOfWeek> weekend = props.getWeekendDays().isEmpty()
+                ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(props.getWeekendDays());
+        this.workingDays = countWorkingDays(startDate, endDate, weekend);
+        this.workdayBits = workdayBits(startDate, endDate, weekend);
+
+        List<Integer> hqlDays = new ArrayList<>();
+        List<Integer> isoDays = new ArrayList<>();
+        for (DayOfWeek day : weekend) {
+            hqlDays.add(toHqlDayOfWeek(day));
+            isoDays.add(day.getValue());
+        }
+        // 'NOT IN ()' SQL e chole na; 0 kono diner number na, tai kichui baad porbe na
+        this.weekendHqlDays = hqlDays.isEmpty() ? List.of(0) : List.copyOf(hqlDays);
+        this.weekendIsoDays = isoDays.isEmpty() ? List.of(0) : List.copyOf(isoDays);
+
+        this.earningStages = stages(props.getEarnings(), PayrollStageType.Kind.EARNING);
+        this.deductionStages = stages(props.getDeductions(), PayrollStageType.Kind.DEDUCTION);
+
+        if (props.getHoursPerDay() <= 0) {
+            throw new IllegalStateException("app.payroll.policy.hours-per-day must be positive");
+        }
+        BigDecimal multiplier = props.getOvertimeMultiplier().stripTrailingZeros();
+        long multiplierScale = BigDecimal.TEN.pow(Math.max(0, multiplier.scale())).longValueExact();
+        this.overtimeNumerator = multiplier.movePointRight(Math.max(0, multiplier.scale())).longValueExact();
+        // basic / workingDays / hoursPerDay / 100 (centi-hour) / multiplierScale
+        this.overtimeDenominator = Math.multiplyExact((long) Math.max(1, workingDays) * props.getHoursPerDay() * 100L, multiplierScale);
+
+        this.taxBasisPoints = props.getTaxPercent().movePointRight(2).longValueExact();
+    }
+
+    public static CompiledPayrollPolicy compile(PayrollPolicyProperties props, int month, int year) {
+        return new CompiledPayrollPolicy(props, YearMonth.of(year, month));
+    }
+
+    /**
+     * [Stage Count]
+     * Ei stage pipeline e koybar ache (0 = bondho). SQL engine eta gunok hisebe use kore,
+     * karon oikhane loop nai - prottek stage er term ekbar likha, count diye gun.
+     */
+    public int stageCount(PayrollStageType stage) {
+        PayrollStageType[] stages = stage.getKind() == PayrollStageType.Kind.EARNING ? earningStages : deductionStages;
+        int count = 0;
+        for (PayrollStageType configured : stages) {
+            if (configured == stage) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // --- Helper Methods ---
+
+    private static PayrollStageType[] stages(List<PayrollStageType> configured, PayrollStageType.Kind kind) {
+        for (PayrollStageType stage : configured) {
+            if (stage.getKind() != kind) {
+                throw new IllegalStateException("Payroll stage " + stage + " is not a " + kind + " stage");
+            }
+        }
+        return configured.toArray(new PayrollStageType[0]);
+    }
+
+    /**
+     * Asol karjodibos (Working Days) count kora (Weekend baad diye).
+     */
+    static int countWorkingDays(LocalDate startDate, LocalDate endDate, Set<DayOfWeek> weekend) {
+        int count = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!weekend.contains(date.getDayOfWeek())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int workdayBits(LocalDate startDate, LocalDate endDate, Set<DayOfWeek> weekend) {
+        int bits = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!weekend.contains(date.getDayOfWeek())) {
+                bits |= 1 << (date.getDayOfMonth() - 1);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Java DayOfWeek (Monday = 1 ... Sunday = 7) theke HQL 'day of week' (Sunday = 1 ... Saturday = 7).
+     */
+    static int toHqlDayOfWeek(DayOfWeek day) {
+        return day.getValue() % 7 + 1;
+    }
+}
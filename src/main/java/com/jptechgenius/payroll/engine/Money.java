@@ -0,0 +1,83 @@
+package com.jptechgenius.payroll.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * [Money - Fixed Point Helper]
+ * ----------------------------
+ * Payroll engine er sob hisab 'paisa' (minor unit) te primitive long diye hoy.
+ * Double e hisab korle prottek dhape ektu ektu vul (0.1 + 0.2 != 0.3) jome,
+ * ar hajar employee er total e paisa ghore jay. long e jog-biyog sob somoy exact.
+ * * Ei class er kono object banano hoy na - shudhu static method, tai per-employee kono allocation nai.
+ * * Rounding: Half-up (0.5 paisa hole upore), shudhu gun/bhag er somoy ekbar.
+ */
+public final class Money {
+
+    // 1 Taka = 100 Paisa
+    public static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    // ==========================================
+    // CONVERSION
+    // ==========================================
+
+    /**
+     * Taka (double) theke paisa. null mane 0.
+     * Database e amount numeric(19,2), tai 2 doshomik er double *100 kore round korle exact paisa pawa jay.
+     */
+    public static long ofMajor(Double taka) {
+        return taka == null ? 0 : Math.round(taka * MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Query result (SUM) theke paisa. Driver BigDecimal ba Double je kono ta dite pare.
+     */
+    public static long of(Number amount) {
+        if (amount == null) {
+            return 0;
+        }
+        if (amount instanceof BigDecimal decimal) {
+            return decimal.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return Math.round(amount.doubleValue() * MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Paisa theke Taka (entity field ar UI er jonno).
+     */
+    public static double toMajor(long minor) {
+        return minor / (double) MINOR_PER_MAJOR;
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    // ==========================================
+    // ARITHMETIC
+    // ==========================================
+
+    /**
+     * amount * numerator / denominator, half-up round.
+     * Majher gunfol overflow hole ArithmeticException (chupchap vul hisab er cheye bhalo).
+     */
+    public static long mulDiv(long amount, long numerator, long denominator) {
+        long product = Math.multiplyExact(amount, numerator);
+        long quotient = product / denominator;
+        long remainder = product % denominator;
+        if (Math.abs(remainder) * 2 >= Math.abs(denominator)) {
+            quotient += Long.signum(product) * Long.signum(denominator);
+        }
+        return quotient;
+    }
+
+    /**
+     * amount er percent% (jemon 5% tax), half-up round.
+     */
+    public static long percent(long amount, int percent) {
+        return mulDiv(amount, percent, 100);
+    }
+}
@@ -0,0 +1,96 @@
+package com.jptechgenius.payroll.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * [Parallel Reads]
+ * ----------------
+ * Ek page er eke oporer upor nirbhor kore na emon read gula (dashboard card, chart, list)
+ * eksathe virtual thread e chalay - page er somoy sob query er jogfol na, sobcheye slow ta.
+ * * Use (try-with-resources, tai kono thread page er baire "jhule" thake na):
+ * <pre>
+ *   try (ParallelReads reads = ParallelReads.open("Dashboard", timeout)) {
+ *       Supplier&lt;Long&gt; count = reads.fork("employees", repo::count, 0L);
+ *       ...
+ *       model.addAttribute("total", count.get());
+ *   }
+ * </pre>
+ * * Prottek call er nijer timeout. Somoy par hole ba exception hole oi call er fallback value ase,
+ * baki page thik moto dekhay (partial result); failed() e kon gula pore nai.
+ * * Note: Timeout e JDBC query thamano jay na - thread ta background e shesh kore connection pool e ferot
+ * dey, result fele deya hoy. Tai timeout connection pool er wait er cheye beshi rakha uchit na.
+ * Java 21 er StructuredTaskScope ekhono preview, tai CompletableFuture + virtual thread executor.
+ */
+public final class ParallelReads implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelReads.class);
+
+    private final String label;
+    private final Duration defaultTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<String> failed = new CopyOnWriteArrayList<>();
+
+    private ParallelReads(String label, Duration defaultTimeout) {
+        this.label = label;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * label: log e kon page (jemon "Employee dashboard"); defaultTimeout: fork e timeout na dile.
+     */
+    public static ParallelReads open(String label, Duration defaultTimeout) {
+        return new ParallelReads(label, defaultTimeout);
+    }
+
+    public <T> Supplier<T> fork(String name, Supplier<T> read, T fallback) {
+        return fork(name, defaultTimeout, read, fallback);
+    }
+
+    /**
+     * Read ta sathe sathe shuru hoy; return kora Supplier er get() result (ba fallback) porjonto opekkha kore.
+     */
+    public <T> Supplier<T> fork(String name, Duration timeout, Supplier<T> read, T fallback) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(read, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    failed.add(name);
+                    if (cause instanceof TimeoutException) {
+                        log.warn("{}: '{}' timed out after {} ms - showing fallback", label, name, timeout.toMillis());
+                    } else {
+                        log.warn("{}: '{}' failed - showing fallback", label, name, cause);
+                    }
+                    return fallback;
+                });
+        return future::join;
+    }
+
+    /**
+     * Fallback deya call gular nam. Sob get() er pore dekhte hobe (tar age cholonto call gona hoy na).
+     */
+    public List<String> failed() {
+        return List.copyOf(failed);
+    }
+
+    public boolean isPartial() {
+        return !failed.isEmpty();
+    }
+
+    // Notun task ney na; timeout howa task gula nijer moto shesh hoy (interrupt korle JDBC connection bhange)
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
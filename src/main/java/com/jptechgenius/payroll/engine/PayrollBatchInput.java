@@ -0,0 +1,110 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.dto.AttendanceSummary;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.repository.DatePeriod;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [Payroll Batch Input]
+ * ---------------------
+ * Ek masher payroll chalanor jonno je sob data lage, sob ekhane eksathe thake.
+ * PayrollInputLoader kichu grouped query diye eta fill kore dey, sob kichu Employee ID diye keyed.
+ * * Keno?
+ * Calculation loop er vitore jate ar kono database call na lage.
+ * Loop shudhu ei Map gula theke data porbe ar hisab korbe.
+ */
+@Getter
+public class PayrollBatchInput {
+
+    // Ei masher jonno compile kora policy (mash, tarikh, working days, tax/overtime rate)
+    private final CompiledPayrollPolicy policy;
+
+    // Jader salary hobe (SUSPENDED baad)
+    private final List<Employee> employees;
+
+    private final Map<Long, AttendanceSummary> attendanceByEmployee;
+
+    // Employee ID -> oi masher mot fine (paisa)
+    private final Map<Long, Long> penaltyMinorByEmployee;
+
+    // Employee ID -> jog howa fine gular moddhe je gula ekhono PENDING (DEDUCTED korar id)
+    private final Map<Long, List<Long>> pendingChargeIdsByEmployee;
+
+    // Load shurur database somoy: er age lekha dirty mark er change ei input e ache
+    private final LocalDateTime loadedAt;
+
+    public PayrollBatchInput(CompiledPayrollPolicy policy,
+                             List<Employee> employees,
+                             Map<Long, AttendanceSummary> attendanceByEmployee,
+                             Map<Long, Long> penaltyMinorByEmployee,
+                             Map<Long, List<Long>> pendingChargeIdsByEmployee,
+                             LocalDateTime loadedAt) {
+        this.policy = policy;
+        this.employees = employees;
+        this.attendanceByEmployee = attendanceByEmployee;
+        this.penaltyMinorByEmployee = penaltyMinorByEmployee;
+        this.pendingChargeIdsByEmployee = pendingChargeIdsByEmployee;
+        this.loadedAt = loadedAt;
+    }
+
+    // --- Period Shortcuts ---
+
+    public int getMonth() {
+        return policy.getMonth();
+    }
+
+    public int getYear() {
+        return policy.getYear();
+    }
+
+    // Masher prothom ar shesh din (Example: Nov 1 - Nov 30)
+    public LocalDate getStartDate() {
+        return policy.getStartDate();
+    }
+
+    public LocalDate getEndDate() {
+        return policy.getEndDate();
+    }
+
+    public DatePeriod getPeriod() {
+        return policy.getPeriod();
+    }
+
+    // Weekend baad diye masher mot karjodibos
+    public int getWorkingDays() {
+        return policy.getWorkingDays();
+    }
+
+    // --- Lookup Helpers (Shudhu Map theke pore, DB te jay na) ---
+
+    public AttendanceSummary attendanceOf(Long employeeId) {
+        return attendanceByEmployee.get(employeeId);
+    }
+
+    public long penaltyMinorOf(Long employeeId) {
+        Long penalty = penaltyMinorByEmployee.get(employeeId);
+        return penalty != null ? penalty : 0;
+    }
+
+    /**
+     * Ei employee der salary te kata PENDING fine er id - shudhu egulai DEDUCTED hobe.
+     */
+    public List<Long> pendingChargeIdsOf(Collection<Long> employeeIds) {
+        List<Long> chargeIds = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            List<Long> ids = pendingChargeIdsByEmployee.get(employeeId);
+            if (ids != null) {
+                chargeIds.addAll(ids);
+            }
+        }
+        return chargeIds;
+    }
+}
@@ -0,0 +1,107 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.dto.AttendanceSummary;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [Payroll Calculator]
+ * --------------------
+ * Ekjon employee er ek masher salary hisab ekhane hoy.
+ * Ei class kono database call kore na - shudhu PayrollBatchInput er Map theke data pore.
+ * Tai loop er vitore eta hajar bar call korleo kono round trip hoy na.
+ * * Kon kon stage cholbe ar ki rate e, ta CompiledPayrollPolicy theke ase (application.properties).
+ * * Sob taka 'paisa' te long (Money class). Gun/bhag e ekbar half-up round hoy, jog-biyog exact -
+ * tai deductions + netPay er jogfol sob somoy payable + overtime er sathe paisa porjonto mile.
+ */
+@Component
+public class PayrollCalculator {
+
+    /**
+     * [Calculate One Employee]
+     * Hajira, overtime, penalty, tax jog-biyog kore notun PayrollRecord banay (save kore na).
+     */
+    public PayrollRecord calculate(Employee emp, PayrollBatchInput input) {
+        return calculate(emp, input.getPolicy(), input.attendanceOf(emp.getId()), input.penaltyMinorOf(emp.getId()));
+    }
+
+    /**
+     * [Calculate Whole Batch]
+     * Input er sob employee (SUSPENDED agei baad) er record, input er order e.
+     */
+    public List<PayrollRecord> calculateAll(PayrollBatchInput input) {
+        List<PayrollRecord> records = new ArrayList<>(input.getEmployees().size());
+        for (Employee emp : input.getEmployees()) {
+            records.add(calculate(emp, input));
+        }
+        return records;
+    }
+
+    /**
+     * [Calculate One Employee - Raw Input]
+     * Streaming mode e Map thake na; cursor theke paoa attendance summary ar fine (paisa) sorasori dey.
+     * attendance null mane oi mashe kono hajira nai.
+     * * Policy (tax, overtime, stage order) run er shurute ekbar compile kora - ekhane shudhu gun/bhag.
+     */
+    public PayrollRecord calculate(Employee emp, CompiledPayrollPolicy policy,
+                                   AttendanceSummary attendance, long penaltyMinor) {
+
+        // --- INPUT (sob paisa te) ---
+        long basicMinor = Money.ofMajor(emp.getBasicSalary()); // Tar mul beton
+        long fixedDeductionMinor = Money.ofMajor(emp.getDeductions()); // Jemon lunch bill, transport charge
+
+        // Attendance summary (weekend er present day agei baad deya ache)
+        long presentDays = (attendance != null && attendance.getPresentDays() != null) ? attendance.getPresentDays() : 0;
+        double overtimeHours = (attendance != null && attendance.getOvertimeHours() != null) ? attendance.getOvertimeHours() : 0;
+        long overtimeCentiHours = Math.round(overtimeHours * 100);
+
+        // --- EARNING STAGES ---
+        long payableMinor = 0;   // Payslip er "Payable Basic"
+        long bonusMinor = 0;     // Baki sob earning (overtime etc.)
+        for (PayrollStageType stage : policy.getEarningStages()) {
+            switch (stage) {
+                case BASIC_PRORATED -> payableMinor += Money.mulDiv(basicMinor, presentDays, policy.getWorkingDays());
+                case OVERTIME -> bonusMinor += Money.mulDiv(basicMinor,
+                        Math.multiplyExact(overtimeCentiHours, policy.getOvertimeNumerator()), policy.getOvertimeDenominator());
+                default -> throw new IllegalStateException("Not an earning stage: " + stage);
+            }
+        }
+
+        // --- DEDUCTION STAGES ---
+        long deductionsMinor = 0;
+        for (PayrollStageType stage : policy.getDeductionStages()) {
+            switch (stage) {
+                case TAX -> deductionsMinor += Money.mulDiv(payableMinor, policy.getTaxBasisPoints(), 10_000);
+                case PENALTY -> deductionsMinor += penaltyMinor;
+                case FIXED_DEDUCTION -> deductionsMinor += fixedDeductionMinor;
+                default -> throw new IllegalStateException("Not a deduction stage: " + stage);
+            }
+        }
+
+        // --- FINAL NET PAY --- (jog-biyog, kono rounding nai)
+        long netPayMinor = payableMinor + bonusMinor - deductionsMinor;
+
+        // --- SNAPSHOT ---
+        PayrollRecord record = new PayrollRecord();
+        record.setEmployeeId(emp.getId());
+        record.setEmployeeName(emp.getName());
+        record.setDesignation(emp.getDesignation());
+        record.setImageUrl(emp.getImageUrl()); // Payslip e chobi dekhanor jonno
+
+        record.setMonth(policy.getMonth());
+        record.setYear(policy.getYear());
+
+        record.setBasicSalary(Money.toMajor(payableMinor)); // Eita mul basic na, eita holo "Payable Basic"
+        record.setBonus(Money.toMajor(bonusMinor));
+        record.setDeductions(Money.toMajor(deductionsMinor));
+        record.setNetPay(Money.toMajor(netPayMinor));
+
+        record.setPaymentDate(LocalDate.now());
+        return record;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.ChargeSheet;
+import com.jptechgenius.payroll.model.Employee;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * [Payroll Change Listener]
+ * -------------------------
+ * Attendance, ChargeSheet ar Employee entity te @EntityListeners diye lagano.
+ * Jei row bodlabe, tar (employee, mash) PayrollDirtyTracker e mark hoy.
+ * * Hibernate Spring er bean container use kore, tai constructor injection kaj kore.
+ * Tracker ObjectProvider diye nei: listener EntityManagerFactory toirir somoy banano hoy,
+ * tokhon repository (jeta abar EMF chay) bean ready thake na - circular dependency.
+ * * Note: Bulk JPQL UPDATE/DELETE (jemon payroll er 'DEDUCTED' update) e listener call hoy na -
+ * oita payroll nijei kore, tai dirty howar kotha na.
+ */
+public class PayrollChangeListener {
+
+    private final ObjectProvider<PayrollDirtyTracker> tracker;
+
+    public PayrollChangeListener(ObjectProvider<PayrollDirtyTracker> tracker) {
+        this.tracker = tracker;
+    }
+
+    // JPA: ek listener class e ek event er jonno ektai method thakte pare
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        if (entity instanceof Employee emp) {
+            emp.setLoadedPayrollState(emp.payrollState());
+            return;
+        }
+        onRowChanged(entity);
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onRowChanged(Object entity) {
+        if (entity instanceof Attendance att) {
+            tracker.getObject().markDate(att.getEmployeeId(), att.getDate(), "ATTENDANCE");
+        } else if (entity instanceof ChargeSheet charge && charge.getEmployee() != null) {
+            tracker.getObject().markDate(charge.getEmployee().getId(), charge.getIssueDate(), "CHARGE_SHEET");
+        }
+    }
+
+    // ==========================================
+    // EMPLOYEE: Shudhu salary field bodlale
+    // ==========================================
+
+    @PostLoad
+    public void rememberSalaryState(Object entity) {
+        if (entity instanceof Employee emp) {
+            emp.setLoadedPayrollState(emp.payrollState());
+        }
+    }
+
+    @PreUpdate
+    public void onEmployeeUpdate(Object entity) {
+        if (entity instanceof Employee emp && !emp.payrollState().equals(emp.getLoadedPayrollState())) {
+            tracker.getObject().markEmployee(emp.getId(), "EMPLOYEE");
+            emp.setLoadedPayrollState(emp.payrollState());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.repository.PayrollDirtyMarkRepository;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * [Payroll Dirty Tracker]
+ * -----------------------
+ * PayrollChangeListener ekhane janay kon employee er kon mash bodleche.
+ * Mark gula transaction er vitore jomte thake, ar commit safol hole
+ * ekbare 'payroll_dirty_marks' e lekha hoy (rollback hole kichui lekha hoy na).
+ * * Keno commit er pore?
+ * Listener gula Hibernate flush er majhe call hoy, tokhon notun query chalano nirapod na.
+ */
+@Component
+public class PayrollDirtyTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollDirtyTracker.class);
+
+    // Ek transaction e joma hoa mark gula ei key te bind thake
+    private static final Object RESOURCE_KEY = PayrollDirtyTracker.class.getName() + ".pending";
+
+    private final PayrollDirtyMarkRepository markRepository;
+    private final PayrollRepository payrollRepository;
+    private final TransactionTemplate newTx;
+
+    public PayrollDirtyTracker(PayrollDirtyMarkRepository markRepository,
+                               PayrollRepository payrollRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.markRepository = markRepository;
+        this.payrollRepository = payrollRepository;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Hajira ba fine er tarikh theke mash ber kore mark.
+     */
+    public void markDate(Long employeeId, LocalDate date, String reason) {
+        if (employeeId == null || date == null) {
+            return;
+        }
+        enqueue(new PendingMark(employeeId, date.getMonthValue(), date.getYear(), reason));
+    }
+
+    /**
+     * Salary bodlale chalu mash ar shesh je mashe payroll hoyeche - duitai purono.
+     * Shesh payroll mash ta commit er por ber kora hoy.
+     */
+    public void markEmployee(Long employeeId, String reason) {
+        if (employeeId == null) {
+            return;
+        }
+        enqueue(new PendingMark(employeeId, 0, 0, reason));
+    }
+
+    // ==========================================
+    // TRANSACTION HANDLING
+    // ==========================================
+
+    @SuppressWarnings("unchecked")
+    private void enqueue(PendingMark mark) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Transaction er baire (sadharonoto hoy na) - sathe sathe lekha
+            write(Set.of(mark));
+            return;
+        }
+
+        Set<PendingMark> pending = (Set<PendingMark>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (pending == null) {
+            Set<PendingMark> marks = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, marks);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(marks);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+            pending = marks;
+        }
+        pending.add(mark);
+    }
+
+    private void write(Set<PendingMark> marks) {
+        try {
+            newTx.executeWithoutResult(status -> {
+                for (PendingMark mark : marks) {
+                    if (mark.month() != 0) {
+                        markRepository.upsert(mark.employeeId(), mark.month(), mark.year(), mark.reason());
+                        continue;
+                    }
+                    LocalDate today = LocalDate.now();
+                    markRepository.upsert(mark.employeeId(), today.getMonthValue(), today.getYear(), mark.reason());
+                    payrollRepository.findFirstByEmployeeIdOrderByYearDescMonthDesc(mark.employeeId())
+                            .ifPresent(last -> markRepository.upsert(mark.employeeId(), last.getMonth(), last.getYear(), mark.reason()));
+                }
+            });
+        } catch (Exception e) {
+            // Asol change already commit hoye geche; mark na holeo full run e thik hoye jabe.
+            log.error("Could not record payroll dirty marks", e);
+        }
+    }
+
+    // month = 0 mane "employee level change", mash commit er por ber hobe
+    private record PendingMark(Long employeeId, int month, int year, String reason) {
+    }
+}
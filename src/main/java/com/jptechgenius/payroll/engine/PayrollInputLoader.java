@@ -0,0 +1,198 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.config.PayrollPolicyProperties;
+import com.jptechgenius.payroll.dto.AttendanceSummary;
+import com.jptechgenius.payroll.dto.AttendanceTotals;
+import com.jptechgenius.payroll.dto.PenaltyLine;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.repository.AttendanceMonthRepository;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.repository.PayrollDirtyMarkRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * [Payroll Batch Input Loader]
+ * ----------------------------
+ * Ager engine prottek employee er jonno 3-4 ta query chalato (3N+ round trip).
+ * 8000 employee hole hajar hajar query! Ei loader puro masher data matro 3 ta query te ane:
+ * 1. Sob employee
+ * 2. Attendance summary (GROUP BY employee_id)
+ * 3. Masher fine er row (id, employee, amount, status) - jogfol ar DEDUCTED korar PENDING id ekoi snapshot theke
+ * Tarpor sob kichu Employee ID diye Map e sajiye PayrollBatchInput banay.
+ * (Purono record delete ar charge DEDUCTED kora bulk statement e hoy; DEDUCTED er jonno shudhu fine er id lage.)
+ * * Bondho mash compact hoye thakle (AttendanceMonth) hajira summary daily row ar compact row duita theke
+ * jog hoy - payroll er kache same AttendanceSummary.
+ * * Prothom query er AGE database er somoy (loadedAt) neya hoy; writer shudhu er age lekha dirty mark
+ * muche, tai load er por asha change er mark harabe na.
+ */
+@Component
+public class PayrollInputLoader {
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final ChargeSheetRepository chargeSheetRepository;
+    private final PayrollDirtyMarkRepository dirtyMarkRepository;
+    private final PayrollPolicyProperties policyProperties;
+
+    public PayrollInputLoader(EmployeeRepository employeeRepository,
+                              AttendanceRepository attendanceRepository,
+                              AttendanceMonthRepository attendanceMonthRepository,
+                              ChargeSheetRepository chargeSheetRepository,
+                              PayrollDirtyMarkRepository dirtyMarkRepository,
+                              PayrollPolicyProperties policyProperties) {
+        this.employeeRepository = employeeRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
+        this.chargeSheetRepository = chargeSheetRepository;
+        this.dirtyMarkRepository = dirtyMarkRepository;
+        this.policyProperties = policyProperties;
+    }
+
+    /**
+     * [Compile Policy]
+     * Run prati ekbar: config theke ei masher CompiledPayrollPolicy.
+     */
+    public CompiledPayrollPolicy compilePolicy(int month, int year) {
+        return CompiledPayrollPolicy.compile(policyProperties, month, year);
+    }
+
+    /**
+     * [Load Month]
+     * Read-only data; caller er transaction er vitore call korlei hobe.
+     */
+    public PayrollBatchInput load(int month, int year) {
+        CompiledPayrollPolicy policy = compilePolicy(month, year);
+        LocalDateTime loadedAt = dirtyMarkRepository.transactionTimestamp();
+
+        // 1. SUSPENDED der salary hobe na, tai shurutei baad dilam
+        List<Employee> employees = activeOnly(employeeRepository.findAll());
+
+        // 2. Attendance summary (ekta GROUP BY query, mash compact hole + compact row)
+        List<AttendanceSummary> attendance = summarizeAttendance(policy);
+
+        // 3. Masher fine (ekta query; jogfol ar PENDING id build e)
+        List<PenaltyLine> penalties = chargeSheetRepository.findPenaltyLinesByPeriod(policy.getPeriod());
+
+        return build(policy, employees, attendance, penalties, loadedAt);
+    }
+
+    /**
+     * [Load Month - Selected Employees]
+     * Recompute Dirty mode: same 3 ta query, kintu shudhu deya employee der jonno.
+     */
+    public PayrollBatchInput load(int month, int year, Collection<Long> employeeIds) {
+        CompiledPayrollPolicy policy = compilePolicy(month, year);
+        LocalDateTime loadedAt = dirtyMarkRepository.transactionTimestamp();
+
+        List<Employee> employees = activeOnly(employeeRepository.findAllById(employeeIds));
+        List<AttendanceSummary> attendance = withCompacted(policy,
+                attendanceRepository.summarizeByPeriodForEmployees(policy.getPeriod(), policy.getWeekendHqlDays(), employeeIds),
+                () -> attendanceMonthRepository.findByMonthAndYearAndEmployeeIdIn(month, year, employeeIds));
+        List<PenaltyLine> penalties = chargeSheetRepository.findPenaltyLinesByPeriodForEmployees(
+                policy.getPeriod(), employeeIds);
+
+        return build(policy, employees, attendance, penalties, loadedAt);
+    }
+
+    /**
+     * [Load Month - One Shard]
+     * Cluster mode: employee_id % shardCount = shardIndex er employee der same 3 ta query.
+     */
+    public PayrollBatchInput loadShard(int month, int year, int shardIndex, int shardCount) {
+        CompiledPayrollPolicy policy = compilePolicy(month, year);
+        LocalDateTime loadedAt = dirtyMarkRepository.transactionTimestamp();
+
+        List<Employee> employees = employeeRepository.findActiveInShard(shardCount, shardIndex);
+        List<AttendanceSummary> attendance = withCompacted(policy,
+                attendanceRepository.summarizeByPeriodForShard(policy.getPeriod(), policy.getWeekendHqlDays(), shardCount, shardIndex),
+                () -> attendanceMonthRepository.findForShard(month, year, shardCount, shardIndex));
+        List<PenaltyLine> penalties = chargeSheetRepository.findPenaltyLinesByPeriodForShard(
+                policy.getPeriod(), shardCount, shardIndex);
+
+        return build(policy, employees, attendance, penalties, loadedAt);
+    }
+
+    /**
+     * [Attendance Summary - Whole Month]
+     * Daily row er GROUP BY + compact mash er row. What-if simulator o eita use kore.
+     */
+    public List<AttendanceSummary> summarizeAttendance(CompiledPayrollPolicy policy) {
+        return withCompacted(policy,
+                attendanceRepository.summarizeByPeriod(policy.getPeriod(), policy.getWeekendHqlDays()),
+                () -> attendanceMonthRepository.findByMonthAndYear(policy.getMonth(), policy.getYear()));
+    }
+
+    /**
+     * [Compact Month -> Summary]
+     * Weekend baad present din (bitmap & workdayBits) ar masher overtime jogfol.
+     */
+    public static AttendanceSummary compactSummary(AttendanceMonth month, CompiledPayrollPolicy policy) {
+        if (month == null) {
+            return null;
+        }
+        return new AttendanceTotals(month.getEmployeeId(),
+                AttendanceMonthCodec.presentWorkingDays(month, policy.getWorkdayBits()), month.getOvertimeHours());
+    }
+
+    // Mash e kichui compact na hole (sadharon case) compact table e query e jay na
+    private List<AttendanceSummary> withCompacted(CompiledPayrollPolicy policy,
+                                                  List<AttendanceSummary> daily,
+                                                  Supplier<List<AttendanceMonth>> compacted) {
+        if (!attendanceMonthRepository.existsByMonthAndYear(policy.getMonth(), policy.getYear())) {
+            return daily;
+        }
+        Map<Long, AttendanceSummary> byEmployee = new LinkedHashMap<>();
+        for (AttendanceSummary summary : daily) {
+            byEmployee.put(summary.getEmployeeId(), summary);
+        }
+        for (AttendanceMonth month : compacted.get()) {
+            byEmployee.merge(month.getEmployeeId(), compactSummary(month, policy), AttendanceTotals::combine);
+        }
+        return new ArrayList<>(byEmployee.values());
+    }
+
+    private PayrollBatchInput build(CompiledPayrollPolicy policy,
+                                    List<Employee> employees,
+                                    List<AttendanceSummary> attendanceRows,
+                                    List<PenaltyLine> penaltyRows,
+                                    LocalDateTime loadedAt) {
+        Map<Long, AttendanceSummary> attendance = new HashMap<>();
+        for (AttendanceSummary summary : attendanceRows) {
+            attendance.put(summary.getEmployeeId(), summary);
+        }
+
+        // numeric(19,2) er prottek amount exact paisa, tai jogfol SQL er SUM er sathe hubohu mile
+        Map<Long, Long> penalties = new HashMap<>();
+        Map<Long, List<Long>> pendingChargeIds = new HashMap<>();
+        for (PenaltyLine line : penaltyRows) {
+            penalties.merge(line.getEmployeeId(), Money.ofMajor(line.getPenaltyAmount()), Long::sum);
+            if ("PENDING".equals(line.getStatus())) {
+                pendingChargeIds.computeIfAbsent(line.getEmployeeId(), id -> new ArrayList<>()).add(line.getId());
+            }
+        }
+
+        return new PayrollBatchInput(policy, employees, attendance, penalties, pendingChargeIds, loadedAt);
+    }
+
+    // --- Helper Methods ---
+
+    private static List<Employee> activeOnly(List<Employee> employees) {
+        return employees.stream()
+                .filter(emp -> !"SUSPENDED".equalsIgnoreCase(emp.getStatus()))
+                .collect(Collectors.toList());
+    }
+}
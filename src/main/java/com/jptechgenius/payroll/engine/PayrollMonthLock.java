@@ -0,0 +1,160 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.repository.PayrollShardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * [Payroll Month Lock]
+ * --------------------
+ * Ek masher payroll_records ek somoy ekta run e lekha hoy - je mode e i hok, je node e i hok.
+ * Key: PostgreSQL advisory lock (year * 100 + month, -1) - cluster run er start o eta i dhore.
+ * * Duita rup:
+ * 1. lockForWrite: ek transaction er run (sequential, streaming, SQL, dirty, backfill er write) -
+ *    '_xact_' lock, commit/rollback e nije chere dey.
+ * 2. acquire: onek transaction er run (chunked/parallel) - alada connection e session lock,
+ *    puro run sesh hole (close) chere dey. Node crash korle connection er sathe lock o jay.
+ * * Lock pele o cluster run er shard (FINALIZED na) thakle lekha hoy na - shard gula lock chara
+ * nijer bhag lekhe, tai tader sathe interleave hote dei na.
+ * Wait kore na: lock onno run er kache thakle sathe sathe IllegalStateException.
+ */
+@Component
+public class PayrollMonthLock {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollMonthLock.class);
+
+    private static final int MONTH_LOCK = -1;
+
+    private final PayrollShardRepository shardRepository;
+    private final DataSource dataSource;
+
+    public PayrollMonthLock(PayrollShardRepository shardRepository, DataSource dataSource) {
+        this.shardRepository = shardRepository;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Cholonto transaction e lock; transaction shesh na howa porjonto onno run ei mash lekhte pare na.
+     */
+    public void lockForWrite(int month, int year) {
+        if (!shardRepository.tryLock(monthKey(month, year), MONTH_LOCK)) {
+            throw busy(month, year);
+        }
+        checkNoClusterRun(month, year);
+    }
+
+    /**
+     * Onek transaction er run er jonno lock - try-with-resources e rakhun.
+     */
+    public Lease acquire(int month, int year) {
+        int key = monthKey(month, year);
+        Connection connection;
+        boolean locked;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not lock payroll " + month + "/" + year + ": " + e.getMessage(), e);
+        }
+        try {
+            connection.setAutoCommit(true);
+            locked = query(connection, "SELECT pg_try_advisory_lock(?, ?)", key);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IllegalStateException("Could not lock payroll " + month + "/" + year + ": " + e.getMessage(), e);
+        }
+        if (!locked) {
+            closeQuietly(connection);
+            throw busy(month, year);
+        }
+
+        Lease lease = new Lease(connection, key);
+        try {
+            checkNoClusterRun(month, year);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        return lease;
+    }
+
+    /**
+     * [Lease]
+     * Session lock dhore rakha connection. close() e unlock, tarpor connection pool e ferot.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Connection connection;
+        private final int key;
+        private boolean closed;
+
+        private Lease(Connection connection, int key) {
+            this.connection = connection;
+            this.key = key;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                query(connection, "SELECT pg_advisory_unlock(?, ?)", key);
+                connection.close();
+            } catch (SQLException e) {
+                // Unlock na hole lock shoho connection pool e ferot dewa jabe na - bad dei
+                log.warn("Payroll month unlock failed for {}", key, e);
+                try {
+                    connection.abort(Runnable::run);
+                } catch (SQLException ignored) {
+                    // Connection already bhanga - lock o tar sathe geche
+                }
+            }
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void checkNoClusterRun(int month, int year) {
+        if (shardRepository.existsUnfinished(month, year)) {
+            throw new IllegalStateException("Cluster payroll for " + month + "/" + year
+                    + " is not finalized. Let it finish or restart it before running another mode.");
+        }
+    }
+
+    private static boolean query(Connection connection, String sql, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, key);
+            statement.setInt(2, MONTH_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static IllegalStateException busy(int month, int year) {
+        return new IllegalStateException("Payroll for " + month + "/" + year
+                + " is already being written by another run. Try again when it finishes.");
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Pool e ferot deya gelo na - kichu korar nai
+            }
+        }
+    }
+
+    private static int monthKey(int month, int year) {
+        return year * 100 + month;
+    }
+}
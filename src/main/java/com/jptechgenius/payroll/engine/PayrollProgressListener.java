@@ -0,0 +1,36 @@
+package com.jptechgenius.payroll.engine;
+
+/**
+ * [Payroll Progress Listener]
+ * ---------------------------
+ * Chunked payroll run er progress jante chaile ei interface implement korte hoy.
+ * Payroll Job subsystem eta diye database e progress ar checkpoint save kore.
+ * * Note: onStart/onChunkCommitted chunk commit howar POR call hoy (transaction er baire).
+ */
+public interface PayrollProgressListener {
+
+    // Kichu shunte na chaile eta use korun
+    PayrollProgressListener NONE = new PayrollProgressListener() {
+    };
+
+    /**
+     * Run shuru: mot koyjon, ar ager run theke koyjon already hoye ache (resume).
+     */
+    default void onStart(int totalEmployees, int alreadyProcessed) {
+    }
+
+    /**
+     * Ekta chunk commit hoyeche.
+     * checkpointEmployeeId: Ei ID porjonto (ID order e) sob employee commit hoye geche.
+     * Null mane checkpoint agay nai (ager kono chunk ekhono cholche).
+     */
+    default void onChunkCommitted(int processedEmployees, Long checkpointEmployeeId) {
+    }
+
+    /**
+     * Streaming run: ekta transaction, tai checkpoint nai - shudhu koyjon hoyeche.
+     * Transaction er VITORE call hoy, tai listener ke nijer transaction e lekhte hobe.
+     */
+    default void onProgress(int processedEmployees) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.PayrollRecord;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * [Payroll Run Summary]
+ * ---------------------
+ * Ekta payroll run shesh hole tar hisab (koyjon, mot net pay, checksum, koto somoy laglo).
+ * * Checksum keno?
+ * Parallel run e chunk gula je kono order e shesh hote pare. Tai amra record gula Employee ID
+ * onujayi sort kore (employeeId, netPay paisa) er upor SHA-256 kori. Order jai hok, same data hole
+ * same checksum - tai sequential ar parallel run er result mile kina sohojei verify kora jay.
+ */
+public record PayrollRunSummary(int month,
+                                int year,
+                                int employeeCount,
+                                long totalNetPayMinor,
+                                String checksum,
+                                long elapsedMillis) {
+
+    /**
+     * Record list theke deterministic summary banay.
+     */
+    public static PayrollRunSummary of(int month, int year, List<PayrollRecord> records, long elapsedMillis) {
+        Accumulator accumulator = new Accumulator();
+        records.stream()
+                .sorted(Comparator.comparing(PayrollRecord::getEmployeeId))
+                .forEach(accumulator::add);
+        return accumulator.finish(month, year, elapsedMillis);
+    }
+
+    /**
+     * Mot net pay taka te (dekhanor jonno).
+     */
+    public double totalNetPay() {
+        return totalNetPayMinor / 100.0;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * [Streaming Accumulator]
+     * Streaming run e sob record memory te rakha hoy na, tai checksum record ashar sathe sathe hisab hoy.
+     * Record gula Employee ID er ascending order e dite hobe (na hole checksum milbe na).
+     */
+    public static final class Accumulator {
+
+        private final MessageDigest digest = sha256();
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+        private long total;
+        private int count;
+        private Long lastEmployeeId;
+
+        public void add(PayrollRecord record) {
+            add(record.getEmployeeId(), record.getNetPayMinor());
+        }
+
+        /**
+         * Entity chara (SQL engine er projection theke) - same checksum.
+         */
+        public void add(long employeeId, long netPayMinor) {
+            if (lastEmployeeId != null && employeeId <= lastEmployeeId) {
+                throw new IllegalArgumentException("Records must arrive in ascending employee id order");
+            }
+            lastEmployeeId = employeeId;
+
+            total += netPayMinor;
+            count++;
+
+            buffer.clear();
+            buffer.putLong(employeeId).putLong(netPayMinor);
+            digest.update(buffer.array());
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public PayrollRunSummary finish(int month, int year, long elapsedMillis) {
+            return new PayrollRunSummary(month, year, count, total,
+                    HexFormat.of().formatHex(digest.digest()), elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.jptechgenius.payroll.engine;
+
+/**
+ * [Payroll Stage Types]
+ * ---------------------
+ * Payroll pipeline er ek ekta dhap. application.properties e order soho list kora hoy:
+ * app.payroll.policy.earnings=BASIC_PRORATED,OVERTIME
+ * app.payroll.policy.deductions=TAX,PENALTY,FIXED_DEDUCTION
+ * * Kon stage ki kore, tar hisab PayrollCalculator e (switch diye, reflection nai).
+ */
+public enum PayrollStageType {
+
+    // --- EARNINGS (Aay) ---
+    BASIC_PRORATED(Kind.EARNING),   // Basic * PresentDays / WorkingDays  -> payslip er "Payable Basic"
+    OVERTIME(Kind.EARNING),         // Hourly rate * multiplier * hours   -> "Bonus" e jog hoy
+
+    // --- DEDUCTIONS (Katti) ---
+    TAX(Kind.DEDUCTION),            // Payable basic er upor tax-percent
+    PENALTY(Kind.DEDUCTION),        // Oi masher charge sheet er jogfol
+    FIXED_DEDUCTION(Kind.DEDUCTION); // Employee profile er fixed deduction (lunch, transport)
+
+    public enum Kind { EARNING, DEDUCTION }
+
+    private final Kind kind;
+
+    PayrollStageType(Kind kind) {
+        this.kind = kind;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+}
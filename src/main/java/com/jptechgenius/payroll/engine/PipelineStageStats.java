@@ -0,0 +1,64 @@
+package com.jptechgenius.payroll.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Pipeline Stage Stats]
+ * ----------------------
+ * Backfill pipeline er ek stage (load / compute / write) er hisab.
+ * * busy = asol kaj e koto somoy, waiting = queue theke item er jonno ba queue e jayga er jonno
+ * koto somoy boshe chilo. Je stage er busy sobcheye beshi ar waiting kom, setai bottleneck;
+ * tar aager stage 'put' e boshe thake, porer stage 'take' e.
+ * * Stage nijer thread e update kore, progress API onno thread theke pore - tai Atomic.
+ */
+public class PipelineStageStats {
+
+    private final String name;
+    private final AtomicLong months = new AtomicLong();
+    private final AtomicLong employees = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    public PipelineStageStats(String name) {
+        this.name = name;
+    }
+
+    public void recordWork(long nanos, int employeeCount) {
+        busyNanos.addAndGet(nanos);
+        months.incrementAndGet();
+        employees.addAndGet(employeeCount);
+    }
+
+    public void recordWait(long nanos) {
+        waitNanos.addAndGet(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getMonths() {
+        return months.get();
+    }
+
+    public long getEmployees() {
+        return employees.get();
+    }
+
+    public long getBusyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(busyNanos.get());
+    }
+
+    public long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+    }
+
+    /**
+     * Busy somoy er hisabe employee/second (stage ta eka cholle koto druto).
+     */
+    public long getEmployeesPerSecond() {
+        long busy = busyNanos.get();
+        return busy == 0 ? 0 : employees.get() * TimeUnit.SECONDS.toNanos(1) / busy;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jptechgenius.payroll.engine;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * [Sorted Cursor - Merge Join Helper]
+ * -----------------------------------
+ * Streaming payroll e employee, attendance summary ar penalty summary - tin ta stream i
+ * Employee ID order e ase. Map e sob rakhar bodole (jeta headcount er sathe bare),
+ * ei cursor diye "merge join" kori: employee ID jekhane, stream o sekhane egiye jay.
+ * Memory te ek shathe shudhu ekta row thake.
+ */
+public class SortedCursor<T> {
+
+    private final Iterator<T> rows;
+    private final Function<T, Long> keyOf;
+    private T current;
+
+    public SortedCursor(Iterator<T> rows, Function<T, Long> keyOf) {
+        this.rows = rows;
+        this.keyOf = keyOf;
+        this.current = rows.hasNext() ? rows.next() : null;
+    }
+
+    /**
+     * Ei ID er row thakle return kore, na thakle null.
+     * ID gula ascending order e call korte hobe.
+     */
+    public T seek(Long id) {
+        while (current != null && keyOf.apply(current) < id) {
+            current = rows.hasNext() ? rows.next() : null;
+        }
+        if (current != null && keyOf.apply(current).equals(id)) {
+            return current;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,295 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.dto.AttendanceSummary;
+import com.jptechgenius.payroll.dto.EmployeePayInput;
+import com.jptechgenius.payroll.dto.PenaltySummary;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [Workforce Snapshot - Struct of Arrays]
+ * ---------------------------------------
+ * What-if simulator er jonno ek masher puro company-r salary input.
+ * Employee object er list na rekhe prottek field er jonno alada primitive array
+ * (basic[], presentDays[], overtime[] ...) - index i mane i-tomo employee.
+ * * Keno?
+ * 1 lakh employee te 1 lakh object + boxing er bodole kichu long[] - memory kom, GC prai nai.
+ * Hisab o "column" dhore chole: ek stage puro array er upor ekta sada loop, tarpor porer stage.
+ * * Department/Designation String na rekhe choto int index (dictionary) rakha hoy,
+ * tai "Software Engineer der 8% barao" mane shudhu ekta int tulona.
+ * * Snapshot immutable - scenario chalanor somoy basic column er copy te override hoy,
+ * tai eksathe onek simulation cholleo keu karo data nosto kore na.
+ */
+@Getter
+public final class WorkforceSnapshot {
+
+    // Department na thakle ei naam e group hoy
+    public static final String UNASSIGNED = "Unassigned";
+
+    private final CompiledPayrollPolicy policy;
+    private final long loadedAtMillis;
+    private final int size;
+
+    // --- Columns (index = employee) ---
+    private final long[] employeeIds;
+    private final long[] basicMinor;
+    private final long[] fixedDeductionMinor;
+    private final long[] presentDays;
+    private final long[] overtimeCentiHours;
+    private final long[] penaltyMinor;
+    private final int[] departmentIndex;
+    private final int[] designationIndex;
+
+    // --- Dictionaries ---
+    private final String[] departments;
+    private final String[] designations;
+    private final int[] headcountByDepartment;
+
+    // Ajker config e hisab (scenario er sathe tulona korar jonno)
+    private final Evaluation baseline;
+
+    private WorkforceSnapshot(CompiledPayrollPolicy policy, Columns columns,
+                              String[] departments, String[] designations) {
+        this.policy = policy;
+        this.loadedAtMillis = System.currentTimeMillis();
+        this.size = columns.employeeIds.length;
+        this.employeeIds = columns.employeeIds;
+        this.basicMinor = columns.basicMinor;
+        this.fixedDeductionMinor = columns.fixedDeductionMinor;
+        this.presentDays = columns.presentDays;
+        this.overtimeCentiHours = columns.overtimeCentiHours;
+        this.penaltyMinor = columns.penaltyMinor;
+        this.departmentIndex = columns.departmentIndex;
+        this.designationIndex = columns.designationIndex;
+
+        this.departments = departments;
+        this.designations = designations;
+        this.headcountByDepartment = new int[departments.length];
+        for (int i = 0; i < size; i++) {
+            headcountByDepartment[departmentIndex[i]]++;
+        }
+        this.baseline = evaluate(policy, basicMinor);
+    }
+
+    // ==========================================
+    // 1. BUILD (Query result theke column e)
+    // ==========================================
+
+    /**
+     * [Build Snapshot]
+     * employees ID order e thakte hobe (findActivePayInputs).
+     * Attendance/penalty row gula employee er position e boshe; jar row nai tar 0.
+     */
+    public static WorkforceSnapshot build(CompiledPayrollPolicy policy,
+                                          List<EmployeePayInput> employees,
+                                          List<AttendanceSummary> attendance,
+                                          List<PenaltySummary> penalties) {
+        Columns columns = new Columns(employees.size());
+        Map<Long, Integer> positionById = new HashMap<>(employees.size() * 2);
+        Map<String, Integer> departmentDictionary = new LinkedHashMap<>();
+        Map<String, Integer> designationDictionary = new LinkedHashMap<>();
+
+        for (int i = 0; i < employees.size(); i++) {
+            EmployeePayInput emp = employees.get(i);
+            columns.employeeIds[i] = emp.getId();
+            columns.basicMinor[i] = Money.of(emp.getBasicSalary());
+            columns.fixedDeductionMinor[i] = Money.of(emp.getDeductions());
+            columns.departmentIndex[i] = intern(departmentDictionary, emp.getDepartment());
+            columns.designationIndex[i] = intern(designationDictionary, emp.getDesignation());
+            positionById.put(emp.getId(), i);
+        }
+
+        for (AttendanceSummary summary : attendance) {
+            Integer i = positionById.get(summary.getEmployeeId());
+            if (i != null) {
+                columns.presentDays[i] = summary.getPresentDays() != null ? summary.getPresentDays() : 0;
+                columns.overtimeCentiHours[i] = summary.getOvertimeHours() != null
+                        ? Math.round(summary.getOvertimeHours() * 100) : 0;
+            }
+        }
+
+        for (PenaltySummary summary : penalties) {
+            Integer i = positionById.get(summary.getEmployeeId());
+            if (i != null) {
+                columns.penaltyMinor[i] = Money.of(summary.getTotalPenalty());
+            }
+        }
+
+        return new WorkforceSnapshot(policy, columns,
+                departmentDictionary.keySet().toArray(new String[0]),
+                designationDictionary.keySet().toArray(new String[0]));
+    }
+
+    // ==========================================
+    // 2. OVERRIDES
+    // ==========================================
+
+    /**
+     * [Basic Raise by Designation]
+     * Basic column er ekta copy banay ar tar upor in-place raise boshay.
+     * raisePercent: designation -> percent (8 mane +8%, -5 mane 5% kom). Naam case-insensitive.
+     */
+    public long[] basicWithRaises(Map<String, BigDecimal> raisePercentByDesignation) {
+        long[] basic = basicMinor.clone();
+        if (raisePercentByDesignation == null || raisePercentByDesignation.isEmpty()) {
+            return basic;
+        }
+
+        // Designation index -> basis point (8% = 800); 0 mane kono change nai
+        long[] raiseBasisPoints = new long[designations.length];
+        for (Map.Entry<String, BigDecimal> raise : raisePercentByDesignation.entrySet()) {
+            if (raise.getValue() == null) {
+                continue;
+            }
+            int index = indexOfIgnoreCase(designations, raise.getKey());
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown designation: " + raise.getKey());
+            }
+            long basisPoints = raise.getValue().movePointRight(2).longValue();
+            if (basisPoints < -10_000) {
+                throw new IllegalArgumentException("Raise for " + raise.getKey() + " cannot be below -100%");
+            }
+            raiseBasisPoints[index] = basisPoints;
+        }
+
+        for (int i = 0; i < size; i++) {
+            long basisPoints = raiseBasisPoints[designationIndex[i]];
+            if (basisPoints != 0) {
+                basic[i] = Money.mulDiv(basic[i], 10_000 + basisPoints, 10_000);
+            }
+        }
+        return basic;
+    }
+
+    // ==========================================
+    // 3. EVALUATE (Column-wise PayrollCalculator)
+    // ==========================================
+
+    /**
+     * [Evaluate Scenario]
+     * PayrollCalculator er same formula, kintu employee-by-employee na kore stage-by-stage:
+     * prottek stage puro array er upor ekbar loop. Earning stage gula deduction er age chole,
+     * tai TAX sob somoy pura payable dekhe - result paisa porjonto PayrollCalculator er moto.
+     * * Kichu save hoy na; shudhu total ar department onujayi net pay.
+     */
+    public Evaluation evaluate(CompiledPayrollPolicy policy, long[] basic) {
+        long[] payable = new long[size];
+        long[] bonus = new long[size];
+        long[] deductions = new long[size];
+        int workingDays = policy.getWorkingDays();
+
+        for (PayrollStageType stage : policy.getEarningStages()) {
+            switch (stage) {
+                case BASIC_PRORATED -> {
+                    for (int i = 0; i < size; i++) {
+                        payable[i] += Money.mulDiv(basic[i], presentDays[i], workingDays);
+                    }
+                }
+                case OVERTIME -> {
+                    long numerator = policy.getOvertimeNumerator();
+                    long denominator = policy.getOvertimeDenominator();
+                    for (int i = 0; i < size; i++) {
+                        bonus[i] += Money.mulDiv(basic[i], Math.multiplyExact(overtimeCentiHours[i], numerator), denominator);
+                    }
+                }
+                default -> throw new IllegalStateException("Not an earning stage: " + stage);
+            }
+        }
+
+        for (PayrollStageType stage : policy.getDeductionStages()) {
+            switch (stage) {
+                case TAX -> {
+                    long basisPoints = policy.getTaxBasisPoints();
+                    for (int i = 0; i < size; i++) {
+                        deductions[i] += Money.mulDiv(payable[i], basisPoints, 10_000);
+                    }
+                }
+                case PENALTY -> {
+                    for (int i = 0; i < size; i++) {
+                        deductions[i] += penaltyMinor[i];
+                    }
+                }
+                case FIXED_DEDUCTION -> {
+                    for (int i = 0; i < size; i++) {
+                        deductions[i] += fixedDeductionMinor[i];
+                    }
+                }
+                default -> throw new IllegalStateException("Not a deduction stage: " + stage);
+            }
+        }
+
+        Evaluation result = new Evaluation(departments.length);
+        for (int i = 0; i < size; i++) {
+            long net = payable[i] + bonus[i] - deductions[i];
+            result.payableMinor += payable[i];
+            result.bonusMinor += bonus[i];
+            result.deductionsMinor += deductions[i];
+            result.netPayMinor += net;
+            result.netPayByDepartment[departmentIndex[i]] += net;
+        }
+        return result;
+    }
+
+    /**
+     * [Evaluation Result]
+     * Sob paisa te. netPayByDepartment er index = departments[] er index.
+     */
+    @Getter
+    public static final class Evaluation {
+
+        private long payableMinor;
+        private long bonusMinor;
+        private long deductionsMinor;
+        private long netPayMinor;
+        private final long[] netPayByDepartment;
+
+        private Evaluation(int departmentCount) {
+            this.netPayByDepartment = new long[departmentCount];
+        }
+    }
+
+    // Build er somoy array gula ekhane fill hoy, tarpor snapshot er final field e jay
+    private static final class Columns {
+
+        private final long[] employeeIds;
+        private final long[] basicMinor;
+        private final long[] fixedDeductionMinor;
+        private final long[] presentDays;
+        private final long[] overtimeCentiHours;
+        private final long[] penaltyMinor;
+        private final int[] departmentIndex;
+        private final int[] designationIndex;
+
+        private Columns(int size) {
+            this.employeeIds = new long[size];
+            this.basicMinor = new long[size];
+            this.fixedDeductionMinor = new long[size];
+            this.presentDays = new long[size];
+            this.overtimeCentiHours = new long[size];
+            this.penaltyMinor = new long[size];
+            this.departmentIndex = new int[size];
+            this.designationIndex = new int[size];
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private static int intern(Map<String, Integer> dictionary, String value) {
+        String key = (value == null || value.isBlank()) ? UNASSIGNED : value.trim();
+        return dictionary.computeIfAbsent(key, k -> dictionary.size());
+    }
+
+    private static int indexOfIgnoreCase(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equalsIgnoreCase(value == null ? "" : value.trim())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jptechgenius.payroll.event;
+
+import com.jptechgenius.payroll.model.Attendance;
+
+import java.time.LocalDate;
+
+/**
+ * [Attendance Changed Event]
+ * --------------------------
+ * Ekta attendance row er age ar porer obostha (present?, status) - check-in/out, admin mark,
+ * dispute submit/resolve er por publish hoy. Notun row hole age = (false, null).
+ * Counter service ei duita theke bujhe nay kon badge e +1/-1 (jemon ABSENT -> DISPUTE_OPEN).
+ */
+public record AttendanceChangedEvent(Long employeeId,
+                                     LocalDate date,
+                                     boolean wasPresent, String fromStatus,
+                                     boolean present, String toStatus) {
+
+    /**
+     * wasPresent/fromStatus: entity bodlanor AGE tule rakha value; saved: save er porer row.
+     */
+    public static AttendanceChangedEvent of(boolean wasPresent, String fromStatus, Attendance saved) {
+        return new AttendanceChangedEvent(saved.getEmployeeId(), saved.getDate(), wasPresent, fromStatus, saved.isPresent(), saved.getStatus());
+    }
+
+    public static AttendanceChangedEvent created(Attendance saved) {
+        return of(false, null, saved);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jptechgenius.payroll.event;
+
+/**
+ * [Counters Stale Event]
+ * ----------------------
+ * Jekhane ek ek row er hisab deya jay na (jemon employee delete ba bochor archive - bulk DELETE),
+ * sekhane eta publish hoy; sidebar counter ar dashboard summary database theke abar gune nay.
+ */
+public record CountersStaleEvent(String reason) {
+}
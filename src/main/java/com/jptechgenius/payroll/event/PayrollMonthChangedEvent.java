@@ -0,0 +1,16 @@
+package com.jptechgenius.payroll.event;
+
+import com.jptechgenius.payroll.repository.DatePeriod;
+
+/**
+ * [Payroll Month Changed Event]
+ * -----------------------------
+ * Kono masher payroll record lekha shesh (full run, dirty recompute, cluster finalize) hole publish hoy.
+ * DashboardSnapshotService commit er por oi masher summary row (payroll_month_totals) abar gune.
+ */
+public record PayrollMonthChangedEvent(int month, int year) {
+
+    public static PayrollMonthChangedEvent of(DatePeriod period) {
+        return new PayrollMonthChangedEvent(period.start().getMonthValue(), period.start().getYear());
+    }
+}
@@ -0,0 +1,25 @@
+package com.jptechgenius.payroll.event;
+
+/**
+ * [Penalty Changed Event]
+ * -----------------------
+ * Charge sheet er status bodlale (issue, delete, payroll e DEDUCTED) publish hoy.
+ * fromStatus/toStatus null mane "chilo na" / "ar nai". count: koyta row (bulk UPDATE e onek).
+ * employeeId: kar fine; null mane onek employee er (payroll er bulk DEDUCTED).
+ * SidebarCounterService eta diye pending-penalty badge ta database na chhuye thik rakhe.
+ */
+public record PenaltyChangedEvent(Long employeeId, String fromStatus, String toStatus, int count) {
+
+    public static PenaltyChangedEvent issued(Long employeeId, String status) {
+        return new PenaltyChangedEvent(employeeId, null, status, 1);
+    }
+
+    public static PenaltyChangedEvent deleted(Long employeeId, String status) {
+        return new PenaltyChangedEvent(employeeId, status, null, 1);
+    }
+
+    // markDeductedFor... er return (update howa row) diye
+    public static PenaltyChangedEvent deducted(int count) {
+        return new PenaltyChangedEvent(null, "PENDING", "DEDUCTED", count);
+    }
+}
@@ -1,6 +1,7 @@
 package com.jptechgenius.payroll.model;
 
 import jakarta.persistence.*;
+import com.jptechgenius.payroll.engine.PayrollChangeListener;
 import lombok.Data;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -13,12 +14,17 @@ import java.time.LocalTime;
  */
 @Entity
 @Data // Lombok: Getter, Setter, toString automatic banabe, amader likhte hobe na.
-@Table(name = "attendance")
+// Ek employee er ek dine ekta e hajira row (V4 migration e UNIQUE index)
+@Table(name = "attendance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_employee_date", columnNames = {"employee_id", "date"}))
+@EntityListeners(PayrollChangeListener.class) // Hajira bodlale (jemon dispute accept) oi mash 'dirty' hoy
 public class Attendance {
 
+    // Pooled sequence (50 ta ID ekbare reserve) - IDENTITY thakle Hibernate JDBC batching bondho hoye jay.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Database er Primary Key (Auto Increment)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+    @SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
+    private Long id; // Database er Primary Key (Sequence theke ashe)
 
     @Column(nullable = false)
     private Long employeeId; // Kar attendance? Tar ID ta ekhane rakhbo.
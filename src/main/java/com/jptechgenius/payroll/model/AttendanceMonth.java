@@ -0,0 +1,48 @@
+package com.jptechgenius.payroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * [Attendance Month Entity - Compact Store]
+ * -----------------------------------------
+ * Bondho mash er hajira: ek employee er ek masher sob din ekta row te.
+ * Daily Attendance row (LocalTime, Double, status String, index) er bodole bitmap ar packed byte array,
+ * tai storage prai 10 bhager ek bhag.
+ * * Pora/lekha shudhu AttendanceMonthCodec diye - packedDays er format oikhane.
+ * * (employee_id, month, year) unique.
+ */
+@Entity
+@Data // Lombok: Getter, Setter, toString automatic generate korbe.
+@Table(name = "attendance_months",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_month", columnNames = {"employee_id", "month", "year"}))
+public class AttendanceMonth {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    private int month;
+    private int year;
+
+    // Mash e koy din (28-31) - packedDays e eto gula slot
+    private int days;
+
+    // bit (d-1) = d tarikh e present chilo (weekend soho); payroll weekend mask diye baad dey
+    private int presentBits;
+
+    @ToString.Exclude
+    @Column(nullable = false)
+    private byte[] packedDays;
+
+    // Masher overtime er exact jogfol (daily row er SUM er moto, rounding payroll e)
+    private double overtimeHours;
+
+    private LocalDateTime compactedAt;
+}
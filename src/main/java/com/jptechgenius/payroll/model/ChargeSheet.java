@@ -1,7 +1,10 @@
 package com.jptechgenius.payroll.model;
 
 import jakarta.persistence.*;
+import com.jptechgenius.payroll.engine.PayrollChangeListener;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDate;
 
 /**
@@ -15,16 +18,22 @@ import java.time.LocalDate;
 @Entity
 @Data // Lombok annotation: Eita automatic Getter, Setter, toString method banay dibe.
 @Table(name = "charge_sheets")
+@EntityListeners(PayrollChangeListener.class) // Fine add/edit/delete hole payroll abar hisab lagbe
 public class ChargeSheet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "charge_sheets_seq")
+    @SequenceGenerator(name = "charge_sheets_seq", sequenceName = "charge_sheets_seq", allocationSize = 50)
     private Long id; // Unique ID for this specific fine record
 
     // Kar name fine kora hocche?
     // @ManyToOne mane: Ekjon Employee er onek gula Fine/ChargeSheet thakte pare.
-    @ManyToOne
+    // LAZY: payroll/count query te employee lage na; dekhanor page PenaltyListRow projection e naam/chobi ane.
+    // (getEmployee().getId() proxy theke ase, query hoy na.)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Employee employee;
 
     // Keno fine kora holo? (Example: "Late Attendance", "Misbehavior", "Lost Office Asset")
@@ -33,7 +42,8 @@ public class ChargeSheet {
 
     // Koto taka fine kora hoyeche?
     // Ei amount tai masher sheshe Salary generate korar somoy 'Deductions' hisebe kata jabe.
-    @Column(nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
     private Double penaltyAmount;
 
     // Kobe fine ta issue kora hoyeche (Sadharonoto ajker tarikh).
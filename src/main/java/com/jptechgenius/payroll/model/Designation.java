@@ -19,8 +19,9 @@ import lombok.Data;
 public class Designation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Unique ID (Auto Increment)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "designations_seq")
+    @SequenceGenerator(name = "designations_seq", sequenceName = "designations_seq", allocationSize = 50)
+    private Long id; // Unique ID (Sequence generated)
 
     // Job Title (Example: "Software Engineer", "HR Manager", "Intern")
     // unique = true deya hoyeche jate ek e namer dui ta designation na thake.
@@ -2,7 +2,10 @@ package com.jptechgenius.payroll.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import com.jptechgenius.payroll.engine.PayrollChangeListener;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
 
@@ -15,11 +18,13 @@ import java.time.LocalDate;
 @Entity
 @Data // Lombok: Getter, Setter, toString automatic generate korbe.
 @Table(name = "employees")
+@EntityListeners(PayrollChangeListener.class) // Salary bodlale payroll 'dirty' mark hoy
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Primary Key
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
+    private Long id; // Primary Key (employees_seq theke, batch insert er jonno)
 
     // --- NAME VALIDATION ---
     // 1. Naam khali rakha jabe na.
@@ -58,15 +63,21 @@ public class Employee {
 
     @NotNull(message = "Basic salary is required")
     @Min(value = 0, message = "Salary cannot be negative") // Taka kokhono negative hoy na
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double basicSalary;
 
     // [NEW ADDITION] Dynamic Overtime Calculation er jonno
     @NotNull(message = "Overtime rate is required")
     @Min(value = 0, message = "Rate cannot be negative")
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double overtimeRatePerHour = 0.0; // Default 0.0 rakha holo safety r jonno
 
     // Fixed deduction (optional)
     @Min(value = 0, message = "Deduction cannot be negative")
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double deductions = 0.0;
 
     // Default status 'ACTIVE'
@@ -85,4 +96,23 @@ public class Employee {
         }
         return imageUrl;
     }
-}
\ No newline at end of file
+
+    // ==========================================
+    // PAYROLL CHANGE TRACKING
+    // ==========================================
+
+    // Load howar somoy salary field gular obostha (PayrollChangeListener set kore).
+    // Database e column hoy na.
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String loadedPayrollState;
+
+    /**
+     * Payroll hisab e je field gula lage: basic salary, fixed deduction, status (SUSPENDED).
+     */
+    @Transient
+    public String payrollState() {
+        return basicSalary + "|" + deductions + "|" + status;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jptechgenius.payroll.model;
+
+import com.jptechgenius.payroll.engine.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * [Money Column Converter]
+ * ------------------------
+ * Java te amount field gula Double thakche (form, Thymeleaf sob ager motoi kaj kore),
+ * kintu database e numeric(19,2) hisebe exact paisa te save hoy.
+ * Save korar somoy 2 doshomik e round hoy, tai 'float precision' er garbage column e dhoke na.
+ * * Use: @Convert(converter = MoneyConverter.class)
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Double, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Double amount) {
+        return amount == null ? null : Money.toDecimal(Money.ofMajor(amount));
+    }
+
+    @Override
+    public Double convertToEntityAttribute(BigDecimal column) {
+        return column == null ? null : Money.toMajor(Money.of(column));
+    }
+}
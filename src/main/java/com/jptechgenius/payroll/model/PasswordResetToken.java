@@ -2,7 +2,9 @@ package com.jptechgenius.payroll.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 /**
@@ -16,10 +18,12 @@ import java.time.LocalDateTime;
 @Entity // Database e 'password_reset_token' name table toiri hobe.
 @Data // Lombok: Getter, Setter, toString method auto generate korbe.
 @NoArgsConstructor // Hibernate er jonno khali constructor lage, tai eta deya.
+@NamedEntityGraph(name = "PasswordResetToken.user", attributeNodes = @NamedAttributeNode("user"))
 public class PasswordResetToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_token_seq")
+    @SequenceGenerator(name = "password_reset_token_seq", sequenceName = "password_reset_token_seq", allocationSize = 50)
     private Long id; // Primary Key
 
     // Ei string tai email-e URL er sathe jabe (Example: abc-123-xyz)
@@ -27,9 +31,12 @@ public class PasswordResetToken {
 
     // Kar jonno ei token ta banano hoyeche?
     // @OneToOne mane ekta token sudhu ekjon user er jonno.
-    // fetch = EAGER mane holo, token load korle sathe sathe User er data o load hobe.
-    @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
+    // fetch = LAZY: expiry check e User lage na. Password reset e findByToken "PasswordResetToken.user"
+    // graph diye ek JOIN e User o ane.
+    @OneToOne(targetEntity = User.class, fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     // Token ta kokhon expire hobe (meyad kobe shesh hobe)
@@ -0,0 +1,40 @@
+package com.jptechgenius.payroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * [Payroll Dirty Mark Entity]
+ * ---------------------------
+ * Payroll run howar por kono employee er hajira, fine ba salary bodlale
+ * oi (employee, mash) ta ekhane 'dirty' hisebe mark hoy.
+ * "Recompute Dirty" mode shudhu ei employee der record abar hisab kore -
+ * puro masher payroll abar chalate hoy na.
+ * * (employee_id, month, year) unique, tai ek mashe ekjon employee er ekta e mark thake.
+ */
+@Entity
+@Data // Lombok: Getter, Setter, toString automatic generate korbe.
+@Table(name = "payroll_dirty_marks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payroll_dirty_mark", columnNames = {"employee_id", "month", "year"}))
+public class PayrollDirtyMark {
+
+    // Native upsert (INSERT ... ON CONFLICT) e gen_random_uuid() diye ID toiri hoy
+    @Id
+    private UUID id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // Kon masher payroll purono hoye geche?
+    private int month;
+    private int year;
+
+    // Ki bodleche? Values: "ATTENDANCE", "CHARGE_SHEET", "EMPLOYEE"
+    @Column(length = 20)
+    private String reason;
+
+    private LocalDateTime markedAt;
+}
@@ -0,0 +1,92 @@
+package com.jptechgenius.payroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * [Payroll Job Entity]
+ * --------------------
+ * "Run Payroll" chaple ekhon HTTP request shesh howa porjonto wait kore na.
+ * Ekta Job toiri hoy ebong background e chole. Ei table e sei job er obostha thake:
+ * koyjon hoyeche, koyjon baki, kon employee porjonto commit hoyeche (checkpoint).
+ * * Server crash korle restart er por ei checkpoint theke job abar shuru hoy.
+ */
+@Entity
+@Data // Lombok: Getter, Setter, toString automatic generate korbe.
+@Table(name = "payroll_jobs")
+public class PayrollJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Kon masher payroll?
+    private int month;
+    private int year;
+
+    // "sequential", "parallel", "streaming" ba "sql"
+    @Column(length = 20)
+    private String mode;
+
+    // Values: "QUEUED", "RUNNING", "COMPLETED", "FAILED"
+    @Column(length = 20)
+    private String status;
+
+    // --- CLAIM (kon node chalacche) ---
+    // Claim er somoy bosano hoy (PayrollJobRepository.claim); heartbeat stale hole onno node nite pare
+    @Column(length = 100)
+    private String ownerNode;
+    private LocalDateTime heartbeatAt;
+
+    // --- PROGRESS ---
+    private int totalEmployees;
+    private int processedEmployees;
+
+    // Ei session shuru howar somoy koyjon already hoye chilo (ETA hisab er jonno)
+    private int resumedFrom;
+
+    // [CHECKPOINT] Employee ID order e ei ID porjonto sob commit hoye geche.
+    private Long lastCommittedEmployeeId;
+
+    // --- RESULT ---
+    private Long totalNetPayMinor; // Paisa te
+    private String checksum;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    // --- TIMESTAMPS ---
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt; // Bortoman session kobe shuru holo
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * [Finished Check]
+     * Job ki shesh (COMPLETED ba FAILED)?
+     */
+    @Transient
+    public boolean isFinished() {
+        return "COMPLETED".equals(status) || "FAILED".equals(status);
+    }
+
+    /**
+     * [ETA Calculation]
+     * Ei session e koto taratari employee process hocche, sei speed e baki gula hote koto second lagbe.
+     * Jodi ekhono kichu process na hoy, tahole null.
+     */
+    @Transient
+    public Long getEtaSeconds() {
+        int doneThisSession = processedEmployees - resumedFrom;
+        if (!"RUNNING".equals(status) || startedAt == null || doneThisSession <= 0) {
+            return null;
+        }
+        long elapsedMillis = Duration.between(startedAt, LocalDateTime.now()).toMillis();
+        long remaining = Math.max(0, totalEmployees - processedEmployees);
+        return (elapsedMillis * remaining / doneThisSession) / 1000;
+    }
+}
@@ -0,0 +1,34 @@
+package com.jptechgenius.payroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * [Payroll Month Total Entity]
+ * ----------------------------
+ * Ek masher payroll er jogfol (koyta record, mot net pay) - Dashboard er summary table (V8).
+ * Payroll run er por DashboardSnapshotService native upsert diye lekhe; Java theke save hoy na.
+ * * id = year * 100 + month (jemon 202503), tai (year, month) ekta e row.
+ */
+@Entity
+@Data // Lombok: Getter, Setter, toString automatic generate korbe.
+@Table(name = "payroll_month_totals")
+public class PayrollMonthTotal {
+
+    @Id
+    private Integer id;
+
+    private int year;
+    private int month;
+
+    // Oi mashe koyta payroll record (koyjon employee)
+    private int records;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2, nullable = false)
+    private Double netPay;
+
+    private LocalDateTime refreshedAt;
+}
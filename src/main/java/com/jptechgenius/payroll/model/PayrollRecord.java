@@ -1,6 +1,7 @@
 package com.jptechgenius.payroll.model;
 
 import jakarta.persistence.*;
+import com.jptechgenius.payroll.engine.Money;
 import lombok.Data;
 import java.time.LocalDate;
 import java.util.UUID; // UUID import kora hoyeche unique ID er jonno
@@ -45,16 +46,24 @@ public class PayrollRecord {
 
     // --- FINANCIAL BREAKDOWN ---
 
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double basicSalary; // Mul beton
 
     // Overtime + Onnano bonus sob ekhane jog hobe
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double bonus;
 
     // Tax + Late Fine + Penalty sob ekhane jog hobe (Ja salary theke kata hobe)
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double deductions;
 
     // [Final Amount] Employee haate koto taka pabe.
     // Formula: Basic + Bonus - Deductions
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 19, scale = 2)
     private Double netPay;
 
     // Payslip e dekhanor jonno employee er chobi o save rakhchi.
@@ -75,6 +84,14 @@ public class PayrollRecord {
         return imageUrl;
     }
 
+    /**
+     * Net pay paisa te (checksum ar total er jonno, exact long).
+     */
+    @Transient
+    public long getNetPayMinor() {
+        return Money.ofMajor(netPay);
+    }
+
     // Salary ta kobe generate kora hoyeche sei tarikh
     private LocalDate paymentDate;
 }
\ No newline at end of file
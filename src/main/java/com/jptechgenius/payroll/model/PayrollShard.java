@@ -0,0 +1,60 @@
+package com.jptechgenius.payroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * [Payroll Shard Entity]
+ * ----------------------
+ * Cluster mode e ek masher payroll 'shard' e bhag hoy: employee_id % shardCount = shardIndex.
+ * Prottek shard er ekta row - kon node nilo, ki obostha, koyjon employee hoyeche.
+ * * Status flow: PENDING -> RUNNING (kono node claim korlo) -> COMMITTED (record save + ei row
+ * ekoi transaction e) -> FINALIZED (sob shard shesh, coordinator fine DEDUCTED korlo).
+ * Fail hole FAILED, porer poll e je kono node abar nite pare.
+ * * (month, year, shard_index) unique, tai same shard duibar toiri hoy na.
+ */
+@Entity
+@Data // Lombok: Getter, Setter, toString automatic generate korbe.
+@Table(name = "payroll_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payroll_shard", columnNames = {"month", "year", "shard_index"}))
+public class PayrollShard {
+
+    // Native insert (generate_series) e gen_random_uuid() diye ID toiri hoy
+    @Id
+    private UUID id;
+
+    // Kon masher payroll?
+    private int month;
+    private int year;
+
+    @Column(name = "shard_index", nullable = false)
+    private int shardIndex;
+
+    @Column(name = "shard_count", nullable = false)
+    private int shardCount;
+
+    // Values: "PENDING", "RUNNING", "COMMITTED", "FAILED", "FINALIZED"
+    @Column(length = 20, nullable = false)
+    private String status;
+
+    // Kon node shard ta niyeche (hostname + pid)
+    @Column(length = 100)
+    private String ownerNode;
+
+    // Koybar claim kora hoyeche (fail/crash er por abar nile bare)
+    private int attempts;
+
+    // --- RESULT ---
+    private int employees;
+    private long totalNetPayMinor;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    private LocalDateTime claimedAt;
+    private LocalDateTime committedAt;
+    private LocalDateTime updatedAt;
+}
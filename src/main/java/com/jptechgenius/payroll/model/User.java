@@ -3,7 +3,9 @@ package com.jptechgenius.payroll.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -19,10 +21,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "users")
+// Employee portal e login user er sathe tar Employee profile ek query te
+@NamedEntityGraph(name = "User.employee", attributeNodes = @NamedAttributeNode("employee"))
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id; // Primary Key
 
     // Username (Login ID)
@@ -61,8 +66,12 @@ public class User {
     // [Relationship with Employee]
     // Ei User ta asole kon Employee, sheta link kora hoyeche.
     // @OneToOne mane: Ekta Login ID shudhu matro Ekjon Employee-r e hote pare.
-    @OneToOne
+    // LAZY: login, sidebar, payslip er owner check e shudhu employee ID lage (proxy theke, query chara).
+    // Profile dekhate hole UserRepository.findWithEmployeeByUsername.
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Employee employee;
 
     /**
@@ -0,0 +1,82 @@
+package com.jptechgenius.payroll.repository;
+
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * [Attendance Month Repository]
+ * -----------------------------
+ * Bondho mash er compact hajira ('attendance_months'). Ek employee er ek mash = ekta row,
+ * tai puro company-r ek mash o matro headcount songkhok row.
+ */
+@Repository
+public interface AttendanceMonthRepository extends JpaRepository<AttendanceMonth, UUID> {
+
+    // Employee portal: ek employee er ek mash
+    Optional<AttendanceMonth> findByEmployeeIdAndMonthAndYear(Long employeeId, int month, int year);
+
+    // Payroll ar attendance list: puro company-r ek mash
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    List<AttendanceMonth> findByMonthAndYear(int month, int year);
+
+    List<AttendanceMonth> findByMonthAndYearAndEmployeeIdIn(int month, int year, Collection<Long> employeeIds);
+
+    /**
+     * [Present Count - One Day]
+     * Compact mash e oi dine koyjon present: present_bits e oi diner bit (1 << (day - 1)) on.
+     * HQL e bitwise AND nai, tai native.
+     */
+    @Query(value = "SELECT COUNT(*) FROM attendance_months m WHERE m.month = :month AND m.year = :year " +
+            "AND (m.present_bits & :dayBit) <> 0", nativeQuery = true)
+    long countPresentOnDay(@Param("month") int month, @Param("year") int year, @Param("dayBit") int dayBit);
+
+    // Ei mash e kono employee compact hoyeche kina (na hole compact table e jawar dorkar nai)
+    boolean existsByMonthAndYear(int month, int year);
+
+    /**
+     * Cluster payroll shard (employeeId % shardCount = shardIndex).
+     */
+    @Query("SELECT m FROM AttendanceMonth m WHERE m.month = :month AND m.year = :year " +
+            "AND MOD(m.employeeId, :shardCount) = :shardIndex")
+    List<AttendanceMonth> findForShard(@Param("month") int month,
+                                       @Param("year") int year,
+                                       @Param("shardCount") int shardCount,
+                                       @Param("shardIndex") int shardIndex);
+
+    /**
+     * Streaming payroll: employeeId order e cursor (daily summary stream er sathe merge).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m FROM AttendanceMonth m WHERE m.month = :month AND m.year = :year ORDER BY m.employeeId")
+    Stream<AttendanceMonth> streamByMonthAndYear(@Param("month") int month, @Param("year") int year);
+
+    // ==========================================
+    // COLD ARCHIVE
+    // ==========================================
+
+    @Query("SELECT MIN(m.year) FROM AttendanceMonth m")
+    Optional<Integer> findEarliestYear();
+
+    /**
+     * Ek bochorer compact row, employee ar mash order e (archive file employeeId order e lekha hoy).
+     * FOR UPDATE: archive commit porjonto reopenMonth ei row muchte pare na.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m FROM AttendanceMonth m WHERE m.year = :year ORDER BY m.employeeId, m.month")
+    Stream<AttendanceMonth> streamByYearOrderByEmployee(@Param("year") int year);
+}
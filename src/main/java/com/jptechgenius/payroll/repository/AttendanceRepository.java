@@ -1,13 +1,23 @@
 package com.jptechgenius.payroll.repository;
 
+import com.jptechgenius.payroll.dto.AttendanceSummary;
 import com.jptechgenius.payroll.model.Attendance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * [Attendance Repository]
@@ -21,10 +31,14 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     /**
      * [Fetch Weekly/Monthly Range Data]
-     * Ei method-ta duita tarikh er moddhe kar ki obostha, seta ber kore.
-     * Example: "1 tarik theke 7 tarik porjonto Rahim saheber hajira dekhan."
+     * Ei method-ta ekta period er moddhe kar ki obostha, seta ber kore.
+     * Example: "1 tarik theke 7 tarik porjonto Rahim saheber hajira dekhan" -> DatePeriod.ofDays(1, 7).
+     * Masher hajira (payroll, employee portal): DatePeriod.ofMonth(month, year).
+     * * (employee_id, date) index e range scan - ager MONTH()/YEAR() query puro table porto.
      */
-    List<Attendance> findByEmployeeIdAndDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT a FROM Attendance a WHERE a.employeeId = :employeeId " +
+            "AND a.date >= :#{#period.start()} AND a.date < :#{#period.end()} ORDER BY a.date")
+    List<Attendance> findByEmployeeIdInPeriod(@Param("employeeId") Long employeeId, @Param("period") DatePeriod period);
 
     /**
      * [Fetch Daily Attendance]
@@ -33,6 +47,11 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
      */
     List<Attendance> findByDate(LocalDate date);
 
+    // Attendance Log er ek page: shudhu oi page er employee der oi diner row (idx_attendance_date)
+    List<Attendance> findByDateAndEmployeeIdIn(LocalDate date, Collection<Long> employeeIds);
+
+    boolean existsByDate(LocalDate date);
+
     /**
      * [Prevent Duplicate Entry]
      * Ei method-ta khuboi critical!
@@ -60,18 +79,103 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     List<Attendance> findByStatus(String status);
 
+    // Header badge (DISPUTE_OPEN koyta) - row load na kore count
+    long countByStatus(String status);
+
+    // Dashboard/header: oi dine koyjon present
+    long countByDateAndIsPresentTrue(LocalDate date);
+
+    // ==========================================
+    // COMPACTION (Bondho mash -> AttendanceMonth)
+    // ==========================================
+
+    /**
+     * [Stream Period for Compaction / Archive]
+     * Period er sob daily row, employee ar tarikh order e (ek employee er row gula pashapashi).
+     * FOR UPDATE: compaction/archive commit porjonto pora row keu bodlate pare na, ar delete hoy
+     * shudhu pora row gula (id diye) - majhe asha notun row daily table e thake.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a FROM Attendance a WHERE a.date >= :#{#period.start()} AND a.date < :#{#period.end()} " +
+            "ORDER BY a.employeeId, a.date")
+    Stream<Attendance> streamInPeriodOrderByEmployee(@Param("period") DatePeriod period);
+
+    /**
+     * Compact row e pack hoye jawa daily row gula muche fela - shudhu oi id gula, masher sob row na
+     * (majhe insert howa din daily e thake). Bulk DELETE, entity listener chole na - hajira bodlay ni,
+     * tai payroll dirty o hoy na.
+     */
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
     // ==========================================
-    // CUSTOM QUERY FOR PAYROLL CALCULATION
+    // COLD ARCHIVE (Bondho bochor -> segment file)
     // ==========================================
 
+    // Sobcheye purono hajira (kon bochor theke archive shuru)
+    @Query("SELECT MIN(a.date) FROM Attendance a")
+    Optional<LocalDate> findEarliestDate();
+
+
+    // ==========================================
+    // BATCH QUERY FOR PAYROLL ENGINE
+    // ==========================================
+
+    /**
+     * [Monthly Attendance Summary - All Employees]
+     * Ager moto prottek employee er jonno alada query na kore, ekta GROUP BY query diye
+     * puro company-r ek masher hajira summary ene fela hoy.
+     * * weekendDows: Kon kon din weekend (HQL 'day of week' numbering: 1 = Sunday ... 7 = Saturday).
+     * Payroll policy config theke ase (CompiledPayrollPolicy.getWeekendHqlDays).
+     * Weekend e present thakle present day hisebe count hobe na, shudhu overtime e jabe.
+     * * Period half-open (DatePeriod), tai date column er index use hoy.
+     */
+    @Query("SELECT a.employeeId AS employeeId, " +
+            "SUM(CASE WHEN a.isPresent = true AND extract(day of week from a.date) NOT IN :weekendDows THEN 1 ELSE 0 END) AS presentDays, " +
+            "COALESCE(SUM(a.overtimeHours), 0) AS overtimeHours " +
+            "FROM Attendance a WHERE a.date >= :#{#period.start()} AND a.date < :#{#period.end()} GROUP BY a.employeeId")
+    List<AttendanceSummary> summarizeByPeriod(@Param("period") DatePeriod period,
+                                              @Param("weekendDows") Collection<Integer> weekendDows);
+
+    /**
+     * [Monthly Attendance Summary - Selected Employees]
+     * Same hisab, kintu shudhu 'dirty' employee der jonno (Recompute Dirty mode).
+     */
+    @Query("SELECT a.employeeId AS employeeId, " +
+            "SUM(CASE WHEN a.isPresent = true AND extract(day of week from a.date) NOT IN :weekendDows THEN 1 ELSE 0 END) AS presentDays, " +
+            "COALESCE(SUM(a.overtimeHours), 0) AS overtimeHours " +
+            "FROM Attendance a WHERE a.date >= :#{#period.start()} AND a.date < :#{#period.end()} AND a.employeeId IN :employeeIds " +
+            "GROUP BY a.employeeId")
+    List<AttendanceSummary> summarizeByPeriodForEmployees(@Param("period") DatePeriod period,
+                                                          @Param("weekendDows") Collection<Integer> weekendDows,
+                                                          @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * [Monthly Attendance Summary - One Shard]
+     * Cluster payroll er shard (employeeId % shardCount = shardIndex). IN list er bodole MOD,
+     * tai shard joto boro hok parameter limit e pore na.
+     */
+    @Query("SELECT a.employeeId AS employeeId, " +
+            "SUM(CASE WHEN a.isPresent = true AND extract(day of week from a.date) NOT IN :weekendDows THEN 1 ELSE 0 END) AS presentDays, " +
+            "COALESCE(SUM(a.overtimeHours), 0) AS overtimeHours " +
+            "FROM Attendance a WHERE a.date >= :#{#period.start()} AND a.date < :#{#period.end()} AND MOD(a.employeeId, :shardCount) = :shardIndex " +
+            "GROUP BY a.employeeId")
+    List<AttendanceSummary> summarizeByPeriodForShard(@Param("period") DatePeriod period,
+                                                      @Param("weekendDows") Collection<Integer> weekendDows,
+                                                      @Param("shardCount") int shardCount,
+                                                      @Param("shardIndex") int shardIndex);
+
     /**
-     * [Fetch Monthly Attendance]
-     * Salary generate korar somoy amader jante hoy—
-     * "Ei mase (jemon: November 2025) ei employee mot koydin present chilo?"
-     * * * Keno @Query?
-     * Karon JPA te sorasori 'findByMonth' nai, tai amra SQL er moto kore
-     * MONTH() ar YEAR() function use kore nijera query banalam.
+     * [Monthly Attendance Summary - Streaming]
+     * Streaming payroll er jonno: same GROUP BY, kintu employeeId order e cursor diye ase.
      */
-    @Query("SELECT a FROM Attendance a WHERE a.employeeId = :empId AND MONTH(a.date) = :month AND YEAR(a.date) = :year")
-    List<Attendance> findByEmployeeIdAndMonth(Long empId, int month, int year);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.employeeId AS employeeId, " +
+            "SUM(CASE WHEN a.isPresent = true AND extract(day of week from a.date) NOT IN :weekendDows THEN 1 ELSE 0 END) AS presentDays, " +
+            "COALESCE(SUM(a.overtimeHours), 0) AS overtimeHours " +
+            "FROM Attendance a WHERE a.date >= :#{#period.start()} AND a.date < :#{#period.end()} GROUP BY a.employeeId ORDER BY a.employeeId")
+    Stream<AttendanceSummary> streamSummaryByPeriod(@Param("period") DatePeriod period,
+                                                    @Param("weekendDows") Collection<Integer> weekendDows);
+}
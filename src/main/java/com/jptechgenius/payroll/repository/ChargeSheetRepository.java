@@ -1,11 +1,27 @@
 package com.jptechgenius.payroll.repository;
 
+import com.jptechgenius.payroll.dto.PenaltyLine;
+import com.jptechgenius.payroll.dto.PenaltyListRow;
+import com.jptechgenius.payroll.dto.PenaltySummary;
 import com.jptechgenius.payroll.model.ChargeSheet;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * [ChargeSheet Repository]
@@ -15,7 +31,7 @@ import java.util.List;
  * eikhan thekei manage kora hoy.
  */
 @Repository
-public interface ChargeSheetRepository extends JpaRepository<ChargeSheet, Long> {
+public interface ChargeSheetRepository extends JpaRepository<ChargeSheet, Long>, JpaSpecificationExecutor<ChargeSheet> {
 
     /**
      * [Find Fines by Status]
@@ -25,18 +41,69 @@ public interface ChargeSheetRepository extends JpaRepository<ChargeSheet, Long>
      */
     List<ChargeSheet> findByEmployeeIdAndStatus(Long employeeId, String status);
 
+    // ==========================================
+    // DISPLAY QUERIES (Employee shoho, ek query te)
+    // ==========================================
+
+    /**
+     * [Penalty List Page - Filter]
+     * Employee er naam (keyword) ar status (PENDING/DEDUCTED) - khali hole bad.
+     * Page e pora hoy findBy(spec, q -> q.sortBy(..).limit(..).scroll(..)) diye; employee er naam/chobi
+     * porer ek query te EmployeeRepository.findCardsByIdIn (projection) theke.
+     */
+    static Specification<ChargeSheet> listFilter(String keyword, String status) {
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            if (ListFilters.hasText(keyword)) {
+                where.add(ListFilters.containsIgnoreCase(cb, keyword, List.of(root.get("employee").<String>get("name"))));
+            }
+            if (ListFilters.hasText(status)) {
+                where.add(cb.equal(root.get("status"), status.toUpperCase()));
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * [Penalty List Page - Sort]
+     * (issue_date, id) index (V7) er dui dik. Default notun fine age.
+     */
+    static Sort listSort(String key) {
+        return "oldest".equals(key)
+                ? Sort.by(Sort.Order.asc("issueDate"), Sort.Order.asc("id"))
+                : Sort.by(Sort.Order.desc("issueDate"), Sort.Order.desc("id"));
+    }
+
+    // Penalty page er summary: ek status er mot taka (row load na kore SUM)
+    @Query("SELECT COALESCE(SUM(c.penaltyAmount), 0) FROM ChargeSheet c WHERE c.status = :status")
+    Number sumPenaltyByStatus(@Param("status") String status);
+
+    /**
+     * [Dashboard - Recent Fines]
+     * Shesh 'limit' ta fine (notun age), shudhu table er column - ChargeSheet ba Employee entity hydrate hoy na.
+     * (status, issue_date) diye charge_sheets, tarpor employees er PK diye JOIN.
+     */
+    @Query("SELECT new com.jptechgenius.payroll.dto.PenaltyListRow(c.id, c.issueDate, c.reason, c.penaltyAmount, c.status, " +
+            "e.id, e.name, e.designation, e.email, e.imageUrl) " +
+            "FROM ChargeSheet c JOIN c.employee e WHERE c.status = :status ORDER BY c.issueDate DESC, c.id DESC")
+    List<PenaltyListRow> findRecentRows(@Param("status") String status, Limit limit);
+
+    // Header badge ar dashboard card: shudhu count (row load na)
+    long countByStatus(String status);
+
     // ==========================================
     // CRITICAL PAYROLL QUERY
     // ==========================================
     /**
      * [Find Monthly Fines for Payroll]
-     * Payroll Service jokhon salary calculate kore, tokhon ei method ta call kore.
-     * * Kaj: "Ei masher 1 tarik theke 30 tarik porjonto, ei employee mot koyta fine kheyeche?"
-     * * Keno 'Between' Date?
+     * Kaj: "Ei mashe (DatePeriod.ofMonth) ei employee mot koyta fine kheyeche?"
+     * * Keno period?
      * Karon salary generate korar somoy amader jante hobe shudhu 'OI MASHER' fine gulo,
-     * ager ba porer masher gulo na.
+     * ager ba porer masher gulo na. Half-open range, tai masher shesh din niye vul hoy na.
      */
-    List<ChargeSheet> findByEmployeeIdAndIssueDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT c FROM ChargeSheet c WHERE c.employee.id = :employeeId " +
+            "AND c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()}")
+    List<ChargeSheet> findByEmployeeIdInPeriod(@Param("employeeId") Long employeeId, @Param("period") DatePeriod period);
 
     /**
      * [Cleanup Method]
@@ -44,4 +111,82 @@ public interface ChargeSheetRepository extends JpaRepository<ChargeSheet, Long>
      * tokhon tar sob fine record-o delete kore dite hobe, nahole error dibe.
      */
     void deleteByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+
+    // ==========================================
+    // BATCH QUERIES FOR PAYROLL ENGINE
+    // ==========================================
+
+    /**
+     * [Monthly Penalty Summary - All Employees]
+     * Ek query te puro masher (DatePeriod) fine er jogfol employee onujayi (what-if simulator).
+     * ChargeSheet entity (ar tar Employee) load korte hoy na.
+     */
+    @Query("SELECT c.employee.id AS employeeId, SUM(c.penaltyAmount) AS totalPenalty " +
+            "FROM ChargeSheet c WHERE c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()} GROUP BY c.employee.id")
+    List<PenaltySummary> summarizePenaltiesByPeriod(@Param("period") DatePeriod period);
+
+    /**
+     * [Monthly Penalty Summary - Streaming]
+     * Streaming payroll er jonno employee ID order e cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.employee.id AS employeeId, SUM(c.penaltyAmount) AS totalPenalty " +
+            "FROM ChargeSheet c WHERE c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()} GROUP BY c.employee.id ORDER BY c.employee.id")
+    Stream<PenaltySummary> streamPenaltiesByPeriod(@Param("period") DatePeriod period);
+
+    /**
+     * [Monthly Penalty Lines - All Employees]
+     * Payroll batch loader: masher prottek fine er (id, employee, amount, status). Jogfol Java te hoy,
+     * ar ekoi snapshot theke PENDING id gula pawa jay - DEDUCTED shudhu oi id gula (markDeducted).
+     */
+    @Query("SELECT c.id AS id, c.employee.id AS employeeId, c.penaltyAmount AS penaltyAmount, c.status AS status " +
+            "FROM ChargeSheet c WHERE c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()}")
+    List<PenaltyLine> findPenaltyLinesByPeriod(@Param("period") DatePeriod period);
+
+    @Query("SELECT c.id AS id, c.employee.id AS employeeId, c.penaltyAmount AS penaltyAmount, c.status AS status " +
+            "FROM ChargeSheet c WHERE c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()} AND c.employee.id IN :employeeIds")
+    List<PenaltyLine> findPenaltyLinesByPeriodForEmployees(@Param("period") DatePeriod period,
+                                                           @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * [Monthly Penalty Lines - One Shard]
+     * Cluster payroll: employee.id % shardCount = shardIndex.
+     */
+    @Query("SELECT c.id AS id, c.employee.id AS employeeId, c.penaltyAmount AS penaltyAmount, c.status AS status " +
+            "FROM ChargeSheet c WHERE c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()} AND MOD(c.employee.id, :shardCount) = :shardIndex")
+    List<PenaltyLine> findPenaltyLinesByPeriodForShard(@Param("period") DatePeriod period,
+                                                       @Param("shardCount") int shardCount,
+                                                       @Param("shardIndex") int shardIndex);
+
+    /**
+     * [Pending Fine IDs - Active Employees]
+     * Streaming/SQL mode e hisab er AGE neya hoy; hisab er majhe asha fine jogfol e dhukleo ei list e
+     * thake na, tai PENDING e rekhe dey - tar dirty mark theke jay, recomputeDirty pore DEDUCTED kore.
+     * SUSPENDED employee der salary hoy na, tai tader fine ekhane ase na.
+     */
+    @Query("SELECT c.id FROM ChargeSheet c " +
+            "WHERE c.status = 'PENDING' AND c.issueDate >= :#{#period.start()} AND c.issueDate < :#{#period.end()} " +
+            "AND c.employee.id IN (SELECT e.id FROM Employee e WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED')")
+    List<Long> findPendingIdsByPeriod(@Param("period") DatePeriod period);
+
+    /**
+     * [Bulk Mark DEDUCTED]
+     * Payroll je fine gula asolei kete niyeche (id diye) ekta UPDATE statement e 'DEDUCTED'
+     * (ager moto prottek row er jonno alada save() lage na). Masher sob PENDING fine na -
+     * load er por issue howa fine salary te katena, tai PENDING e thakbe.
+     */
+    @Modifying
+    @Query("UPDATE ChargeSheet c SET c.status = 'DEDUCTED' WHERE c.status = 'PENDING' AND c.id IN :chargeIds")
+    int markDeducted(@Param("chargeIds") Collection<Long> chargeIds);
+
+    /**
+     * Onek id hole 'IN' parameter er simana (PostgreSQL 32767) na chhuye 1000 kore bhag kore.
+     */
+    default int markDeductedInBatches(List<Long> chargeIds) {
+        int updated = 0;
+        for (int i = 0; i < chargeIds.size(); i += 1000) {
+            updated += markDeducted(chargeIds.subList(i, Math.min(i + 1000, chargeIds.size())));
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,61 @@
+package com.jptechgenius.payroll.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * [Date Period - Half-Open Range]
+ * -------------------------------
+ * Repository te mash/shomoy diye khojar ekmatro upay: start <= date < end.
+ * * Keno?
+ * 'MONTH(a.date) = :month AND YEAR(a.date) = :year' er moto query te column ta function er vitore,
+ * tai (employee_id, date) index kaje lage na - Postgres proti row e function cholay (Seq Scan).
+ * Range dile index range scan hoy. Repository method gula month/year int na niye DatePeriod ney,
+ * tai caller chaileo abar function-wrapped query banate pare na.
+ * * end exclusive: mash er shesh din 28/29/30/31 niye matha ghamate hoy na, ar time thakleo vul hoy na.
+ * Query te: "a.date >= :#{#period.start()} AND a.date < :#{#period.end()}".
+ */
+public record DatePeriod(LocalDate start, LocalDate end) {
+
+    public DatePeriod {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("Invalid period: " + start + " .. " + end);
+        }
+    }
+
+    /**
+     * Puro mash (1 tarikh theke porer masher 1 tarikh er age porjonto).
+     * Vul month (13) hole DateTimeException.
+     */
+    public static DatePeriod ofMonth(int month, int year) {
+        return ofMonth(YearMonth.of(year, month));
+    }
+
+    public static DatePeriod ofMonth(YearMonth month) {
+        return new DatePeriod(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    // Puro calendar bochor (cold archive ek bochor kore file e tole)
+    public static DatePeriod ofYear(int year) {
+        return new DatePeriod(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    public static DatePeriod ofDay(LocalDate day) {
+        return new DatePeriod(day, day.plusDays(1));
+    }
+
+    /**
+     * UI theke "1 theke 7 tarikh" (duitai included) ashle.
+     */
+    public static DatePeriod ofDays(LocalDate firstDay, LocalDate lastDay) {
+        return new DatePeriod(firstDay, lastDay.plusDays(1));
+    }
+
+    public LocalDate lastDay() {
+        return end.minusDays(1);
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(start) && date.isBefore(end);
+    }
+}
@@ -1,10 +1,25 @@
 package com.jptechgenius.payroll.repository;
 
+import com.jptechgenius.payroll.dto.EmployeeCard;
+import com.jptechgenius.payroll.dto.EmployeePayInput;
 import com.jptechgenius.payroll.model.Employee;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * [Employee Repository]
@@ -14,7 +29,7 @@ import java.util.List;
  * er moto common method gulo notun kore likhte hoy na. Spring Boot automatic provide kore.
  */
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
 
     // ==========================================
     // CUSTOM SEARCH METHOD
@@ -31,4 +46,101 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * * SQL Equivalent: SELECT * FROM employees WHERE LOWER(name) LIKE %keyword%;
      */
     List<Employee> findByNameContainingIgnoreCase(String keyword);
-}
\ No newline at end of file
+
+    // ==========================================
+    // ADMIN LIST PAGES (Keyset pagination)
+    // ==========================================
+
+    /**
+     * [Directory Filter]
+     * Employee Directory ar Attendance Log page er filter - khali parameter bad.
+     * 1. keyword: nam, email ba phone e ache (case insensitive).
+     * 2. department: hubohu.
+     * 3. status: ACTIVE (null o ACTIVE dhora hoy, payroll er moto), SUSPENDED, RESIGNED ...
+     * * findBy(spec, q -> q.as(EmployeeListRow.class).sortBy(..).limit(..).scroll(position)) diye page e pora hoy
+     * (EmployeeServiceImpl.findEmployeePage) - entity na, shudhu row er column.
+     */
+    static Specification<Employee> directoryFilter(String keyword, String department, String status) {
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            if (ListFilters.hasText(keyword)) {
+                List<Expression<String>> columns = List.of(
+                        root.<String>get("name"), root.<String>get("email"), root.<String>get("phoneNumber"));
+                where.add(ListFilters.containsIgnoreCase(cb, keyword, columns));
+            }
+            if (ListFilters.hasText(department)) {
+                where.add(cb.equal(root.get("department"), department));
+            }
+            if (ListFilters.hasText(status)) {
+                Predicate matches = cb.equal(cb.upper(root.<String>get("status")), status.toUpperCase());
+                where.add("ACTIVE".equalsIgnoreCase(status) ? cb.or(cb.isNull(root.get("status")), matches) : matches);
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * [Directory Sort]
+     * URL er ?sort= theke. Shudhu V7 index ache emon column, sheshe id (keyset tie-breaker); ochena key -> naam.
+     */
+    static Sort directorySort(String key) {
+        return switch (key == null ? "" : key) {
+            case "newest" -> Sort.by(Sort.Order.desc("id"));
+            case "joined" -> Sort.by(Sort.Order.desc("joiningDate"), Sort.Order.desc("id"));
+            default -> Sort.by("name", "id");
+        };
+    }
+
+    /**
+     * [Employee Cards by ID]
+     * Penalty Log er ek page er employee der shudhu naam/podobi/chobi (EmployeeCard projection) - PK diye IN.
+     */
+    List<EmployeeCard> findCardsByIdIn(Collection<Long> ids);
+
+    // Filter dropdown er jonno (puro employee load na kore)
+    @Query("SELECT DISTINCT e.department FROM Employee e WHERE e.department IS NOT NULL ORDER BY e.department")
+    List<String> findDepartments();
+
+    // ==========================================
+    // STREAMING QUERY FOR PAYROLL ENGINE
+    // ==========================================
+
+    /**
+     * [Stream Active Employees - Server-side Cursor]
+     * findAll() puro table memory te ane. Ei method database cursor khule 1000 ta kore row ane
+     * (fetch size), tai 5 lakh employee holeo memory te ek batch er beshi thake na.
+     * * Shorto: Transaction er vitore call kore try-with-resources e close korte hobe.
+     * * ID order e ase, jate attendance/penalty stream er sathe merge join kora jay.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED' ORDER BY e.id")
+    Stream<Employee> streamActiveOrderById();
+
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED'")
+    long countActive();
+
+    /**
+     * [Active Employees - One Shard]
+     * Cluster payroll: shudhu ei shard er employee (id % shardCount = shardIndex).
+     */
+    @Query("SELECT e FROM Employee e WHERE MOD(e.id, :shardCount) = :shardIndex " +
+            "AND (e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED')")
+    List<Employee> findActiveInShard(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
+
+    // ==========================================
+    // WHAT-IF SIMULATOR
+    // ==========================================
+
+    /**
+     * [Active Employee Pay Inputs]
+     * Simulator er jonno shudhu 5 ta column (entity na), ID order e.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id AS id, e.department AS department, e.designation AS designation, " +
+            "e.basicSalary AS basicSalary, e.deductions AS deductions " +
+            "FROM Employee e WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED' ORDER BY e.id")
+    List<EmployeePayInput> findActivePayInputs();
+}
@@ -0,0 +1,158 @@
+package com.jptechgenius.payroll.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * [Keyset Cursor]
+ * ---------------
+ * Admin list page er "Next / Previous" link e ScrollPosition ke URL-safe string banay (ar ulta).
+ * * Keyset: page er shesh (ba prothom) row er sort column er value - porer query "WHERE (name, id) > (..)"
+ * diye shuru hoy, tai OFFSET er moto ager sob row skip korte database ke porte hoy na.
+ * * Format (Base64 URL): direction byte, key songkhya, prottek key er nam + type byte + value.
+ * * Offset cursor ('O') shudhu archive er moto age theke memory te thaka list er jonno.
+ * * Bhul, purono ba hat e bodlano cursor -> first page (500 na). Key er nam sort er sathe na mille o tai,
+ * jate URL theke ochena property query te na dhoke.
+ */
+public final class KeysetCursor {
+
+    private static final Logger log = LoggerFactory.getLogger(KeysetCursor.class);
+
+    private static final byte FORWARD = 'F';
+    private static final byte BACKWARD = 'B';
+    private static final byte OFFSET = 'O';
+
+    private KeysetCursor() {
+    }
+
+    // ==========================================
+    // 1. ENCODE (Window -> link)
+    // ==========================================
+
+    public static String encode(ScrollPosition position) {
+        if (position == null || position.isInitial()) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (position instanceof OffsetScrollPosition offset) {
+                out.writeByte(OFFSET);
+                out.writeLong(offset.getOffset());
+            } else {
+                KeysetScrollPosition keyset = (KeysetScrollPosition) position;
+                out.writeByte(keyset.scrollsBackward() ? BACKWARD : FORWARD);
+                out.writeByte(keyset.getKeys().size());
+                for (Map.Entry<String, Object> key : keyset.getKeys().entrySet()) {
+                    out.writeUTF(key.getKey());
+                    writeValue(out, key.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteArrayOutputStream e hoy na
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    // ==========================================
+    // 2. DECODE (link -> ScrollPosition)
+    // ==========================================
+
+    /**
+     * sort: ei page er sort (key er nam egular sathe hubohu milte hobe). Cursor na thakle/bhul hole first page.
+     */
+    public static ScrollPosition decode(String token, Sort sort) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            byte direction = in.readByte();
+            if (direction == OFFSET) {
+                long offset = in.readLong();
+                return offset > 0 ? ScrollPosition.offset(offset) : ScrollPosition.offset();
+            }
+            if (direction != FORWARD && direction != BACKWARD) {
+                return ScrollPosition.keyset();
+            }
+            int count = in.readUnsignedByte();
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                keys.put(in.readUTF(), readValue(in));
+            }
+            if (!keys.keySet().equals(propertiesOf(sort))) {
+                return ScrollPosition.keyset();
+            }
+            return direction == BACKWARD ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Ignoring invalid list cursor: {}", e.getMessage());
+            return ScrollPosition.keyset();
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private static Set<String> propertiesOf(Sort sort) {
+        Set<String> properties = new HashSet<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        return properties;
+    }
+
+    // Sort column e je type gula ache shudhu segula (nam/date/taka/id)
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('n');
+        } else if (value instanceof String s) {
+            out.writeByte('s');
+            out.writeUTF(s);
+        } else if (value instanceof Long l) {
+            out.writeByte('l');
+            out.writeLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte('i');
+            out.writeInt(i);
+        } else if (value instanceof Double d) {
+            out.writeByte('d');
+            out.writeDouble(d);
+        } else if (value instanceof LocalDate date) {
+            out.writeByte('t');
+            out.writeLong(date.toEpochDay());
+        } else if (value instanceof UUID uuid) {
+            out.writeByte('u');
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            throw new IllegalArgumentException("Unsupported keyset value type: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case 'n' -> null;
+            case 's' -> in.readUTF();
+            case 'l' -> in.readLong();
+            case 'i' -> in.readInt();
+            case 'd' -> in.readDouble();
+            case 't' -> LocalDate.ofEpochDay(in.readLong());
+            case 'u' -> new UUID(in.readLong(), in.readLong());
+            default -> throw new IllegalArgumentException("Unknown keyset value type: " + (char) type);
+        };
+    }
+}
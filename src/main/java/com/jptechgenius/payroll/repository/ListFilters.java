@@ -0,0 +1,39 @@
+package com.jptechgenius.payroll.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.List;
+
+/**
+ * [List Page Filters]
+ * -------------------
+ * Admin list page er Specification gula (EmployeeRepository.directoryFilter ityadi) er common tukro.
+ * Search box e '%' ba '_' dile wildcard hoy na - escape kora hoy, derived 'Containing' query er moto.
+ */
+public final class ListFilters {
+
+    private static final char ESCAPE = '\\';
+
+    private ListFilters() {
+    }
+
+    public static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Je kono ekta column e keyword ache (LOWER(col) LIKE %keyword%).
+     */
+    public static Predicate containsIgnoreCase(CriteriaBuilder cb, String keyword, List<Expression<String>> columns) {
+        String pattern = "%" + escape(keyword.trim().toLowerCase()) + "%";
+        return cb.or(columns.stream()
+                .map(column -> cb.like(cb.lower(column), pattern, ESCAPE))
+                .toArray(Predicate[]::new));
+    }
+
+    private static String escape(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -2,6 +2,7 @@ package com.jptechgenius.payroll.repository;
 
 import com.jptechgenius.payroll.model.PasswordResetToken;
 import com.jptechgenius.payroll.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -23,7 +24,9 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
      * [Find by Token String]
      * User jokhon email-er link-e click korbe, tokhon URL theke token-ta pabo.
      * Sei token ta asole valid kina, seta check korar jonno ei method ta use hoy.
+     * Password set korte User lage, tai token ar user ek query te.
      */
+    @EntityGraph("PasswordResetToken.user")
     Optional<PasswordResetToken> findByToken(String token);
 
     // ==========================================
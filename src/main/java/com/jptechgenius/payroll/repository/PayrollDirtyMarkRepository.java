@@ -0,0 +1,76 @@
+package com.jptechgenius.payroll.repository;
+
+import com.jptechgenius.payroll.model.PayrollDirtyMark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [Payroll Dirty Mark Repository]
+ * -------------------------------
+ * Ei interface-ta 'payroll_dirty_marks' table er sathe communicate kore.
+ * Kon (employee, mash) er payroll abar hisab korte hobe, ta ekhane thake.
+ */
+@Repository
+public interface PayrollDirtyMarkRepository extends JpaRepository<PayrollDirtyMark, UUID> {
+
+    /**
+     * [Mark Dirty - Upsert]
+     * Already mark thakle notun row hoy na, shudhu reason ar time update hoy.
+     * Native query karon JPQL e 'ON CONFLICT' nai.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payroll_dirty_marks (id, employee_id, month, year, reason, marked_at) " +
+            "VALUES (gen_random_uuid(), :employeeId, :month, :year, :reason, clock_timestamp()) " +
+            "ON CONFLICT (employee_id, month, year) DO UPDATE " +
+            "SET reason = EXCLUDED.reason, marked_at = EXCLUDED.marked_at", nativeQuery = true)
+    int upsert(@Param("employeeId") Long employeeId,
+               @Param("month") int month,
+               @Param("year") int year,
+               @Param("reason") String reason);
+
+    /**
+     * [Claim Marks for Month]
+     * Recompute er somoy mark gula lock kora hoy (SELECT ... FOR UPDATE).
+     * Ei somoy notun change ashle tar upsert wait korbe, ar amader commit er por
+     * notun mark hisebe dhukbe - tai kono change harabe na.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PayrollDirtyMark> findByMonthAndYear(int month, int year);
+
+    long countByMonthAndYear(int month, int year);
+
+    /**
+     * [Clear Month]
+     * Full payroll run e puro mash notun kore hisab hoy, tai ager sob mark muche fela hoy.
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollDirtyMark m WHERE m.month = :month AND m.year = :year")
+    int deleteByMonthAndYear(@Param("month") int month, @Param("year") int year);
+
+    /**
+     * [Clear Marks Seen by a Load]
+     * Mark commit er PORE lekha hoy (PayrollDirtyTracker), tai 'before' er age lekha mark er change
+     * oi somoy shuru howa load dekheche. Load er por (ba load cholakalin) asha mark theke jay,
+     * porer recomputeDirty seta dhorbe.
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollDirtyMark m WHERE m.month = :month AND m.year = :year AND m.markedAt < :before")
+    int deleteMarkedBefore(@Param("month") int month, @Param("year") int year, @Param("before") LocalDateTime before);
+
+    /**
+     * [Database Clock]
+     * Transaction shurur somoy (PostgreSQL localtimestamp) - marked_at er sathe same ghori,
+     * app server er ghori na.
+     */
+    @Query("SELECT LOCAL DATETIME")
+    LocalDateTime transactionTimestamp();
+}
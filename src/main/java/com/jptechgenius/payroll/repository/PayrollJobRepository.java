@@ -0,0 +1,119 @@
+package com.jptechgenius.payroll.repository;
+
+import com.jptechgenius.payroll.model.PayrollJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * [Payroll Job Repository]
+ * ------------------------
+ * Ei interface-ta 'payroll_jobs' table er sathe communicate kore.
+ * Background payroll job er status, progress ar checkpoint ekhane save hoy.
+ */
+@Repository
+public interface PayrollJobRepository extends JpaRepository<PayrollJob, UUID> {
+
+    /**
+     * [Find Active Job for Month]
+     * Same masher jonno already kono job QUEUED/RUNNING kina check korar jonno.
+     * Notun job na banaiye oita join kora hoy.
+     */
+    Optional<PayrollJob> findFirstByMonthAndYearAndStatusInOrderByCreatedAtDesc(int month, int year, Collection<String> statuses);
+
+    /**
+     * [Latest Job for Month]
+     * Retry: shudhu masher shesh job FAILED hole seta resume hoy (porer job COMPLETED hole purono ta na).
+     */
+    Optional<PayrollJob> findFirstByMonthAndYearOrderByCreatedAtDesc(int month, int year);
+
+    /**
+     * [Interrupted Jobs]
+     * 'QUEUED' (keu claim kore ni) ba 'RUNNING' kintu owner node er heartbeat staleSeconds er beshi purono -
+     * owner crash koreche, checkpoint theke abar chalate hobe. Onno node e cholonto job ase na.
+     * Somoy database er ghori te (heartbeat o tai) - node gular ghori na mille o bhul hoy na.
+     */
+    @Query(value = "SELECT * FROM payroll_jobs WHERE status = 'QUEUED' " +
+            "OR (status = 'RUNNING' AND (heartbeat_at IS NULL " +
+            "OR heartbeat_at < clock_timestamp() - make_interval(secs => :staleSeconds)))", nativeQuery = true)
+    List<PayrollJob> findInterrupted(@Param("staleSeconds") long staleSeconds);
+
+    // ==========================================
+    // CLAIM (Multi-node single-flight)
+    // ==========================================
+
+    /**
+     * [Submit Lock]
+     * Ek masher submit (khoja + notun job) sob node mile ek somoy ekta. Key: (year * 100 + month, -2)
+     * (-1 payroll lekhar month lock, PayrollMonthLock). Transaction shesh hole nije chere dey.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:monthKey, -2)) AS l", nativeQuery = true)
+    int lockSubmit(@Param("monthKey") int monthKey);
+
+    /**
+     * [Claim Job]
+     * Conditional UPDATE: QUEUED job, RUNNING job jar heartbeat staleSeconds er beshi purono,
+     * ar retry = true hole FAILED job o.
+     * Dui node eksathe chalale row lock er por ditiyo jon WHERE abar check kore 0 row pay -
+     * tai return 1 mane "ei node chalabe", 0 mane onno node already chalacche.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE payroll_jobs SET status = 'RUNNING', owner_node = :owner, " +
+            "heartbeat_at = clock_timestamp(), updated_at = clock_timestamp(), error_message = NULL " +
+            "WHERE id = :id AND (status = 'QUEUED' OR (:retry AND status = 'FAILED') " +
+            "OR (status = 'RUNNING' AND (heartbeat_at IS NULL " +
+            "OR heartbeat_at < clock_timestamp() - make_interval(secs => :staleSeconds))))", nativeQuery = true)
+    int claim(@Param("id") UUID id, @Param("owner") String owner, @Param("staleSeconds") long staleSeconds,
+              @Param("retry") boolean retry);
+
+    /**
+     * [Heartbeat]
+     * Ei node e cholonto job gular heartbeat_at = ekhon. Onno node niye nile (owner bodle gele) bade pore.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE payroll_jobs SET heartbeat_at = clock_timestamp() " +
+            "WHERE id IN (:ids) AND owner_node = :owner AND status = 'RUNNING'", nativeQuery = true)
+    int heartbeat(@Param("ids") Collection<UUID> ids, @Param("owner") String owner);
+
+    /**
+     * [Save Progress]
+     * Prottek chunk commit howar por progress update.
+     * checkpoint null hole ager checkpoint tai thakbe (COALESCE).
+     * REQUIRES_NEW: streaming run er boro transaction er vitore theke call holeo progress sathe sathe dekha jay.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE PayrollJob j SET j.processedEmployees = :processed, " +
+            "j.lastCommittedEmployeeId = COALESCE(:checkpoint, j.lastCommittedEmployeeId), " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    void updateProgress(@Param("id") UUID id,
+                        @Param("processed") int processed,
+                        @Param("checkpoint") Long checkpoint,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * [Mark Started]
+     * Run shuru: mot employee, ager run theke koyjon hoye ache, ar ei session er shuru somoy.
+     * updateProgress er motoi nijer transaction e.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE PayrollJob j SET j.totalEmployees = :total, j.processedEmployees = :processed, " +
+            "j.resumedFrom = :processed, j.startedAt = :now, j.updatedAt = :now WHERE j.id = :id")
+    void markStarted(@Param("id") UUID id,
+                     @Param("total") int total,
+                     @Param("processed") int processed,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,56 @@
+package com.jptechgenius.payroll.repository;
+
+import com.jptechgenius.payroll.model.PayrollMonthTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * [Payroll Month Total Repository]
+ * --------------------------------
+ * 'payroll_month_totals' (V8) - mash prati payroll jogfol. Dashboard ei choto table pore,
+ * payroll_records (bochor bochor joma hoy) na.
+ */
+@Repository
+public interface PayrollMonthTotalRepository extends JpaRepository<PayrollMonthTotal, Integer> {
+
+    /**
+     * [Refresh One Month]
+     * payroll_records er (year, month) index theke oi masher COUNT/SUM abar gune upsert.
+     * Record na thakle o row thake (0, 0) - chart e oi mash 0 i dekhay.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payroll_month_totals (id, year, month, records, net_pay, refreshed_at) " +
+            "SELECT :year * 100 + :month, :year, :month, COUNT(*), COALESCE(SUM(p.net_pay), 0), clock_timestamp() " +
+            "FROM payroll_records p WHERE p.year = :year AND p.month = :month " +
+            "ON CONFLICT (id) DO UPDATE SET records = EXCLUDED.records, net_pay = EXCLUDED.net_pay, " +
+            "refreshed_at = EXCLUDED.refreshed_at", nativeQuery = true)
+    int refreshMonth(@Param("month") int month, @Param("year") int year);
+
+    /**
+     * [Refresh All Months]
+     * Bulk DELETE er por (employee delete, bochor archive) - kon mash bodleche jana nai, tai sob.
+     * payroll_records e ar nai emon mash er row muche jay. Ekta statement (data-modifying CTE).
+     */
+    @Modifying
+    @Query(value = "WITH fresh AS (" +
+            "  SELECT year * 100 + month AS id, year, month, COUNT(*) AS records, COALESCE(SUM(net_pay), 0) AS net_pay " +
+            "  FROM payroll_records GROUP BY year, month), " +
+            "gone AS (DELETE FROM payroll_month_totals t WHERE NOT EXISTS (SELECT 1 FROM fresh f WHERE f.id = t.id)) " +
+            "INSERT INTO payroll_month_totals (id, year, month, records, net_pay, refreshed_at) " +
+            "SELECT id, year, month, records, net_pay, clock_timestamp() FROM fresh " +
+            "ON CONFLICT (id) DO UPDATE SET records = EXCLUDED.records, net_pay = EXCLUDED.net_pay, " +
+            "refreshed_at = EXCLUDED.refreshed_at", nativeQuery = true)
+    int refreshAll();
+
+    // Dashboard chart: ek bochorer (max 12) row
+    List<PayrollMonthTotal> findByYearOrderByMonth(int year);
+
+    // "Total Payroll" card - mash sonkhar upor (record sonkhar upor na)
+    @Query("SELECT COALESCE(SUM(t.netPay), 0) FROM PayrollMonthTotal t")
+    Number sumNetPay();
+}
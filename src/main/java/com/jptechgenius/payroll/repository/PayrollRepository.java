@@ -1,10 +1,30 @@
 package com.jptechgenius.payroll.repository;
 
+import com.jptechgenius.payroll.dto.PayrollMonthTotals;
+import com.jptechgenius.payroll.dto.PayrollNetPay;
 import com.jptechgenius.payroll.model.PayrollRecord;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * [Payroll Repository]
@@ -14,7 +34,7 @@ import java.util.UUID;
  * * * Note: ID er type 'UUID' deya hoise (security r jonno), tai JpaRepository<PayrollRecord, UUID>
  */
 @Repository
-public interface PayrollRepository extends JpaRepository<PayrollRecord, UUID> {
+public interface PayrollRepository extends JpaRepository<PayrollRecord, UUID>, JpaSpecificationExecutor<PayrollRecord> {
 
     // ==========================================
     // 1. DUPLICATE CHECK QUERY
@@ -40,6 +60,70 @@ public interface PayrollRepository extends JpaRepository<PayrollRecord, UUID> {
      */
     List<PayrollRecord> findByMonthAndYear(int month, int year);
 
+    /**
+     * [Month Already Generated?]
+     * "Recompute Dirty" shudhu already generate kora mash e chole.
+     */
+    boolean existsByMonthAndYear(int month, int year);
+
+    /**
+     * [Salary Sheet - Filter]
+     * Ek masher record, employee er naam ba designation e keyword thakle shudhu segula.
+     * Page e pora hoy findBy(spec, q -> q.sortBy(..).limit(..).scroll(..)) diye (PayrollService.getSheetPage).
+     */
+    static Specification<PayrollRecord> sheetFilter(int month, int year, String keyword) {
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            where.add(cb.equal(root.get("month"), month));
+            where.add(cb.equal(root.get("year"), year));
+            if (ListFilters.hasText(keyword)) {
+                where.add(ListFilters.containsIgnoreCase(cb, keyword,
+                        List.of(root.<String>get("employeeName"), root.<String>get("designation"))));
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * [Salary Sheet - Sort]
+     * (year, month, employee_name, id) ba (year, month, net_pay, id) index (V7). Default naam order.
+     */
+    static Sort sheetSort(String key) {
+        return "netpay".equals(key)
+                ? Sort.by(Sort.Order.desc("netPay"), Sort.Order.desc("id"))
+                : Sort.by("employeeName", "id");
+    }
+
+    /**
+     * [Salary Sheet - Month Totals]
+     * Puro masher jogfol ekta aggregate query te (page er row Java te jog kore na).
+     */
+    @Query("SELECT COUNT(p) AS employees, COALESCE(SUM(p.basicSalary), 0) AS totalBasic, " +
+            "COALESCE(SUM(p.bonus), 0) AS totalBonus, COALESCE(SUM(p.deductions), 0) AS totalDeductions, " +
+            "COALESCE(SUM(p.netPay), 0) AS totalNetPay " +
+            "FROM PayrollRecord p WHERE p.month = :month AND p.year = :year")
+    PayrollMonthTotals summarizeMonth(@Param("month") int month, @Param("year") int year);
+
+    /**
+     * [Latest Payslip of Employee]
+     * Salary bodlale shesh je mashe payroll hoyeche seta o 'dirty' mark hoy (PayrollDirtyTracker).
+     */
+    Optional<PayrollRecord> findFirstByEmployeeIdOrderByYearDescMonthDesc(Long employeeId);
+
+    /**
+     * [Salary History of Employee]
+     * Hot table e ja ache (notun theke purono). Archive kora bochor PayrollService.getRecordsByEmployee jog kore.
+     * (employee_id, year, month) index.
+     */
+    List<PayrollRecord> findByEmployeeIdOrderByYearDescMonthDesc(Long employeeId);
+
+    /**
+     * [Recent Payslips of Employee]
+     * Shudhu shesh 'limit' ta - (employee_id, year, month) index ulta dike pore LIMIT e thame,
+     * tai employee er history joto lombai hok khoroch same. Portal dashboard er "My Payslips".
+     */
+    List<PayrollRecord> findByEmployeeIdOrderByYearDescMonthDesc(Long employeeId, Limit limit);
+
     // ==========================================
     // 3. CLEANUP QUERY
     // ==========================================
@@ -49,4 +133,156 @@ public interface PayrollRepository extends JpaRepository<PayrollRecord, UUID> {
      * o delete kore dite hobe, nahole database error dibe.
      */
     void deleteByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+
+    // ==========================================
+    // 4. BULK DELETE (Payroll Re-run)
+    // ==========================================
+    /**
+     * [Delete Month - Single Statement]
+     * Ek masher payroll abar chalale purono record gula ekta DELETE statement e muche jay
+     * (ager moto prottek record load kore ek ek kore delete na).
+     * SUSPENDED employee der record thake, karon tader notun salary hoy na.
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollRecord p WHERE p.month = :month AND p.year = :year " +
+            "AND p.employeeId IN (SELECT e.id FROM Employee e WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED')")
+    int deleteMonthForActiveEmployees(@Param("month") int month, @Param("year") int year);
+
+    /**
+     * [Delete Month - One Chunk]
+     * Chunked/parallel run e prottek chunk shudhu nijer employee der record muche.
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollRecord p WHERE p.month = :month AND p.year = :year AND p.employeeId IN :employeeIds")
+    int deleteMonthForEmployees(@Param("month") int month, @Param("year") int year,
+                                @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * [Delete Month - One Shard]
+     * Cluster payroll e prottek shard shudhu nijer (active) employee der record muche.
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollRecord p WHERE p.month = :month AND p.year = :year " +
+            "AND MOD(p.employeeId, :shardCount) = :shardIndex " +
+            "AND p.employeeId IN (SELECT e.id FROM Employee e WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED')")
+    int deleteMonthForShard(@Param("month") int month, @Param("year") int year,
+                            @Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
+
+    // ==========================================
+    // 5. COLD ARCHIVE (Bondho bochor -> segment file)
+    // ==========================================
+
+    // Hot table e kon kon bondho bochor ekhono ache
+    @Query("SELECT DISTINCT p.year FROM PayrollRecord p WHERE p.year < :year ORDER BY p.year")
+    List<Integer> findYearsBefore(@Param("year") int year);
+
+    /**
+     * Ek bochorer sob record, employee ar mash order e (archive file employeeId order e lekha hoy).
+     * FOR UPDATE: file e lekha row archive commit porjonto keu bodlate/muchte pare na; pore delete hoy
+     * shudhu ei row gula (id diye), tai majhe insert howa notun row hot table e thake.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p FROM PayrollRecord p WHERE p.year = :year ORDER BY p.employeeId, p.month")
+    Stream<PayrollRecord> streamByYearOrderByEmployee(@Param("year") int year);
+
+    // ==========================================
+    // 6. SET-BASED ENGINE (Puro hisab PostgreSQL e)
+    // ==========================================
+
+    /**
+     * [Run Summary Rows]
+     * Checksum er jonno Employee ID order e shudhu (employeeId, netPay).
+     */
+    @Query("SELECT p.employeeId AS employeeId, p.netPay AS netPay FROM PayrollRecord p " +
+            "WHERE p.month = :month AND p.year = :year ORDER BY p.employeeId")
+    List<PayrollNetPay> findNetPayByMonth(@Param("month") int month, @Param("year") int year);
+
+    /**
+     * [Insert Month - INSERT ... SELECT]
+     * Java engine (PayrollCalculator) er hubohu same hisab, kintu ekta statement e database er vitore:
+     * 1. att: hajira GROUP BY (weekend baad present day, overtime centi-hour = floor(x * 100 + 0.5) = Java Math.round).
+ *    Compact (bondho) mash er row o ekhane jog hoy: present_bits & workdayBits er 1 bit gona.
+     * 2. pen: masher fine er jogfol (paisa)
+     * 3. earn/calc: paisa te half-up gun/bhag. div(2 * a * b + d, 2 * d) = Money.mulDiv (a, b >= 0).
+     *    numeric e hisab, tai majhe kono overflow ba double rounding nai.
+     * 4. payroll_records e ek sathe INSERT - Java te ekta row o ase na.
+     * * Stages: CompiledPayrollPolicy.stageCount (0 mane oi stage bondho).
+     * * Period half-open (DatePeriod): start <= date < end.
+     */
+    @Modifying
+    @Query(value = """
+            WITH att AS (
+                SELECT d.employee_id,
+                       SUM(d.present_days) AS present_days,
+                       floor(COALESCE(SUM(d.overtime_hours), 0) * 100 + 0.5) AS overtime_centi
+                FROM (
+                    SELECT a.employee_id,
+                           CASE WHEN a.is_present AND CAST(extract(isodow FROM a.date) AS integer) NOT IN (:weekendIsoDays)
+                                THEN 1 ELSE 0 END AS present_days,
+                           a.overtime_hours
+                    FROM attendance a
+                    WHERE a.date >= :#{#period.start()} AND a.date < :#{#period.end()}
+                    UNION ALL
+                    SELECT m.employee_id,
+                           length(replace(CAST(CAST(m.present_bits & :workdayBits AS bit(32)) AS text), '0', '')),
+                           m.overtime_hours
+                    FROM attendance_months m
+                    WHERE m.month = :month AND m.year = :year
+                ) d
+                GROUP BY d.employee_id
+            ),
+            pen AS (
+                SELECT c.employee_id, SUM(c.penalty_amount) * 100 AS penalty_minor
+                FROM charge_sheets c
+                WHERE c.issue_date >= :#{#period.start()} AND c.issue_date < :#{#period.end()}
+                GROUP BY c.employee_id
+            ),
+            base AS (
+                SELECT e.id, e.name, e.designation, e.image_url,
+                       COALESCE(e.basic_salary, 0) * 100 AS basic_minor,
+                       COALESCE(e.deductions, 0) * 100 AS fixed_minor,
+                       COALESCE(att.present_days, 0) AS present_days,
+                       CAST(COALESCE(att.overtime_centi, 0) AS numeric) AS overtime_centi,
+                       COALESCE(pen.penalty_minor, 0) AS penalty_minor
+                FROM employees e
+                LEFT JOIN att ON att.employee_id = e.id
+                LEFT JOIN pen ON pen.employee_id = e.id
+                WHERE e.status IS NULL OR UPPER(e.status) <> 'SUSPENDED'
+            ),
+            earn AS (
+                SELECT b.*,
+                       :basicStages * div(2 * b.basic_minor * b.present_days + :workingDays, 2 * :workingDays) AS payable_minor,
+                       :overtimeStages * div(2 * b.basic_minor * b.overtime_centi * :overtimeNumerator + :overtimeDenominator,
+                                             2 * CAST(:overtimeDenominator AS numeric)) AS bonus_minor
+                FROM base b
+            ),
+            calc AS (
+                SELECT e.*,
+                       :taxStages * div(2 * e.payable_minor * :taxBasisPoints + 10000, 20000)
+                           + :penaltyStages * e.penalty_minor
+                           + :fixedStages * e.fixed_minor AS deductions_minor
+                FROM earn e
+            )
+            INSERT INTO payroll_records (id, employee_id, employee_name, designation, image_url, month, year,
+                                         basic_salary, bonus, deductions, net_pay, payment_date)
+            SELECT gen_random_uuid(), c.id, c.name, c.designation, c.image_url, :month, :year,
+                   c.payable_minor / 100, c.bonus_minor / 100, c.deductions_minor / 100,
+                   (c.payable_minor + c.bonus_minor - c.deductions_minor) / 100, CURRENT_DATE
+            FROM calc c
+            """, nativeQuery = true)
+    int insertMonthSetBased(@Param("month") int month,
+                            @Param("year") int year,
+                            @Param("period") DatePeriod period,
+                            @Param("weekendIsoDays") Collection<Integer> weekendIsoDays,
+                            @Param("workdayBits") int workdayBits,
+                            @Param("workingDays") int workingDays,
+                            @Param("overtimeNumerator") long overtimeNumerator,
+                            @Param("overtimeDenominator") long overtimeDenominator,
+                            @Param("taxBasisPoints") long taxBasisPoints,
+                            @Param("basicStages") int basicStages,
+                            @Param("overtimeStages") int overtimeStages,
+                            @Param("taxStages") int taxStages,
+                            @Param("penaltyStages") int penaltyStages,
+                            @Param("fixedStages") int fixedStages);
+}
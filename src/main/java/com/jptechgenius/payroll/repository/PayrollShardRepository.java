@@ -0,0 +1,117 @@
+package com.jptechgenius.payroll.repository;
+
+import com.jptechgenius.payroll.model.PayrollShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * [Payroll Shard Repository]
+ * --------------------------
+ * Ei interface-ta 'payroll_shards' table er sathe communicate kore.
+ * Cluster payroll e kon node kon shard nibe, ar PostgreSQL advisory lock - sob ekhane.
+ * * Advisory lock key: (year * 100 + month, shardIndex). Month-level lock e shardIndex = -1 (PayrollMonthLock).
+ * '_xact_' lock, tai transaction shesh hole (commit/rollback/node crash) nije nije chere dey.
+ */
+@Repository
+public interface PayrollShardRepository extends JpaRepository<PayrollShard, UUID> {
+
+    List<PayrollShard> findByMonthAndYearOrderByShardIndex(int month, int year);
+
+    /**
+     * [Unfinished Cluster Run]
+     * Ei masher kono shard FINALIZED na - cluster run cholche (ba atke ache). Onno mode tokhon lekhe na.
+     */
+    @Query("SELECT COUNT(s) > 0 FROM PayrollShard s WHERE s.month = :month AND s.year = :year AND s.status <> 'FINALIZED'")
+    boolean existsUnfinished(@Param("month") int month, @Param("year") int year);
+
+    // ==========================================
+    // 1. CREATE RUN
+    // ==========================================
+
+    /**
+     * [Create Shards]
+     * 0 .. shardCount-1 porjonto PENDING row. Onno node already banale (ON CONFLICT) kichu hoy na.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payroll_shards (id, month, year, shard_index, shard_count, status, attempts, " +
+            "employees, total_net_pay_minor, updated_at) " +
+            "SELECT gen_random_uuid(), :month, :year, s, :shardCount, 'PENDING', 0, 0, 0, clock_timestamp() " +
+            "FROM generate_series(0, :shardCount - 1) AS s " +
+            "ON CONFLICT (month, year, shard_index) DO NOTHING", nativeQuery = true)
+    int createShards(@Param("month") int month, @Param("year") int year, @Param("shardCount") int shardCount);
+
+    @Modifying
+    @Query("DELETE FROM PayrollShard s WHERE s.month = :month AND s.year = :year")
+    int deleteByMonthAndYear(@Param("month") int month, @Param("year") int year);
+
+    /**
+     * [Reset Exhausted Shards]
+     * maxAttempts bar fail kora shard (findClaimable ar ney na) PENDING e ferot, attempts 0.
+     * Admin er restart (startRun force) - shard_count same thake, tai baki COMMITTED shard er sathe mele.
+     */
+    @Modifying
+    @Query("UPDATE PayrollShard s SET s.status = 'PENDING', s.attempts = 0, s.ownerNode = NULL, " +
+            "s.errorMessage = NULL, s.updatedAt = :now " +
+            "WHERE s.month = :month AND s.year = :year AND s.status = 'FAILED' AND s.attempts >= :maxAttempts")
+    int resetExhausted(@Param("month") int month, @Param("year") int year,
+                       @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    // ==========================================
+    // 2. CLAIM (Kon node kon shard nibe)
+    // ==========================================
+
+    /**
+     * [Claim Next Shard]
+     * FOR UPDATE SKIP LOCKED: onno node je row lock koreche seta baad diye porer ta dey,
+     * tai eksathe 10 ta node poll korleo keu karo jonno wait kore na, ar ek row dui jon pay na.
+     * Onek khon RUNNING (node crash) shard o abar nite pare - tokhon advisory lock protect kore.
+     * FAILED shard maxAttempts bar porjonto abar chesta hoy, tarpor admin er jonno pore thake.
+     */
+    @Query(value = "SELECT * FROM payroll_shards " +
+            "WHERE status = 'PENDING' OR (status = 'FAILED' AND attempts < :maxAttempts) " +
+            "OR (status = 'RUNNING' AND claimed_at < :staleBefore) " +
+            "ORDER BY year, month, shard_index LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<PayrollShard> findClaimable(@Param("staleBefore") LocalDateTime staleBefore,
+                                         @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * [Shard Lock]
+     * Shard er kaj ei lock dhore ek transaction e hoy. Already onno node dhorle false -
+     * tai stale claim er poreo ek shard dui node eksathe likhte pare na.
+     * shardIndex = -1 dile month lock er try version (PayrollMonthLock, cluster start).
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:monthKey, :shardIndex)", nativeQuery = true)
+    boolean tryLock(@Param("monthKey") int monthKey, @Param("shardIndex") int shardIndex);
+
+    // ==========================================
+    // 3. FINALIZE (Coordinator)
+    // ==========================================
+
+    /**
+     * [Months Waiting for Finalize]
+     * Je mash er kono shard COMMITTED (hoyto sob, hoyto kichu) - result: year * 100 + month.
+     */
+    @Query("SELECT DISTINCT s.year * 100 + s.month FROM PayrollShard s WHERE s.status = 'COMMITTED'")
+    List<Integer> findMonthKeysWithCommittedShards();
+
+    /**
+     * [Finalize Month]
+     * Sob shard COMMITTED hole ek statement e sob FINALIZED. Dui node eksathe chalale
+     * prothom jon row lock pay; ditiyo jon lock er por abar check kore 0 row pay.
+     * Tai return > 0 mane "ami coordinator" - fine DEDUCTED shudhu ekbar hoy.
+     */
+    @Modifying
+    @Query(value = "UPDATE payroll_shards SET status = 'FINALIZED', updated_at = clock_timestamp() " +
+            "WHERE month = :month AND year = :year AND status = 'COMMITTED' " +
+            "AND NOT EXISTS (SELECT 1 FROM payroll_shards o " +
+            "WHERE o.month = :month AND o.year = :year AND o.status <> 'COMMITTED')", nativeQuery = true)
+    int finalizeIfComplete(@Param("month") int month, @Param("year") int year);
+}
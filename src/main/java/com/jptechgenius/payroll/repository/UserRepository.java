@@ -1,6 +1,7 @@
 package com.jptechgenius.payroll.repository;
 
 import com.jptechgenius.payroll.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -25,6 +26,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * [User + Employee Profile]
+     * Employee portal (dashboard, profile, today's status): user ar tar Employee ek JOIN e.
+     * User.employee LAZY, tai findByUsername er por template e employee porle error hoto.
+     */
+    @EntityGraph("User.employee")
+    Optional<User> findWithEmployeeByUsername(String username);
+
     /**
      * Login process e jodi keu username er bodole email diye login korte chay,
      * tokhon ei method ta kaj korbe.
@@ -0,0 +1,189 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.engine.AttendanceMonthCodec;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import com.jptechgenius.payroll.repository.AttendanceMonthRepository;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.DatePeriod;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * [Attendance Compaction Service]
+ * -------------------------------
+ * Mash bondho howar por (mash shesh + 'close-after-days' din) oi masher daily attendance row gula
+ * employee prati ekta AttendanceMonth row te chape (AttendanceMonthCodec), tarpor daily row muche fele.
+ * * Payroll, employee portal ar Attendance Log compact mash o pore (PayrollInputLoader, AttendanceService),
+ * tai baki code er kache kichu bodlay na.
+ * * Jei employee er mash pack kora jay na (open dispute, dispute reason, ochena status) - tar row daily e thake.
+ * * Optional: app.attendance.compaction.enabled=false hole schedule kichu kore na.
+ */
+@Service
+public class AttendanceCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceCompactionService.class);
+
+    // Id diye DELETE ... IN er ek statement e koyta (PostgreSQL parameter simana er niche)
+    private static final int DELETE_BATCH = 1000;
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTx;
+
+    @Value("${app.attendance.compaction.enabled:false}")
+    private boolean enabled;
+
+    // Mash shesh howar koto din por 'bondho' (dispute/manual correction er somoy)
+    @Value("${app.attendance.compaction.close-after-days:5}")
+    private int closeAfterDays;
+
+    // Schedule e koyta bondho mash pichone porjonto dekhbe
+    @Value("${app.attendance.compaction.lookback-months:3}")
+    private int lookbackMonths;
+
+    // Koyjon employee por por flush + clear
+    @Value("${app.attendance.compaction.batch-size:500}")
+    private int batchSize;
+
+    public AttendanceCompactionService(AttendanceRepository attendanceRepository,
+                                       AttendanceMonthRepository attendanceMonthRepository,
+                                       EntityManager entityManager,
+                                       PlatformTransactionManager transactionManager) {
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
+        this.entityManager = entityManager;
+        this.writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.attendance.compaction.cron:0 0 2 * * *}")
+    public void compactClosedMonths() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth lastClosed = YearMonth.now().minusMonths(1);
+        if (!isClosed(lastClosed)) {
+            lastClosed = lastClosed.minusMonths(1);
+        }
+        for (int i = 0; i < lookbackMonths; i++) {
+            compactMonth(lastClosed.minusMonths(i));
+        }
+    }
+
+    /**
+     * [Compact One Month]
+     * Ekta transaction e. Abar chalale shudhu je employee der daily row ache tader kore.
+     * Return: koyjon employee compact holo.
+     */
+    public int compactMonth(YearMonth month) {
+        if (!isClosed(month)) {
+            throw new IllegalArgumentException("Attendance month " + month + " is not closed yet");
+        }
+        long started = System.currentTimeMillis();
+        DatePeriod period = DatePeriod.ofMonth(month);
+
+        int[] counts = writeTx.execute(status -> {
+            // Agei compact hoye ache emon employee (daily row thakle oder chhuna hoy na - reopen er por edit cholche)
+            Set<Long> alreadyCompact = new HashSet<>();
+            for (AttendanceMonth existing : attendanceMonthRepository.findByMonthAndYear(month.getMonthValue(), month.getYear())) {
+                alreadyCompact.add(existing.getEmployeeId());
+            }
+            entityManager.clear();
+
+            int compacted = 0;
+            int skipped = 0;
+            List<AttendanceMonth> batch = new ArrayList<>();
+            List<Long> packedIds = new ArrayList<>();
+            List<Attendance> employeeRows = new ArrayList<>();
+            try (Stream<Attendance> rows = attendanceRepository.streamInPeriodOrderByEmployee(period)) {
+                Iterator<Attendance> cursor = rows.iterator();
+                while (cursor.hasNext()) {
+                    Attendance att = cursor.next();
+                    if (!employeeRows.isEmpty() && !employeeRows.get(0).getEmployeeId().equals(att.getEmployeeId())) {
+                        // Ager employee er sob row hate
+                        skipped += pack(month, employeeRows, alreadyCompact, batch, packedIds) ? 0 : 1;
+                        if (batch.size() >= Math.max(1, batchSize)) {
+                            compacted += writeBatch(batch, packedIds);
+                        }
+                    }
+                    employeeRows.add(att);
+                }
+            }
+            if (!employeeRows.isEmpty()) {
+                skipped += pack(month, employeeRows, alreadyCompact, batch, packedIds) ? 0 : 1;
+            }
+            compacted += writeBatch(batch, packedIds);
+            return new int[]{compacted, skipped};
+        });
+
+        log.info("Attendance {} compacted: {} employee(s), {} kept as daily rows, in {} ms", month, counts[0],
+                counts[1], System.currentTimeMillis() - started);
+        return counts[0];
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Ek employee er row pack kore batch e dey, ar pack howa row er id packedIds e; na parle false
+     * (row daily e thake). rows khali kore dey.
+     */
+    private static boolean pack(YearMonth month, List<Attendance> rows, Set<Long> alreadyCompact,
+                                List<AttendanceMonth> batch, List<Long> packedIds) {
+        Long employeeId = rows.get(0).getEmployeeId();
+        AttendanceMonth packed = alreadyCompact.contains(employeeId)
+                ? null : AttendanceMonthCodec.pack(employeeId, month, rows);
+        if (packed != null) {
+            batch.add(packed);
+            for (Attendance att : rows) {
+                packedIds.add(att.getId());
+            }
+        }
+        rows.clear();
+        return packed != null;
+    }
+
+    /**
+     * Compact row insert, je daily row gula pack holo shudhu segula delete (id diye), tarpor
+     * persistence context khali. Stream er row FOR UPDATE e lock, tai pack er por keu bodlate pare na;
+     * majhe insert howa notun din er row daily e thake.
+     */
+    private int writeBatch(List<AttendanceMonth> batch, List<Long> packedIds) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (AttendanceMonth month : batch) {
+            entityManager.persist(month);
+        }
+        entityManager.flush();
+        for (int i = 0; i < packedIds.size(); i += DELETE_BATCH) {
+            attendanceRepository.deleteByIdIn(packedIds.subList(i, Math.min(i + DELETE_BATCH, packedIds.size())));
+        }
+        entityManager.clear();
+
+        int written = batch.size();
+        batch.clear();
+        packedIds.clear();
+        return written;
+    }
+
+    private boolean isClosed(YearMonth month) {
+        LocalDate closesOn = month.plusMonths(1).atDay(1).plusDays(closeAfterDays);
+        return !LocalDate.now().isBefore(closesOn);
+    }
+}
@@ -0,0 +1,93 @@
+package com.jptechgenius.payroll.service;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * [Attendance Partition Maintenance]
+ * ----------------------------------
+ * attendance table mash onujayi partition kora (V5 migration). Ei service protidin:
+ * 1. Ei mash theke samner 'months-ahead' mash porjonto partition ache kina dekhe, na thakle banay -
+ *    tai mash bodlale check-in default partition e pore na.
+ * 2. 'retain-months' er cheye purono KHALI mash gula detach kore (table database e thake, query te ase na).
+ *    Default 0 = bondho. Hajira thaka mash (ColdArchiveService ekhono segment e tole ni) function nije
+ *    bad dey (V11) - detach korle oi hajira app er sob query, archive er year stream o, theke hariye jeto.
+ * * Asol kaj database function e (create_attendance_partition, detach_attendance_partitions),
+ * advisory lock er vitore - tai cluster er sob node chalaleo somossa nai.
+ * * Prottek mash alada transaction e, jate parent table er lock beshi khon dhore rakha na hoy.
+ */
+@Service
+public class AttendancePartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendancePartitionService.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate tx;
+
+    @Value("${app.attendance.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 = kokhono detach hobe na (default)
+    @Value("${app.attendance.partition.retain-months:0}")
+    private int retainMonths;
+
+    public AttendancePartitionService(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * App start e ekbar (notun deploy er por partition na thakle).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            // Partition na banleo app cholbe (row default partition e jay); porer schedule e abar chesta
+            log.warn("Attendance partition maintenance failed on startup", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.attendance.partition.cron:0 30 1 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            Boolean added = tx.execute(status -> (Boolean) entityManager
+                    .createNativeQuery("SELECT create_attendance_partition(:monthStart)")
+                    .setParameter("monthStart", monthStart)
+                    .getSingleResult());
+            if (Boolean.TRUE.equals(added)) {
+                created++;
+            }
+        }
+
+        int detached = 0;
+        if (retainMonths > 0) {
+            LocalDate cutoff = current.minusMonths(retainMonths).atDay(1);
+            Number count = tx.execute(status -> (Number) entityManager
+                    .createNativeQuery("SELECT detach_attendance_partitions(:cutoff)")
+                    .setParameter("cutoff", cutoff)
+                    .getSingleResult());
+            detached = count != null ? count.intValue() : 0;
+        }
+
+        if (created > 0 || detached > 0) {
+            log.info("Attendance partitions: {} created, {} detached", created, detached);
+        }
+    }
+}
@@ -1,22 +1,42 @@
 package com.jptechgenius.payroll.service;
 
+import com.jptechgenius.payroll.engine.AttendanceMonthCodec;
 import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import com.jptechgenius.payroll.repository.AttendanceMonthRepository;
 import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.DatePeriod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 @Service // Spring ke janano je eta ekta Service class
 public class AttendanceService {
 
+    private static final Logger log = LoggerFactory.getLogger(AttendanceService.class);
+
     private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final ColdArchiveService coldArchive;
 
     // Constructor Injection: Database repository load korar jonno
-    public AttendanceService(AttendanceRepository attendanceRepository) {
+    public AttendanceService(AttendanceRepository attendanceRepository,
+                             AttendanceMonthRepository attendanceMonthRepository,
+                             ColdArchiveService coldArchive) {
         this.attendanceRepository = attendanceRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
+        this.coldArchive = coldArchive;
     }
 
     /**
@@ -32,7 +52,7 @@ public class AttendanceService {
                 .orElseThrow(() -> new RuntimeException("Error: No active check-in found for today! Please Check-In first."));
 
         // 2. Check-out time set kora
-        LocalTime now = LocalTime.now();
+        LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS); // Compact mash second porjonto rakhe
         attendance.setCheckOutTime(now);
 
         // 3. Duration Calculate kora
@@ -70,4 +90,110 @@ public class AttendanceService {
         // Finally save to Database
         return attendanceRepository.save(attendance);
     }
-}
\ No newline at end of file
+
+    // ==========================================
+    // READ (Daily + Compact mash)
+    // ==========================================
+
+    /**
+     * [Monthly Attendance of One Employee]
+     * Bondho mash compact hoye gele (AttendanceMonth) sekhan theke unpack kore, na hole daily row.
+     * Bochor archive hoye gele (ColdArchiveService) segment file theke.
+     * Compact theke asha object database e nai - shudhu dekhanor jonno.
+     */
+    public List<Attendance> getMonthAttendance(Long employeeId, YearMonth month) {
+        DatePeriod period = DatePeriod.ofMonth(month);
+        List<Attendance> rows = attendanceRepository.findByEmployeeIdInPeriod(employeeId, period);
+        AttendanceMonth compact = attendanceMonthRepository
+                .findByEmployeeIdAndMonthAndYear(employeeId, month.getMonthValue(), month.getYear())
+                .orElse(null);
+        if (compact == null) {
+            // Hot e kichu nai - bochor ta archive file e chole geche kina
+            return rows.isEmpty() ? coldArchive.findAttendance(employeeId, period) : rows;
+        }
+        List<Attendance> merged = new ArrayList<>(AttendanceMonthCodec.unpack(compact));
+        merged.addAll(rows);
+        merged.sort(Comparator.comparing(Attendance::getDate));
+        return merged;
+    }
+
+    /**
+     * [Daily Attendance of Everyone]
+     * Attendance Log page: oi tarikh er daily row + compact mash theke oi diner row (archive bochor hole file theke).
+     */
+    public List<Attendance> findByDate(LocalDate date) {
+        List<Attendance> rows = attendanceRepository.findByDate(date);
+        if (!attendanceMonthRepository.existsByMonthAndYear(date.getMonthValue(), date.getYear())) {
+            return rows.isEmpty() ? coldArchive.findAttendanceOn(date) : rows;
+        }
+        List<Attendance> merged = new ArrayList<>(rows);
+        for (AttendanceMonth compact : attendanceMonthRepository.findByMonthAndYear(date.getMonthValue(), date.getYear())) {
+            Attendance day = AttendanceMonthCodec.dayOf(compact, date.getDayOfMonth());
+            if (day != null) {
+                merged.add(day);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * [Daily Attendance of Some Employees]
+     * Attendance Log er ek page: findByDate er moto daily + compact + archive, kintu shudhu ei employee der.
+     */
+    public List<Attendance> findByDateForEmployees(LocalDate date, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        List<Attendance> rows = attendanceRepository.findByDateAndEmployeeIdIn(date, employeeIds);
+        if (!attendanceMonthRepository.existsByMonthAndYear(date.getMonthValue(), date.getYear())) {
+            if (!rows.isEmpty() || attendanceRepository.existsByDate(date)) {
+                return rows;
+            }
+            // Oi din hot e kichu nai - archive file theke, page er employee der ta
+            return coldArchive.findAttendanceOn(date).stream()
+                    .filter(att -> employeeIds.contains(att.getEmployeeId()))
+                    .toList();
+        }
+        List<Attendance> merged = new ArrayList<>(rows);
+        for (AttendanceMonth compact : attendanceMonthRepository
+                .findByMonthAndYearAndEmployeeIdIn(date.getMonthValue(), date.getYear(), employeeIds)) {
+            Attendance day = AttendanceMonthCodec.dayOf(compact, date.getDayOfMonth());
+            if (day != null) {
+                merged.add(day);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * [Present Count - One Day]
+     * Attendance Log er summary badge: COUNT query (daily + compact bit), row load na kore.
+     * Archive bochor hole file theke gona (oikhane database nai).
+     */
+    public long countPresentOn(LocalDate date) {
+        long present = attendanceRepository.countByDateAndIsPresentTrue(date);
+        if (attendanceMonthRepository.existsByMonthAndYear(date.getMonthValue(), date.getYear())) {
+            return present + attendanceMonthRepository.countPresentOnDay(
+                    date.getMonthValue(), date.getYear(), 1 << (date.getDayOfMonth() - 1));
+        }
+        if (present > 0 || attendanceRepository.existsByDate(date)) {
+            return present;
+        }
+        return coldArchive.findAttendanceOn(date).stream().filter(Attendance::isPresent).count();
+    }
+
+    /**
+     * [Reopen Compact Month]
+     * Bondho masher hajira edit korar age: compact row theke abar daily row baniye compact row muche fela.
+     * Tarpor sadharon vabe edit hoy (ar porer compaction e abar compact hoy).
+     */
+    @Transactional
+    public void reopenMonth(Long employeeId, LocalDate date) {
+        attendanceMonthRepository.findByEmployeeIdAndMonthAndYear(employeeId, date.getMonthValue(), date.getYear())
+                .ifPresent(compact -> {
+                    attendanceRepository.saveAll(AttendanceMonthCodec.unpack(compact));
+                    attendanceMonthRepository.delete(compact);
+                    log.debug("Reopened compact attendance of employee {} for {}", employeeId, YearMonth.from(date));
+                });
+    }
+}
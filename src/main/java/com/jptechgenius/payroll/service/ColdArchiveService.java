@@ -0,0 +1,467 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.engine.ArchiveRecordCodec;
+import com.jptechgenius.payroll.engine.ArchiveSegment;
+import com.jptechgenius.payroll.engine.AttendanceMonthCodec;
+import com.jptechgenius.payroll.event.CountersStaleEvent;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.repository.AttendanceMonthRepository;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.DatePeriod;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * [Cold Archive Service]
+ * ----------------------
+ * Bondho bochorer (chalu fiscal year er ager) payroll_records ar attendance hot table theke tule
+ * bochor prati ekta segment file e rakhe: payroll-2024.seg, attendance-2024.seg (ArchiveSegment).
+ * Hot table ar tar index choto thake; purono data read-only, kalevadre dekha hoy.
+ * * Archive (schedule, default bondho):
+ * 1. Bochorer advisory lock (cluster e ek node e ek bochor).
+ * 2. Hot row (+ compact attendance mash) employeeId order e, FOR UPDATE lock soho stream kore
+ *    temp file e, fsync. Lock thakay file e lekha row commit porjonto keu bodlate pare na.
+ * 3. Temp file khule sob block er CRC verify, record sonkha mela, tarpor atomic rename.
+ * 4. Tarpor shudhu file e lekha hot row DELETE (id diye) - ekoi transaction e. Majhe insert howa row
+ *    (payroll re-run, reopen kora mash) hot e thake, porer run e merge hoy. Majhe crash korle hot row
+ *    thake, porer run e file er sathe merge hoy (hot row jete), tai abar chalano nirapod.
+ * * Read: payslip (UUID), employee er salary history, masher sheet, hajira - hot e na pele ekhane.
+ * Segment mmap kore cache e rakhi; file bodlale (onno node re-archive korle) abar map hoy.
+ * * Cluster: app.archive.dir sob node e same shared directory hote hobe.
+ */
+@Service
+public class ColdArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdArchiveService.class);
+
+    private static final String PAYROLL = "payroll";
+    private static final String ATTENDANCE = "attendance";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(payroll|attendance)-(\\d{4})\\.seg");
+
+    // pg_try_advisory_xact_lock(ARCHIVE_LOCK, year)
+    private static final int ARCHIVE_LOCK = 0x41524348; // "ARCH"
+
+    // Id diye DELETE ... IN er ek statement e koyta (PostgreSQL parameter simana er niche)
+    private static final int DELETE_BATCH = 1000;
+
+    private static final Comparator<PayrollRecord> PAYROLL_ORDER =
+            Comparator.comparing(PayrollRecord::getEmployeeId).thenComparingInt(PayrollRecord::getMonth);
+    private static final Comparator<Attendance> ATTENDANCE_ORDER =
+            Comparator.comparing(Attendance::getEmployeeId).thenComparing(Attendance::getDate);
+
+    private final PayrollRepository payrollRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTx;
+    private final ApplicationEventPublisher events;
+
+    // File path -> mmap kora segment (file er modified time/size bodlale notun kore khola hoy)
+    private final Map<Path, OpenSegment> openSegments = new ConcurrentHashMap<>();
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.dir:./archive}")
+    private String archiveDir;
+
+    // Fiscal year kon mash e shuru (1 = January, BD sarkari 7 = July). Er ager puro calendar bochor 'bondho'.
+    @Value("${app.archive.fiscal-year-start-month:1}")
+    private int fiscalYearStartMonth;
+
+    private record OpenSegment(ArchiveSegment segment, FileTime modified, long size) {
+    }
+
+    public ColdArchiveService(PayrollRepository payrollRepository,
+                              AttendanceRepository attendanceRepository,
+                              AttendanceMonthRepository attendanceMonthRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher events) {
+        this.payrollRepository = payrollRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
+        this.entityManager = entityManager;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.events = events;
+    }
+
+    // ==========================================
+    // 1. ARCHIVE JOB
+    // ==========================================
+
+    @Scheduled(cron = "${app.archive.cron:0 0 3 * * SUN}")
+    public void archiveClosedYears() {
+        if (!enabled) {
+            return;
+        }
+        int firstHotYear = firstHotYear();
+        TreeSet<Integer> years = new TreeSet<>(payrollRepository.findYearsBefore(firstHotYear));
+        attendanceRepository.findEarliestDate()
+                .ifPresent(date -> addYears(years, date.getYear(), firstHotYear));
+        attendanceMonthRepository.findEarliestYear()
+                .ifPresent(year -> addYears(years, year, firstHotYear));
+
+        for (int year : years) {
+            try {
+                archiveYear(year);
+            } catch (Exception e) {
+                // Ek bochor fail korle baki bochor cholbe; hot row thake, porer run e abar chesta
+                log.error("Cold archive of {} failed", year, e);
+            }
+        }
+    }
+
+    /**
+     * [Archive One Year]
+     * Return: koyta hot row (payroll + attendance + compact mash) table theke file e gelo.
+     */
+    public long archiveYear(int year) {
+        if (year >= firstHotYear()) {
+            throw new IllegalArgumentException("Year " + year + " is still in the current fiscal year");
+        }
+        long started = System.currentTimeMillis();
+
+        Long moved = writeTx.execute(status -> {
+            Boolean locked = (Boolean) entityManager
+                    .createNativeQuery("SELECT pg_try_advisory_xact_lock(:lock, :year)")
+                    .setParameter("lock", ARCHIVE_LOCK)
+                    .setParameter("year", year)
+                    .getSingleResult();
+            if (!Boolean.TRUE.equals(locked)) {
+                return 0L; // Onno node ei bochor archive korche
+            }
+            try {
+                Files.createDirectories(archiveRoot());
+                return archivePayroll(year) + archiveAttendance(year);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write archive segment for " + year, e);
+            }
+        });
+
+        long rows = moved != null ? moved : 0;
+        if (rows > 0) {
+            log.info("Cold archive {}: {} hot row(s) moved to {} in {} ms", year, rows, archiveRoot(),
+                    System.currentTimeMillis() - started);
+            // Hot table theke bochor ta gelo - dashboard summary/badge abar gunbe
+            events.publishEvent(new CountersStaleEvent("year " + year + " archived"));
+        }
+        return rows;
+    }
+
+    private long archivePayroll(int year) throws IOException {
+        Path target = segmentPath(PAYROLL, year);
+        ArchiveSegment existing = segment(PAYROLL, year);
+
+        // File e je row gelo shudhu tader id (ek bochorer payroll - employee x 12)
+        List<UUID> archivedIds = new ArrayList<>();
+        try (Stream<PayrollRecord> hot = payrollRepository.streamByYearOrderByEmployee(year)) {
+            Iterator<PayrollRecord> hotRows = hot.peek(entityManager::detach)
+                    .peek(record -> archivedIds.add(record.getId()))
+                    .iterator();
+            if (!hotRows.hasNext()) {
+                return 0;
+            }
+            Iterator<PayrollRecord> archived = existing == null
+                    ? Collections.emptyIterator() : existing.iterator(ArchiveRecordCodec::readPayroll);
+            Iterator<PayrollRecord> merged = merge(archived, hotRows, PAYROLL_ORDER);
+
+            writeSegment(target, ArchiveSegment.KIND_PAYROLL, year, true, writer -> {
+                while (merged.hasNext()) {
+                    PayrollRecord record = merged.next();
+                    writer.append(record.getEmployeeId(), record.getId(), ArchiveRecordCodec.encode(record));
+                }
+            });
+        }
+        return deleteInBatches(archivedIds, payrollRepository::deleteAllByIdInBatch);
+    }
+
+    private long archiveAttendance(int year) throws IOException {
+        Path target = segmentPath(ATTENDANCE, year);
+        ArchiveSegment existing = segment(ATTENDANCE, year);
+        DatePeriod period = DatePeriod.ofYear(year);
+
+        // Bondho bochorer beshir bhag din compact mash e, tai daily id kom; compact id employee x 12
+        List<Long> archivedDailyIds = new ArrayList<>();
+        List<UUID> archivedMonthIds = new ArrayList<>();
+        try (Stream<Attendance> daily = attendanceRepository.streamInPeriodOrderByEmployee(period);
+             Stream<AttendanceMonth> compact = attendanceMonthRepository.streamByYearOrderByEmployee(year)) {
+            // Compact mash abar din e bhenge (employee, tarikh) order e; ek dine dui jaygay thakle daily row jete
+            Iterator<Attendance> compactDays = compact.peek(entityManager::detach)
+                    .peek(month -> archivedMonthIds.add(month.getId()))
+                    .flatMap(month -> AttendanceMonthCodec.unpack(month).stream())
+                    .iterator();
+            Iterator<Attendance> dailyRows = daily.peek(entityManager::detach)
+                    .peek(att -> archivedDailyIds.add(att.getId()))
+                    .iterator();
+            Iterator<Attendance> hotRows = merge(compactDays, dailyRows, ATTENDANCE_ORDER);
+            if (!hotRows.hasNext()) {
+                return 0;
+            }
+            Iterator<Attendance> archived = existing == null
+                    ? Collections.emptyIterator() : existing.iterator(ArchiveRecordCodec::readAttendance);
+            Iterator<Attendance> merged = merge(archived, hotRows, ATTENDANCE_ORDER);
+
+            writeSegment(target, ArchiveSegment.KIND_ATTENDANCE, year, false, writer -> {
+                while (merged.hasNext()) {
+                    Attendance att = merged.next();
+                    writer.append(att.getEmployeeId(), null, ArchiveRecordCodec.encode(att));
+                }
+            });
+        }
+        return deleteInBatches(archivedDailyIds, attendanceRepository::deleteAllByIdInBatch)
+                + deleteInBatches(archivedMonthIds, attendanceMonthRepository::deleteAllByIdInBatch);
+    }
+
+    /**
+     * File e lekha row gula id diye DELETE (DELETE_BATCH kore). Row gula FOR UPDATE e lock kora,
+     * tai sobai ache - return: koyta.
+     */
+    private static <ID> long deleteInBatches(List<ID> ids, Consumer<List<ID>> delete) {
+        for (int i = 0; i < ids.size(); i += DELETE_BATCH) {
+            delete.accept(ids.subList(i, Math.min(i + DELETE_BATCH, ids.size())));
+        }
+        return ids.size();
+    }
+
+    @FunctionalInterface
+    private interface SegmentBody {
+        void write(ArchiveSegment.Writer writer) throws IOException;
+    }
+
+    /**
+     * Temp file e lekha + fsync, verify, tarpor atomic rename. Verify fail korle temp muche exception.
+     */
+    private void writeSegment(Path target, int kind, int year, boolean withDirectory, SegmentBody body)
+            throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            long written;
+            try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(temp, kind, year, withDirectory)) {
+                body.write(writer);
+                writer.finish();
+                written = writer.getRecordCount();
+            }
+            ArchiveSegment check = ArchiveSegment.open(temp);
+            long verified = check.verify();
+            if (verified != written || check.getRecordCount() != written) {
+                throw new IOException("Archive segment " + temp + " verified " + verified + " of " + written + " record(s)");
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openSegments.remove(target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ==========================================
+    // 2. READ (Hot e na pele)
+    // ==========================================
+
+    /**
+     * [Archived Payslip]
+     * Notun bochor theke purono - prottek file e UUID directory te binary search.
+     */
+    public Optional<PayrollRecord> findPayslip(UUID id) {
+        for (ArchiveSegment segment : segments(PAYROLL)) {
+            PayrollRecord record = segment.findById(id, ArchiveRecordCodec::readPayroll, PayrollRecord::getId);
+            if (record != null) {
+                return Optional.of(record);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * [Archived Salary History]
+     * Sob archive bochor theke ek employee er record, notun theke purono.
+     */
+    public List<PayrollRecord> findPayrollHistory(Long employeeId) {
+        List<PayrollRecord> history = new ArrayList<>();
+        for (ArchiveSegment segment : segments(PAYROLL)) {
+            List<PayrollRecord> yearRecords = segment.findByKey(employeeId, ArchiveRecordCodec::readPayroll);
+            Collections.reverse(yearRecords);
+            history.addAll(yearRecords);
+        }
+        return history;
+    }
+
+    /**
+     * [Archived Salary Sheet]
+     * Ek masher sob record (puro bochorer file scan - kalevadre dorkar hoy).
+     */
+    public List<PayrollRecord> findPayrollMonth(int month, int year) {
+        ArchiveSegment segment = year < firstHotYear() ? segment(PAYROLL, year) : null;
+        return segment == null ? List.of() : segment.scan(ArchiveRecordCodec::readPayroll, r -> r.getMonth() == month);
+    }
+
+    /**
+     * [Archived Attendance of One Employee]
+     * Period er sob archive bochor theke, tarikh order e.
+     */
+    public List<Attendance> findAttendance(Long employeeId, DatePeriod period) {
+        List<Attendance> rows = new ArrayList<>();
+        int lastYear = Math.min(period.lastDay().getYear(), firstHotYear() - 1);
+        for (int year = period.start().getYear(); year <= lastYear; year++) {
+            ArchiveSegment segment = segment(ATTENDANCE, year);
+            if (segment != null) {
+                for (Attendance att : segment.findByKey(employeeId, ArchiveRecordCodec::readAttendance)) {
+                    if (period.contains(att.getDate())) {
+                        rows.add(att);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * [Archived Attendance of One Day]
+     * Attendance Log page e purono tarikh.
+     */
+    public List<Attendance> findAttendanceOn(LocalDate date) {
+        ArchiveSegment segment = date.getYear() < firstHotYear() ? segment(ATTENDANCE, date.getYear()) : null;
+        return segment == null ? List.of() : segment.scan(ArchiveRecordCodec::readAttendance, a -> date.equals(a.getDate()));
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Chalu fiscal year je calendar bochor e shuru - er ager sob bochor archive kora jay.
+     */
+    private int firstHotYear() {
+        LocalDate today = LocalDate.now();
+        return today.getMonthValue() >= fiscalYearStartMonth ? today.getYear() : today.getYear() - 1;
+    }
+
+    private static void addYears(TreeSet<Integer> years, int from, int untilExclusive) {
+        for (int year = from; year < untilExclusive; year++) {
+            years.add(year);
+        }
+    }
+
+    private Path archiveRoot() {
+        return Paths.get(archiveDir).toAbsolutePath();
+    }
+
+    private Path segmentPath(String table, int year) {
+        return archiveRoot().resolve(table + "-" + year + ".seg");
+    }
+
+    /**
+     * Ek table er sob segment, notun bochor age.
+     */
+    private List<ArchiveSegment> segments(String table) {
+        Path root = archiveRoot();
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        TreeSet<Integer> years = new TreeSet<>(Comparator.reverseOrder());
+        try (Stream<Path> files = Files.list(root)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && matcher.group(1).equals(table)) {
+                    years.add(Integer.parseInt(matcher.group(2)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list archive directory " + root, e);
+        }
+        List<ArchiveSegment> found = new ArrayList<>();
+        for (int year : years) {
+            ArchiveSegment segment = segment(table, year);
+            if (segment != null) {
+                found.add(segment);
+            }
+        }
+        return found;
+    }
+
+    private ArchiveSegment segment(String table, int year) {
+        Path file = segmentPath(table, year);
+        try {
+            if (!Files.isRegularFile(file)) {
+                openSegments.remove(file);
+                return null;
+            }
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            OpenSegment open = openSegments.get(file);
+            if (open == null || !open.modified().equals(attrs.lastModifiedTime()) || open.size() != attrs.size()) {
+                open = new OpenSegment(ArchiveSegment.open(file), attrs.lastModifiedTime(), attrs.size());
+                openSegments.put(file, open);
+            }
+            return open.segment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open archive segment " + file, e);
+        }
+    }
+
+    /**
+     * Duita sorted iterator ek sathe (order onujayi). Same key hole 'winner' er ta thake, onnota baad.
+     */
+    private static <T> Iterator<T> merge(Iterator<T> other, Iterator<T> winner, Comparator<T> order) {
+        return new Iterator<>() {
+            private T nextOther = other.hasNext() ? other.next() : null;
+            private T nextWinner = winner.hasNext() ? winner.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextOther != null || nextWinner != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int cmp = nextOther == null ? 1 : nextWinner == null ? -1 : order.compare(nextOther, nextWinner);
+                if (cmp < 0) {
+                    T result = nextOther;
+                    nextOther = other.hasNext() ? other.next() : null;
+                    return result;
+                }
+                if (cmp == 0) {
+                    nextOther = other.hasNext() ? other.next() : null;
+                }
+                T result = nextWinner;
+                nextWinner = winner.hasNext() ? winner.next() : null;
+                return result;
+            }
+        };
+    }
+}
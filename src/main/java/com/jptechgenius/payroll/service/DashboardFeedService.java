@@ -0,0 +1,266 @@
+package com.jptechgenius.payroll.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jptechgenius.payroll.dto.DashboardDelta;
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Dashboard Feed Service]
+ * ------------------------
+ * Admin dashboard khola thakle reload chara present/dispute/pending fine update - Server-Sent Events.
+ * * Kivabe kom khoroch:
+ * 1. Event (check-in, admin mark, dispute, fine) commit hole SidebarCounterService age counter bodlay,
+ *    tarpor ekhane ekbar JSON banano hoy - database e kono query nai, connection joto i hok.
+ * 2. Prottek connection er nijer choto queue ('queue-size'). Bhora thakle sobcheye purono message bad -
+ *    message e absolute value thake, tai shesh ta pelei thik. Dhire pora client baki der atkay na.
+ * 3. Thread prottek connection e na: queue e kichu ashle shared virtual thread pool e ekta drain task.
+ *    Event er majhe idle connection er khoroch shudhu ekta emitter ar khali queue.
+ * 4. 'heartbeat-millis' por por queue khali thakle SSE comment - proxy connection kete dey na, ar
+ *    bondho hoye jawa browser ekhane dhora pore (send fail -> list theke bad).
+ * 5. 'max-connections' er beshi hole 503; browser EventSource nije pore abar chesta kore.
+ */
+@Service
+public class DashboardFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardFeedService.class);
+
+    private static final String DISPUTE_OPEN = "DISPUTE_OPEN";
+    private static final String PENDING = "PENDING";
+
+    // name null = heartbeat (SSE comment, browser e kono event fire hoy na)
+    private record Frame(String name, String json) {
+    }
+
+    private static final Frame HEARTBEAT = new Frame(null, null);
+
+    private final SidebarCounterService counters;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.dashboard.feed.max-connections:500}")
+    private int maxConnections;
+
+    @Value("${app.dashboard.feed.queue-size:16}")
+    private int queueSize;
+
+    // Emitter eto ms por bondho; EventSource nije reconnect kore (hello te notun songkha pay)
+    @Value("${app.dashboard.feed.timeout-millis:1800000}")
+    private long timeoutMillis;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Shudhu drain task er jonno; kaj na thakle kono thread boshe thake na
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardFeedService(SidebarCounterService counters, ObjectMapper objectMapper) {
+        this.counters = counters;
+        this.objectMapper = objectMapper;
+    }
+
+    // ==========================================
+    // 1. CONNECT
+    // ==========================================
+
+    public SseEmitter subscribe() {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live dashboard connections");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, queueSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Page load ar connect er majhe bodol hole o jeno miss na hoy
+        Frame hello = frame(delta("hello", null));
+        if (hello != null) {
+            enqueue(subscriber, hello);
+        }
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return subscribers.size();
+    }
+
+    // ==========================================
+    // 2. EVENTS (counter update er POR - tai LOWEST_PRECEDENCE)
+    // ==========================================
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        boolean dispute = DISPUTE_OPEN.equals(event.fromStatus()) || DISPUTE_OPEN.equals(event.toStatus());
+        boolean presence = event.wasPresent() != event.present() && LocalDate.now().equals(event.date());
+        if (dispute || presence) {
+            broadcast(delta(dispute ? "dispute" : "attendance", event.employeeId()));
+        }
+        // Check-out (present bodlay na) ba purono tarikh - dashboard er kono songkha bodlay na
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPenaltyChanged(PenaltyChangedEvent event) {
+        if (PENDING.equals(event.fromStatus()) || PENDING.equals(event.toStatus())) {
+            broadcast(delta("penalty", event.employeeId()));
+        }
+    }
+
+    // ==========================================
+    // 3. HEARTBEAT
+    // ==========================================
+
+    @Scheduled(fixedDelayString = "${app.dashboard.feed.heartbeat-millis:20000}",
+            initialDelayString = "${app.dashboard.feed.heartbeat-millis:20000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, HEARTBEAT); // Event cholche emon connection e dorkar nai
+            }
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.debug("Dashboard feed: {} stale message(s) dropped for slow clients ({} connected)", lost,
+                    subscribers.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    // --- Helper Methods ---
+
+    private DashboardDelta delta(String type, Long employeeId) {
+        return DashboardDelta.of(type, employeeId,
+                counters.presentToday(), counters.openDisputes(), counters.pendingPenalties());
+    }
+
+    private void broadcast(DashboardDelta delta) {
+        if (subscribers.isEmpty()) {
+            return; // Keu dekhche na - JSON o banai na
+        }
+        Frame frame = frame(delta);
+        if (frame == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, frame);
+        }
+    }
+
+    // Ekbar serialize, sob connection e same String
+    private Frame frame(DashboardDelta delta) {
+        try {
+            return new Frame(delta.type(), objectMapper.writeValueAsString(delta));
+        } catch (JsonProcessingException e) {
+            log.error("Dashboard feed serialize failed", e);
+            return null;
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Frame frame) {
+        while (!subscriber.queue.offer(frame)) {
+            if (subscriber.queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (Exception e) {
+                subscriber.draining.set(false); // Shutdown cholche
+            }
+        }
+    }
+
+    /**
+     * Ek connection e ek somoy ektai drain (draining flag) - tai message er kram thik thake.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            Frame frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                if (!send(subscriber, frame)) {
+                    return; // Connection gese; draining true thake, ar kichu schedule hoy na
+                }
+            }
+            subscriber.draining.set(false);
+            // set(false) ar ager poll er majhe notun message ashle eikhane dhora pore
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber subscriber, Frame frame) {
+        try {
+            if (frame.name() == null) {
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(frame.name())
+                        .reconnectTime(5000)
+                        .data(frame.json(), MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Browser bondho: container nije emitter shesh kore, amra shudhu list theke bad dei
+            remove(subscriber);
+            return false;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            subscriber.queue.clear();
+        }
+    }
+
+    /**
+     * Ekta khola dashboard: emitter + bounded queue + drain cholche kina.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Frame> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.dto.DashboardSnapshot;
+import com.jptechgenius.payroll.dto.PenaltyListRow;
+import com.jptechgenius.payroll.engine.ParallelReads;
+import com.jptechgenius.payroll.event.CountersStaleEvent;
+import com.jptechgenius.payroll.event.PayrollMonthChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.model.PayrollMonthTotal;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.repository.PayrollMonthTotalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * [Dashboard Snapshot Service]
+ * ----------------------------
+ * Admin dashboard er songkha gula ager moto prottek page load e sob PayrollRecord/ChargeSheet pore
+ * hisab hoy na:
+ * 1. Payroll jogfol 'payroll_month_totals' (V8) summary table e - payroll run shesh hole shudhu oi mash
+ *    abar gona hoy (PayrollMonthChangedEvent); bulk delete/archive er por puro table (CountersStaleEvent).
+ * 2. Oi table (bochor e 12 row) + employee count + recent 5 fine diye ekta snapshot memory te thake.
+ *    Fine ba payroll bodlale snapshot bad, porer read e abar banay; na hole 'max-age-seconds' por.
+ * 3. Pending fine ar ajker present/absent SidebarCounterService er live counter theke.
+ * 4. Rebuild er char ta query eksathe (ParallelReads); kono ta 'read-timeout-millis' e na ashle oi card
+ *    0/khali, ar snapshot cache hoy na - porer request abar chesta kore.
+ * * Tai dashboard er khoroch history koto boro tar upor nirbhor kore na.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private static final int RECENT_PENALTIES = 5;
+
+    private final EmployeeRepository employeeRepository;
+    private final ChargeSheetRepository chargeSheetRepository;
+    private final PayrollMonthTotalRepository monthTotalRepository;
+    private final SidebarCounterService counters;
+
+    // Event listener commit er pore chole - tokhon notun transaction lage
+    private final TransactionTemplate newTx;
+
+    // Cache bhag sorbochho koto second purono hote pare (onno node er bodol, notun employee)
+    @Value("${app.dashboard.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    // Rebuild er prottek query er timeout
+    @Value("${app.dashboard.read-timeout-millis:2000}")
+    private long readTimeoutMillis;
+
+    private volatile DashboardSnapshot cached;
+
+    // invalidate() e bare; rebuild er majhe bodlale purono data cache e boshe na
+    private final AtomicLong version = new AtomicLong();
+
+    public DashboardSnapshotService(EmployeeRepository employeeRepository,
+                                    ChargeSheetRepository chargeSheetRepository,
+                                    PayrollMonthTotalRepository monthTotalRepository,
+                                    SidebarCounterService counters,
+                                    PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.chargeSheetRepository = chargeSheetRepository;
+        this.monthTotalRepository = monthTotalRepository;
+        this.counters = counters;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ==========================================
+    // 1. READ
+    // ==========================================
+
+    public DashboardSnapshot current() {
+        DashboardSnapshot snapshot = cached;
+        if (!isFresh(snapshot)) {
+            snapshot = rebuild();
+        }
+        return snapshot.live(counters.pendingPenalties(), counters.presentToday());
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        cached = null;
+    }
+
+    // ==========================================
+    // 2. EVENTS (commit er por)
+    // ==========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPayrollMonthChanged(PayrollMonthChangedEvent event) {
+        try {
+            newTx.executeWithoutResult(status -> monthTotalRepository.refreshMonth(event.month(), event.year()));
+        } catch (Exception e) {
+            // Raat er refreshAll e thik hobe
+            log.warn("Dashboard summary refresh failed for {}/{}", event.month(), event.year(), e);
+        }
+        invalidate();
+    }
+
+    // Recent fine list bodlay
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPenaltyChanged(PenaltyChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(CountersStaleEvent event) {
+        refreshAll();
+    }
+
+    /**
+     * Safety net: event chara payroll_records bodlale (hat e SQL, fail kora refresh) - protidin ekbar puro table.
+     */
+    @Scheduled(cron = "${app.dashboard.refresh-cron:0 15 3 * * *}")
+    public void refreshAll() {
+        try {
+            Integer months = newTx.execute(status -> monthTotalRepository.refreshAll());
+            log.info("Dashboard summary rebuilt: {} month(s)", months);
+        } catch (Exception e) {
+            log.error("Dashboard summary rebuild failed", e);
+        }
+        invalidate();
+    }
+
+    // --- Helper Methods ---
+
+    private boolean isFresh(DashboardSnapshot snapshot) {
+        return snapshot != null
+                && snapshot.age().toSeconds() < maxAgeSeconds
+                && snapshot.year() == LocalDate.now().getYear();
+    }
+
+    private synchronized DashboardSnapshot rebuild() {
+        DashboardSnapshot existing = cached;
+        if (isFresh(existing)) {
+            return existing; // Onno thread ei matro baniyeche
+        }
+        long startVersion = version.get();
+
+        int year = LocalDate.now().getYear();
+        DashboardSnapshot built;
+        try (ParallelReads reads = ParallelReads.open("Dashboard", Duration.ofMillis(readTimeoutMillis))) {
+            Supplier<Long> employees = reads.fork("totalEmployees", employeeRepository::count, 0L);
+            Supplier<Number> payroll = reads.fork("totalPayroll", monthTotalRepository::sumNetPay, 0);
+            Supplier<List<PayrollMonthTotal>> months = reads.fork("monthlyPayroll",
+                    () -> monthTotalRepository.findByYearOrderByMonth(year), List.of());
+            Supplier<List<PenaltyListRow>> recent = reads.fork("recentPenalties",
+                    () -> chargeSheetRepository.findRecentRows("PENDING", Limit.of(RECENT_PENALTIES)), List.of());
+
+            double[] monthly = new double[12]; // Chart: Jan - Dec
+            for (PayrollMonthTotal total : months.get()) {
+                int monthIndex = total.getMonth() - 1;
+                if (monthIndex >= 0 && monthIndex < 12) {
+                    monthly[monthIndex] = total.getNetPay();
+                }
+            }
+            built = DashboardSnapshot.built(employees.get(), payroll.get().doubleValue(), year, monthly,
+                    recent.get(), reads.failed());
+        }
+
+        if (!built.isPartial() && version.get() == startVersion) {
+            cached = built;
+        }
+        return built;
+    }
+}
@@ -0,0 +1,158 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.dto.PortalDashboardView;
+import com.jptechgenius.payroll.engine.ParallelReads;
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
+import com.jptechgenius.payroll.event.CountersStaleEvent;
+import com.jptechgenius.payroll.event.PayrollMonthChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.ChargeSheet;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * [Employee Portal Read Model]
+ * ----------------------------
+ * Employee login korle dashboard e ja lage (masher hajira, shesh 5 payslip, pending fine) ekhane.
+ * * Query: sob employee_id diye index e - payslip shudhu LIMIT 5 (hot table e kom thakle tobei archive),
+ * hajira shudhu oi masher partition, fine (employee_id, status) index. Tinta eksathe (ParallelReads).
+ * * Cache: (employee, mash) prati ekta view, 'app.portal.cache-seconds' porjonto. Oi employee er
+ * hajira/fine bodlale (event) tar entry bad; payroll run ba bulk bodol hole sob.
+ * Load er majhe invalidation hole (version bodlay) sei view cache e rakha hoy na - DashboardSnapshotService er moto.
+ * * Ajker attendance (Check In/Out button) ekhane nai - controller protibar fresh pore.
+ */
+@Service
+public class EmployeePortalReadModel {
+
+    private static final int RECENT_PAYSLIPS = 5;
+
+    private final AttendanceService attendanceService;
+    private final PayrollService payrollService;
+    private final ChargeSheetRepository chargeSheetRepository;
+
+    private final Map<Key, PortalDashboardView> cache = new ConcurrentHashMap<>();
+
+    // Prottek invalidation e bare; load er majhe bodlale purono view cache e boshe na
+    private final AtomicLong version = new AtomicLong();
+
+    @Value("${app.portal.cache-seconds:30}")
+    private long cacheSeconds;
+
+    // Eto entry er beshi hole purono gula age, tarpor dorkar hole sob fele deya hoy (memory limit)
+    @Value("${app.portal.cache-max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${app.dashboard.read-timeout-millis:2000}")
+    private long readTimeoutMillis;
+
+    private record Key(Long employeeId, YearMonth month) {
+    }
+
+    public EmployeePortalReadModel(AttendanceService attendanceService,
+                                   PayrollService payrollService,
+                                   ChargeSheetRepository chargeSheetRepository) {
+        this.attendanceService = attendanceService;
+        this.payrollService = payrollService;
+        this.chargeSheetRepository = chargeSheetRepository;
+    }
+
+    // ==========================================
+    // 1. READ
+    // ==========================================
+
+    public PortalDashboardView dashboard(Long employeeId, YearMonth month) {
+        Key key = new Key(employeeId, month);
+        PortalDashboardView cached = cache.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMillis() < cacheSeconds * 1000) {
+            return cached;
+        }
+
+        long startVersion = version.get();
+        PortalDashboardView view = load(employeeId, month);
+        if (!view.isPartial() && version.get() == startVersion) {
+            if (cache.size() >= maxEntries) {
+                evictExpired();
+            }
+            cache.put(key, view);
+            // Check ar put er majhe invalidation ashle tar evict hoyto amader put er age cholche - nije sori
+            if (version.get() != startVersion) {
+                cache.remove(key, view);
+            }
+        }
+        return view;
+    }
+
+    // ==========================================
+    // 2. INVALIDATION (commit er por)
+    // ==========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        evictEmployee(event.employeeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPenaltyChanged(PenaltyChangedEvent event) {
+        evictEmployee(event.employeeId()); // null (bulk DEDUCTED) hole sob
+    }
+
+    // Notun payslip - kar kar jana nai (puro mash), tai sob
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPayrollMonthChanged(PayrollMonthChangedEvent event) {
+        evictEmployee(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(CountersStaleEvent event) {
+        evictEmployee(null);
+    }
+
+    // --- Helper Methods ---
+
+    private PortalDashboardView load(Long employeeId, YearMonth month) {
+        try (ParallelReads reads = ParallelReads.open("Employee dashboard", Duration.ofMillis(readTimeoutMillis))) {
+            // Bondho mash compact hoye gele AttendanceService oi ekta row theke dey
+            Supplier<List<Attendance>> attendance = reads.fork("attendance",
+                    () -> attendanceService.getMonthAttendance(employeeId, month), List.of());
+            Supplier<List<PayrollRecord>> payslips = reads.fork("payslips",
+                    () -> payrollService.getRecentRecordsByEmployee(employeeId, RECENT_PAYSLIPS), List.of());
+            Supplier<List<ChargeSheet>> penalties = reads.fork("penalties",
+                    () -> chargeSheetRepository.findByEmployeeIdAndStatus(employeeId, "PENDING"), List.of());
+
+            List<Attendance> monthly = attendance.get();
+            long presentDays = monthly.stream().filter(Attendance::isPresent).count();
+            return new PortalDashboardView(monthly, presentDays, payslips.get(), penalties.get(),
+                    System.currentTimeMillis(), reads.failed());
+        }
+    }
+
+    // version age barai, tarpor evict - cholonto load (dashboard) er put ta tai hoy skip hoy, na hoy evict e jay
+    private void evictEmployee(Long employeeId) {
+        version.incrementAndGet();
+        if (employeeId == null) {
+            cache.clear();
+        } else {
+            cache.keySet().removeIf(key -> employeeId.equals(key.employeeId()));
+        }
+    }
+
+    private void evictExpired() {
+        long cutoff = System.currentTimeMillis() - cacheSeconds * 1000;
+        cache.values().removeIf(view -> view.loadedAtMillis() < cutoff);
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+    }
+}
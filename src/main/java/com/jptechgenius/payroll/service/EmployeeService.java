@@ -1,6 +1,10 @@
 package com.jptechgenius.payroll.service;
 
+import com.jptechgenius.payroll.dto.EmployeeListRow;
+import com.jptechgenius.payroll.dto.KeysetPage;
 import com.jptechgenius.payroll.model.Employee;
+import org.springframework.data.domain.Sort;
+
 import java.util.List;
 
 /**
@@ -29,6 +33,28 @@ public interface EmployeeService {
      */
     List<Employee> searchEmployees(String keyword);
 
+    /**
+     * [Employee Page - Keyset]
+     * Directory ar Attendance Log page er ek page: filter, sort ar limit sob database e.
+     * Row gula EmployeeListRow projection - entity na, tai edit/save er jonno getEmployeeById use korun.
+     * * sort: controller er whitelist theke, sheshe 'id' thakte hobe (eki naam duijon hole tie-breaker).
+     * * cursor: ager page er Next/Previous link (KeysetCursor); null ba bhul hole first page.
+     */
+    KeysetPage<EmployeeListRow> findEmployeePage(String keyword, String department, String status,
+                                          Sort sort, String cursor, int size);
+
+    /**
+     * [Employee Count]
+     * Summary badge er jonno (COUNT query, list load na kore).
+     */
+    long countEmployees();
+
+    /**
+     * [Department List]
+     * Filter dropdown er jonno alada alada department er nam.
+     */
+    List<String> getDepartments();
+
     /**
      * [Save or Update Employee]
      * Ei ekta method diyei 'Notun Employee Add' kora jay, abar 'Old Employee Edit' o kora jay.
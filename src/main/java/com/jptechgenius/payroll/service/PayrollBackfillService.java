@@ -0,0 +1,285 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.dto.PayrollBackfillProgress;
+import com.jptechgenius.payroll.engine.PayrollBatchInput;
+import com.jptechgenius.payroll.engine.PayrollCalculator;
+import com.jptechgenius.payroll.engine.PayrollInputLoader;
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
+import com.jptechgenius.payroll.engine.PipelineStageStats;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * [Payroll Backfill Service]
+ * --------------------------
+ * Notun subsidiary migrate korle 24+ purono mash generate korte hoy. Ager moto 24 bar
+ * "Run Payroll" na chepe ekta range dile ei service pipeline e sob mash kore fele.
+ * * Pipeline (3 ta stage, prottek ta nijer thread e):
+ * 1. LOAD    - mash N+1 er input (3 ta grouped query)
+ * 2. COMPUTE - mash N er salary hisab (shudhu CPU)
+ * 3. WRITE   - mash N-1 er record save (delete + batch insert + fine DEDUCTED)
+ * Majhe bounded queue (app.payroll.backfill.queue-capacity), tai loader onek egiye gele
+ * memory te mash jome na - queue bhora thakle loader wait kore.
+ * * Prottek stage er busy/wait somoy ar employee/second progress API te dekha jay,
+ * tai bottleneck (sadharonoto WRITE) sohojei bojha jay.
+ */
+@Service
+public class PayrollBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollBackfillService.class);
+
+    private final PayrollInputLoader inputLoader;
+    private final PayrollCalculator payrollCalculator;
+    private final PayrollService payrollService;
+    private final TransactionTemplate readOnlyTx;
+
+    // Stage er majher queue te sorbochho koyta mash opekkha korte pare
+    @Value("${app.payroll.backfill.queue-capacity:2}")
+    private int queueCapacity;
+
+    // Ek backfill e sorbochho koyta mash
+    @Value("${app.payroll.backfill.max-months:120}")
+    private int maxMonths;
+
+    private final Map<UUID, Run> runs = new ConcurrentHashMap<>();
+    private volatile Run activeRun;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PayrollBackfillService(PayrollInputLoader inputLoader,
+                                  PayrollCalculator payrollCalculator,
+                                  PayrollService payrollService,
+                                  PlatformTransactionManager transactionManager) {
+        this.inputLoader = inputLoader;
+        this.payrollCalculator = payrollCalculator;
+        this.payrollService = payrollService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // ==========================================
+    // 1. SUBMIT
+    // ==========================================
+
+    /**
+     * [Submit Backfill]
+     * from theke to (duitai included), purono theke notun order e.
+     * Ekta backfill cholle notun ta shuru hoy na - cholonto tai return hoy.
+     */
+    public synchronized PayrollBackfillProgress submit(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Backfill start " + from + " is after end " + to);
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        if (months.size() > maxMonths) {
+            throw new IllegalArgumentException("Backfill is limited to " + maxMonths + " months, got " + months.size());
+        }
+
+        Run running = activeRun;
+        if (running != null && "RUNNING".equals(running.status)) {
+            return running.toProgress();
+        }
+
+        Run run = new Run(months);
+        runs.put(run.id, run);
+        activeRun = run;
+        executor.submit(() -> execute(run));
+        return run.toProgress();
+    }
+
+    public Optional<PayrollBackfillProgress> getProgress(UUID id) {
+        return Optional.ofNullable(runs.get(id)).map(Run::toProgress);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==========================================
+    // 2. PIPELINE
+    // ==========================================
+
+    private void execute(Run run) {
+        // Optional.empty() = "ar kono mash nai" (queue e null rakha jay na)
+        BlockingQueue<Optional<PayrollBatchInput>> loaded = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        BlockingQueue<Optional<ComputedMonth>> computed = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        // close() tin stage shesh howa porjonto wait kore
+        try (ExecutorService stages = Executors.newVirtualThreadPerTaskExecutor()) {
+            stages.submit(() -> stage(run, stages, () -> loadStage(run, loaded)));
+            stages.submit(() -> stage(run, stages, () -> computeStage(run, loaded, computed)));
+            stages.submit(() -> stage(run, stages, () -> writeStage(run, computed)));
+        }
+
+        run.finishedAt = System.currentTimeMillis();
+        if (run.error == null) {
+            run.status = "COMPLETED";
+            log.info("Payroll backfill {} finished {} month(s) in {} ms", run.id, run.completed.size(),
+                    run.finishedAt - run.startedAt);
+        } else {
+            run.status = "FAILED";
+            log.error("Payroll backfill {} failed: {}", run.id, run.error);
+        }
+    }
+
+    /**
+     * Stage LOAD: read-only transaction e mash er input, tarpor queue te.
+     */
+    private void loadStage(Run run, BlockingQueue<Optional<PayrollBatchInput>> out) throws InterruptedException {
+        for (YearMonth month : run.months) {
+            long started = System.nanoTime();
+            PayrollBatchInput input = readOnlyTx.execute(status ->
+                    inputLoader.load(month.getMonthValue(), month.getYear()));
+            run.load.recordWork(System.nanoTime() - started, input.getEmployees().size());
+            put(out, Optional.of(input), run.load);
+        }
+        put(out, Optional.empty(), run.load);
+    }
+
+    /**
+     * Stage COMPUTE: database chara shudhu hisab.
+     * Working day 0 hole mash ta baad (single run er moto kichu lekha hoy na).
+     */
+    private void computeStage(Run run, BlockingQueue<Optional<PayrollBatchInput>> in,
+                              BlockingQueue<Optional<ComputedMonth>> out) throws InterruptedException {
+        Optional<PayrollBatchInput> next;
+        while ((next = take(in, run.compute)).isPresent()) {
+            PayrollBatchInput input = next.get();
+            if (input.getWorkingDays() == 0) {
+                log.warn("No working days in {}/{}, skipping", input.getMonth(), input.getYear());
+                continue;
+            }
+            long started = System.nanoTime();
+            List<PayrollRecord> records = payrollCalculator.calculateAll(input);
+            run.compute.recordWork(System.nanoTime() - started, records.size());
+            put(out, Optional.of(new ComputedMonth(input, records)), run.compute);
+        }
+        put(out, Optional.empty(), run.compute);
+    }
+
+    /**
+     * Stage WRITE: prottek mash nijer transaction e (PayrollService.writeMonth).
+     * Kono mash fail korle ager mash gula commit hoye thake; oi range abar dile overwrite hoy.
+     * LOAD stage queue-capacity mash egiye thake, tai load ar write er majhe onek change ashte pare -
+     * writeMonth shudhu input er loadedAt er ager dirty mark muche, baki gula recomputeDirty er jonno thake.
+     */
+    private void writeStage(Run run, BlockingQueue<Optional<ComputedMonth>> in) throws InterruptedException {
+        Optional<ComputedMonth> next;
+        while ((next = take(in, run.write)).isPresent()) {
+            ComputedMonth month = next.get();
+            long started = System.nanoTime();
+            PayrollRunSummary summary = payrollService.writeMonth(month.input(), month.records(), System.currentTimeMillis());
+            run.write.recordWork(System.nanoTime() - started, month.records().size());
+            run.completed.add(summary);
+        }
+    }
+
+    // --- Pipeline Helpers ---
+
+    private interface StageBody {
+        void run() throws Exception;
+    }
+
+    /**
+     * Ek stage fail korle baki duita queue te chirokal boshe thakbe - tai sobaike interrupt kori.
+     */
+    private void stage(Run run, ExecutorService stages, StageBody body) {
+        try {
+            body.run();
+        } catch (InterruptedException e) {
+            // Onno stage fail korle ekhane ashe; asol error ta already rakha ache
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            synchronized (run) {
+                if (run.error == null) {
+                    run.error = e.getMessage() != null ? e.getMessage() : e.toString();
+                }
+            }
+            stages.shutdownNow();
+        }
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T item, PipelineStageStats stats) throws InterruptedException {
+        long started = System.nanoTime();
+        queue.put(item);
+        stats.recordWait(System.nanoTime() - started);
+    }
+
+    private static <T> T take(BlockingQueue<T> queue, PipelineStageStats stats) throws InterruptedException {
+        long started = System.nanoTime();
+        T item = queue.take();
+        stats.recordWait(System.nanoTime() - started);
+        return item;
+    }
+
+    // input soho (loadedAt o) queue dhore WRITE stage e jay
+    private record ComputedMonth(PayrollBatchInput input, List<PayrollRecord> records) {
+    }
+
+    /**
+     * [Backfill Run State]
+     * Memory te thake (restart e harabe) - backfill abar submit korlei hoy, karon prottek mash idempotent.
+     */
+    private static final class Run {
+
+        private final UUID id = UUID.randomUUID();
+        private final List<YearMonth> months;
+        private final long startedAt = System.currentTimeMillis();
+
+        private final PipelineStageStats load = new PipelineStageStats("load");
+        private final PipelineStageStats compute = new PipelineStageStats("compute");
+        private final PipelineStageStats write = new PipelineStageStats("write");
+        private final List<PayrollRunSummary> completed = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile Long finishedAt;
+
+        private Run(List<YearMonth> months) {
+            this.months = List.copyOf(months);
+        }
+
+        private PayrollBackfillProgress toProgress() {
+            List<PipelineStageStats> stats = List.of(load, compute, write);
+            String bottleneck = stats.stream()
+                    .filter(s -> s.getMonths() > 0)
+                    .max(Comparator.comparingLong(PipelineStageStats::getBusyMillis))
+                    .map(PipelineStageStats::getName)
+                    .orElse(null);
+            List<PayrollRunSummary> done;
+            synchronized (completed) {
+                done = List.copyOf(completed);
+            }
+            long end = finishedAt != null ? finishedAt : System.currentTimeMillis();
+
+            return new PayrollBackfillProgress(id, months.get(0).toString(), months.get(months.size() - 1).toString(),
+                    status, months.size(), done.size(),
+                    stats.stream().map(PayrollBackfillProgress.Stage::of).toList(),
+                    bottleneck, done, end - startedAt, error);
+        }
+    }
+}
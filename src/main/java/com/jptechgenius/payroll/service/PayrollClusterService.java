@@ -0,0 +1,290 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.dto.PayrollClusterProgress;
+import com.jptechgenius.payroll.engine.PayrollBatchInput;
+import com.jptechgenius.payroll.engine.PayrollCalculator;
+import com.jptechgenius.payroll.engine.PayrollInputLoader;
+import com.jptechgenius.payroll.event.PayrollMonthChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.model.PayrollShard;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.PayrollDirtyMarkRepository;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import com.jptechgenius.payroll.repository.PayrollShardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [Payroll Cluster Service]
+ * -------------------------
+ * Load balancer er pichone onek app node thakle sob node mile ek masher payroll kore.
+ * * Kivabe?
+ * 1. Start: ek node masher jonno N ta shard row banay (employee_id % N). Month advisory lock
+ *    (PayrollMonthLock er same key) dhore, tai dui node eksathe start dileo ekbar e hoy; cholonto
+ *    run thakle oitai return. Onno mode (job, backfill, dirty) ei mash likhte thakle start hoy na, ar
+ *    shard FINALIZED na howa porjonto oi mode gulao lekhe na.
+ * 2. Work: prottek node poll kore (@Scheduled) 'FOR UPDATE SKIP LOCKED' diye shard claim kore,
+ *    tarpor shard advisory lock dhore ek transaction e: input load, hisab, purono record delete,
+ *    notun insert, hisab e dhoka PENDING fine (id diye) DEDUCTED, shard COMMITTED.
+ *    Node beshi = eksathe beshi shard = prai linear speedup.
+ * 3. Finalize: sob shard COMMITTED hole je node age pay se coordinator - ekbar e mash FINALIZED.
+ * * Double execution safe: record lekha ar shard COMMITTED ekoi transaction e, advisory lock er vitore,
+ * ar lekhar age check hoy shard ekhono 'amar' RUNNING kina. Node crash korle lock nije chere jay,
+ * claim-timeout er por onno node shard ta abar ney.
+ */
+@Service
+public class PayrollClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollClusterService.class);
+
+    private final PayrollShardRepository shardRepository;
+    private final PayrollRepository payrollRepository;
+    private final ChargeSheetRepository chargeSheetRepository;
+    private final PayrollDirtyMarkRepository dirtyMarkRepository;
+    private final PayrollInputLoader inputLoader;
+    private final PayrollCalculator payrollCalculator;
+    private final TransactionTemplate writeTx;
+    private final ApplicationEventPublisher events;
+
+    // Ei node e worker cholbe kina (report-only node e false)
+    @Value("${app.payroll.cluster.enabled:true}")
+    private boolean enabled;
+
+    // Ek mash koyta shard e bhag hobe (node sonkhar kichu gun rakhun)
+    @Value("${app.payroll.cluster.shards:16}")
+    private int shardCount;
+
+    // RUNNING shard eto second update na hole node mara geche dhore onno node nite pare
+    @Value("${app.payroll.cluster.claim-timeout-seconds:900}")
+    private long claimTimeoutSeconds;
+
+    // FAILED shard sorbochho koybar abar chesta
+    @Value("${app.payroll.cluster.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.payroll.cluster.node-id:}")
+    private String configuredNodeId;
+
+    public PayrollClusterService(PayrollShardRepository shardRepository,
+                                 PayrollRepository payrollRepository,
+                                 ChargeSheetRepository chargeSheetRepository,
+                                 PayrollDirtyMarkRepository dirtyMarkRepository,
+                                 PayrollInputLoader inputLoader,
+                                 PayrollCalculator payrollCalculator,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher events) {
+        this.shardRepository = shardRepository;
+        this.payrollRepository = payrollRepository;
+        this.chargeSheetRepository = chargeSheetRepository;
+        this.dirtyMarkRepository = dirtyMarkRepository;
+        this.inputLoader = inputLoader;
+        this.payrollCalculator = payrollCalculator;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.events = events;
+    }
+
+    // ==========================================
+    // 1. START RUN
+    // ==========================================
+
+    /**
+     * [Start Cluster Run]
+     * Shard gula banay; kaj sob node er worker poll kore shuru kore.
+     * Ager run FINALIZED hole shard gula muche notun run (re-run).
+     * Onno run month lock dhore thakle IllegalStateException (wait kore na - chunked run onek khon dhore rakhe).
+     */
+    public PayrollClusterProgress startRun(int month, int year) {
+        return startRun(month, year, false);
+    }
+
+    /**
+     * [Start / Restart Cluster Run]
+     * force = true: max-attempts bar fail kora (exhausted) shard gula PENDING e ferot, attempts 0 theke -
+     * worker abar ney. Ei shard gula chara mash kokhono FINALIZED hoy na (onno mode o lekhte pare na),
+     * tai admin er ei rasta lage. COMMITTED shard gula abar hoy na.
+     */
+    public PayrollClusterProgress startRun(int month, int year, boolean force) {
+        Boolean locked = writeTx.execute(status -> {
+            if (!shardRepository.tryLock(monthKey(month, year), -1)) {
+                return false;
+            }
+
+            List<PayrollShard> existing = shardRepository.findByMonthAndYearOrderByShardIndex(month, year);
+            boolean running = existing.stream().anyMatch(shard -> !"FINALIZED".equals(shard.getStatus()));
+            if (running) {
+                if (force) {
+                    int reset = shardRepository.resetExhausted(month, year, maxAttempts, LocalDateTime.now());
+                    log.info("Cluster payroll {}/{} restarted {} failed shard(s)", month, year, reset);
+                }
+                return true;
+            }
+            if (!existing.isEmpty()) {
+                shardRepository.deleteByMonthAndYear(month, year);
+            }
+            // Puro mash notun kore hobe, tai ager dirty mark lagbe na (er porer change notun mark hobe)
+            dirtyMarkRepository.deleteByMonthAndYear(month, year);
+            shardRepository.createShards(month, year, Math.max(1, shardCount));
+            log.info("Cluster payroll {}/{} started with {} shard(s)", month, year, shardCount);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(locked)) {
+            throw new IllegalStateException("Payroll for " + month + "/" + year
+                    + " is already being written by another run. Try again when it finishes.");
+        }
+        return getProgress(month, year);
+    }
+
+    public PayrollClusterProgress getProgress(int month, int year) {
+        return PayrollClusterProgress.of(month, year, shardRepository.findByMonthAndYearOrderByShardIndex(month, year),
+                maxAttempts);
+    }
+
+    // ==========================================
+    // 2. WORKER (Prottek node e)
+    // ==========================================
+
+    /**
+     * [Worker Poll]
+     * Claim korar moto shard thakle ekta ekta kore kore, tarpor je mash shesh tar finalize.
+     * fixedDelay, tai ek node e ek poll shesh na hole porer ta shuru hoy na.
+     */
+    @Scheduled(fixedDelayString = "${app.payroll.cluster.poll-millis:5000}")
+    public void work() {
+        if (!enabled) {
+            return;
+        }
+        PayrollShard shard;
+        while ((shard = claimNext()) != null) {
+            runShard(shard);
+        }
+        finalizeCompletedMonths();
+    }
+
+    private PayrollShard claimNext() {
+        return writeTx.execute(status -> shardRepository
+                .findClaimable(LocalDateTime.now().minusSeconds(claimTimeoutSeconds), maxAttempts)
+                .map(shard -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    shard.setStatus("RUNNING");
+                    shard.setOwnerNode(nodeId());
+                    shard.setAttempts(shard.getAttempts() + 1);
+                    shard.setErrorMessage(null);
+                    shard.setClaimedAt(now);
+                    shard.setUpdatedAt(now);
+                    return shardRepository.save(shard);
+                })
+                .orElse(null));
+    }
+
+    /**
+     * [Run One Shard]
+     * Sob kaj ekta transaction e, shard advisory lock er vitore.
+     */
+    private void runShard(PayrollShard claimed) {
+        UUID shardId = claimed.getId();
+        int month = claimed.getMonth();
+        int year = claimed.getYear();
+        long started = System.currentTimeMillis();
+
+        try {
+            Boolean committed = writeTx.execute(status -> {
+                if (!shardRepository.tryLock(monthKey(month, year), claimed.getShardIndex())) {
+                    return false; // Onno node ei muhurte shard ta likhche
+                }
+                PayrollShard shard = shardRepository.findById(shardId).orElse(null);
+                if (shard == null || !"RUNNING".equals(shard.getStatus()) || !nodeId().equals(shard.getOwnerNode())) {
+                    return false; // Timeout er por onno node niye geche ba shesh kore feleche
+                }
+
+                PayrollBatchInput input = inputLoader.loadShard(month, year, shard.getShardIndex(), shard.getShardCount());
+                List<PayrollRecord> records = input.getWorkingDays() == 0 ? List.of() : payrollCalculator.calculateAll(input);
+
+                payrollRepository.deleteMonthForShard(month, year, shard.getShardCount(), shard.getShardIndex());
+                payrollRepository.saveAll(records);
+
+                long totalNetPayMinor = 0;
+                List<Long> employeeIds = new ArrayList<>(records.size());
+                for (PayrollRecord record : records) {
+                    totalNetPayMinor += record.getNetPayMinor();
+                    employeeIds.add(record.getEmployeeId());
+                }
+                // Shudhu ei shard er load e PENDING chilo emon fine; pore issue howa fine PENDING e thake
+                events.publishEvent(PenaltyChangedEvent.deducted(
+                        chargeSheetRepository.markDeductedInBatches(input.pendingChargeIdsOf(employeeIds))));
+
+                LocalDateTime now = LocalDateTime.now();
+                shard.setStatus("COMMITTED");
+                shard.setEmployees(records.size());
+                shard.setTotalNetPayMinor(totalNetPayMinor);
+                shard.setCommittedAt(now);
+                shard.setUpdatedAt(now);
+                shardRepository.save(shard);
+                return true;
+            });
+
+            if (Boolean.TRUE.equals(committed)) {
+                log.debug("Cluster payroll {}/{} shard {} committed on {} in {} ms", month, year,
+                        claimed.getShardIndex(), nodeId(), System.currentTimeMillis() - started);
+            }
+        } catch (Exception e) {
+            log.warn("Cluster payroll shard {} of {}/{} failed", claimed.getShardIndex(), month, year, e);
+            writeTx.executeWithoutResult(status -> shardRepository.findById(shardId).ifPresent(failed -> {
+                if ("RUNNING".equals(failed.getStatus()) && nodeId().equals(failed.getOwnerNode())) {
+                    String message = String.valueOf(e.getMessage());
+                    failed.setStatus("FAILED");
+                    failed.setErrorMessage(message.length() > 500 ? message.substring(0, 500) : message);
+                    failed.setUpdatedAt(LocalDateTime.now());
+                    shardRepository.save(failed);
+                }
+            }));
+        }
+    }
+
+    // ==========================================
+    // 3. COORDINATOR (Finalize)
+    // ==========================================
+
+    /**
+     * Sob shard COMMITTED hoye gele ei node finalize korar chesta kore.
+     * finalizeIfComplete ek node ke i > 0 dey, tai mash ekbar e FINALIZED (fine shard e i DEDUCTED hoye geche).
+     */
+    private void finalizeCompletedMonths() {
+        for (Integer key : shardRepository.findMonthKeysWithCommittedShards()) {
+            int year = key / 100;
+            int month = key % 100;
+            writeTx.executeWithoutResult(status -> {
+                if (shardRepository.finalizeIfComplete(month, year) > 0) {
+                    events.publishEvent(new PayrollMonthChangedEvent(month, year));
+                    log.info("Cluster payroll {}/{} finalized by {}", month, year, nodeId());
+                }
+            });
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private String nodeId() {
+        if (configuredNodeId == null || configuredNodeId.isBlank()) {
+            // "pid@hostname" - ek machine e dui instance holeo alada
+            configuredNodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return configuredNodeId;
+    }
+
+    private static int monthKey(int month, int year) {
+        return year * 100 + month;
+    }
+}
@@ -0,0 +1,291 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.engine.PayrollProgressListener;
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
+import com.jptechgenius.payroll.model.PayrollJob;
+import com.jptechgenius.payroll.repository.PayrollJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * [Payroll Job Service]
+ * ---------------------
+ * Payroll ekhon background job hisebe chole, HTTP thread block hoy na.
+ * * Kaj:
+ * 1. Submit: Sathe sathe Job ID return kore, hisab background e hoy.
+ * 2. Single-flight (sob node mile): Same masher jonno dui jon admin eksathe click korle -
+ *    je node e i request jak - notun job hoy na, cholonto job tai return hoy (join).
+ *    Kon node chalabe ta database e claim (PayrollJobRepository.claim) - conditional UPDATE,
+ *    tai ek job dui node eksathe chalate pare na.
+ * 3. Heartbeat: owner node 'heartbeat-millis' por por heartbeat_at bosay.
+ * 4. Resume: Prottek chunk commit er por checkpoint save hoy. Owner node crash korle heartbeat
+ *    'stale-seconds' er beshi purono hoy - tokhon je kono node (restart howa ta o) checkpoint theke
+ *    baki kaj kore. Heartbeat thik thaka job onno node e cholche, ta keu chhoy na.
+ * 5. Retry: FAILED job nije theke abar chole na. Admin 'Retry' dile (same mode) shudhu tokhon
+ *    checkpoint theke; sadharon submit e notun job.
+ */
+@Service
+public class PayrollJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollJobService.class);
+
+    // Ei status er job e submit join kore (FAILED na - seta shudhu retry e)
+    private static final List<String> ACTIVE = List.of("QUEUED", "RUNNING");
+    private static final List<String> MODES = List.of("sequential", "parallel", "streaming", "sql");
+
+    private final PayrollJobRepository jobRepository;
+    private final PayrollService payrollService;
+    private final TransactionTemplate writeTx;
+
+    // Ei node e ekhon kon job cholche - shudhu heartbeat er jonno (single-flight database e)
+    private final Set<UUID> localJobs = ConcurrentHashMap.newKeySet();
+
+    // Job gula virtual thread e chole (prottek job er vitore chunk er parallelism alada vabe bounded)
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // RUNNING job er heartbeat eto second purono hole owner node mara geche dhora hoy
+    @Value("${app.payroll.jobs.stale-seconds:120}")
+    private long staleSeconds;
+
+    // Cluster worker er same node id (log e ek node ek nam)
+    @Value("${app.payroll.cluster.node-id:}")
+    private String configuredNodeId;
+
+    public PayrollJobService(PayrollJobRepository jobRepository, PayrollService payrollService,
+                             PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.payrollService = payrollService;
+        this.writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // 1. SUBMIT (Single-Flight)
+    // ==========================================
+    /**
+     * [Submit Payroll Job]
+     * - Same mash already QUEUED/RUNNING (je node e i) -> oi job return (join); owner node mara gele
+     *   (heartbeat stale) oi job tai checkpoint theke resume.
+     * - Na hole -> notun job, chawa mode e.
+     * Khoja/banano submit lock er vitore (dui node eksathe notun job banay na); chalabe ke ta claim e thik hoy.
+     */
+    public PayrollJob submit(int month, int year, String mode) {
+        return submit(month, year, mode, false);
+    }
+
+    /**
+     * [Submit / Retry Payroll Job]
+     * retry = true: masher shesh job FAILED ar same mode hole oi job tai checkpoint theke abar chole.
+     * Purono fail kora job (porer job COMPLETED) ba onno mode er job resume hoy na - notun job.
+     */
+    public PayrollJob submit(int month, int year, String mode, boolean retry) {
+        String jobMode = normalizeMode(mode);
+        UUID jobId = writeTx.execute(status -> {
+            jobRepository.lockSubmit(year * 100 + month);
+            Optional<PayrollJob> active = jobRepository.findFirstByMonthAndYearAndStatusInOrderByCreatedAtDesc(
+                    month, year, ACTIVE);
+            if (active.isPresent()) {
+                return active.get().getId();
+            }
+            if (retry) {
+                Optional<PayrollJob> failed = jobRepository.findFirstByMonthAndYearOrderByCreatedAtDesc(month, year)
+                        .filter(last -> "FAILED".equals(last.getStatus()) && jobMode.equals(last.getMode()));
+                if (failed.isPresent()) {
+                    return failed.get().getId();
+                }
+            }
+            return jobRepository.save(newJob(month, year, jobMode)).getId();
+        });
+
+        tryLaunch(jobId, retry);
+        return jobRepository.findById(jobId).orElseThrow();
+    }
+
+    public Optional<PayrollJob> getJob(UUID id) {
+        return jobRepository.findById(id);
+    }
+
+    // ==========================================
+    // 2. RESUME AFTER CRASH
+    // ==========================================
+    /**
+     * [Resume Interrupted Jobs]
+     * 'QUEUED' ba heartbeat stale 'RUNNING' job mane owner process crash koreche.
+     * Egula last checkpoint theke abar chalu hoy - claim jeta pay shudhu sei node e.
+     * Start e ar por por (onno node crash korleo kew restart na hole o job pore thake na).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.payroll.jobs.resume-millis:60000}",
+            initialDelayString = "${app.payroll.jobs.resume-millis:60000}")
+    public void resumeInterruptedJobs() {
+        try {
+            for (PayrollJob job : jobRepository.findInterrupted(staleSeconds)) {
+                if (tryLaunch(job.getId(), false)) {
+                    log.info("Resuming payroll job {} (was {}) from checkpoint {}", job.getId(),
+                            job.getOwnerNode(), job.getLastCommittedEmployeeId());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Payroll job resume sweep failed", e);
+        }
+    }
+
+    /**
+     * [Heartbeat]
+     * Ei node e cholonto job gula je ekhono beche ache ta database e janano.
+     */
+    @Scheduled(fixedDelayString = "${app.payroll.jobs.heartbeat-millis:15000}")
+    public void heartbeat() {
+        if (localJobs.isEmpty()) {
+            return;
+        }
+        try {
+            jobRepository.heartbeat(Set.copyOf(localJobs), nodeId());
+        } catch (Exception e) {
+            log.warn("Payroll job heartbeat failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==========================================
+    // 3. JOB EXECUTION
+    // ==========================================
+
+    /**
+     * Claim pele ei node e chalay. false = onno node chalacche (ba shesh hoye geche).
+     * retry = false hole FAILED job claim hoy na (join er majhe fail korle o nije theke abar chole na).
+     */
+    private boolean tryLaunch(UUID jobId, boolean retry) {
+        if (jobRepository.claim(jobId, nodeId(), staleSeconds, retry) == 0) {
+            return false;
+        }
+        localJobs.add(jobId);
+        executor.submit(() -> run(jobId));
+        return true;
+    }
+
+    private void run(UUID jobId) {
+        try {
+            PayrollJob job = jobRepository.findById(jobId).orElseThrow();
+
+            // Streaming ar SQL mode ekta transaction e chole, tai fail korle shuru theke abar hoy (checkpoint nai)
+            String mode = job.getMode() != null ? job.getMode() : "sequential";
+            PayrollRunSummary summary = switch (mode) {
+                case "streaming" -> payrollService.generateMonthlyPayrollStreaming(
+                        job.getMonth(), job.getYear(), new ProgressWriter(jobId));
+                case "sql" -> payrollService.generateMonthlyPayrollSql(
+                        job.getMonth(), job.getYear(), new ProgressWriter(jobId));
+                default -> payrollService.generateMonthlyPayrollChunked(
+                        job.getMonth(), job.getYear(), job.getLastCommittedEmployeeId(),
+                        "parallel".equals(mode), new ProgressWriter(jobId));
+            };
+
+            PayrollJob done = jobRepository.findById(jobId).orElseThrow();
+            if (!ownedHere(done)) {
+                return;
+            }
+            done.setStatus("COMPLETED");
+            done.setProcessedEmployees(done.getTotalEmployees());
+            done.setTotalNetPayMinor(summary.totalNetPayMinor());
+            done.setChecksum(summary.checksum());
+            done.setFinishedAt(LocalDateTime.now());
+            done.setUpdatedAt(done.getFinishedAt());
+            jobRepository.save(done);
+
+        } catch (Exception e) {
+            log.error("Payroll job {} failed", jobId, e);
+            jobRepository.findById(jobId).filter(this::ownedHere).ifPresent(failed -> {
+                failed.setStatus("FAILED");
+                failed.setErrorMessage(e.getMessage());
+                failed.setFinishedAt(LocalDateTime.now());
+                failed.setUpdatedAt(failed.getFinishedAt());
+                jobRepository.save(failed);
+            });
+        } finally {
+            localJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Engine theke progress pele database e lekhe.
+     */
+    private class ProgressWriter implements PayrollProgressListener {
+
+        private final UUID jobId;
+
+        ProgressWriter(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public void onStart(int totalEmployees, int alreadyProcessed) {
+            jobRepository.markStarted(jobId, totalEmployees, alreadyProcessed, LocalDateTime.now());
+        }
+
+        @Override
+        public void onChunkCommitted(int processedEmployees, Long checkpointEmployeeId) {
+            jobRepository.updateProgress(jobId, processedEmployees, checkpointEmployeeId, LocalDateTime.now());
+        }
+
+        @Override
+        public void onProgress(int processedEmployees) {
+            jobRepository.updateProgress(jobId, processedEmployees, null, LocalDateTime.now());
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private PayrollJob newJob(int month, int year, String mode) {
+        PayrollJob job = new PayrollJob();
+        job.setMonth(month);
+        job.setYear(year);
+        job.setMode(mode);
+        job.setStatus("QUEUED");
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        return job;
+    }
+
+    private static String normalizeMode(String mode) {
+        return MODES.contains(mode) ? mode : "sequential";
+    }
+
+    // Heartbeat atke thakay (GC pause, DB bichhinno) onno node niye nile tar result ami overwrite kori na
+    private boolean ownedHere(PayrollJob job) {
+        if (nodeId().equals(job.getOwnerNode())) {
+            return true;
+        }
+        log.warn("Payroll job {} was taken over by {}, dropping result from {}", job.getId(),
+                job.getOwnerNode(), nodeId());
+        return false;
+    }
+
+    private String nodeId() {
+        if (configuredNodeId == null || configuredNodeId.isBlank()) {
+            // "pid@hostname" - PayrollClusterService er motoi
+            configuredNodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return configuredNodeId;
+    }
+}
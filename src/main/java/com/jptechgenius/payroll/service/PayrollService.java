@@ -1,6 +1,12 @@
 package com.jptechgenius.payroll.service;
 
+import com.jptechgenius.payroll.dto.KeysetPage;
+import com.jptechgenius.payroll.dto.PayrollMonthTotals;
+import com.jptechgenius.payroll.engine.PayrollBatchInput;
+import com.jptechgenius.payroll.engine.PayrollProgressListener;
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
 import com.jptechgenius.payroll.model.PayrollRecord;
+import org.springframework.data.domain.Sort;
 import java.util.List;
 import java.util.UUID; // Security r jonno UUID import kora hoise
 
@@ -17,8 +23,62 @@ public interface PayrollService {
      * [Generate Salary Engine]
      * Ei method ta call korle oi masher sob employee der salary automatic calculate hobe.
      * Hajira, penalty, tax sob hisab kore net pay ber korbe ebong database e save korbe.
+     * Return: Run er summary (koyjon, mot net pay, checksum).
      */
-    void generateMonthlyPayroll(int month, int year);
+    PayrollRunSummary generateMonthlyPayroll(int month, int year);
+
+    /**
+     * [Write Computed Month]
+     * Age theke hisab kora record (PayrollCalculator.calculateAll) ek transaction e lekhe:
+     * purono record delete, notun insert, fine DEDUCTED. generateMonthlyPayroll ar backfill
+     * pipeline er writer stage - duijonei eta use kore.
+     */
+    PayrollRunSummary writeMonth(PayrollBatchInput input, List<PayrollRecord> records, long startedMillis);
+
+    /**
+     * [Generate Salary Engine - Parallel]
+     * Same hisab, kintu employee der chunk e bhag kore CPU core gulo te eksathe chalay.
+     * Prottek chunk nijer transaction e commit hoy. Checksum sequential run er sathe milbe.
+     */
+    PayrollRunSummary generateMonthlyPayrollParallel(int month, int year);
+
+    /**
+     * [Generate Salary Engine - Chunked / Resumable]
+     * Background Payroll Job ei method ta use kore.
+     * resumeAfterEmployeeId: Ager run er checkpoint (ei ID porjonto already hoye geche). Null mane shuru theke.
+     * Prottek chunk commit howar por listener ke progress ar checkpoint janano hoy.
+     */
+    PayrollRunSummary generateMonthlyPayrollChunked(int month, int year, Long resumeAfterEmployeeId,
+                                                    boolean parallel, PayrollProgressListener listener);
+
+    /**
+     * [Generate Salary Engine - Streaming]
+     * Lakh lakh employee er jonno: database cursor diye pore, nirdisto songkhok record por por
+     * flush + clear kore. Heap headcount er sathe bare na. Ekta transaction, checkpoint nai.
+     * listener.onProgress prottek flush er por call hoy.
+     */
+    PayrollRunSummary generateMonthlyPayrollStreaming(int month, int year, PayrollProgressListener listener);
+
+    /**
+     * [Generate Salary Engine - Database (SQL)]
+     * Puro hisab PostgreSQL e ekta INSERT ... SELECT diye. Java engine er sathe paisa porjonto same result;
+     * boro data te network e row ana-neya bachay. Ekta transaction.
+     */
+    PayrollRunSummary generateMonthlyPayrollSql(int month, int year, PayrollProgressListener listener);
+
+    /**
+     * [Recompute Dirty Only]
+     * Payroll run er por jader hajira/fine/salary bodleche (dirty mark), shudhu tader record abar hisab hoy.
+     * Mash ta age full run hoye thakte hobe, na hole IllegalStateException.
+     * Return: Puro masher summary (checksum full run er sathe milbe).
+     */
+    PayrollRunSummary recomputeDirty(int month, int year);
+
+    /**
+     * [Dirty Count]
+     * Ei mashe koyjon employee er payroll purono hoye geche.
+     */
+    long countDirty(int month, int year);
 
     /**
      * [Get All History]
@@ -42,4 +102,30 @@ public interface PayrollService {
      * tokhon ei method ta kaj korbe. Eta shudhu oi nirdisto masher record gulo dekhabe.
      */
     List<PayrollRecord> getRecordsByMonthAndYear(int month, int year);
+
+    /**
+     * [Salary Sheet - One Page]
+     * getRecordsByMonthAndYear er page version: keyword filter, sort ar limit database e (keyset cursor).
+     * Archive kora mash file theke ase, sekhane memory te sort kore offset cursor.
+     */
+    KeysetPage<PayrollRecord> getSheetPage(int month, int year, String keyword, Sort sort, String cursor, int size);
+
+    /**
+     * [Salary Sheet - Month Totals]
+     * Puro masher mot net pay ityadi, aggregate query theke (page e ja dekhache shudhu ta na).
+     */
+    PayrollMonthTotals getMonthTotals(int month, int year);
+
+    /**
+     * [Salary History of Employee]
+     * Ek employee er sob payslip, notun theke purono - hot table ar cold archive duita thekei.
+     * Employee portal er "My Payslips" e lage.
+     */
+    List<PayrollRecord> getRecordsByEmployee(Long employeeId);
+
+    /**
+     * [Recent Payslips of Employee]
+     * Shesh 'limit' ta payslip (notun age). Hot table e kom thakle tobei archive theke bhora hoy.
+     */
+    List<PayrollRecord> getRecentRecordsByEmployee(Long employeeId, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.config.PayrollPolicyProperties;
+import com.jptechgenius.payroll.dto.PayrollScenario;
+import com.jptechgenius.payroll.dto.PayrollSimulationResult;
+import com.jptechgenius.payroll.engine.CompiledPayrollPolicy;
+import com.jptechgenius.payroll.engine.Money;
+import com.jptechgenius.payroll.engine.PayrollInputLoader;
+import com.jptechgenius.payroll.engine.WorkforceSnapshot;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [Payroll What-If Simulator]
+ * ---------------------------
+ * "Basic 8% barle ar overtime 2x hole mash e koto beshi lagbe?" - ager moto Employee row bodle
+ * payroll abar chalate hoy na. Ei service ek masher input WorkforceSnapshot e (primitive array)
+ * load kore, scenario er override copy column e boshiye hisab kore, ar baseline er sathe delta dey.
+ * * payroll_records ba employees table e kichu lekha hoy na.
+ * * Snapshot kichukkhon cache thake, tai prothom call e 3 ta query, porer call gula shudhu memory te
+ * (1 lakh employee e milliseconds).
+ */
+@Service
+public class PayrollSimulationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollSimulationService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final PayrollInputLoader inputLoader;
+    private final ChargeSheetRepository chargeSheetRepository;
+    private final PayrollPolicyProperties policyProperties;
+
+    // key: "year-month"
+    private final Map<String, WorkforceSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${app.payroll.simulation.cache-seconds:300}")
+    private long cacheSeconds;
+
+    public PayrollSimulationService(EmployeeRepository employeeRepository,
+                                    PayrollInputLoader inputLoader,
+                                    ChargeSheetRepository chargeSheetRepository,
+                                    PayrollPolicyProperties policyProperties) {
+        this.employeeRepository = employeeRepository;
+        this.inputLoader = inputLoader;
+        this.chargeSheetRepository = chargeSheetRepository;
+        this.policyProperties = policyProperties;
+    }
+
+    // ==========================================
+    // 1. SIMULATE
+    // ==========================================
+
+    /**
+     * [Run What-If Scenario]
+     * Vul designation ba negative multiplier hole IllegalArgumentException.
+     */
+    public PayrollSimulationResult simulate(PayrollScenario scenario) {
+        WorkforceSnapshot snapshot = snapshot(scenario.month(), scenario.year(), scenario.refresh());
+        long startTime = System.currentTimeMillis();
+
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(
+                overriddenPolicy(scenario), scenario.month(), scenario.year());
+        long[] basic = snapshot.basicWithRaises(scenario.basicRaisePercent());
+        WorkforceSnapshot.Evaluation result = snapshot.evaluate(policy, basic);
+        WorkforceSnapshot.Evaluation baseline = snapshot.getBaseline();
+
+        List<PayrollSimulationResult.DepartmentDelta> departments = new ArrayList<>();
+        for (int d = 0; d < snapshot.getDepartments().length; d++) {
+            long before = baseline.getNetPayByDepartment()[d];
+            long after = result.getNetPayByDepartment()[d];
+            departments.add(new PayrollSimulationResult.DepartmentDelta(snapshot.getDepartments()[d],
+                    snapshot.getHeadcountByDepartment()[d],
+                    Money.toDecimal(before), Money.toDecimal(after), Money.toDecimal(after - before)));
+        }
+
+        return new PayrollSimulationResult(scenario.month(), scenario.year(), snapshot.getSize(),
+                totals(baseline.getPayableMinor(), baseline.getBonusMinor(),
+                        baseline.getDeductionsMinor(), baseline.getNetPayMinor()),
+                totals(result.getPayableMinor(), result.getBonusMinor(),
+                        result.getDeductionsMinor(), result.getNetPayMinor()),
+                totals(result.getPayableMinor() - baseline.getPayableMinor(),
+                        result.getBonusMinor() - baseline.getBonusMinor(),
+                        result.getDeductionsMinor() - baseline.getDeductionsMinor(),
+                        result.getNetPayMinor() - baseline.getNetPayMinor()),
+                departments,
+                (System.currentTimeMillis() - snapshot.getLoadedAtMillis()) / 1000,
+                System.currentTimeMillis() - startTime);
+    }
+
+    // ==========================================
+    // 2. SNAPSHOT CACHE
+    // ==========================================
+
+    /**
+     * Cache e thakle ar purono na hole oitai; na hole 3 ta query te notun snapshot.
+     * synchronized: eksathe duita request ashle database e duibar load hoy na.
+     */
+    private synchronized WorkforceSnapshot snapshot(int month, int year, boolean refresh) {
+        String key = year + "-" + month;
+        WorkforceSnapshot cached = snapshots.get(key);
+        if (!refresh && cached != null
+                && System.currentTimeMillis() - cached.getLoadedAtMillis() < cacheSeconds * 1000) {
+            return cached;
+        }
+
+        long startTime = System.currentTimeMillis();
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(policyProperties, month, year);
+        WorkforceSnapshot snapshot = WorkforceSnapshot.build(policy,
+                employeeRepository.findActivePayInputs(),
+                inputLoader.summarizeAttendance(policy),
+                chargeSheetRepository.summarizePenaltiesByPeriod(policy.getPeriod()));
+        snapshots.put(key, snapshot);
+
+        log.debug("Simulation snapshot {} loaded: {} employees in {} ms", key, snapshot.getSize(),
+                System.currentTimeMillis() - startTime);
+        return snapshot;
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Ajker config er copy, scenario er override boshano (asol bean bodlay na).
+     */
+    private PayrollPolicyProperties overriddenPolicy(PayrollScenario scenario) {
+        PayrollPolicyProperties copy = new PayrollPolicyProperties();
+        copy.setWeekendDays(policyProperties.getWeekendDays());
+        copy.setHoursPerDay(policyProperties.getHoursPerDay());
+        copy.setOvertimeMultiplier(policyProperties.getOvertimeMultiplier());
+        copy.setTaxPercent(policyProperties.getTaxPercent());
+        copy.setEarnings(policyProperties.getEarnings());
+        copy.setDeductions(policyProperties.getDeductions());
+
+        if (scenario.overtimeMultiplier() != null) {
+            if (scenario.overtimeMultiplier().signum() < 0) {
+                throw new IllegalArgumentException("Overtime multiplier cannot be negative");
+            }
+            copy.setOvertimeMultiplier(scenario.overtimeMultiplier());
+        }
+        if (scenario.taxPercent() != null) {
+            if (scenario.taxPercent().signum() < 0) {
+                throw new IllegalArgumentException("Tax percent cannot be negative");
+            }
+            copy.setTaxPercent(scenario.taxPercent());
+        }
+        return copy;
+    }
+
+    private static PayrollSimulationResult.Totals totals(long payable, long bonus, long deductions, long netPay) {
+        return new PayrollSimulationResult.Totals(Money.toDecimal(payable), Money.toDecimal(bonus),
+                Money.toDecimal(deductions), Money.toDecimal(netPay));
+    }
+}
@@ -0,0 +1,173 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
+import com.jptechgenius.payroll.event.CountersStaleEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [Sidebar Counter Service]
+ * -------------------------
+ * Header/sidebar er tinta badge (pending penalty, open dispute, ajke present) - GlobalController
+ * egula prottek request e (redirect shoho) chay, tai database e COUNT na kore memory te AtomicLong.
+ * * Kivabe thik thake:
+ * 1. Start e (ar cache khali thakle) database theke gune nay.
+ * 2. Penalty issue/delete/DEDUCTED, check-in/out, admin mark, dispute submit/resolve - prottek ta
+ *    commit howar por event pathay, counter +/- hoy.
+ * 3. 'app.counters.reconcile-millis' por por abar COUNT kore milay. Event publish hoy na emon bodol
+ *    (onno cluster node, hat e SQL, archive/compaction) o tai kichukhon er moddhe thik hoye jay.
+ * * Reconcile er COUNT ar set er majhe ashe event ta harate pare - porer reconcile e thik hoy.
+ */
+@Service
+public class SidebarCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(SidebarCounterService.class);
+
+    private static final String PENDING = "PENDING";
+    private static final String DISPUTE_OPEN = "DISPUTE_OPEN";
+
+    private final ChargeSheetRepository chargeSheetRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    private final AtomicLong pendingPenalties = new AtomicLong();
+    private final AtomicLong openDisputes = new AtomicLong();
+    private final AtomicLong presentToday = new AtomicLong();
+
+    // presentToday kon tarikher; raat 12 ta paar hole prothom read e notun din gona hoy
+    private volatile LocalDate presentDay;
+    private volatile boolean loaded;
+
+    public SidebarCounterService(ChargeSheetRepository chargeSheetRepository,
+                                 AttendanceRepository attendanceRepository) {
+        this.chargeSheetRepository = chargeSheetRepository;
+        this.attendanceRepository = attendanceRepository;
+    }
+
+    // ==========================================
+    // 1. READ (O(1), database nai)
+    // ==========================================
+
+    public long pendingPenalties() {
+        ensureLoaded();
+        return Math.max(0, pendingPenalties.get());
+    }
+
+    public long openDisputes() {
+        ensureLoaded();
+        return Math.max(0, openDisputes.get());
+    }
+
+    public long presentToday() {
+        ensureLoaded();
+        LocalDate today = LocalDate.now();
+        if (!today.equals(presentDay)) {
+            recountPresent(today);
+        }
+        return Math.max(0, presentToday.get());
+    }
+
+    // ==========================================
+    // 2. EVENTS (commit er por; transaction na thakle sathe sathe)
+    // ==========================================
+    // HIGHEST_PRECEDENCE: DashboardFeedService same event e ei counter pore - tar age bodlano chai
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPenaltyChanged(PenaltyChangedEvent event) {
+        pendingPenalties.addAndGet(delta(PENDING.equals(event.fromStatus()), PENDING.equals(event.toStatus()))
+                * (long) event.count());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        openDisputes.addAndGet(delta(DISPUTE_OPEN.equals(event.fromStatus()), DISPUTE_OPEN.equals(event.toStatus())));
+        if (event.date() != null && event.date().equals(presentDay)) {
+            presentToday.addAndGet(delta(event.wasPresent(), event.present()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountersStale(CountersStaleEvent event) {
+        reconcile();
+    }
+
+    // ==========================================
+    // 3. RECONCILE (database er sathe milano)
+    // ==========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // Na parle prothom request e abar chesta hobe (ensureLoaded)
+            log.warn("Sidebar counters not loaded on startup", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.reconcile-millis:60000}",
+            initialDelayString = "${app.counters.reconcile-millis:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Sidebar counter reconcile failed", e);
+        }
+    }
+
+    /**
+     * Tinta COUNT query; ager value theke alada hole log kore (event kothao miss hocche kina bojha jay).
+     */
+    public synchronized void reconcile() {
+        LocalDate today = LocalDate.now();
+        long pending = chargeSheetRepository.countByStatus(PENDING);
+        long disputes = attendanceRepository.countByStatus(DISPUTE_OPEN);
+        long present = attendanceRepository.countByDateAndIsPresentTrue(today);
+
+        if (loaded && today.equals(presentDay)
+                && (pending != pendingPenalties.get() || disputes != openDisputes.get() || present != presentToday.get())) {
+            log.info("Sidebar counters corrected: pending {} -> {}, disputes {} -> {}, present {} -> {}",
+                    pendingPenalties.get(), pending, openDisputes.get(), disputes, presentToday.get(), present);
+        }
+
+        pendingPenalties.set(pending);
+        openDisputes.set(disputes);
+        presentToday.set(present);
+        presentDay = today;
+        loaded = true;
+    }
+
+    // --- Helper Methods ---
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reconcile();
+        }
+    }
+
+    private synchronized void recountPresent(LocalDate today) {
+        if (!today.equals(presentDay)) {
+            presentToday.set(attendanceRepository.countByDateAndIsPresentTrue(today));
+            presentDay = today;
+        }
+    }
+
+    // age chilo, ekhon nai -> -1; age chilo na, ekhon ache -> +1
+    private static long delta(boolean before, boolean after) {
+        return before == after ? 0 : (after ? 1 : -1);
+    }
+}
@@ -1,9 +1,16 @@
 package com.jptechgenius.payroll.service.impl;
 
+import com.jptechgenius.payroll.dto.EmployeeListRow;
+import com.jptechgenius.payroll.dto.KeysetPage;
+import com.jptechgenius.payroll.event.CountersStaleEvent;
 import com.jptechgenius.payroll.model.Employee;
 import com.jptechgenius.payroll.model.User;
 import com.jptechgenius.payroll.repository.*;
 import com.jptechgenius.payroll.service.EmployeeService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +39,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     // Login account create korar jonno user repository lagbe
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher events;
 
     // Constructor Injection (Sob dependency load kora holo)
     public EmployeeServiceImpl(EmployeeRepository employeeRepository,
@@ -39,13 +47,15 @@ public class EmployeeServiceImpl implements EmployeeService {
                                AttendanceRepository attendanceRepository,
                                PayrollRepository payrollRepository,
                                UserRepository userRepository,
-                               PasswordEncoder passwordEncoder) {
+                               PasswordEncoder passwordEncoder,
+                               ApplicationEventPublisher events) {
         this.employeeRepository = employeeRepository;
         this.chargeSheetRepository = chargeSheetRepository;
         this.attendanceRepository = attendanceRepository;
         this.payrollRepository = payrollRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.events = events;
     }
 
     @Override
@@ -62,6 +72,28 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<EmployeeListRow> findEmployeePage(String keyword, String department, String status,
+                                                        Sort sort, String cursor, int size) {
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        // size + 1 row pore Spring bojhe porer page ache kina - COUNT(*) query lage na
+        Window<EmployeeListRow> window = employeeRepository.findBy(
+                EmployeeRepository.directoryFilter(keyword, department, status),
+                query -> query.as(EmployeeListRow.class).sortBy(sort).limit(size).scroll(position));
+        return KeysetPage.of(window, position);
+    }
+
+    @Override
+    public long countEmployees() {
+        return employeeRepository.count();
+    }
+
+    @Override
+    public List<String> getDepartments() {
+        return employeeRepository.findDepartments();
+    }
+
     /**
      * [Save Employee Logic]
      * Ei method ta Create ebong Update duita kaj e kore.
@@ -139,6 +171,9 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         // 3. Finally, delete the employee record
         employeeRepository.deleteById(id);
+
+        // 4. Tar fine/attendance bulk DELETE hoyeche - header badge er counter commit er por abar gunbe
+        events.publishEvent(new CountersStaleEvent("employee " + id + " deleted"));
     }
 
     /**
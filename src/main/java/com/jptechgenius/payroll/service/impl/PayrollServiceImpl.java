@@ -1,17 +1,54 @@
 package com.jptechgenius.payroll.service.impl;
 
+import com.jptechgenius.payroll.dto.AttendanceSummary;
+import com.jptechgenius.payroll.dto.AttendanceTotals;
+import com.jptechgenius.payroll.dto.KeysetPage;
+import com.jptechgenius.payroll.dto.PayrollMonthTotals;
+import com.jptechgenius.payroll.dto.PayrollNetPay;
+import com.jptechgenius.payroll.dto.PenaltySummary;
+import com.jptechgenius.payroll.engine.ChunkCheckpointTracker;
+import com.jptechgenius.payroll.engine.CompiledPayrollPolicy;
+import com.jptechgenius.payroll.engine.Money;
+import com.jptechgenius.payroll.engine.PayrollBatchInput;
+import com.jptechgenius.payroll.engine.PayrollCalculator;
+import com.jptechgenius.payroll.engine.PayrollInputLoader;
+import com.jptechgenius.payroll.engine.PayrollMonthLock;
+import com.jptechgenius.payroll.engine.PayrollProgressListener;
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
+import com.jptechgenius.payroll.engine.PayrollStageType;
+import com.jptechgenius.payroll.engine.SortedCursor;
+import com.jptechgenius.payroll.event.PayrollMonthChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
 import com.jptechgenius.payroll.model.*;
 import com.jptechgenius.payroll.repository.*;
+import com.jptechgenius.payroll.service.ColdArchiveService;
 import com.jptechgenius.payroll.service.PayrollService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.DayOfWeek;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 /**
  * [Payroll Calculation Engine]
@@ -23,182 +60,542 @@ import java.util.UUID;
 @Service
 public class PayrollServiceImpl implements PayrollService {
 
-    private final EmployeeRepository employeeRepository;
     private final PayrollRepository payrollRepository;
+    private final EmployeeRepository employeeRepository;
     private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
     private final ChargeSheetRepository chargeSheetRepository;
+    private final PayrollDirtyMarkRepository dirtyMarkRepository;
+    private final PayrollInputLoader inputLoader;
+    private final PayrollCalculator payrollCalculator;
+    private final ColdArchiveService coldArchive;
+
+    // Ek mash ek somoy ek run e lekha (sob mode, sob node; cluster shard cholle keu na)
+    private final PayrollMonthLock monthLock;
+
+    // Streaming mode e flush/clear korar jonno sorasori EntityManager lage
+    private final EntityManager entityManager;
+
+    // Parallel mode e prottek chunk nijer transaction e commit hoy, tai programmatic transaction lagbe.
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readOnlyTx;
+
+    // Run shesh: header er pending badge ar dashboard summary (commit er por) update
+    private final ApplicationEventPublisher events;
+
+    // Ek sathe koyta chunk cholbe (DB connection pool er cheye beshi rakha jabe na)
+    @Value("${app.payroll.parallelism:8}")
+    private int parallelism;
+
+    // Prottek chunk e koyjon employee
+    @Value("${app.payroll.chunk-size:500}")
+    private int chunkSize;
+
+    // Streaming mode e koyta record por por flush + clear (hibernate batch_size er gunitok rakhun)
+    @Value("${app.payroll.stream-flush-size:1000}")
+    private int streamFlushSize;
 
     // Constructor Injection (Sob dependency load korlam)
-    public PayrollServiceImpl(EmployeeRepository empRepo, PayrollRepository payRepo,
-                              AttendanceRepository attRepo, ChargeSheetRepository csRepo) {
-        this.employeeRepository = empRepo;
+    public PayrollServiceImpl(PayrollRepository payRepo, EmployeeRepository empRepo,
+                              AttendanceRepository attRepo, AttendanceMonthRepository attMonthRepo,
+                              ChargeSheetRepository csRepo,
+                              PayrollDirtyMarkRepository dirtyMarkRepository,
+                              PayrollInputLoader inputLoader, PayrollCalculator payrollCalculator,
+                              ColdArchiveService coldArchive,
+                              PayrollMonthLock monthLock,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher events) {
         this.payrollRepository = payRepo;
+        this.employeeRepository = empRepo;
         this.attendanceRepository = attRepo;
+        this.attendanceMonthRepository = attMonthRepo;
         this.chargeSheetRepository = csRepo;
+        this.dirtyMarkRepository = dirtyMarkRepository;
+        this.inputLoader = inputLoader;
+        this.payrollCalculator = payrollCalculator;
+        this.coldArchive = coldArchive;
+        this.monthLock = monthLock;
+        this.entityManager = entityManager;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.events = events;
     }
 
     /**
      * [Generate Monthly Payroll]
      * Etai asol magic method.
-     * 1. Koto din office khola chilo ber kore.
-     * 2. Ke koydin ashche ber kore.
-     * 3. Overtime, Penalty, Tax jog-biyog kore Final salary banay.
+     * 1. PayrollInputLoader kichu grouped query diye puro masher data ekbare ane.
+     * 2. Loop er vitore PayrollCalculator shudhu Map theke hisab kore (kono DB call nai).
+     * 3. Purono record muche fela, notun record save ar fine DEDUCTED kora - sob bulk/batch statement e.
      */
     @Override
     @Transactional // Transactional mane: Majhpothe error hole puro process cancel (rollback) hobe.
-    public void generateMonthlyPayroll(int month, int year) {
+    public PayrollRunSummary generateMonthlyPayroll(int month, int year) {
+        long started = System.currentTimeMillis();
 
-        // Prothome sob Active employee der list nilam
-        List<Employee> employees = employeeRepository.findAll();
-
-        // 1. Masher suru ar shesh tarikh ber korlam (Example: Nov 1 to Nov 30)
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-        // FIX: Asol karjodibos (Working Days) count kora (Friday baad diye)
-        // Amra dhore nicchi Friday holo weekly holiday.
-        int actualWorkingDaysCount = 0;
-        for (LocalDate date = startDate; date.isBefore(endDate.plusDays(1)); date = date.plusDays(1)) {
-            if (date.getDayOfWeek() != DayOfWeek.FRIDAY) {
-                actualWorkingDaysCount++;
-            }
-        }
+        // 1. Masher sob input (employee, hajira, fine) eksathe load
+        PayrollBatchInput input = inputLoader.load(month, year);
 
         // Safety check: Jodi working day 0 hoy (osombhov, tobuo check), tahole kaj korbe na.
-        if (actualWorkingDaysCount == 0) {
+        if (input.getWorkingDays() == 0) {
             System.err.println("ERROR: No working days found. Skipping payroll.");
-            return;
+            return PayrollRunSummary.of(month, year, List.of(), 0);
         }
 
-        // Prottek employee er jonno loop chalabo
-        for (Employee emp : employees) {
+        // 2. Salary hisab (pure calculation, database e jay na). SUSPENDED ra loader ei baad pore geche.
+        List<PayrollRecord> newRecords = payrollCalculator.calculateAll(input);
 
-            // 1. Jodi employee 'SUSPENDED' thake, take salary dibo na. Skip korbo.
-            if ("SUSPENDED".equalsIgnoreCase(emp.getStatus())) {
-                continue;
-            }
+        // 3. Purono record muche notun gula save
+        return writeMonth(input, newRecords, started);
+    }
 
-            // 2. Duplicate Check:
-            // Jodi admin bhul kore ek e masher salary dui bar generate kore,
-            // tahole ager record ta delete kore notun ta banabo (Clean Slate).
-            List<PayrollRecord> oldRecords = payrollRepository.findByEmployeeIdAndMonthAndYear(emp.getId(), month, year);
-            if (!oldRecords.isEmpty()) {
-                payrollRepository.deleteAll(oldRecords);
-            }
+    /**
+     * [Write Computed Month]
+     * 0. Month lock (onno run ei mash lekhle sathe sathe error, wait na).
+     * 1. Clean Slate: ager generate kora record ekta DELETE statement e muche dilam.
+     *    Dirty mark shudhu load er ager gula muchi (input e ei change ache); load er por asha
+     *    mark theke jay, naile oi change porer recomputeDirty o dekhbe na.
+     * 2. Save: sequence ID ar hibernate.jdbc.batch_size er karone INSERT gula batch e jay.
+     * 3. Penalty kete neyar por status 'DEDUCTED' (ekta UPDATE) jate porer mase abar na kate -
+     *    shudhu load e PENDING chilo emon fine (id diye); load er por issue howa fine PENDING e thake.
+     */
+    @Override
+    @Transactional
+    public PayrollRunSummary writeMonth(PayrollBatchInput input, List<PayrollRecord> records, long startedMillis) {
+        int month = input.getMonth();
+        int year = input.getYear();
 
-            // 3. Notun salary record toiri shuru
-            PayrollRecord record = new PayrollRecord();
+        monthLock.lockForWrite(month, year);
+        payrollRepository.deleteMonthForActiveEmployees(month, year);
+        dirtyMarkRepository.deleteMarkedBefore(month, year, input.getLoadedAt());
 
-            // --- SALARY CALCULATION LOGIC ---
+        payrollRepository.saveAll(records);
 
-            double basicSalary = emp.getBasicSalary(); // Tar mul beton
+        markChargesDeducted(input.getPeriod(), input.pendingChargeIdsOf(employeeIdsOf(records)));
 
-            // Daily Rate: Ek din kaj korle koto taka pay?
-            // Formula: Basic / Total Working Days
-            double dailyRate = basicSalary / actualWorkingDaysCount;
+        return PayrollRunSummary.of(month, year, records, System.currentTimeMillis() - startedMillis);
+    }
 
-            // [FIXED] Hourly Rate Ber Kora (Overtime er jonno)
-            // Amra dhorchi office 8 ghonta chole.
-            double hourlyRate = dailyRate / 8.0;
+    /**
+     * [Generate Monthly Payroll - Parallel Mode]
+     * Boro company te ek ek kore employee hisab korle 16-core server o bose thake.
+     * Ei mode e employee der chunk e bhag kore 'parallelism' ta chunk eksathe chalano hoy.
+     * Details: generateMonthlyPayrollChunked dekhun.
+     */
+    @Override
+    public PayrollRunSummary generateMonthlyPayrollParallel(int month, int year) {
+        return generateMonthlyPayrollChunked(month, year, null, true, PayrollProgressListener.NONE);
+    }
 
-            // Attendance Data Ana:
-            List<Attendance> attendanceList = attendanceRepository.findByEmployeeIdAndMonth(emp.getId(), month, year);
+    /**
+     * [Generate Monthly Payroll - Chunked / Resumable]
+     * 1. Input ekbar load hoy (read-only transaction).
+     * 2. Employee ID order e sajiye 'chunkSize' size er chunk e bhag hoy.
+     *    resumeAfterEmployeeId dile oi ID porjonto employee der baad deya hoy (ager run e hoye geche).
+     * 3. Virtual thread e chunk gula chole, Semaphore diye ek sathe 'parallelism' er beshi na
+     *    (parallel = false hole ek ta ek ta kore).
+     * 4. Prottek chunk nijer transaction e commit hoy (delete old + insert new + oi employee der
+     *    load kora PENDING fine DEDUCTED), tai chunk idempotent.
+     * Result er checksum sequential run er sathe mile jabe (same data hole).
+     * Onek transaction, tai puro run month lock er session lease dhore (chunk gula nijera lock ney na).
+     */
+    @Override
+    public PayrollRunSummary generateMonthlyPayrollChunked(int month, int year, Long resumeAfterEmployeeId,
+                                                           boolean parallel, PayrollProgressListener listener) {
+        try (PayrollMonthLock.Lease lease = monthLock.acquire(month, year)) {
+            return runChunked(month, year, resumeAfterEmployeeId, parallel, listener);
+        }
+    }
 
-            int actualPresentDays = 0;
-            double totalOvertimeHours = 0;
+    private PayrollRunSummary runChunked(int month, int year, Long resumeAfterEmployeeId,
+                                         boolean parallel, PayrollProgressListener listener) {
+        long started = System.currentTimeMillis();
+
+        // Input load er AGE mark muchi, jate er porer change gula notun mark hisebe thake
+        writeTx.executeWithoutResult(status -> dirtyMarkRepository.deleteByMonthAndYear(month, year));
+
+        PayrollBatchInput input = readOnlyTx.execute(status -> inputLoader.load(month, year));
+        if (input == null || input.getWorkingDays() == 0) {
+            System.err.println("ERROR: No working days found. Skipping payroll.");
+            return PayrollRunSummary.of(month, year, List.of(), 0);
+        }
+
+        // ID order e sajalam jate checkpoint (last committed ID) diye resume kora jay
+        List<Employee> ordered = input.getEmployees().stream()
+                .sorted(Comparator.comparing(Employee::getId))
+                .toList();
+        int alreadyProcessed = 0;
+        if (resumeAfterEmployeeId != null) {
+            while (alreadyProcessed < ordered.size() && ordered.get(alreadyProcessed).getId() <= resumeAfterEmployeeId) {
+                alreadyProcessed++;
+            }
+        }
+        List<List<Employee>> chunks = partition(ordered.subList(alreadyProcessed, ordered.size()), Math.max(1, chunkSize));
+
+        listener.onStart(ordered.size(), alreadyProcessed);
+        ChunkCheckpointTracker tracker = new ChunkCheckpointTracker(chunks, alreadyProcessed);
+
+        Semaphore permits = new Semaphore(parallel ? Math.max(1, parallelism) : 1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // try-with-resources: close() sob task shesh howa porjonto wait kore
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < chunks.size(); i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        processChunk(input, chunks.get(index));
+                    } finally {
+                        permits.release();
+                    }
+                    // Commit howar porei checkpoint agabo
+                    tracker.chunkCommitted(index, listener);
+                    return null;
+                }));
+            }
+        }
 
-            // Loop chaliye dekhi se asole koydin present chilo
-            for (Attendance att : attendanceList) {
-                // FIX: Shudhu working day te present thaklei count hobe.
-                // Friday te kaj korle seta overtime e jabe, regular day te na.
-                if (att.isPresent() && att.getDate().getDayOfWeek() != DayOfWeek.FRIDAY) {
-                    actualPresentDays++;
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // Prothom error ta rakhlam, baki gula suppressed hisebe jog hobe
+                if (failure == null) {
+                    failure = new IllegalStateException("Payroll chunk failed for " + month + "/" + year, e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Payroll run interrupted", e);
+            }
+        }
+        if (failure != null) {
+            // Je chunk gula commit hoye geche segula thakbe; checkpoint theke abar chalalei hobe.
+            throw failure;
+        }
+
+        // Fine chunk er transaction ei DEDUCTED hoye geche; ekhon shudhu mash lekha holo janano
+        writeTx.executeWithoutResult(status ->
+                events.publishEvent(PayrollMonthChangedEvent.of(input.getPeriod())));
 
-                // Attendance record theke overtime hour jog korchi
-                // (Friday te kaj korle purotai overtime hisebe ekhane jog hobe)
-                totalOvertimeHours += att.getOvertimeHours();
+        // Resume hole kichu record ager run e lekha, tai checksum puro masher saved record theke nilam
+        List<PayrollRecord> monthRecords = readOnlyTx.execute(status -> payrollRepository.findByMonthAndYear(month, year));
+        return PayrollRunSummary.of(month, year, monthRecords, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * [Generate Monthly Payroll - Streaming]
+     * Onek boro workforce (lakh lakh employee) er jonno. Heap headcount er sathe bare na:
+     * 1. Employee, attendance summary, penalty summary - tin tai server-side cursor (fetch size) e
+     *    Employee ID order e ase, ar SortedCursor diye merge join hoy (kono Map nai).
+     * 2. Record persist kore prottek 'streamFlushSize' por flush + clear, tai persistence context
+     *    e kokhono ek batch er beshi entity thake na.
+     * 3. Checksum o cholte cholte hisab hoy (PayrollRunSummary.Accumulator).
+     * Puro run ekta transaction, tai result sequential mode er motoi (checksum milbe).
+     */
+    @Override
+    @Transactional
+    public PayrollRunSummary generateMonthlyPayrollStreaming(int month, int year, PayrollProgressListener listener) {
+        long started = System.currentTimeMillis();
+
+        // Policy ekbar compile (tax, overtime, weekend, working days)
+        CompiledPayrollPolicy policy = inputLoader.compilePolicy(month, year);
+        DatePeriod period = policy.getPeriod();
+        if (policy.getWorkingDays() == 0) {
+            System.err.println("ERROR: No working days found. Skipping payroll.");
+            return PayrollRunSummary.of(month, year, List.of(), 0);
+        }
+
+        monthLock.lockForWrite(month, year);
+        payrollRepository.deleteMonthForActiveEmployees(month, year);
+        dirtyMarkRepository.deleteByMonthAndYear(month, year);
+        listener.onStart((int) employeeRepository.countActive(), 0);
+
+        // Hisab er AGE PENDING fine er id: er por asha fine DEDUCTED hobe na (tar dirty mark theke jay)
+        List<Long> chargeIds = chargeSheetRepository.findPendingIdsByPeriod(period);
+
+        PayrollRunSummary.Accumulator accumulator = new PayrollRunSummary.Accumulator();
+        int flushSize = Math.max(1, streamFlushSize);
+
+        try (Stream<Employee> employees = employeeRepository.streamActiveOrderById();
+             Stream<AttendanceSummary> attendanceRows = attendanceRepository.streamSummaryByPeriod(
+                     period, policy.getWeekendHqlDays());
+             Stream<AttendanceMonth> compactRows = attendanceMonthRepository.streamByMonthAndYear(month, year);
+             Stream<PenaltySummary> penaltyRows = chargeSheetRepository.streamPenaltiesByPeriod(period)) {
+
+            SortedCursor<AttendanceSummary> attendance = new SortedCursor<>(attendanceRows.iterator(), AttendanceSummary::getEmployeeId);
+            SortedCursor<AttendanceMonth> compacted = new SortedCursor<>(compactRows.iterator(), AttendanceMonth::getEmployeeId);
+            SortedCursor<PenaltySummary> penalties = new SortedCursor<>(penaltyRows.iterator(), PenaltySummary::getEmployeeId);
+
+            Iterator<Employee> cursor = employees.iterator();
+            while (cursor.hasNext()) {
+                Employee emp = cursor.next();
+                PenaltySummary penalty = penalties.seek(emp.getId());
+                long penaltyMinor = penalty != null ? Money.of(penalty.getTotalPenalty()) : 0;
+
+                // Bondho (compact) mash hole hajira AttendanceMonth e
+                AttendanceSummary attendanceSummary = AttendanceTotals.combine(attendance.seek(emp.getId()),
+                        PayrollInputLoader.compactSummary(compacted.seek(emp.getId()), policy));
+
+                PayrollRecord record = payrollCalculator.calculate(emp, policy, attendanceSummary, penaltyMinor);
+                entityManager.persist(record);
+                accumulator.add(record);
+
+                if (accumulator.count() % flushSize == 0) {
+                    // INSERT gula batch e database e pathiye first-level cache khali
+                    entityManager.flush();
+                    entityManager.clear();
+                    listener.onProgress(accumulator.count());
+                }
             }
+        }
 
-            // Payable Basic: Je koydin kaj koreche, tar taka.
-            double payableBasic = dailyRate * actualPresentDays;
+        entityManager.flush();
+        entityManager.clear();
+        markChargesDeducted(period, chargeIds);
+        listener.onProgress(accumulator.count());
 
-            // ==========================================
-            // [UPDATED] DYNAMIC OVERTIME LOGIC
-            // ==========================================
-            // Fix: Database e 0.0 thakle problem. Tai amra auto calculate korchi.
-            // Niyom: Regular hourly rate er 1.5 gun hobe overtime rate.
-            // Example: Ghontay 100 taka hole, overtime e pabe 150 taka.
-            double overtimeRate = hourlyRate * 1.5;
+        return accumulator.finish(month, year, System.currentTimeMillis() - started);
+    }
 
-            // Final Calculation: Total Hours x Dynamic Rate
-            double overtimePay = totalOvertimeHours * overtimeRate;
+    /**
+     * [Generate Monthly Payroll - Set-Based SQL]
+     * Java te kono row ase na: hajira/fine er GROUP BY, working day, tax, net pay - sob
+     * PayrollRepository.insertMonthSetBased er ekta INSERT ... SELECT e PostgreSQL kore.
+     * Policy (weekend, tax, overtime, stage) Java engine er motoi CompiledPayrollPolicy theke parameter hisebe jay,
+     * tai result paisa porjonto same (PayrollSqlEngineParityTest).
+     * Summary o database theke shudhu (employeeId, netPay) pore banano.
+     */
+    @Override
+    @Transactional
+    public PayrollRunSummary generateMonthlyPayrollSql(int month, int year, PayrollProgressListener listener) {
+        long started = System.currentTimeMillis();
 
+        CompiledPayrollPolicy policy = inputLoader.compilePolicy(month, year);
+        if (policy.getWorkingDays() == 0) {
+            System.err.println("ERROR: No working days found. Skipping payroll.");
+            return PayrollRunSummary.of(month, year, List.of(), 0);
+        }
 
-            // --- DEDUCTION LOGIC (Taka Kata) ---
+        monthLock.lockForWrite(month, year);
+        payrollRepository.deleteMonthForActiveEmployees(month, year);
+        dirtyMarkRepository.deleteByMonthAndYear(month, year);
+        listener.onStart((int) employeeRepository.countActive(), 0);
+
+        // Streaming mode er moto: INSERT er AGE PENDING fine er id
+        List<Long> chargeIds = chargeSheetRepository.findPendingIdsByPeriod(policy.getPeriod());
+
+        int inserted = payrollRepository.insertMonthSetBased(month, year,
+                policy.getPeriod(), policy.getWeekendIsoDays(), policy.getWorkdayBits(),
+                policy.getWorkingDays(), policy.getOvertimeNumerator(), policy.getOvertimeDenominator(),
+                policy.getTaxBasisPoints(),
+                policy.stageCount(PayrollStageType.BASIC_PRORATED),
+                policy.stageCount(PayrollStageType.OVERTIME),
+                policy.stageCount(PayrollStageType.TAX),
+                policy.stageCount(PayrollStageType.PENALTY),
+                policy.stageCount(PayrollStageType.FIXED_DEDUCTION));
+
+        markChargesDeducted(policy.getPeriod(), chargeIds);
+        listener.onProgress(inserted);
+
+        PayrollRunSummary.Accumulator accumulator = new PayrollRunSummary.Accumulator();
+        for (PayrollNetPay row : payrollRepository.findNetPayByMonth(month, year)) {
+            accumulator.add(row.getEmployeeId(), Money.of(row.getNetPay()));
+        }
+        return accumulator.finish(month, year, System.currentTimeMillis() - started);
+    }
 
-            // A. Penalty / Fine:
-            // Check korchi ei mase tar name kono Charge Sheet ache kina.
-            List<ChargeSheet> monthlyCharges = chargeSheetRepository.findByEmployeeIdAndIssueDateBetween(emp.getId(), startDate, endDate);
-            double totalPenaltyForMonth = 0;
+    /**
+     * [Recompute Dirty Only]
+     * 1. Ei masher dirty mark gula lock kore pora (cholakalin notun change wait korbe).
+     * 2. Shudhu oi employee der input load (same grouped query, 'IN :ids' soho).
+     * 3. Tader purono record muche notun record save, fine DEDUCTED.
+     * 4. Mark gula muche fela.
+     * Ekta dispute accept er por eta 1 jon employee er kaj - full run er dorkar nai.
+     */
+    @Override
+    @Transactional
+    public PayrollRunSummary recomputeDirty(int month, int year) {
+        long started = System.currentTimeMillis();
 
-            for (ChargeSheet charge : monthlyCharges) {
-                totalPenaltyForMonth += charge.getPenaltyAmount();
+        if (!payrollRepository.existsByMonthAndYear(month, year)) {
+            throw new IllegalStateException("Payroll for " + month + "/" + year + " has not been generated yet. Run the full payroll first.");
+        }
+        monthLock.lockForWrite(month, year);
 
-                // Penalty kete neyar por status 'DEDUCTED' kore dibo jate porer mase abar na kate.
-                if ("PENDING".equals(charge.getStatus())) {
-                    charge.setStatus("DEDUCTED");
-                    chargeSheetRepository.save(charge);
-                }
+        List<PayrollDirtyMark> marks = dirtyMarkRepository.findByMonthAndYear(month, year);
+        if (!marks.isEmpty()) {
+            Set<Long> dirtyIds = new HashSet<>();
+            for (PayrollDirtyMark mark : marks) {
+                dirtyIds.add(mark.getEmployeeId());
             }
 
-            // B. Tax:
-            // Payable amount er upor 5% tax kata hobe (Jodi policy thake).
-            double tax = payableBasic * 0.05; // 5% Tax
+            PayrollBatchInput input = inputLoader.load(month, year, dirtyIds);
+            if (input.getWorkingDays() > 0 && !input.getEmployees().isEmpty()) {
+                // SUSPENDED ba delete hoye jaoa employee loader ei baad pore; tader record full run er motoi thakbe
+                List<Long> employeeIds = new ArrayList<>(input.getEmployees().size());
+                List<PayrollRecord> newRecords = new ArrayList<>(input.getEmployees().size());
+                for (Employee emp : input.getEmployees()) {
+                    employeeIds.add(emp.getId());
+                    newRecords.add(payrollCalculator.calculate(emp, input));
+                }
 
-            // C. Fixed Deductions: (Jemon lunch bill, transport charge etc.)
-            double fixedDeduction = (emp.getDeductions() != null) ? emp.getDeductions() : 0;
+                payrollRepository.deleteMonthForEmployees(month, year, employeeIds);
+                payrollRepository.saveAll(newRecords);
+                markChargesDeducted(input.getPeriod(), input.pendingChargeIdsOf(employeeIds));
+            }
 
-            // Total koto kata gelo?
-            double totalDeductions = tax + totalPenaltyForMonth + fixedDeduction;
+            dirtyMarkRepository.deleteAllInBatch(marks);
+        }
 
-            // --- FINAL NET PAY ---
-            // Formula: (Kajera Taka + Overtime) - (Sob KataKuti)
-            double netPay = payableBasic + overtimePay - totalDeductions;
+        // Summary puro masher record theke, jate full run er checksum er sathe melano jay
+        return PayrollRunSummary.of(month, year, payrollRepository.findByMonthAndYear(month, year),
+                System.currentTimeMillis() - started);
+    }
 
-            // Doshomik sonkha sundor (Round) korar jonno logic
-            payableBasic = Math.round(payableBasic * 100.0) / 100.0;
-            overtimePay = Math.round(overtimePay * 100.0) / 100.0;
-            totalDeductions = Math.round(totalDeductions * 100.0) / 100.0;
-            netPay = Math.round(netPay * 100.0) / 100.0;
+    @Override
+    public long countDirty(int month, int year) {
+        return dirtyMarkRepository.countByMonthAndYear(month, year);
+    }
 
-            // --- SAVING DATA ---
-            // Snapshot nicchi: Employee er nam/podobi save rakhchi.
-            record.setEmployeeId(emp.getId());
-            record.setEmployeeName(emp.getName());
-            record.setDesignation(emp.getDesignation());
-            record.setImageUrl(emp.getImageUrl()); // Payslip e chobi dekhanor jonno
+    // --- Chunked Mode Helpers ---
 
-            record.setMonth(month);
-            record.setYear(year);
+    /**
+     * Ekta chunk er hisab ar save - nijer transaction e.
+     * Shudhu ei chunk er employee der purono record muche (ekta DELETE ... IN), tai chunk idempotent.
+     * Tader je fine hisab e dhuklo (id) tao ei transaction e DEDUCTED - record ar status eksathe commit.
+     */
+    private void processChunk(PayrollBatchInput input, List<Employee> chunk) {
+        writeTx.executeWithoutResult(status -> {
+            List<Long> employeeIds = new ArrayList<>(chunk.size());
+            List<PayrollRecord> newRecords = new ArrayList<>(chunk.size());
+
+            for (Employee emp : chunk) {
+                employeeIds.add(emp.getId());
+                newRecords.add(payrollCalculator.calculate(emp, input));
+            }
 
-            record.setBasicSalary(payableBasic); // Eita mul basic na, eita holo "Payable Basic"
-            record.setBonus(overtimePay);
-            record.setDeductions(totalDeductions);
-            record.setNetPay(netPay);
+            payrollRepository.deleteMonthForEmployees(input.getMonth(), input.getYear(), employeeIds);
+            payrollRepository.saveAll(newRecords);
+            events.publishEvent(PenaltyChangedEvent.deducted(
+                    chargeSheetRepository.markDeductedInBatches(input.pendingChargeIdsOf(employeeIds))));
+        });
+    }
 
-            record.setPaymentDate(LocalDate.now());
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return chunks;
+    }
 
-            // Finally database e save kora holo
-            payrollRepository.save(record);
+    /**
+     * Sob run mode er shesh dhap: je PENDING fine salary te kata holo (id) -> DEDUCTED, tarpor
+     * koyta fine bodlalo ar kon mash lekha holo ta event e janano (listener commit er por chole).
+     * Masher sob PENDING fine na - hisab er por issue howa fine porer run/recomputeDirty e kate.
+     */
+    private void markChargesDeducted(DatePeriod period, List<Long> chargeIds) {
+        events.publishEvent(PenaltyChangedEvent.deducted(chargeSheetRepository.markDeductedInBatches(chargeIds)));
+        events.publishEvent(PayrollMonthChangedEvent.of(period));
+    }
+
+    private static List<Long> employeeIdsOf(List<PayrollRecord> records) {
+        List<Long> employeeIds = new ArrayList<>(records.size());
+        for (PayrollRecord record : records) {
+            employeeIds.add(record.getEmployeeId());
         }
+        return employeeIds;
     }
 
     // --- Helper Methods ---
 
     @Override
     public List<PayrollRecord> getRecordsByMonthAndYear(int month, int year) {
-        return payrollRepository.findByMonthAndYear(month, year);
+        List<PayrollRecord> records = payrollRepository.findByMonthAndYear(month, year);
+        // Bondho bochor hot table theke archive file e chole gele sekhan theke
+        return records.isEmpty() ? coldArchive.findPayrollMonth(month, year) : records;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<PayrollRecord> getSheetPage(int month, int year, String keyword, Sort sort,
+                                                  String cursor, int size) {
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        if (payrollRepository.existsByMonthAndYear(month, year)) {
+            return KeysetPage.of(payrollRepository.findBy(PayrollRepository.sheetFilter(month, year, keyword),
+                    query -> query.sortBy(sort).limit(size).scroll(position)), position);
+        }
+        // Archive mash: file ek bar e pore, bodlay na - tai memory te filter/sort ar offset page
+        String needle = ListFilters.hasText(keyword) ? keyword.trim().toLowerCase() : null;
+        List<PayrollRecord> archived = coldArchive.findPayrollMonth(month, year).stream()
+                .filter(r -> needle == null || containsIgnoreCase(r.getEmployeeName(), needle)
+                        || containsIgnoreCase(r.getDesignation(), needle))
+                .sorted(inMemoryOrder(sort))
+                .toList();
+        return KeysetPage.ofList(archived, position, size);
+    }
+
+    @Override
+    public PayrollMonthTotals getMonthTotals(int month, int year) {
+        PayrollMonthTotals totals = payrollRepository.summarizeMonth(month, year);
+        if (totals.getEmployees() > 0) {
+            return totals;
+        }
+        return PayrollMonthTotals.ofRecords(coldArchive.findPayrollMonth(month, year));
+    }
+
+    @Override
+    public List<PayrollRecord> getRecordsByEmployee(Long employeeId) {
+        List<PayrollRecord> history = new ArrayList<>(payrollRepository.findByEmployeeIdOrderByYearDescMonthDesc(employeeId));
+        // Archive er por abar run hoye hot e thaka mash duibar na dekhai (hot er ta notun)
+        Set<Integer> hotMonths = new HashSet<>();
+        for (PayrollRecord record : history) {
+            hotMonths.add(record.getYear() * 100 + record.getMonth());
+        }
+        for (PayrollRecord archived : coldArchive.findPayrollHistory(employeeId)) {
+            if (!hotMonths.contains(archived.getYear() * 100 + archived.getMonth())) {
+                history.add(archived);
+            }
+        }
+        history.sort(Comparator.comparingInt(PayrollRecord::getYear)
+                .thenComparingInt(PayrollRecord::getMonth).reversed());
+        return history;
+    }
+
+    @Override
+    public List<PayrollRecord> getRecentRecordsByEmployee(Long employeeId, int limit) {
+        List<PayrollRecord> recent = payrollRepository.findByEmployeeIdOrderByYearDescMonthDesc(employeeId, Limit.of(limit));
+        if (recent.size() >= limit) {
+            return recent; // Sadharon case: archive file chhuteo hoy na
+        }
+        // Notun employee ba purono bochor archive e - puro history theke (hot + archive) prothom 'limit' ta
+        return getRecordsByEmployee(employeeId).stream().limit(limit).toList();
+    }
+
+    private static boolean containsIgnoreCase(String value, String needle) {
+        return value != null && value.toLowerCase().contains(needle);
+    }
+
+    // Salary Sheet er sort (PayrollRepository.sheetSort) archive list er jonno
+    private static Comparator<PayrollRecord> inMemoryOrder(Sort sort) {
+        Comparator<PayrollRecord> order = (a, b) -> 0;
+        for (Sort.Order property : sort) {
+            Comparator<PayrollRecord> next = switch (property.getProperty()) {
+                case "netPay" -> Comparator.comparing(PayrollRecord::getNetPay,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "employeeName" -> Comparator.comparing(PayrollRecord::getEmployeeName,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> Comparator.comparing(PayrollRecord::getId);
+            };
+            order = order.thenComparing(property.isAscending() ? next : next.reversed());
+        }
+        return order;
     }
 
     @Override
@@ -209,6 +606,7 @@ public class PayrollServiceImpl implements PayrollService {
     @Override
     public PayrollRecord getRecordById(UUID id) {
         return payrollRepository.findById(id)
+                .or(() -> coldArchive.findPayslip(id)) // Bondho bochorer payslip archive file e
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Sorry no salary slip found for this id " + id
                 ));
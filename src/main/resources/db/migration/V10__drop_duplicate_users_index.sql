@@ -0,0 +1,8 @@
+-- =====================================================================
+-- [Drop Duplicate Users Index]
+-- Purono V4 users (employee_id) e idx_users_employee_id banato, kintu V3 er UNIQUE constraint
+-- already oi column e index dey - duita index mane shudhu lekhar khoroch duibar.
+-- V4 theke bad deya hoyeche; age V4 chala database e thaka copy ta ekhane muche.
+-- =====================================================================
+
+DROP INDEX IF EXISTS idx_users_employee_id;
@@ -0,0 +1,42 @@
+-- =====================================================================
+-- [Detach Only Empty Attendance Partitions]
+-- V5 er detach_attendance_partitions cutoff er ager SOB mash detach korto - hajira thakleo.
+-- Detach kora mash app er kono query te ase na (cold archive er year stream o na), tai
+-- archive e na jawa hajira chupchap hariye jeto.
+-- Ekhon shudhu khali mash detach hoy. ColdArchiveService verified segment likhe tarpor hot row
+-- muche, tai archive hoye jawa mash khali thake; baki mash (row ache) jeman chilo temni thake.
+-- =====================================================================
+
+CREATE OR REPLACE FUNCTION detach_attendance_partitions(cutoff date) RETURNS integer
+LANGUAGE plpgsql AS $fn$
+DECLARE
+    part     text;
+    has_rows boolean;
+    kept     integer := 0;
+    detached integer := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('attendance_partitions'));
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'attendance'::regclass
+          AND c.relname ~ '^attendance_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 13), 'YYYY_MM') < date_trunc('month', cutoff)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', part) INTO has_rows;
+        IF has_rows THEN
+            kept := kept + 1;
+            CONTINUE;
+        END IF;
+        EXECUTE format('ALTER TABLE attendance DETACH PARTITION %I', part);
+        detached := detached + 1;
+    END LOOP;
+    IF kept > 0 THEN
+        RAISE NOTICE '% attendance partition(s) older than % still hold rows (not archived) - kept attached',
+            kept, cutoff;
+    END IF;
+    RETURN detached;
+END
+$fn$;
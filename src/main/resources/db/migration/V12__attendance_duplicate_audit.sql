@@ -0,0 +1,62 @@
+-- =====================================================================
+-- [Attendance Duplicate Audit]
+-- V4 UNIQUE (employee_id, date) boshanor age duplicate hajira (dui tab theke eksathe check-in)
+-- sorasori DELETE kore (shesh row rakhe). Applied migration bodlano jay na (checksum), tai
+-- audit ar merge ekhane - V10 jemon V4 er users index er kaj kore.
+-- Prottek (employee, din) er shesh row ta (sobcheye boro id) rakha hoy, kintu:
+-- 1. Baki row gula (kept_id shoho) attendance_duplicate_audit e copy - kichu haray na, pore mila kora jay.
+-- 2. Rakha row e merge: sobcheye ager check-in, sobcheye porer check-out, kono row present hole present,
+--    khali thakle dispute reason/work hours/overtime baki row theke.
+-- 3. Koyta row sorano holo NOTICE e (Flyway log e dekha jay).
+-- UNIQUE constraint thakle duplicate ar thake na - tokhon shudhu (khali) audit table toiri hoy.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS attendance_duplicate_audit AS
+SELECT a.*, NULL::bigint AS kept_id, NULL::timestamp(6) AS removed_at
+FROM attendance a
+WITH NO DATA;
+
+CREATE TEMP TABLE attendance_duplicates ON COMMIT DROP AS
+SELECT a.*, keep.kept_id, clock_timestamp()::timestamp(6) AS removed_at
+FROM attendance a
+JOIN (SELECT employee_id, date, max(id) AS kept_id
+      FROM attendance
+      GROUP BY employee_id, date
+      HAVING count(*) > 1) keep
+  ON keep.employee_id = a.employee_id AND keep.date = a.date
+WHERE a.id < keep.kept_id;
+
+INSERT INTO attendance_duplicate_audit (id, employee_id, date, check_in_time, check_out_time, dispute_reason,
+                                        work_hours, status, is_present, overtime_hours, kept_id, removed_at)
+SELECT id, employee_id, date, check_in_time, check_out_time, dispute_reason,
+       work_hours, status, is_present, overtime_hours, kept_id, removed_at
+FROM attendance_duplicates;
+
+UPDATE attendance k
+SET check_in_time  = LEAST(k.check_in_time, d.first_in),
+    check_out_time = GREATEST(k.check_out_time, d.last_out),
+    is_present     = k.is_present OR d.any_present,
+    dispute_reason = COALESCE(k.dispute_reason, d.dispute_reason),
+    work_hours     = COALESCE(k.work_hours, d.work_hours),
+    overtime_hours = COALESCE(k.overtime_hours, d.overtime_hours)
+FROM (SELECT kept_id,
+             min(check_in_time)  AS first_in,
+             max(check_out_time) AS last_out,
+             bool_or(is_present) AS any_present,
+             max(dispute_reason) AS dispute_reason,
+             max(work_hours)     AS work_hours,
+             max(overtime_hours) AS overtime_hours
+      FROM attendance_duplicates
+      GROUP BY kept_id) d
+WHERE k.id = d.kept_id;
+
+DO $$
+DECLARE
+    removed integer;
+BEGIN
+    DELETE FROM attendance a USING attendance_duplicates d WHERE a.id = d.id AND a.date = d.date;
+    GET DIAGNOSTICS removed = ROW_COUNT;
+    IF removed > 0 THEN
+        RAISE NOTICE 'V12: merged and removed % duplicate attendance row(s); originals kept in attendance_duplicate_audit', removed;
+    END IF;
+END $$;
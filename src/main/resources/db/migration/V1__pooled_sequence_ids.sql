@@ -0,0 +1,36 @@
+-- =====================================================================
+-- [Pooled Sequence IDs]
+-- IDENTITY column thakle Hibernate ke prottek INSERT er por ID er jonno
+-- database e jete hoy, tai JDBC batching bondho hoye jay.
+-- Ekhon entity gula SEQUENCE (allocationSize = 50) use kore: ek nextval e
+-- 50 ta ID ase, ar INSERT gula batch e jay.
+--
+-- Ei script:
+-- 1. Prottek table er jonno "<table>_seq" sequence banay (INCREMENT BY 50).
+-- 2. Table already thakle sequence ke MAX(id) er upore set kore, jate
+--    purono ID er sathe clash na hoy.
+-- 3. id column theke IDENTITY / serial default soriye dey.
+-- Notun (khali) database e table gula porer step e Hibernate banabe.
+-- =====================================================================
+
+DO $$
+DECLARE
+    t   TEXT;
+    seq TEXT;
+    max_id BIGINT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['designations', 'employees', 'attendance', 'charge_sheets', 'users', 'password_reset_token']
+    LOOP
+        seq := t || '_seq';
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', seq);
+
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', t) INTO max_id;
+            -- Pooled optimizer: nextval = N hole Hibernate (N-49 .. N) ID gula dey
+            EXECUTE format('SELECT setval(%L, %s, false)', seq, max_id + 50);
+        END IF;
+    END LOOP;
+END $$;
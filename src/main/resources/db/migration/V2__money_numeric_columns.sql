@@ -0,0 +1,33 @@
+-- =====================================================================
+-- [Money Columns -> numeric(19,2)]
+-- Taka amount gula 'double precision' theke exact 'numeric(19,2)' e.
+-- Purono value 2 doshomik e round hoye jay (float er 1234.5600000001 type garbage baad).
+-- Java side e MoneyConverter same rounding kore.
+-- Table na thakle (notun database) Hibernate porer step e numeric diyei banabe.
+-- =====================================================================
+
+DO $$
+DECLARE
+    col RECORD;
+BEGIN
+    FOR col IN
+        SELECT * FROM (VALUES
+            ('employees', 'basic_salary'),
+            ('employees', 'overtime_rate_per_hour'),
+            ('employees', 'deductions'),
+            ('charge_sheets', 'penalty_amount'),
+            ('payroll_records', 'basic_salary'),
+            ('payroll_records', 'bonus'),
+            ('payroll_records', 'deductions'),
+            ('payroll_records', 'net_pay')
+        ) AS money_columns(table_name, column_name)
+    LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = col.table_name
+                     AND column_name = col.column_name) THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE numeric(19,2) USING ROUND(%I::numeric, 2)',
+                           col.table_name, col.column_name, col.column_name);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,138 @@
+-- =====================================================================
+-- [Baseline Schema]
+-- Ager table gula Hibernate (ddl-auto=update) banato. Ekhon schema Flyway er,
+-- ar app start e Hibernate shudhu 'validate' kore - nije kichu bodlay na.
+--
+-- Purono database e table gula already ache (IF NOT EXISTS, tai kichu hoy na;
+-- V1/V2 oder sequence ar money column thik kore diyeche).
+-- Notun khali database e ei script sob table banay, entity er sathe mile emon type e:
+-- taka numeric(19,2), ID sequence theke (V1), payroll tables e UUID.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS designations (
+    id           BIGINT           NOT NULL PRIMARY KEY,
+    title        VARCHAR(255)     NOT NULL UNIQUE,
+    fixed_salary DOUBLE PRECISION NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id                     BIGINT         NOT NULL PRIMARY KEY,
+    name                   VARCHAR(50),
+    designation            VARCHAR(255),
+    department             VARCHAR(255),
+    phone_number           VARCHAR(255)   UNIQUE,
+    email                  VARCHAR(255),
+    address                VARCHAR(255),
+    bank_name              VARCHAR(255),
+    bank_account_no        VARCHAR(255),
+    joining_date           DATE,
+    basic_salary           NUMERIC(19, 2),
+    overtime_rate_per_hour NUMERIC(19, 2),
+    deductions             NUMERIC(19, 2),
+    status                 VARCHAR(255),
+    image_url              VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS attendance (
+    id             BIGINT           NOT NULL PRIMARY KEY,
+    employee_id    BIGINT           NOT NULL,
+    date           DATE             NOT NULL,
+    check_in_time  TIME(6),
+    check_out_time TIME(6),
+    dispute_reason TEXT,
+    work_hours     DOUBLE PRECISION,
+    status         VARCHAR(20),
+    is_present     BOOLEAN          NOT NULL,
+    overtime_hours DOUBLE PRECISION
+);
+
+CREATE TABLE IF NOT EXISTS charge_sheets (
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    employee_id    BIGINT         NOT NULL REFERENCES employees (id),
+    reason         VARCHAR(255)   NOT NULL,
+    penalty_amount NUMERIC(19, 2) NOT NULL,
+    issue_date     DATE,
+    status         VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    username        VARCHAR(255) NOT NULL UNIQUE,
+    email           VARCHAR(255) UNIQUE,
+    password        VARCHAR(255) NOT NULL,
+    role            VARCHAR(255),
+    full_name       VARCHAR(255),
+    image_url       VARCHAR(255),
+    last_login_time TIMESTAMP(6),
+    enabled         BOOLEAN      NOT NULL,
+    employee_id     BIGINT       UNIQUE REFERENCES employees (id)
+);
+
+CREATE TABLE IF NOT EXISTS password_reset_token (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    token       VARCHAR(255),
+    user_id     BIGINT       NOT NULL UNIQUE REFERENCES users (id),
+    expiry_date TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS payroll_records (
+    id            UUID           NOT NULL PRIMARY KEY,
+    employee_id   BIGINT,
+    employee_name VARCHAR(255),
+    designation   VARCHAR(255),
+    month         INTEGER        NOT NULL,
+    year          INTEGER        NOT NULL,
+    basic_salary  NUMERIC(19, 2),
+    bonus         NUMERIC(19, 2),
+    deductions    NUMERIC(19, 2),
+    net_pay       NUMERIC(19, 2),
+    image_url     VARCHAR(255),
+    payment_date  DATE
+);
+
+CREATE TABLE IF NOT EXISTS payroll_jobs (
+    id                         UUID        NOT NULL PRIMARY KEY,
+    month                      INTEGER     NOT NULL,
+    year                       INTEGER     NOT NULL,
+    mode                       VARCHAR(20),
+    status                     VARCHAR(20),
+    total_employees            INTEGER     NOT NULL,
+    processed_employees        INTEGER     NOT NULL,
+    resumed_from               INTEGER     NOT NULL,
+    last_committed_employee_id BIGINT,
+    total_net_pay_minor        BIGINT,
+    checksum                   VARCHAR(255),
+    error_message              TEXT,
+    created_at                 TIMESTAMP(6),
+    started_at                 TIMESTAMP(6),
+    updated_at                 TIMESTAMP(6),
+    finished_at                TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS payroll_dirty_marks (
+    id          UUID        NOT NULL PRIMARY KEY,
+    employee_id BIGINT      NOT NULL,
+    month       INTEGER     NOT NULL,
+    year        INTEGER     NOT NULL,
+    reason      VARCHAR(20),
+    marked_at   TIMESTAMP(6),
+    CONSTRAINT uk_payroll_dirty_mark UNIQUE (employee_id, month, year)
+);
+
+CREATE TABLE IF NOT EXISTS payroll_shards (
+    id                  UUID         NOT NULL PRIMARY KEY,
+    month               INTEGER      NOT NULL,
+    year                INTEGER      NOT NULL,
+    shard_index         INTEGER      NOT NULL,
+    shard_count         INTEGER      NOT NULL,
+    status              VARCHAR(20)  NOT NULL,
+    owner_node          VARCHAR(100),
+    attempts            INTEGER      NOT NULL,
+    employees           INTEGER      NOT NULL,
+    total_net_pay_minor BIGINT       NOT NULL,
+    error_message       VARCHAR(500),
+    claimed_at          TIMESTAMP(6),
+    committed_at        TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    CONSTRAINT uk_payroll_shard UNIQUE (month, year, shard_index)
+);
@@ -0,0 +1,41 @@
+-- =====================================================================
+-- [Hot Query Indexes]
+-- Ddl-auto kono index banato na, tai proti check-in, payslip, fine check
+-- puro table scan korto. Egula sob theke beshi cholano query:
+--
+-- attendance (employee_id, date)          -> findByEmployeeIdAndDate (prottek check-in/out)
+--                                            + UNIQUE: ek employee er ek dine ekta e row
+-- attendance (date)                       -> findByDate (Attendance Log), masher summary range
+-- payroll_records (employee_id, year, month) -> employee er payslip history / latest payslip
+-- payroll_records (year, month)           -> Salary Sheet, masher delete/summary
+-- charge_sheets (employee_id, status, issue_date) -> pending fine, employee er masher fine
+-- charge_sheets (issue_date)              -> payroll er masher penalty summary
+-- users (employee_id)                     -> employee theke user account
+-- password_reset_token (token)            -> reset link click
+-- =====================================================================
+
+-- Duplicate hajira (dui tab theke eksathe check-in) thakle UNIQUE boshbe na.
+-- Prottek (employee, din) er shesh row ta (sobcheye boro id) rakha hoy.
+DELETE FROM attendance a
+USING attendance newer
+WHERE a.employee_id = newer.employee_id
+  AND a.date = newer.date
+  AND a.id < newer.id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_attendance_employee_date') THEN
+        ALTER TABLE attendance ADD CONSTRAINT uk_attendance_employee_date UNIQUE (employee_id, date);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_attendance_date ON attendance (date);
+
+CREATE INDEX IF NOT EXISTS idx_payroll_records_employee_period ON payroll_records (employee_id, year, month);
+CREATE INDEX IF NOT EXISTS idx_payroll_records_period ON payroll_records (year, month);
+
+CREATE INDEX IF NOT EXISTS idx_charge_sheets_employee_status_date ON charge_sheets (employee_id, status, issue_date);
+CREATE INDEX IF NOT EXISTS idx_charge_sheets_issue_date ON charge_sheets (issue_date);
+
+CREATE INDEX IF NOT EXISTS idx_users_employee_id ON users (employee_id);
+CREATE INDEX IF NOT EXISTS idx_password_reset_token_token ON password_reset_token (token);
@@ -0,0 +1,111 @@
+-- =====================================================================
+-- [Attendance - Monthly Range Partitioning]
+-- Prottek employee er prottek din ekta row, chirokal - table shudhu bare. Kintu amader sob query
+-- ekta din ba ekta mash dhore (DatePeriod), tai table ke mash onujayi partition e bhag kora holo:
+--   attendance                 -> partitioned parent (app/Hibernate eitai dekhe, entity same)
+--   attendance_pYYYY_MM        -> ek masher row (date >= mash shuru AND date < porer mash)
+--   attendance_default         -> kono partition e na pora row (safety net, jate insert fail na kore)
+-- Masher query te Postgres shudhu oi partition pore (partition pruning).
+--
+-- Notun mash er partition ar purono gula detach AttendancePartitionService kore (prottidin),
+-- niche er duita function diye.
+-- =====================================================================
+
+ALTER TABLE attendance RENAME TO attendance_legacy;
+
+CREATE TABLE attendance (
+    id             BIGINT           NOT NULL,
+    employee_id    BIGINT           NOT NULL,
+    date           DATE             NOT NULL,
+    check_in_time  TIME(6),
+    check_out_time TIME(6),
+    dispute_reason TEXT,
+    work_hours     DOUBLE PRECISION,
+    status         VARCHAR(20),
+    is_present     BOOLEAN          NOT NULL,
+    overtime_hours DOUBLE PRECISION
+) PARTITION BY RANGE (date);
+
+CREATE TABLE attendance_default PARTITION OF attendance DEFAULT;
+
+-- ---------------------------------------------------------------------
+-- create_attendance_partition(mash er je kono din)
+-- Partition na thakle banay (true), thakle ba ager detach kora table thakle kichu kore na (false).
+-- Default partition e oi masher row thakle segula notun partition e sore jay, tarpor ATTACH.
+-- Advisory lock: cluster er sob node eksathe chalaleo ekbar e hoy.
+-- ---------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION create_attendance_partition(month_day date) RETURNS boolean
+LANGUAGE plpgsql AS $fn$
+DECLARE
+    from_date  date := date_trunc('month', month_day)::date;
+    until_date date := (date_trunc('month', month_day) + interval '1 month')::date;
+    part       text := 'attendance_p' || to_char(month_day, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('attendance_partitions'));
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE attendance INCLUDING DEFAULTS)', part);
+    EXECUTE format('WITH moved AS (DELETE FROM attendance_default WHERE date >= $1 AND date < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', part) USING from_date, until_date;
+    EXECUTE format('ALTER TABLE attendance ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', part, from_date, until_date);
+    RETURN true;
+END
+$fn$;
+
+-- ---------------------------------------------------------------------
+-- detach_attendance_partitions(cutoff)
+-- cutoff er masher ager sob mash-partition detach kore, koyta holo return kore.
+-- Detach kora table (attendance_pYYYY_MM) database e thake - backup/archive kore nije drop korun.
+-- App er query te ar ase na.
+-- ---------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION detach_attendance_partitions(cutoff date) RETURNS integer
+LANGUAGE plpgsql AS $fn$
+DECLARE
+    part     text;
+    detached integer := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('attendance_partitions'));
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'attendance'::regclass
+          AND c.relname ~ '^attendance_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 13), 'YYYY_MM') < date_trunc('month', cutoff)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE attendance DETACH PARTITION %I', part);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END
+$fn$;
+
+-- Purono data je je mashe ache tar partition, ar ei mash + samner 3 mash
+SELECT create_attendance_partition(m)
+FROM (
+    SELECT DISTINCT date_trunc('month', date)::date AS m FROM attendance_legacy
+    UNION
+    SELECT generate_series(date_trunc('month', current_date),
+                           date_trunc('month', current_date) + interval '3 months',
+                           interval '1 month')::date
+) months
+ORDER BY m;
+
+INSERT INTO attendance (id, employee_id, date, check_in_time, check_out_time, dispute_reason,
+                        work_hours, status, is_present, overtime_hours)
+SELECT id, employee_id, date, check_in_time, check_out_time, dispute_reason,
+       work_hours, status, is_present, overtime_hours
+FROM attendance_legacy;
+
+DROP TABLE attendance_legacy;
+
+-- Partitioned table e PK/UNIQUE e partition key (date) thakte hoy. id sequence theke ase, tai (id, date) o unique.
+-- Index gula data copy er pore (drutto), prottek partition e nijer theke toiri hoy.
+ALTER TABLE attendance ADD CONSTRAINT attendance_pkey PRIMARY KEY (id, date);
+ALTER TABLE attendance ADD CONSTRAINT uk_attendance_employee_date UNIQUE (employee_id, date);
+CREATE INDEX idx_attendance_date ON attendance (date);
+
+ANALYZE attendance;
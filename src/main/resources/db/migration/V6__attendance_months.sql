@@ -0,0 +1,25 @@
+-- =====================================================================
+-- [Compact Attendance - Ek Employee, Ek Mash, Ek Row]
+-- Mash bondho hole (AttendanceCompactionService) oi masher daily attendance row gula
+-- ekhane ekta row te jay:
+--   present_bits : bit (d-1) = d tarikh e present (weekend o)
+--   packed_days  : prottek din 9 byte - status code, check-in/out (minute-of-day), work ar
+--                  overtime (centi-hour). Format: AttendanceMonthCodec.
+--   overtime_hours : masher exact overtime jogfol (payroll er rounding daily row er motoi thake)
+-- 31 ta daily row (+ index) ~4-5 KB; ei row ~350 byte.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS attendance_months (
+    id             UUID             NOT NULL PRIMARY KEY,
+    employee_id    BIGINT           NOT NULL,
+    month          INTEGER          NOT NULL,
+    year           INTEGER          NOT NULL,
+    days           INTEGER          NOT NULL,
+    present_bits   INTEGER          NOT NULL,
+    packed_days    BYTEA            NOT NULL,
+    overtime_hours DOUBLE PRECISION NOT NULL,
+    compacted_at   TIMESTAMP(6),
+    CONSTRAINT uk_attendance_month UNIQUE (employee_id, month, year)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_months_period ON attendance_months (year, month, employee_id);
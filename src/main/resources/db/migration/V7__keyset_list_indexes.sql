@@ -0,0 +1,22 @@
+-- =====================================================================
+-- [Keyset List Indexes]
+-- Admin list page gula (Employee Directory, Attendance Log, Penalty, Salary Sheet) ekhon
+-- "ORDER BY <sort>, id LIMIT n" ar porer page "WHERE (<sort>, id) > (shesh row)" diye pore.
+-- Sort column + id index thakle Postgres index er oi jayga theke n+1 row pore thame -
+-- page 1 ar page 500 same khoroch, puro table sort hoy na.
+--
+-- employees (name, id)                    -> Directory / Attendance Log, naam order (default)
+-- employees (joining_date, id)            -> Directory, notun join kora age
+-- charge_sheets (issue_date, id)          -> Penalty list (notun/purono age); ager (issue_date) index er jayga ney
+-- payroll_records (year, month, employee_name, id) -> Salary Sheet, naam order
+-- payroll_records (year, month, net_pay, id)       -> Salary Sheet, beshi net pay age
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_employees_name_id ON employees (name, id);
+CREATE INDEX IF NOT EXISTS idx_employees_joining_date_id ON employees (joining_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_charge_sheets_issue_date_id ON charge_sheets (issue_date, id);
+DROP INDEX IF EXISTS idx_charge_sheets_issue_date;
+
+CREATE INDEX IF NOT EXISTS idx_payroll_records_period_name ON payroll_records (year, month, employee_name, id);
+CREATE INDEX IF NOT EXISTS idx_payroll_records_period_net_pay ON payroll_records (year, month, net_pay, id);
@@ -0,0 +1,27 @@
+-- =====================================================================
+-- [Payroll Month Totals - Dashboard Summary]
+-- Dashboard er "Total Payroll" ar 12 masher chart ager moto sob payroll_records pore
+-- jog kora hoy na; ekhane mash prati ekta row (koyta record, mot net pay).
+--   id : year * 100 + month (jemon 202503) - PayrollShard er month key er motoi
+-- Payroll run (je kono mode) shesh hole DashboardSnapshotService oi mash ta abar gune
+-- (year, month) index diye upsert kore; employee delete/archive er por puro table.
+-- Shudhu hot payroll_records er hisab - archive kora bochor ekhaneo thake na.
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS payroll_month_totals (
+    id           INTEGER        NOT NULL PRIMARY KEY,
+    year         INTEGER        NOT NULL,
+    month        INTEGER        NOT NULL,
+    records      INTEGER        NOT NULL,
+    net_pay      NUMERIC(19, 2) NOT NULL,
+    refreshed_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_payroll_month_totals_year ON payroll_month_totals (year, month);
+
+-- Ager sob mash ekbar
+INSERT INTO payroll_month_totals (id, year, month, records, net_pay, refreshed_at)
+SELECT year * 100 + month, year, month, COUNT(*), COALESCE(SUM(net_pay), 0), now()
+FROM payroll_records
+GROUP BY year, month
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,14 @@
+-- =====================================================================
+-- [Payroll Job Claims]
+-- Background payroll job kon node chalacche ta ekhon database e:
+--   owner_node   : claim kora node (app.payroll.cluster.node-id, na thakle pid@host)
+--   heartbeat_at : owner node cholakalin kichu second por por update kore
+-- Claim ekta conditional UPDATE (QUEUED/FAILED, ba RUNNING kintu heartbeat stale) - tai
+-- dui node eksathe same job chalate pare na, ar restart howa node shudhu mara node er job ney.
+-- =====================================================================
+
+ALTER TABLE payroll_jobs ADD COLUMN IF NOT EXISTS owner_node VARCHAR(100);
+ALTER TABLE payroll_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP(6);
+
+-- Resume sweep: unfinished job khoja (table choto, kintu COMPLETED row jome)
+CREATE INDEX IF NOT EXISTS idx_payroll_jobs_status ON payroll_jobs (status, heartbeat_at);
@@ -0,0 +1,201 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * [Archive Segment + Record Codec]
+ * Writer -> file -> reader hubohu same record dey kina (ek employee er record onek block jure thakleo),
+ * ar kharap block/footer sathe sathe dhora pore kina. Database lage na, file @TempDir e.
+ */
+class ArchiveSegmentTest {
+
+    private static final int YEAR = 2001;
+
+    // Ek block ~64 KB raw; eto record ek employee er hole block er simana par hoy
+    private static final int SPANNING_RECORDS = 1500;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void payrollRoundTripKeepsOrderAcrossBlocks() throws IOException {
+        List<PayrollRecord> records = new ArrayList<>();
+        records.add(payroll(1L, 1, 25000.50, 100.0));
+        records.add(payroll(1L, 2, 25000.50, null));
+        for (int i = 0; i < SPANNING_RECORDS; i++) {
+            records.add(payroll(2L, 1 + i % 12, 40000.0 + i, 0.01));
+        }
+        records.add(payroll(3L, 12, 12345.67, 99.99));
+        Path file = writePayroll(records);
+
+        ArchiveSegment segment = ArchiveSegment.open(file);
+
+        assertEquals(ArchiveSegment.KIND_PAYROLL, segment.getKind());
+        assertEquals(YEAR, segment.getYear());
+        assertEquals(records.size(), segment.getRecordCount());
+        assertEquals(records.size(), segment.verify());
+        assertTrue(segment.getBlockCount() >= 3, () -> "Expected employee 2 to span blocks, got "
+                + segment.getBlockCount() + " block(s)");
+        assertEquals(records, segment.scan(ArchiveRecordCodec::readPayroll, r -> true));
+
+        assertEquals(records.subList(0, 2), segment.findByKey(1L, ArchiveRecordCodec::readPayroll));
+        assertEquals(records.subList(2, 2 + SPANNING_RECORDS), segment.findByKey(2L, ArchiveRecordCodec::readPayroll));
+        assertEquals(records.subList(records.size() - 1, records.size()),
+                segment.findByKey(3L, ArchiveRecordCodec::readPayroll));
+        assertEquals(List.of(), segment.findByKey(0L, ArchiveRecordCodec::readPayroll));
+        assertEquals(List.of(), segment.findByKey(4L, ArchiveRecordCodec::readPayroll));
+    }
+
+    @Test
+    void findByIdUsesDirectory() throws IOException {
+        List<PayrollRecord> records = new ArrayList<>();
+        for (int i = 0; i < SPANNING_RECORDS; i++) {
+            records.add(payroll(5L + i / 100, 1 + i % 12, 30000.0, null));
+        }
+        ArchiveSegment segment = ArchiveSegment.open(writePayroll(records));
+
+        for (PayrollRecord expected : List.of(records.get(0), records.get(SPANNING_RECORDS / 2),
+                records.get(SPANNING_RECORDS - 1))) {
+            assertEquals(expected, segment.findById(expected.getId(), ArchiveRecordCodec::readPayroll,
+                    PayrollRecord::getId));
+        }
+        assertNull(segment.findById(UUID.randomUUID(), ArchiveRecordCodec::readPayroll, PayrollRecord::getId));
+    }
+
+    @Test
+    void attendanceRoundTripWithoutDirectory() throws IOException {
+        Attendance checkedIn = attendance(8L, LocalDate.of(YEAR, 3, 1), LocalTime.of(9, 1, 2, 345_678_000), null);
+        checkedIn.setStatus("CHECKED_IN");
+        checkedIn.setWorkHours(null);
+        Attendance disputed = attendance(8L, LocalDate.of(YEAR, 3, 2), LocalTime.of(9, 0), LocalTime.of(18, 30));
+        disputed.setStatus("DISPUTE_OPEN");
+        disputed.setDisputeReason("Card reader bondho chilo");
+        disputed.setOvertimeHours(2.675);
+        List<Attendance> rows = List.of(checkedIn, disputed,
+                attendance(9L, LocalDate.of(YEAR, 12, 31), LocalTime.of(8, 0), LocalTime.of(16, 0)));
+
+        Path file = dir.resolve("attendance-" + YEAR + ".seg");
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(file, ArchiveSegment.KIND_ATTENDANCE, YEAR, false)) {
+            for (Attendance att : rows) {
+                writer.append(att.getEmployeeId(), null, ArchiveRecordCodec.encode(att));
+            }
+            writer.finish();
+        }
+        ArchiveSegment segment = ArchiveSegment.open(file);
+
+        assertEquals(rows.subList(0, 2), segment.findByKey(8L, ArchiveRecordCodec::readAttendance));
+        assertEquals(rows, segment.scan(ArchiveRecordCodec::readAttendance, a -> true));
+        assertNull(segment.findById(UUID.randomUUID(), ArchiveRecordCodec::readAttendance, a -> null));
+    }
+
+    @Test
+    void writerRejectsKeysOutOfOrder() throws IOException {
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(dir.resolve("bad.seg"),
+                ArchiveSegment.KIND_PAYROLL, YEAR, true)) {
+            PayrollRecord second = payroll(2L, 1, 1000.0, null);
+            writer.append(second.getEmployeeId(), second.getId(), ArchiveRecordCodec.encode(second));
+            PayrollRecord first = payroll(1L, 1, 1000.0, null);
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(first.getEmployeeId(), first.getId(), ArchiveRecordCodec.encode(first)));
+        }
+    }
+
+    // Block er CRC: open hoy (footer thik), kintu oi block pora/verify fail
+    @Test
+    void corruptedBlockIsRejected() throws IOException {
+        List<PayrollRecord> records = new ArrayList<>();
+        for (int i = 0; i < SPANNING_RECORDS; i++) {
+            records.add(payroll(1L + i / 500, 1 + i % 12, 20000.0, null));
+        }
+        byte[] bytes = Files.readAllBytes(writePayroll(records));
+        bytes[8 + 16 + 40] ^= 0x10; // Prothom block er deflate data er majhe
+
+        ArchiveSegment segment = ArchiveSegment.open(write("corrupt-block.seg", bytes));
+
+        assertThrows(IllegalStateException.class, segment::verify);
+        assertThrows(IllegalStateException.class, () -> segment.findByKey(1L, ArchiveRecordCodec::readPayroll));
+    }
+
+    @Test
+    void corruptedFooterIsRejected() throws IOException {
+        List<PayrollRecord> records = List.of(payroll(1L, 1, 20000.0, null), payroll(2L, 1, 30000.0, 500.0));
+        byte[] bytes = Files.readAllBytes(writePayroll(records));
+        int footer = bytes.length - 48;
+
+        // Offset (block count), record count, year, index/directory er byte, checksum, magic
+        for (int offset : new int[]{footer + 8, footer + 31, footer + 39, footer - 1, footer + 42, footer + 46}) {
+            byte[] corrupt = Arrays.copyOf(bytes, bytes.length);
+            corrupt[offset] ^= 0x01;
+            Path file = write("corrupt-footer-" + offset + ".seg", corrupt);
+            assertThrows(IOException.class, () -> ArchiveSegment.open(file), () -> "Footer byte " + offset);
+        }
+
+        Path truncated = write("truncated.seg", Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> ArchiveSegment.open(truncated));
+    }
+
+    // --- Helpers ---
+
+    private Path writePayroll(List<PayrollRecord> records) throws IOException {
+        Path file = dir.resolve("payroll-" + YEAR + ".seg");
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(file, ArchiveSegment.KIND_PAYROLL, YEAR, true)) {
+            for (PayrollRecord record : records) {
+                writer.append(record.getEmployeeId(), record.getId(), ArchiveRecordCodec.encode(record));
+            }
+            writer.finish();
+            assertEquals(records.size(), writer.getRecordCount());
+        }
+        return file;
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(dir.resolve(name), bytes);
+    }
+
+    private static PayrollRecord payroll(Long employeeId, int month, double basic, Double bonus) {
+        PayrollRecord record = new PayrollRecord();
+        record.setId(UUID.randomUUID());
+        record.setEmployeeId(employeeId);
+        record.setEmployeeName("Archive Employee " + employeeId);
+        record.setDesignation(employeeId % 2 == 0 ? "Manager" : null);
+        record.setMonth(month);
+        record.setYear(YEAR);
+        record.setBasicSalary(basic);
+        record.setBonus(bonus);
+        record.setDeductions(125.75);
+        record.setNetPay(Money.toMajor(Money.ofMajor(basic) - 12575)); // Archive paisa te rakhe
+        record.setPaymentDate(LocalDate.of(YEAR, month, 28));
+        return record;
+    }
+
+    private static Attendance attendance(Long employeeId, LocalDate date, LocalTime in, LocalTime out) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(employeeId);
+        att.setDate(date);
+        att.setCheckInTime(in);
+        att.setCheckOutTime(out);
+        att.setStatus("PRESENT");
+        att.setWorkHours(8.0);
+        att.setOvertimeHours(0.0);
+        att.setPresent(true);
+        return att;
+    }
+}
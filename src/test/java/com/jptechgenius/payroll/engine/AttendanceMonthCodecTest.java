@@ -0,0 +1,102 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * [Attendance Month Codec]
+ * Pack -> unpack hubohu ager row ferot dey kina (reopenMonth ei row gula i save kore), ar ja hubohu
+ * rakha jay na ta pack na kore daily row e rakhe kina. Database lage na.
+ */
+class AttendanceMonthCodecTest {
+
+    private static final Long EMPLOYEE = 7L;
+    private static final YearMonth MONTH = YearMonth.of(2031, 1); // 31 din - shesh bit o dekha hoy
+
+    @Test
+    void packUnpackRoundTripKeepsSeconds() {
+        List<Attendance> rows = List.of(
+                row(1, "PRESENT", LocalTime.of(9, 3, 27), LocalTime.of(17, 45, 59), 8.71, 0.71, true),
+                row(2, "SHORT_WORK", LocalTime.of(0, 0, 1), LocalTime.of(23, 59, 59), 6.5, 0.0, false),
+                row(15, "CHECKED_IN", LocalTime.of(10, 0), null, null, null, true),
+                row(20, null, null, null, 0.0, 0.0, false),
+                row(31, "ABSENT", null, null, 0.0, 0.0, false));
+
+        AttendanceMonth packed = AttendanceMonthCodec.pack(EMPLOYEE, MONTH, rows);
+
+        assertNotNull(packed);
+        assertEquals(31 * AttendanceMonthCodec.BYTES_PER_DAY, packed.getPackedDays().length);
+        assertEquals(rows, AttendanceMonthCodec.unpack(packed));
+        assertEquals(0.71, packed.getOvertimeHours(), 1e-9);
+        assertNull(AttendanceMonthCodec.dayOf(packed, 3));
+    }
+
+    @Test
+    void subSecondTimesAreNotPacked() {
+        List<Attendance> rows = List.of(
+                row(1, "PRESENT", LocalTime.of(9, 3, 27), LocalTime.of(17, 45, 59, 123_000), 8.71, 0.71, true));
+
+        assertNull(AttendanceMonthCodec.pack(EMPLOYEE, MONTH, rows));
+    }
+
+    @Test
+    void hoursBeyondTwoDecimalsAreNotPacked() {
+        List<Attendance> rows = List.of(
+                row(1, "PRESENT", LocalTime.of(9, 0), LocalTime.of(18, 0), 9.0, 2.675, true));
+
+        assertNull(AttendanceMonthCodec.pack(EMPLOYEE, MONTH, rows));
+    }
+
+    // Prothom format (din prati 9 byte, minute-of-day) er row ekhono database e thakte pare
+    @Test
+    void legacyMinuteRowsStillUnpack() {
+        byte[] legacy = new byte[31 * 9];
+        int offset = 4 * 9; // 5 tarikh
+        legacy[offset] = 3; // PRESENT
+        putShort(legacy, offset + 1, 9 * 60 + 5);
+        putShort(legacy, offset + 3, 0xFFFF); // check-out nai
+        putShort(legacy, offset + 5, 825);
+        putShort(legacy, offset + 7, 25);
+
+        AttendanceMonth month = new AttendanceMonth();
+        month.setEmployeeId(EMPLOYEE);
+        month.setMonth(MONTH.getMonthValue());
+        month.setYear(MONTH.getYear());
+        month.setDays(31);
+        month.setPresentBits(1 << 4);
+        month.setPackedDays(legacy);
+
+        assertEquals(List.of(row(5, "PRESENT", LocalTime.of(9, 5), null, 8.25, 0.25, true)),
+                AttendanceMonthCodec.unpack(month));
+    }
+
+    // --- Helpers ---
+
+    private static Attendance row(int day, String status, LocalTime in, LocalTime out,
+                                  Double workHours, Double overtimeHours, boolean present) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(EMPLOYEE);
+        att.setDate(MONTH.atDay(day));
+        att.setStatus(status);
+        att.setCheckInTime(in);
+        att.setCheckOutTime(out);
+        att.setWorkHours(workHours);
+        att.setOvertimeHours(overtimeHours);
+        att.setPresent(present);
+        return att;
+    }
+
+    private static void putShort(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 8);
+        bytes[offset + 1] = (byte) value;
+    }
+}
@@ -0,0 +1,118 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.config.PayrollPolicyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * [Compiled Payroll Policy]
+ * Config er stage order hubohu thake kina (duibar deya stage o), workdayBits er bit (d-1) = d tarikh
+ * karjodibos kina, ar weekend er HQL (Sunday = 1) / ISO (Monday = 1) number thik kina. Database lage na.
+ */
+class CompiledPayrollPolicyTest {
+
+    @Test
+    void stagesKeepConfiguredOrder() {
+        PayrollPolicyProperties props = new PayrollPolicyProperties();
+        props.setEarnings(List.of(PayrollStageType.OVERTIME, PayrollStageType.BASIC_PRORATED));
+        props.setDeductions(List.of(PayrollStageType.PENALTY, PayrollStageType.TAX, PayrollStageType.PENALTY));
+
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(props, 3, 2031);
+
+        assertArrayEquals(new PayrollStageType[]{PayrollStageType.OVERTIME, PayrollStageType.BASIC_PRORATED},
+                policy.getEarningStages());
+        assertArrayEquals(new PayrollStageType[]{PayrollStageType.PENALTY, PayrollStageType.TAX, PayrollStageType.PENALTY},
+                policy.getDeductionStages());
+        assertEquals(2, policy.stageCount(PayrollStageType.PENALTY));
+        assertEquals(1, policy.stageCount(PayrollStageType.TAX));
+        assertEquals(0, policy.stageCount(PayrollStageType.FIXED_DEDUCTION));
+        assertEquals(1, policy.stageCount(PayrollStageType.OVERTIME));
+    }
+
+    @Test
+    void stageOfWrongKindIsRejected() {
+        PayrollPolicyProperties props = new PayrollPolicyProperties();
+        props.setDeductions(List.of(PayrollStageType.TAX, PayrollStageType.OVERTIME));
+
+        assertThrows(IllegalStateException.class, () -> CompiledPayrollPolicy.compile(props, 3, 2031));
+    }
+
+    @Test
+    void workdayBitsSkipFridays() {
+        // March 2031: 31 din, Friday 7, 14, 21, 28
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(new PayrollPolicyProperties(), 3, 2031);
+
+        int expected = 0x7FFFFFFF & ~(1 << 6) & ~(1 << 13) & ~(1 << 20) & ~(1 << 27);
+        assertEquals(expected, policy.getWorkdayBits());
+        assertEquals(27, policy.getWorkingDays());
+        assertEquals(policy.getWorkingDays(), Integer.bitCount(policy.getWorkdayBits()));
+    }
+
+    @Test
+    void workdayBitsFollowEveryDayOfTheMonth() {
+        PayrollPolicyProperties props = new PayrollPolicyProperties();
+        props.setWeekendDays(List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+
+        for (int month = 1; month <= 12; month++) {
+            CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(props, month, 2032); // 2032 leap year
+            int workingDays = 0;
+            for (LocalDate date = policy.getStartDate(); !date.isAfter(policy.getEndDate()); date = date.plusDays(1)) {
+                boolean workday = date.getDayOfWeek() != DayOfWeek.FRIDAY && date.getDayOfWeek() != DayOfWeek.SATURDAY;
+                boolean bit = (policy.getWorkdayBits() & (1 << (date.getDayOfMonth() - 1))) != 0;
+                assertEquals(workday, bit, date.toString());
+                workingDays += workday ? 1 : 0;
+            }
+            // Masher shesh diner porer bit gula faka
+            assertEquals(0, policy.getWorkdayBits() >>> policy.getEndDate().getDayOfMonth());
+            assertEquals(workingDays, policy.getWorkingDays());
+        }
+    }
+
+    @Test
+    void weekendDaysMapToHqlAndIsoNumbers() {
+        PayrollPolicyProperties props = new PayrollPolicyProperties();
+        props.setWeekendDays(List.of(DayOfWeek.FRIDAY, DayOfWeek.SUNDAY));
+
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(props, 3, 2031);
+
+        assertEquals(List.of(6, 1), policy.getWeekendHqlDays());
+        assertEquals(List.of(5, 7), policy.getWeekendIsoDays());
+        assertEquals(2, CompiledPayrollPolicy.toHqlDayOfWeek(DayOfWeek.MONDAY));
+        assertEquals(7, CompiledPayrollPolicy.toHqlDayOfWeek(DayOfWeek.SATURDAY));
+    }
+
+    @Test
+    void noWeekendMakesEveryDayAWorkday() {
+        PayrollPolicyProperties props = new PayrollPolicyProperties();
+        props.setWeekendDays(List.of());
+
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(props, 2, 2031);
+
+        assertEquals(28, policy.getWorkingDays());
+        assertEquals((1 << 28) - 1, policy.getWorkdayBits());
+        // 'NOT IN ()' er bodole 0 - kono din baad pore na
+        assertEquals(List.of(0), policy.getWeekendHqlDays());
+        assertEquals(List.of(0), policy.getWeekendIsoDays());
+    }
+
+    @Test
+    void ratesCompileToIntegerFractions() {
+        PayrollPolicyProperties props = new PayrollPolicyProperties();
+        props.setOvertimeMultiplier(new BigDecimal("1.75"));
+        props.setTaxPercent(new BigDecimal("2.5"));
+
+        CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(props, 3, 2031);
+
+        assertEquals(175, policy.getOvertimeNumerator());
+        assertEquals(27L * 8 * 100 * 100, policy.getOvertimeDenominator());
+        assertEquals(250, policy.getTaxBasisPoints());
+    }
+}
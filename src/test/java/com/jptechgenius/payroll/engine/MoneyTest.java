@@ -0,0 +1,81 @@
+package com.jptechgenius.payroll.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * [Money]
+ * mulDiv er half-up (0.5 hole shunno theke dure, negative e o) BigDecimal HALF_UP er sathe mile kina,
+ * ar paisa <-> taka conversion. Database lage na.
+ */
+class MoneyTest {
+
+    @Test
+    void mulDivRoundsHalfUpAwayFromZero() {
+        assertEquals(1, Money.mulDiv(1, 1, 2));    // 0.5
+        assertEquals(2, Money.mulDiv(3, 1, 2));    // 1.5
+        assertEquals(3, Money.mulDiv(5, 1, 2));    // 2.5 - banker's rounding hole 2 hoto
+        assertEquals(-1, Money.mulDiv(-1, 1, 2));  // -0.5
+        assertEquals(-3, Money.mulDiv(-5, 1, 2));  // -2.5
+        assertEquals(-1, Money.mulDiv(1, 1, -2));  // negative denominator
+        assertEquals(1, Money.mulDiv(-1, 1, -2));
+    }
+
+    @Test
+    void mulDivBelowHalfRoundsTowardZero() {
+        assertEquals(0, Money.mulDiv(1, 1, 3));    // 0.333
+        assertEquals(1, Money.mulDiv(2, 1, 3));    // 0.667
+        assertEquals(0, Money.mulDiv(-1, 1, 3));
+        assertEquals(-1, Money.mulDiv(-2, 1, 3));
+        assertEquals(6, Money.mulDiv(10, 3, 5));   // exact
+        assertEquals(0, Money.mulDiv(0, 7, -9));
+    }
+
+    @Test
+    void mulDivMatchesBigDecimalHalfUp() {
+        for (long amount = -60; amount <= 60; amount++) {
+            for (long numerator = -7; numerator <= 7; numerator++) {
+                for (long denominator = -12; denominator <= 12; denominator++) {
+                    if (denominator == 0) {
+                        continue;
+                    }
+                    long expected = BigDecimal.valueOf(amount * numerator)
+                            .divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_UP)
+                            .longValueExact();
+                    assertEquals(expected, Money.mulDiv(amount, numerator, denominator),
+                            amount + " * " + numerator + " / " + denominator);
+                }
+            }
+        }
+    }
+
+    @Test
+    void mulDivOverflowThrows() {
+        assertThrows(ArithmeticException.class, () -> Money.mulDiv(Long.MAX_VALUE / 2 + 1, 2, 1));
+    }
+
+    @Test
+    void percentRoundsHalfUp() {
+        assertEquals(53, Money.percent(1050, 5));  // 52.5 paisa
+        assertEquals(-53, Money.percent(-1050, 5));
+        assertEquals(52, Money.percent(1049, 5));  // 52.45 paisa
+    }
+
+    @Test
+    void conversionKeepsExactPaisa() {
+        assertEquals(29, Money.ofMajor(0.29));     // 0.29 * 100 = 28.999999999999996
+        assertEquals(-1234, Money.ofMajor(-12.34));
+        assertEquals(0, Money.ofMajor(null));
+        assertEquals(1235, Money.of(new BigDecimal("12.345")));
+        assertEquals(-1235, Money.of(new BigDecimal("-12.345")));
+        assertEquals(1999, Money.of(19.99));
+        assertEquals(0, Money.of(null));
+        assertEquals(new BigDecimal("-0.05"), Money.toDecimal(-5));
+        assertEquals(12.34, Money.toMajor(1234));
+    }
+}
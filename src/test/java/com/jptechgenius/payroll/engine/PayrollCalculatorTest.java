@@ -0,0 +1,130 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.config.PayrollPolicyProperties;
+import com.jptechgenius.payroll.dto.AttendanceTotals;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * [Payroll Calculator]
+ * Paisa (long) engine er overtime, penalty, tax ar net pay ager BigDecimal hisab er sathe
+ * paisa porjonto mile kina: prottek bhag-fol ekbar half-up e 2 doshomik, baki jog-biyog exact.
+ * Default policy (Friday weekend, 8 ghonta, overtime 1.5x, tax 5%). Database lage na.
+ */
+class PayrollCalculatorTest {
+
+    // March 2031: 31 din, 4 ta Friday -> 27 karjodibos
+    private static final int MONTH = 3;
+    private static final int YEAR = 2031;
+
+    private final PayrollPolicyProperties props = new PayrollPolicyProperties();
+    private final CompiledPayrollPolicy policy = CompiledPayrollPolicy.compile(props, MONTH, YEAR);
+    private final PayrollCalculator calculator = new PayrollCalculator();
+
+    @Test
+    void pinnedRecord() {
+        PayrollRecord record = calculate(27000.0, 250.0, 20, 10.0, 150.55);
+
+        assertEquals(27, policy.getWorkingDays());
+        assertEquals(20000.00, record.getBasicSalary());
+        assertEquals(1875.00, record.getBonus());       // 27000 / 27 / 8 * 1.5 * 10
+        assertEquals(1400.55, record.getDeductions());  // 1000 tax + 150.55 fine + 250 fixed
+        assertEquals(20474.45, record.getNetPay());
+    }
+
+    @Test
+    void pinnedRecordWithRounding() {
+        PayrollRecord record = calculate(33333.33, null, 19, 2.75, 0.01);
+
+        assertEquals(23456.79, record.getBasicSalary()); // 23456.7877...
+        assertEquals(636.57, record.getBonus());         // 636.5740...
+        assertEquals(1172.85, record.getDeductions());   // 1172.84 tax (1172.8395) + 0.01 fine
+        assertEquals(22920.51, record.getNetPay());
+    }
+
+    @Test
+    void matchesBigDecimalBaseline() {
+        List<Double> basics = List.of(12345.67, 30000.0, 33333.33, 45000.0, 99999.99);
+        List<Double> overtimes = List.of(0.0, 0.01, 0.25, 2.75, 7.5, 13.33);
+        List<Double> penalties = List.of(0.0, 0.01, 49.45, 200.0);
+        for (double basic : basics) {
+            for (int present = 0; present <= policy.getWorkingDays(); present += 4) {
+                for (double overtime : overtimes) {
+                    for (double penalty : penalties) {
+                        PayrollRecord record = calculate(basic, 100.0, present, overtime, penalty);
+                        Baseline expected = baseline(basic, 100.0, present, overtime, penalty);
+                        String label = basic + " / " + present + " days / " + overtime + " h / " + penalty;
+
+                        assertEquals(paisa(expected.payable()), Money.ofMajor(record.getBasicSalary()), label);
+                        assertEquals(paisa(expected.overtime()), Money.ofMajor(record.getBonus()), label);
+                        assertEquals(paisa(expected.deductions()), Money.ofMajor(record.getDeductions()), label);
+                        assertEquals(paisa(expected.netPay()), Money.ofMajor(record.getNetPay()), label);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void noAttendanceStillDeductsPenaltyAndFixed() {
+        Employee emp = employee(30000.0, 250.0);
+        PayrollRecord record = calculator.calculate(emp, policy, null, Money.ofMajor(100.0));
+
+        assertEquals(0.0, record.getBasicSalary());
+        assertEquals(0.0, record.getBonus());
+        assertEquals(350.0, record.getDeductions());
+        assertEquals(-350.0, record.getNetPay());
+    }
+
+    // --- Helpers ---
+
+    private PayrollRecord calculate(double basic, Double fixed, long present, double overtime, double penalty) {
+        Employee emp = employee(basic, fixed);
+        return calculator.calculate(emp, policy, new AttendanceTotals(emp.getId(), present, overtime),
+                Money.ofMajor(penalty));
+    }
+
+    /**
+     * Ager BigDecimal hisab: payable = basic * present / workingDays,
+     * overtime = basic / workingDays / hoursPerDay * multiplier * hours, tax = payable * 5% -
+     * prottek ta alada half-up e paisa, tarpor jog-biyog.
+     */
+    private Baseline baseline(double basic, Double fixed, long present, double overtime, double penalty) {
+        BigDecimal basicTaka = BigDecimal.valueOf(basic);
+        BigDecimal workingDays = BigDecimal.valueOf(policy.getWorkingDays());
+
+        BigDecimal payable = basicTaka.multiply(BigDecimal.valueOf(present))
+                .divide(workingDays, 2, RoundingMode.HALF_UP);
+        BigDecimal overtimePay = basicTaka.multiply(BigDecimal.valueOf(overtime)).multiply(props.getOvertimeMultiplier())
+                .divide(workingDays.multiply(BigDecimal.valueOf(props.getHoursPerDay())), 2, RoundingMode.HALF_UP);
+        BigDecimal tax = payable.multiply(props.getTaxPercent())
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal deductions = tax.add(BigDecimal.valueOf(penalty))
+                .add(fixed == null ? BigDecimal.ZERO : BigDecimal.valueOf(fixed));
+        return new Baseline(payable, overtimePay, deductions, payable.add(overtimePay).subtract(deductions));
+    }
+
+    private static long paisa(BigDecimal taka) {
+        return taka.movePointRight(2).setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+    }
+
+    private static Employee employee(double basic, Double fixed) {
+        Employee emp = new Employee();
+        emp.setId(7L);
+        emp.setName("Calculator Check");
+        emp.setDesignation("Software Engineer");
+        emp.setBasicSalary(basic);
+        emp.setDeductions(fixed);
+        return emp;
+    }
+
+    private record Baseline(BigDecimal payable, BigDecimal overtime, BigDecimal deductions, BigDecimal netPay) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.jptechgenius.payroll.engine;
+
+import com.jptechgenius.payroll.config.PayrollPolicyProperties;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.ChargeSheet;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import com.jptechgenius.payroll.service.PayrollService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * [SQL Engine Parity]
+ * Java engine (PayrollCalculator) ar set-based SQL engine same data te paisa porjonto same record
+ * ar same checksum dey kina. Test data te ichchha kore 'kothin' value: bhognangsho basic,
+ * 2.675 ghonta overtime, weekend e hajira, null deduction, SUSPENDED employee.
+ * Prottek test rollback hoy, tai database e kichu thake na.
+ */
+@SpringBootTest
+@Transactional
+class PayrollSqlEngineParityTest {
+
+    // Onek dure er mash, jate asol data r sathe na mile
+    private static final int MONTH = 3;
+    private static final int YEAR = 2031;
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private ChargeSheetRepository chargeSheetRepository;
+    @Autowired
+    private PayrollRepository payrollRepository;
+    @Autowired
+    private PayrollPolicyProperties policy;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        Employee engineer = employee("Parity Engineer", "Software Engineer", "01977000001", 33333.33, 250.0);
+        Employee manager = employee("Parity Manager", "Manager", "01977000002", 45000.0, 0.0);
+        Employee intern = employee("Parity Intern", "Intern", "01977000003", 12345.67, null);
+        Employee suspended = employee("Parity Suspended", "Manager", "01977000004", 50000.0, 100.0);
+        suspended.setStatus("SUSPENDED");
+        employeeRepository.saveAll(List.of(engineer, manager, intern, suspended));
+
+        LocalDate first = LocalDate.of(YEAR, MONTH, 1);
+        for (int day = 0; day < 20; day++) {
+            LocalDate date = first.plusDays(day);
+            attendanceRepository.save(attendance(engineer, date, true, day == 3 ? 2.675 : 0.125));
+            attendanceRepository.save(attendance(manager, date, day % 3 != 0, day == 5 ? 7.5 : 0.0));
+            attendanceRepository.save(attendance(suspended, date, true, 1.0));
+        }
+        // Intern shudhu weekend e esheche (present day 0, kintu overtime ache)
+        for (LocalDate date = first; date.getMonthValue() == MONTH; date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
+                attendanceRepository.save(attendance(intern, date, true, 3.33));
+            }
+        }
+
+        chargeSheetRepository.save(charge(engineer, 150.55, first.plusDays(2)));
+        chargeSheetRepository.save(charge(engineer, 49.45, first.plusDays(9)));
+        chargeSheetRepository.save(charge(intern, 0.01, first.plusDays(30)));
+        // Porer masher fine - ei mashe dhorbe na
+        chargeSheetRepository.save(charge(manager, 500.0, first.plusMonths(1)));
+
+        entityManager.flush();
+    }
+
+    @Test
+    void sqlEngineMatchesJavaEngine() {
+        assertParity();
+    }
+
+    @Test
+    void sqlEngineMatchesJavaEngineWithCustomPolicy() {
+        List<DayOfWeek> weekend = policy.getWeekendDays();
+        BigDecimal overtime = policy.getOvertimeMultiplier();
+        BigDecimal tax = policy.getTaxPercent();
+        List<PayrollStageType> deductions = policy.getDeductions();
+        try {
+            policy.setWeekendDays(List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+            policy.setOvertimeMultiplier(new BigDecimal("1.75"));
+            policy.setTaxPercent(new BigDecimal("2.5"));
+            // Fixed deduction bondho, penalty duibar (stage count parameter check)
+            policy.setDeductions(List.of(PayrollStageType.TAX, PayrollStageType.PENALTY, PayrollStageType.PENALTY));
+            assertParity();
+        } finally {
+            policy.setWeekendDays(weekend);
+            policy.setOvertimeMultiplier(overtime);
+            policy.setTaxPercent(tax);
+            policy.setDeductions(deductions);
+        }
+    }
+
+    // --- Helpers ---
+
+    private void assertParity() {
+        PayrollRunSummary javaSummary = payrollService.generateMonthlyPayroll(MONTH, YEAR);
+        Map<Long, List<Double>> javaRecords = savedRecords();
+
+        PayrollRunSummary sqlSummary = payrollService.generateMonthlyPayrollSql(MONTH, YEAR, PayrollProgressListener.NONE);
+        Map<Long, List<Double>> sqlRecords = savedRecords();
+
+        assertFalse(javaRecords.isEmpty());
+        assertEquals(javaRecords, sqlRecords);
+        assertEquals(javaSummary.employeeCount(), sqlSummary.employeeCount());
+        assertEquals(javaSummary.totalNetPayMinor(), sqlSummary.totalNetPayMinor());
+        assertEquals(javaSummary.checksum(), sqlSummary.checksum());
+    }
+
+    // employeeId -> [payable basic, bonus, deductions, net pay]
+    private Map<Long, List<Double>> savedRecords() {
+        entityManager.flush();
+        entityManager.clear();
+        Map<Long, List<Double>> records = new TreeMap<>();
+        for (PayrollRecord record : payrollRepository.findByMonthAndYear(MONTH, YEAR)) {
+            records.put(record.getEmployeeId(), List.of(record.getBasicSalary(), record.getBonus(),
+                    record.getDeductions(), record.getNetPay()));
+        }
+        return records;
+    }
+
+    private static Employee employee(String name, String designation, String phone, Double basic, Double deductions) {
+        Employee emp = new Employee();
+        emp.setName(name);
+        emp.setDesignation(designation);
+        emp.setDepartment("Parity");
+        emp.setPhoneNumber(phone);
+        emp.setEmail(phone + "@parity.test");
+        emp.setJoiningDate(LocalDate.of(2020, 1, 1));
+        emp.setBasicSalary(basic);
+        emp.setOvertimeRatePerHour(0.0);
+        emp.setDeductions(deductions);
+        return emp;
+    }
+
+    private static Attendance attendance(Employee emp, LocalDate date, boolean present, double overtimeHours) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(emp.getId());
+        att.setDate(date);
+        att.setPresent(present);
+        att.setOvertimeHours(overtimeHours);
+        att.setStatus("CHECKED_OUT");
+        return att;
+    }
+
+    private static ChargeSheet charge(Employee emp, double amount, LocalDate issueDate) {
+        ChargeSheet charge = new ChargeSheet();
+        charge.setEmployee(emp);
+        charge.setReason("Parity check");
+        charge.setPenaltyAmount(amount);
+        charge.setIssueDate(issueDate);
+        return charge;
+    }
+}
@@ -0,0 +1,243 @@
+package com.jptechgenius.payroll.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * [Hot Query Index Check]
+ * V4/V7 migration er index gula repository method er ASOL query plan e use hoy kina, ar masher attendance
+ * query shudhu oi masher partition e jay kina (V5).
+ * * Hath e lekha SQL na: repository method chalano hoy, Hibernate je SQL pathay SqlCapture (StatementInspector)
+ * dhore, tarpor PREPARE + EXPLAIN EXECUTE. Tai query bodlale (function-wrapped predicate, derived query er
+ * nam bodle onno column) ba index muche dile test fail kore.
+ * * Test database choto, tai Postgres emnitei Seq Scan beche nite pare. 'enable_seqscan = off'
+ * (shudhu ei transaction e) dile index thakle planner oitai ney; index na thakle tao Seq Scan dekhay.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.jptechgenius.payroll.repository.SqlCapture")
+@Transactional
+class HotQueryIndexTest {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private PayrollRepository payrollRepository;
+    @Autowired
+    private ChargeSheetRepository chargeSheetRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @BeforeEach
+    void preferIndexes() {
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    }
+
+    // attendance partitioned (V5): parent index er partition copy gula o mile (indexNames)
+    @Test
+    void attendanceLookupByEmployeeAndDateUsesIndex() {
+        assertIndexScan(capture(() -> attendanceRepository.findByEmployeeIdAndDate(1L, LocalDate.now())),
+                "uk_attendance_employee_date");
+    }
+
+    @Test
+    void attendanceDailyLogUsesIndex() {
+        assertIndexScan(capture(() -> attendanceRepository.findByDate(LocalDate.now())), "idx_attendance_date");
+    }
+
+    @Test
+    void attendanceMonthQueryTouchesOnePartition() {
+        DatePeriod month = DatePeriod.ofMonth(YearMonth.now());
+        String sql = capture(() -> attendanceRepository.findByEmployeeIdInPeriod(1L, month));
+        // Range er duita tarikh alada - type dekhe bosano value e start = end hoye jeto
+        String plan = explain(sql, "1", month.start().toString(), month.end().toString());
+
+        String partition = "attendance_p" + month.start().format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        assertTrue(plan.contains(partition), () -> "Expected partition " + partition + "\n" + plan);
+        assertEquals(1, plan.split("on attendance_", -1).length - 1, () -> "More than one partition scanned\n" + plan);
+    }
+
+    @Test
+    void payslipForMonthUsesIndex() {
+        assertIndexScan(capture(() -> payrollRepository.findByEmployeeIdAndMonthAndYear(1L, 3, 2031)),
+                "idx_payroll_records_employee_period");
+    }
+
+    // Portal "My Payslips": shesh 5 ta index ulta dike pore, employee er puro history sort na
+    @Test
+    void recentPayslipsUseIndex() {
+        assertIndexScan(capture(() -> payrollRepository.findByEmployeeIdOrderByYearDescMonthDesc(1L, Limit.of(5))),
+                "idx_payroll_records_employee_period");
+    }
+
+    @Test
+    void pendingChargeSheetsUseIndex() {
+        assertIndexScan(capture(() -> chargeSheetRepository.findByEmployeeIdAndStatus(1L, "PENDING")),
+                "idx_charge_sheets_employee_status_date");
+    }
+
+    @Test
+    void monthlyChargeSheetsUseIndex() {
+        assertIndexScan(capture(() -> chargeSheetRepository.findByEmployeeIdInPeriod(1L, DatePeriod.ofMonth(3, 2031))),
+                "idx_charge_sheets_employee_status_date");
+    }
+
+    // Keyset list page (V7): "ORDER BY sort, id LIMIT n" index theke pora hoy, puro table sort na
+    @Test
+    void employeeDirectoryPageUsesIndex() {
+        ScrollPosition after = ScrollPosition.forward(keys("name", "M", "id", 10L));
+        assertIndexScan(capture(() -> employeeRepository.findBy(EmployeeRepository.directoryFilter(null, null, null),
+                        query -> query.sortBy(EmployeeRepository.directorySort("name")).limit(25).scroll(after))),
+                "idx_employees_name_id");
+    }
+
+    @Test
+    void salarySheetPageUsesIndex() {
+        ScrollPosition after = ScrollPosition.forward(keys("employeeName", "M", "id", 10L));
+        assertIndexScan(capture(() -> payrollRepository.findBy(PayrollRepository.sheetFilter(3, 2031, null),
+                        query -> query.sortBy(PayrollRepository.sheetSort("name")).limit(25).scroll(after))),
+                "idx_payroll_records_period_name");
+    }
+
+    // users.employee_id er index V3 er UNIQUE constraint theke (V4 er alada index V10 muche feleche)
+    @Test
+    void userByEmployeeUsesIndex() {
+        assertIndexScan(capture(() -> userRepository.findByEmployeeId(1L)), "users_employee_id_key");
+    }
+
+    @Test
+    void passwordResetTokenLookupUsesIndex() {
+        assertIndexScan(capture(() -> passwordResetTokenRepository.findByToken("abc")), "idx_password_reset_token_token");
+    }
+
+    // --- Helpers ---
+
+    /**
+     * Repository call ta chalay, Hibernate er pathano SELECT ta ferot dey.
+     */
+    private String capture(Runnable repositoryCall) {
+        entityManager.flush();
+        SqlCapture.clear();
+        repositoryCall.run();
+        return SqlCapture.lastSelect();
+    }
+
+    private void assertIndexScan(String sql, String expectedIndex) {
+        String plan = explain(sql);
+        assertFalse(plan.contains("Seq Scan"), () -> "Sequential scan for: " + sql + "\n" + plan);
+        List<String> names = indexNames(expectedIndex);
+        assertTrue(names.stream().anyMatch(plan::contains),
+                () -> "Expected " + expectedIndex + " for: " + sql + "\n" + plan);
+    }
+
+    /**
+     * Hibernate er '?' -> $1..$n, PREPARE, tarpor EXPLAIN EXECUTE. values na dile prottek parameter er
+     * type dekhe ekta sadharon value (plan er shape er jonno exact value lage na).
+     */
+    private String explain(String sql, String... values) {
+        entityManager.createNativeQuery("PREPARE hot_query AS " + numberParameters(sql)).executeUpdate();
+        try {
+            List<String> args = new ArrayList<>(List.of(values));
+            if (args.isEmpty()) {
+                String types = String.valueOf(entityManager.createNativeQuery(
+                        "SELECT CAST(parameter_types AS text) FROM pg_prepared_statements WHERE name = 'hot_query'")
+                        .getSingleResult());
+                for (String type : types.replaceAll("[{}\"]", "").split(",")) {
+                    if (!type.isBlank()) {
+                        args.add(sampleValue(type.trim()));
+                    }
+                }
+            }
+            String call = args.isEmpty() ? "EXPLAIN EXECUTE hot_query"
+                    : args.stream().map(v -> "'" + v.replace("'", "''") + "'")
+                    .collect(Collectors.joining(", ", "EXPLAIN EXECUTE hot_query(", ")"));
+            @SuppressWarnings("unchecked")
+            List<Object> rows = entityManager.createNativeQuery(call).getResultList();
+            return rows.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+        } finally {
+            entityManager.createNativeQuery("DEALLOCATE hot_query").executeUpdate();
+        }
+    }
+
+    /**
+     * Index er nam + partitioned parent hole tar partition gular index (Postgres nijer nam dey).
+     */
+    private List<String> indexNames(String index) {
+        @SuppressWarnings("unchecked")
+        List<Object> children = entityManager.createNativeQuery(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = '" + index + "'")
+                .getResultList();
+        List<String> names = new ArrayList<>();
+        names.add(index);
+        children.forEach(child -> names.add(String.valueOf(child)));
+        return names;
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int next = 1;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                out.append('$').append(next++);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String sampleValue(String type) {
+        if (type.startsWith("date")) {
+            return "2031-03-01";
+        }
+        if (type.startsWith("timestamp")) {
+            return "2031-03-01 09:00:00";
+        }
+        if (type.startsWith("time")) {
+            return "09:00:00";
+        }
+        if (type.equals("boolean")) {
+            return "true";
+        }
+        if (type.equals("bigint") || type.equals("integer") || type.equals("smallint") || type.equals("numeric")) {
+            return "3";
+        }
+        return "M"; // text, character varying
+    }
+
+    private static Map<String, Object> keys(String sortKey, Object sortValue, String idKey, Object idValue) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortKey, sortValue);
+        keys.put(idKey, idValue);
+        return keys;
+    }
+}
@@ -0,0 +1,112 @@
+package com.jptechgenius.payroll.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * [Keyset Cursor]
+ * encode -> decode hubohu same ScrollPosition dey kina (sob value type, direction, key er order),
+ * ar bhul/purono/hat e bodlano cursor ba onno sort er cursor first page e jay kina. Database lage na.
+ */
+class KeysetCursorTest {
+
+    private static final Sort SORT = Sort.by("name", "joiningDate", "basicSalary", "month", "recordId", "email", "id");
+
+    @Test
+    void forwardRoundTripKeepsEveryValueType() {
+        ScrollPosition position = ScrollPosition.forward(keys());
+
+        String token = KeysetCursor.encode(position);
+        ScrollPosition decoded = KeysetCursor.decode(token, SORT);
+
+        assertEquals(position, decoded);
+        // Key er order o thake (query te sort er order e lage)
+        assertEquals(List.copyOf(keys().keySet()), List.copyOf(((KeysetScrollPosition) decoded).getKeys().keySet()));
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void backwardRoundTrip() {
+        ScrollPosition position = ScrollPosition.backward(Map.of("name", "Rahim", "id", 42L));
+
+        ScrollPosition decoded = KeysetCursor.decode(KeysetCursor.encode(position), Sort.by("name", "id"));
+
+        assertEquals(position, decoded);
+        assertTrue(((KeysetScrollPosition) decoded).scrollsBackward());
+    }
+
+    @Test
+    void offsetRoundTrip() {
+        assertEquals(ScrollPosition.offset(40), KeysetCursor.decode(KeysetCursor.encode(ScrollPosition.offset(40)), SORT));
+    }
+
+    @Test
+    void firstPageHasNoCursor() {
+        assertNull(KeysetCursor.encode(ScrollPosition.keyset()));
+        assertNull(KeysetCursor.encode(null));
+        assertTrue(KeysetCursor.decode(null, SORT).isInitial());
+        assertTrue(KeysetCursor.decode(" ", SORT).isInitial());
+    }
+
+    @Test
+    void cursorOfAnotherSortFallsBackToFirstPage() {
+        String token = KeysetCursor.encode(ScrollPosition.forward(Map.of("name", "Rahim", "id", 42L)));
+
+        assertTrue(KeysetCursor.decode(token, Sort.by("email", "id")).isInitial());
+        assertTrue(KeysetCursor.decode(token, Sort.by("name")).isInitial());
+    }
+
+    @Test
+    void brokenCursorFallsBackToFirstPage() {
+        String token = KeysetCursor.encode(ScrollPosition.forward(keys()));
+
+        assertTrue(KeysetCursor.decode("not a cursor!", SORT).isInitial());             // Base64 na
+        assertTrue(KeysetCursor.decode(token.substring(0, token.length() - 4), SORT).isInitial()); // kata
+        assertTrue(KeysetCursor.decode(encoded('X'), SORT).isInitial());               // ochena direction
+        assertTrue(KeysetCursor.decode(encoded('F', 1, 0, 4, 'n', 'a', 'm', 'e', '?'), SORT).isInitial()); // ochena type
+    }
+
+    @Test
+    void unsupportedValueTypeIsRejectedOnEncode() {
+        ScrollPosition position = ScrollPosition.forward(Map.of("basicSalary", new BigDecimal("1.00")));
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.encode(position));
+    }
+
+    // --- Helpers ---
+
+    private static Map<String, Object> keys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Ab\u00e9 Rahim");
+        keys.put("joiningDate", LocalDate.of(2020, 2, 29));
+        keys.put("basicSalary", 33333.33);
+        keys.put("month", 12);
+        keys.put("recordId", UUID.fromString("3f1c2a9e-8d1b-4c57-9a0e-5b7d2f6c1e40"));
+        keys.put("email", null);
+        keys.put("id", Long.MAX_VALUE);
+        return keys;
+    }
+
+    private static String encoded(int... bytes) {
+        byte[] raw = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            raw[i] = (byte) bytes[i];
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+}
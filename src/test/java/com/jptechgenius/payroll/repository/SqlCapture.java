@@ -0,0 +1,39 @@
+package com.jptechgenius.payroll.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * [SQL Capture]
+ * Test e Hibernate je SQL ta asole pathay (repository method theke) seta dhore rakhe.
+ * 'hibernate.session_factory.statement_inspector' e class er nam dile Hibernate nije banay.
+ */
+public final class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * clear() er por shesh SELECT (repository method er query).
+     */
+    static String lastSelect() {
+        for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+            String sql = STATEMENTS.get(i);
+            if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                return sql;
+            }
+        }
+        throw new IllegalStateException("No SELECT captured: " + STATEMENTS);
+    }
+}
@@ -0,0 +1,236 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.engine.ArchiveRecordCodec;
+import com.jptechgenius.payroll.engine.ArchiveSegment;
+import com.jptechgenius.payroll.engine.AttendanceMonthCodec;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.AttendanceMonth;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.DatePeriod;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * [Cold Archive Merge Order]
+ * Re-archive e purono segment ar hot row (streamByYearOrderByEmployee) duita sorted iterator merge hoy -
+ * duitar order (employeeId, tarpor mash/tarikh) same na hole file er key order bhenge jay ar Writer
+ * exception dey. Ekhane hot row elomelo save kore dekhi: stream o order e ase, merge er por file
+ * key order e, ar same (employee, mash/din) e hot row jete.
+ * * archiveYear test er transaction e i chole, tai hot table er bodol rollback hoy; file gula
+ * alada directory te, test er age/pore muche.
+ */
+@SpringBootTest(properties = "app.archive.dir=target/cold-archive-test")
+@Transactional
+class ColdArchiveServiceTest {
+
+    // Onek purono bochor, jate asol data r sathe na mile
+    private static final int YEAR = 2001;
+
+    // ColdArchiveService er merge order
+    private static final Comparator<PayrollRecord> PAYROLL_ORDER =
+            Comparator.comparing(PayrollRecord::getEmployeeId).thenComparingInt(PayrollRecord::getMonth);
+
+    @Autowired
+    private ColdArchiveService coldArchive;
+    @Autowired
+    private PayrollRepository payrollRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${app.archive.dir}")
+    private String archiveDir;
+
+    @BeforeEach
+    @AfterEach
+    void cleanArchive() throws IOException {
+        Path root = Paths.get(archiveDir).toAbsolutePath();
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> files = Files.list(root)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    void hotPayrollStreamsInArchiveOrder() {
+        savePayroll(3L, 2);
+        savePayroll(5L, 1);
+        savePayroll(2L, 6);
+        savePayroll(3L, 1);
+        entityManager.flush();
+
+        List<PayrollRecord> streamed;
+        try (Stream<PayrollRecord> hot = payrollRepository.streamByYearOrderByEmployee(YEAR)) {
+            streamed = hot.toList();
+        }
+
+        assertEquals(List.of("2/6", "3/1", "3/2", "5/1"), streamed.stream().map(ColdArchiveServiceTest::key).toList());
+        assertEquals(streamed.stream().sorted(PAYROLL_ORDER).toList(), streamed);
+    }
+
+    @Test
+    void reArchiveMergesHotPayrollIntoSegmentInOrder() throws IOException {
+        PayrollRecord replaced = archived(3L, 1);
+        writePayrollSegment(List.of(archived(1L, 1), archived(1L, 2), replaced, archived(5L, 4)));
+
+        PayrollRecord newer = savePayroll(3L, 1);
+        savePayroll(3L, 2);
+        savePayroll(5L, 1);
+        savePayroll(2L, 6);
+        savePayroll(4L, 12);
+        entityManager.flush();
+
+        coldArchive.archiveYear(YEAR);
+
+        ArchiveSegment segment = ArchiveSegment.open(segmentFile("payroll"));
+        List<PayrollRecord> merged = segment.scan(ArchiveRecordCodec::readPayroll, r -> true);
+        assertEquals(List.of("1/1", "1/2", "2/6", "3/1", "3/2", "4/12", "5/1", "5/4"),
+                merged.stream().map(ColdArchiveServiceTest::key).toList());
+        assertEquals(merged.size(), segment.verify());
+
+        // Same (employee, mash): hot row thake, purono ta baad
+        assertEquals(newer.getId(), merged.get(3).getId());
+        assertTrue(coldArchive.findPayslip(replaced.getId()).isEmpty());
+        assertEquals(newer.getId(), coldArchive.findPayslip(newer.getId()).orElseThrow().getId());
+
+        // Hot table theke bochor ta gelo
+        entityManager.clear();
+        try (Stream<PayrollRecord> hot = payrollRepository.streamByYearOrderByEmployee(YEAR)) {
+            assertEquals(0, hot.count());
+        }
+    }
+
+    // Attendance e tin dhap: segment < compact mash < daily row (same din e daily jete)
+    @Test
+    void reArchiveMergesCompactAndDailyAttendanceInOrder() throws IOException {
+        Path file = segmentFile("attendance");
+        Files.createDirectories(file.getParent());
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(file, ArchiveSegment.KIND_ATTENDANCE, YEAR, false)) {
+            for (Attendance att : List.of(attendance(1L, LocalDate.of(YEAR, 1, 5), "ABSENT"),
+                    attendance(3L, LocalDate.of(YEAR, 2, 1), "ABSENT"))) {
+                writer.append(att.getEmployeeId(), null, ArchiveRecordCodec.encode(att));
+            }
+            writer.finish();
+        }
+
+        YearMonth january = YearMonth.of(YEAR, 1);
+        YearMonth february = YearMonth.of(YEAR, 2);
+        persistCompact(2L, january, List.of(attendance(2L, january.atDay(3), "PRESENT_MANUAL"),
+                attendance(2L, january.atDay(4), "PRESENT_MANUAL")));
+        persistCompact(3L, february, List.of(attendance(3L, february.atDay(1), "PRESENT_MANUAL")));
+        attendanceRepository.save(attendance(2L, january.atDay(4), "PRESENT"));
+        attendanceRepository.save(attendance(1L, LocalDate.of(YEAR, 3, 1), "PRESENT"));
+        entityManager.flush();
+
+        try (Stream<Attendance> daily = attendanceRepository.streamInPeriodOrderByEmployee(DatePeriod.ofYear(YEAR))) {
+            assertEquals(List.of("1/" + YEAR + "-03-01", "2/" + YEAR + "-01-04"),
+                    daily.map(ColdArchiveServiceTest::key).toList());
+        }
+
+        coldArchive.archiveYear(YEAR);
+
+        List<Attendance> merged = ArchiveSegment.open(file).scan(ArchiveRecordCodec::readAttendance, a -> true);
+        assertEquals(List.of("1/" + YEAR + "-01-05 ABSENT", "1/" + YEAR + "-03-01 PRESENT",
+                        "2/" + YEAR + "-01-03 PRESENT_MANUAL", "2/" + YEAR + "-01-04 PRESENT",
+                        "3/" + YEAR + "-02-01 PRESENT_MANUAL"),
+                merged.stream().map(att -> key(att) + " " + att.getStatus()).toList());
+    }
+
+    // --- Helpers ---
+
+    private PayrollRecord savePayroll(Long employeeId, int month) {
+        PayrollRecord record = payroll(employeeId, month);
+        return payrollRepository.save(record);
+    }
+
+    private static PayrollRecord archived(Long employeeId, int month) {
+        PayrollRecord record = payroll(employeeId, month);
+        record.setId(UUID.randomUUID());
+        return record;
+    }
+
+    private static PayrollRecord payroll(Long employeeId, int month) {
+        PayrollRecord record = new PayrollRecord();
+        record.setEmployeeId(employeeId);
+        record.setEmployeeName("Archive Employee " + employeeId);
+        record.setDesignation("Engineer");
+        record.setMonth(month);
+        record.setYear(YEAR);
+        record.setBasicSalary(30000.0);
+        record.setBonus(0.0);
+        record.setDeductions(250.5);
+        record.setNetPay(29749.5);
+        record.setPaymentDate(LocalDate.of(YEAR, month, 28));
+        return record;
+    }
+
+    private void writePayrollSegment(List<PayrollRecord> records) throws IOException {
+        Path file = segmentFile("payroll");
+        Files.createDirectories(file.getParent());
+        try (ArchiveSegment.Writer writer = new ArchiveSegment.Writer(file, ArchiveSegment.KIND_PAYROLL, YEAR, true)) {
+            for (PayrollRecord record : records) {
+                writer.append(record.getEmployeeId(), record.getId(), ArchiveRecordCodec.encode(record));
+            }
+            writer.finish();
+        }
+    }
+
+    private void persistCompact(Long employeeId, YearMonth month, List<Attendance> rows) {
+        AttendanceMonth compact = AttendanceMonthCodec.pack(employeeId, month, rows);
+        assertNotNull(compact);
+        entityManager.persist(compact);
+    }
+
+    private static Attendance attendance(Long employeeId, LocalDate date, String status) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(employeeId);
+        att.setDate(date);
+        att.setCheckInTime(LocalTime.of(9, 0, 15));
+        att.setCheckOutTime(LocalTime.of(17, 30, 45));
+        att.setStatus(status);
+        att.setWorkHours(8.5);
+        att.setOvertimeHours(0.5);
+        att.setPresent(!"ABSENT".equals(status));
+        return att;
+    }
+
+    private Path segmentFile(String table) {
+        return Paths.get(archiveDir).toAbsolutePath().resolve(table + "-" + YEAR + ".seg");
+    }
+
+    private static String key(PayrollRecord record) {
+        return record.getEmployeeId() + "/" + record.getMonth();
+    }
+
+    private static String key(Attendance att) {
+        return att.getEmployeeId() + "/" + att.getDate();
+    }
+}
@@ -0,0 +1,96 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * [Employee Portal Read Model]
+ * Load er majhe (query gula cholakalin) oi employee er invalidation ashle purono view cache e boshe na -
+ * porer request abar database theke pore. Invalidation na hole view cache theke ase.
+ * Service/repository mock - Spring context ba database lage na.
+ */
+class EmployeePortalReadModelTest {
+
+    private static final Long EMPLOYEE = 7L;
+    private static final Long OTHER_EMPLOYEE = 8L;
+    private static final YearMonth MONTH = YearMonth.of(2031, 3);
+
+    private final AttendanceService attendanceService = mock(AttendanceService.class);
+    private final PayrollService payrollService = mock(PayrollService.class);
+    private final ChargeSheetRepository chargeSheetRepository = mock(ChargeSheetRepository.class);
+    private final EmployeePortalReadModel readModel =
+            new EmployeePortalReadModel(attendanceService, payrollService, chargeSheetRepository);
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(readModel, "cacheSeconds", 30L);
+        ReflectionTestUtils.setField(readModel, "maxEntries", 5000);
+        ReflectionTestUtils.setField(readModel, "readTimeoutMillis", 2000L);
+    }
+
+    @Test
+    void invalidationDuringLoadKeepsTheViewOutOfTheCache() {
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(attendanceService.getMonthAttendance(EMPLOYEE, MONTH)).thenAnswer(invocation -> {
+            // Query porar por, view cache e rakhar age ei employee er hajira commit holo
+            if (first.getAndSet(false)) {
+                readModel.onAttendanceChanged(checkIn(EMPLOYEE));
+            }
+            return List.of();
+        });
+
+        readModel.dashboard(EMPLOYEE, MONTH);
+        readModel.dashboard(EMPLOYEE, MONTH);
+        readModel.dashboard(EMPLOYEE, MONTH);
+
+        // Prothom view cache e boseni, tai ditiyo bar abar load; tarpor cache theke
+        verify(attendanceService, times(2)).getMonthAttendance(EMPLOYEE, MONTH);
+    }
+
+    @Test
+    void viewIsCachedUntilItsEmployeeChanges() {
+        readModel.dashboard(EMPLOYEE, MONTH);
+        readModel.dashboard(EMPLOYEE, MONTH);
+        verify(attendanceService, times(1)).getMonthAttendance(EMPLOYEE, MONTH);
+
+        // Onno employee er bodol e ei view thake
+        readModel.onAttendanceChanged(checkIn(OTHER_EMPLOYEE));
+        readModel.dashboard(EMPLOYEE, MONTH);
+        verify(attendanceService, times(1)).getMonthAttendance(EMPLOYEE, MONTH);
+
+        readModel.onAttendanceChanged(checkIn(EMPLOYEE));
+        readModel.dashboard(EMPLOYEE, MONTH);
+        verify(attendanceService, times(2)).getMonthAttendance(EMPLOYEE, MONTH);
+
+        // Bulk DEDUCTED (employee null) - sob
+        readModel.onPenaltyChanged(PenaltyChangedEvent.deducted(3));
+        readModel.dashboard(EMPLOYEE, MONTH);
+        verify(attendanceService, times(3)).getMonthAttendance(EMPLOYEE, MONTH);
+    }
+
+    // --- Helpers ---
+
+    private static AttendanceChangedEvent checkIn(Long employeeId) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(employeeId);
+        att.setDate(LocalDate.of(2031, 3, 3));
+        att.setPresent(true);
+        att.setStatus("CHECKED_IN");
+        return AttendanceChangedEvent.created(att);
+    }
+}
@@ -0,0 +1,227 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.event.PayrollMonthChangedEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.ChargeSheet;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.model.PayrollShard;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import com.jptechgenius.payroll.repository.PayrollShardRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * [Payroll Cluster Service]
+ * Shard claim, timeout er por onno node er shard abar neya, runShard er "ekhono amar kina" check,
+ * ar mash ekbar e FINALIZED - fine shard er transaction e i DEDUCTED, ar shudhu ekbar.
+ * * Test er transaction e chole (writeTx oi transaction e join kore), tai background worker
+ * ei shard gula dekhte pay na, ar sob rollback hoy.
+ */
+@SpringBootTest(properties = {
+        "app.payroll.cluster.node-id=cluster-test-node",
+        "app.payroll.cluster.shards=2",
+        "app.payroll.cluster.claim-timeout-seconds=600"
+})
+@Transactional
+@RecordApplicationEvents
+class PayrollClusterServiceTest {
+
+    // Onek dure er mash, jate asol data r sathe na mile
+    private static final int MONTH = 7;
+    private static final int YEAR = 2031;
+    private static final String NODE = "cluster-test-node";
+
+    @Autowired
+    private PayrollClusterService clusterService;
+    @Autowired
+    private PayrollShardRepository shardRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private ChargeSheetRepository chargeSheetRepository;
+    @Autowired
+    private PayrollRepository payrollRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ApplicationEvents events;
+
+    private Employee engineer;
+    private Employee manager;
+    private List<ChargeSheet> monthCharges;
+    private ChargeSheet nextMonthCharge;
+
+    @BeforeEach
+    void seed() {
+        // Pashapashi id (employee_id % 2), tai duijon alada shard e pore
+        engineer = employee("Cluster Engineer", "01966000001");
+        manager = employee("Cluster Manager", "01966000002");
+        employeeRepository.saveAll(List.of(engineer, manager));
+
+        LocalDate first = LocalDate.of(YEAR, MONTH, 1);
+        for (int day = 0; day < 10; day++) {
+            attendanceRepository.save(attendance(engineer, first.plusDays(day)));
+            attendanceRepository.save(attendance(manager, first.plusDays(day)));
+        }
+
+        monthCharges = chargeSheetRepository.saveAll(List.of(
+                charge(engineer, 100.0, first.plusDays(2)),
+                charge(engineer, 25.5, first.plusDays(4)),
+                charge(manager, 40.0, first.plusDays(6))));
+        nextMonthCharge = chargeSheetRepository.save(charge(manager, 500.0, first.plusMonths(1)));
+
+        entityManager.flush();
+    }
+
+    @Test
+    void workerCommitsEveryShardAndFinalizesOnce() {
+        clusterService.startRun(MONTH, YEAR);
+        assertEquals(List.of("PENDING", "PENDING"), statuses());
+
+        clusterService.work();
+        clusterService.work(); // Ditiyo poll e kichu claim hoy na, finalize o abar hoy na
+
+        assertEquals(List.of("FINALIZED", "FINALIZED"), statuses());
+        assertEquals(1, events.stream(PayrollMonthChangedEvent.class).count());
+
+        for (PayrollShard shard : shards()) {
+            assertEquals(NODE, shard.getOwnerNode());
+            assertEquals(1, shard.getAttempts());
+        }
+        List<Long> paid = payrollRepository.findByMonthAndYear(MONTH, YEAR).stream()
+                .map(PayrollRecord::getEmployeeId)
+                .toList();
+        assertTrue(paid.containsAll(List.of(engineer.getId(), manager.getId())));
+
+        // Shard e DEDUCTED: ei masher 3 ta fine, ekbar e; porer masher ta PENDING e
+        assertEquals(monthCharges.size(), events.stream(PenaltyChangedEvent.class)
+                .filter(event -> "DEDUCTED".equals(event.toStatus()))
+                .mapToInt(PenaltyChangedEvent::count)
+                .sum());
+        for (ChargeSheet charge : monthCharges) {
+            assertEquals("DEDUCTED", statusOf(charge));
+        }
+        assertEquals("PENDING", statusOf(nextMonthCharge));
+    }
+
+    @Test
+    void staleClaimIsTakenOverButLiveClaimIsNot() {
+        clusterService.startRun(MONTH, YEAR);
+        List<PayrollShard> shards = shards();
+        // Shard 0: mara node, timeout er onek age claim; shard 1: onno node ekhono kaj korche
+        claim(shards.get(0), "dead-node", LocalDateTime.now().minusHours(2));
+        claim(shards.get(1), "live-node", LocalDateTime.now());
+        entityManager.flush();
+
+        clusterService.work();
+
+        List<PayrollShard> after = shards();
+        assertEquals("COMMITTED", after.get(0).getStatus());
+        assertEquals(NODE, after.get(0).getOwnerNode());
+        assertEquals(2, after.get(0).getAttempts());
+
+        assertEquals("RUNNING", after.get(1).getStatus());
+        assertEquals("live-node", after.get(1).getOwnerNode());
+        assertEquals(1, after.get(1).getAttempts());
+        // Ek shard baki, tai mash FINALIZED hoy na
+        assertEquals(0, events.stream(PayrollMonthChangedEvent.class).count());
+    }
+
+    @Test
+    void runShardSkipsShardOwnedByAnotherNode() {
+        clusterService.startRun(MONTH, YEAR);
+        PayrollShard shard = shards().get(0);
+        // Ei node claim korechilo, kintu runShard er age timeout e onno node niye geche
+        claim(shard, "other-node", LocalDateTime.now());
+        entityManager.flush();
+
+        ReflectionTestUtils.invokeMethod(clusterService, "runShard", shard);
+
+        PayrollShard after = shardRepository.findById(shard.getId()).orElseThrow();
+        assertEquals("RUNNING", after.getStatus());
+        assertEquals("other-node", after.getOwnerNode());
+        assertTrue(payrollRepository.findByMonthAndYear(MONTH, YEAR).isEmpty());
+        assertEquals(0, events.stream(PenaltyChangedEvent.class).count());
+        assertEquals("PENDING", statusOf(monthCharges.get(0)));
+    }
+
+    // --- Helpers ---
+
+    private List<PayrollShard> shards() {
+        entityManager.flush();
+        entityManager.clear();
+        return shardRepository.findByMonthAndYearOrderByShardIndex(MONTH, YEAR);
+    }
+
+    private List<String> statuses() {
+        return shards().stream().map(PayrollShard::getStatus).toList();
+    }
+
+    private String statusOf(ChargeSheet charge) {
+        entityManager.clear();
+        return chargeSheetRepository.findById(charge.getId()).orElseThrow().getStatus();
+    }
+
+    private void claim(PayrollShard shard, String node, LocalDateTime claimedAt) {
+        shard.setStatus("RUNNING");
+        shard.setOwnerNode(node);
+        shard.setAttempts(1);
+        shard.setClaimedAt(claimedAt);
+        shard.setUpdatedAt(claimedAt);
+        shardRepository.save(shard);
+    }
+
+    private static Employee employee(String name, String phone) {
+        Employee emp = new Employee();
+        emp.setName(name);
+        emp.setDesignation("Software Engineer");
+        emp.setDepartment("Cluster");
+        emp.setPhoneNumber(phone);
+        emp.setEmail(phone + "@cluster.test");
+        emp.setJoiningDate(LocalDate.of(2020, 1, 1));
+        emp.setBasicSalary(30000.0);
+        emp.setOvertimeRatePerHour(0.0);
+        emp.setDeductions(0.0);
+        return emp;
+    }
+
+    private static Attendance attendance(Employee emp, LocalDate date) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(emp.getId());
+        att.setDate(date);
+        att.setPresent(true);
+        att.setOvertimeHours(0.0);
+        att.setStatus("CHECKED_OUT");
+        return att;
+    }
+
+    private static ChargeSheet charge(Employee emp, double amount, LocalDate issueDate) {
+        ChargeSheet charge = new ChargeSheet();
+        charge.setEmployee(emp);
+        charge.setReason("Cluster check");
+        charge.setPenaltyAmount(amount);
+        charge.setIssueDate(issueDate);
+        return charge;
+    }
+}
@@ -0,0 +1,176 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.engine.PayrollBatchInput;
+import com.jptechgenius.payroll.engine.PayrollCalculator;
+import com.jptechgenius.payroll.engine.PayrollInputLoader;
+import com.jptechgenius.payroll.model.Attendance;
+import com.jptechgenius.payroll.model.Employee;
+import com.jptechgenius.payroll.model.PayrollDirtyMark;
+import com.jptechgenius.payroll.model.PayrollRecord;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.EmployeeRepository;
+import com.jptechgenius.payroll.repository.PayrollDirtyMarkRepository;
+import com.jptechgenius.payroll.repository.PayrollRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * [Payroll Dirty Tracking]
+ * Full run er por ekjon employee er hajira bodlale shudhu tar mark hoy, ar recomputeDirty shudhu
+ * tar record notun kore lekhe - onno der record (id soho) hubohu thake.
+ * Ar run cholakalin (load er por) asha mark writeMonth muche fele na.
+ * * Mark commit er PORE lekha hoy (PayrollDirtyTracker), tai ei test @Transactional na - prottek
+ * dhap nijer transaction e commit hoy, ar data @AfterEach e muche fela hoy.
+ */
+@SpringBootTest
+class PayrollDirtyTrackingTest {
+
+    // Onek dure er mash, jate asol data r sathe na mile
+    private static final int MONTH = 5;
+    private static final int YEAR = 2031;
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PayrollInputLoader inputLoader;
+    @Autowired
+    private PayrollCalculator payrollCalculator;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private PayrollRepository payrollRepository;
+    @Autowired
+    private PayrollDirtyMarkRepository markRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Employee changed;
+    private Employee untouched;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            changed = employee("Dirty Changed", "01988000001");
+            untouched = employee("Dirty Untouched", "01988000002");
+            employeeRepository.saveAll(List.of(changed, untouched));
+
+            LocalDate first = LocalDate.of(YEAR, MONTH, 1);
+            List<Attendance> rows = new ArrayList<>();
+            for (int day = 0; day < 20; day++) {
+                rows.add(attendance(changed, first.plusDays(day)));
+                rows.add(attendance(untouched, first.plusDays(day)));
+            }
+            attendanceRepository.saveAll(rows);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            payrollRepository.deleteAllInBatch(payrollRepository.findByMonthAndYear(MONTH, YEAR));
+            for (Employee emp : List.of(changed, untouched)) {
+                attendanceRepository.deleteByEmployeeId(emp.getId());
+                employeeRepository.deleteById(emp.getId());
+            }
+        });
+        // Upore delete er mark o commit er por lekha hoy, tai alada transaction e
+        tx.executeWithoutResult(status -> markRepository.deleteByMonthAndYear(MONTH, YEAR));
+    }
+
+    @Test
+    void recomputeDirtyRewritesOnlyTheChangedEmployee() {
+        payrollService.generateMonthlyPayroll(MONTH, YEAR);
+        // Seed er mark full run er load er age lekha, tai run sob muche feleche
+        assertEquals(0, payrollService.countDirty(MONTH, YEAR));
+        Map<Long, PayrollRecord> before = records();
+
+        tx.executeWithoutResult(status -> {
+            Attendance row = attendanceRepository.findByEmployeeIdAndDate(changed.getId(), LocalDate.of(YEAR, MONTH, 3))
+                    .orElseThrow();
+            row.setOvertimeHours(4.0);
+            attendanceRepository.save(row);
+        });
+        assertEquals(List.of(changed.getId()), dirtyEmployeeIds());
+
+        payrollService.recomputeDirty(MONTH, YEAR);
+        Map<Long, PayrollRecord> after = records();
+
+        assertEquals(0, payrollService.countDirty(MONTH, YEAR));
+        assertNotEquals(before.get(changed.getId()).getId(), after.get(changed.getId()).getId());
+        assertNotEquals(before.get(changed.getId()).getNetPay(), after.get(changed.getId()).getNetPay());
+        assertEquals(before.get(untouched.getId()).getId(), after.get(untouched.getId()).getId());
+        assertEquals(before.get(untouched.getId()).getNetPay(), after.get(untouched.getId()).getNetPay());
+    }
+
+    @Test
+    void markWrittenAfterLoadSurvivesWriteMonth() {
+        // Seed er hajira duijon kei mark koreche - ei mark gula load er age commit hoyeche
+        assertEquals(2, payrollService.countDirty(MONTH, YEAR));
+
+        tx.executeWithoutResult(status -> {
+            PayrollBatchInput input = inputLoader.load(MONTH, YEAR);
+
+            // Load er por asha change er mark (marked_at = clock_timestamp > load) - thakbe
+            markRepository.upsert(changed.getId(), MONTH, YEAR, "ATTENDANCE");
+
+            payrollService.writeMonth(input, payrollCalculator.calculateAll(input), System.currentTimeMillis());
+        });
+
+        assertEquals(List.of(changed.getId()), dirtyEmployeeIds());
+    }
+
+    // --- Helpers ---
+
+    private Map<Long, PayrollRecord> records() {
+        return payrollRepository.findByMonthAndYear(MONTH, YEAR).stream()
+                .collect(Collectors.toMap(PayrollRecord::getEmployeeId, record -> record));
+    }
+
+    private List<Long> dirtyEmployeeIds() {
+        return tx.execute(status -> markRepository.findByMonthAndYear(MONTH, YEAR).stream()
+                .map(PayrollDirtyMark::getEmployeeId)
+                .toList());
+    }
+
+    private static Employee employee(String name, String phone) {
+        Employee emp = new Employee();
+        emp.setName(name);
+        emp.setDesignation("Software Engineer");
+        emp.setDepartment("Dirty");
+        emp.setPhoneNumber(phone);
+        emp.setEmail(phone + "@dirty.test");
+        emp.setJoiningDate(LocalDate.of(2020, 1, 1));
+        emp.setBasicSalary(30000.0);
+        emp.setOvertimeRatePerHour(0.0);
+        emp.setDeductions(0.0);
+        return emp;
+    }
+
+    private static Attendance attendance(Employee emp, LocalDate date) {
+        Attendance att = new Attendance();
+        att.setEmployeeId(emp.getId());
+        att.setDate(date);
+        att.setPresent(true);
+        att.setOvertimeHours(0.5);
+        att.setStatus("CHECKED_OUT");
+        return att;
+    }
+}
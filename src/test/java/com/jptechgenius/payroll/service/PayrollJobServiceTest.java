@@ -0,0 +1,210 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.engine.PayrollRunSummary;
+import com.jptechgenius.payroll.model.PayrollJob;
+import com.jptechgenius.payroll.repository.PayrollJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * [Payroll Job Service]
+ * Single-flight submit (cholonto job e join), claim er conditional UPDATE (ek job ek node),
+ * crash er por checkpoint theke resume, ar retry: FAILED job shudhu 'Retry' (same mode) e abar chole.
+ * * Asol hisab er dorkar nai - PayrollService mock, shudhu kon checkpoint diye call holo ta dekhi.
+ * Job background thread e nijer transaction e chole, tai test @Transactional na; job row
+ * @AfterEach e muche fela hoy. Resume sweep er interval onek boro, jate test er job e hat na dey.
+ */
+@SpringBootTest(properties = {
+        "app.payroll.cluster.node-id=job-test-node",
+        "app.payroll.jobs.resume-millis=3600000"
+})
+class PayrollJobServiceTest {
+
+    // Onek dure er mash, jate asol data r sathe na mile
+    private static final int MONTH = 9;
+    private static final int YEAR = 2031;
+    private static final String NODE = "job-test-node";
+
+    @Autowired
+    private PayrollJobService jobService;
+    @Autowired
+    private PayrollJobRepository jobRepository;
+    @MockitoBean
+    private PayrollService payrollService;
+
+    // Mock run ei latch khola porjonto RUNNING e atke thake
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void stubEngine() {
+        when(payrollService.generateMonthlyPayrollChunked(anyInt(), anyInt(), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return PayrollRunSummary.of(MONTH, YEAR, List.of(), 0);
+                });
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        release.countDown();
+        for (PayrollJob job : monthJobs()) {
+            awaitFinished(job.getId());
+        }
+        jobRepository.deleteAll(monthJobs());
+    }
+
+    @Test
+    void submitJoinsTheRunningJobOfTheMonth() throws InterruptedException {
+        PayrollJob first = jobService.submit(MONTH, YEAR, "parallel");
+        PayrollJob second = jobService.submit(MONTH, YEAR, "sequential");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, monthJobs().size());
+
+        release.countDown();
+        assertEquals("COMPLETED", awaitFinished(first.getId()).getStatus());
+        verify(payrollService, timeout(5000)).generateMonthlyPayrollChunked(eq(MONTH), eq(YEAR), isNull(), eq(true), any());
+
+        // Shesh hoye gele porer submit notun job
+        PayrollJob rerun = jobService.submit(MONTH, YEAR, "parallel");
+        assertNotEquals(first.getId(), rerun.getId());
+    }
+
+    @Test
+    void claimRunsAJobOnOneNodeOnly() {
+        UUID id = jobRepository.save(job("QUEUED", "sequential", null)).getId();
+
+        assertEquals(1, jobRepository.claim(id, "node-a", 120, false));
+        // Heartbeat taja - onno node pay na, same node o abar pay na
+        assertEquals(0, jobRepository.claim(id, "node-b", 120, false));
+        assertEquals(0, jobRepository.claim(id, "node-a", 120, false));
+        // Heartbeat stale (staleSeconds = 0) - onno node niye ney
+        assertEquals(1, jobRepository.claim(id, "node-b", 0, false));
+        assertEquals("node-b", jobRepository.findById(id).orElseThrow().getOwnerNode());
+
+        PayrollJob failed = jobRepository.findById(id).orElseThrow();
+        failed.setStatus("FAILED");
+        jobRepository.save(failed);
+        assertEquals(0, jobRepository.claim(id, "node-a", 120, false));
+        assertEquals(1, jobRepository.claim(id, "node-a", 120, true));
+
+        PayrollJob completed = jobRepository.findById(id).orElseThrow();
+        completed.setStatus("COMPLETED");
+        jobRepository.save(completed);
+        assertEquals(0, jobRepository.claim(id, "node-b", 0, true));
+    }
+
+    @Test
+    void staleRunningJobResumesFromItsCheckpoint() throws InterruptedException {
+        PayrollJob crashed = job("RUNNING", "sequential", 42L);
+        crashed.setOwnerNode("dead-node");
+        crashed.setHeartbeatAt(LocalDateTime.now().minusHours(1));
+        UUID id = jobRepository.save(crashed).getId();
+
+        jobService.resumeInterruptedJobs();
+        release.countDown();
+
+        verify(payrollService, timeout(5000)).generateMonthlyPayrollChunked(eq(MONTH), eq(YEAR), eq(42L), eq(false), any());
+        PayrollJob done = awaitFinished(id);
+        assertEquals("COMPLETED", done.getStatus());
+        assertEquals(NODE, done.getOwnerNode());
+    }
+
+    @Test
+    void retryResumesTheLatestFailedJobOfTheSameMode() throws InterruptedException {
+        UUID failed = jobRepository.save(job("FAILED", "parallel", 77L)).getId();
+
+        PayrollJob retried = jobService.submit(MONTH, YEAR, "parallel", true);
+        release.countDown();
+
+        assertEquals(failed, retried.getId());
+        verify(payrollService, timeout(5000)).generateMonthlyPayrollChunked(eq(MONTH), eq(YEAR), eq(77L), eq(true), any());
+        assertEquals("COMPLETED", awaitFinished(failed).getStatus());
+    }
+
+    @Test
+    void plainSubmitDoesNotResumeAFailedJob() throws InterruptedException {
+        UUID failed = jobRepository.save(job("FAILED", "parallel", 77L)).getId();
+
+        PayrollJob fresh = jobService.submit(MONTH, YEAR, "parallel");
+        release.countDown();
+
+        assertNotEquals(failed, fresh.getId());
+        verify(payrollService, timeout(5000)).generateMonthlyPayrollChunked(eq(MONTH), eq(YEAR), isNull(), eq(true), any());
+        awaitFinished(fresh.getId());
+        assertFailedJobUntouched(failed);
+    }
+
+    @Test
+    void retryInAnotherModeStartsANewJob() throws InterruptedException {
+        UUID failed = jobRepository.save(job("FAILED", "parallel", 77L)).getId();
+
+        PayrollJob fresh = jobService.submit(MONTH, YEAR, "sequential", true);
+        release.countDown();
+
+        assertNotEquals(failed, fresh.getId());
+        assertEquals("sequential", fresh.getMode());
+        verify(payrollService, timeout(5000)).generateMonthlyPayrollChunked(eq(MONTH), eq(YEAR), isNull(), eq(false), any());
+        awaitFinished(fresh.getId());
+        assertFailedJobUntouched(failed);
+    }
+
+    // --- Helpers ---
+
+    private List<PayrollJob> monthJobs() {
+        return jobRepository.findAll().stream()
+                .filter(job -> job.getMonth() == MONTH && job.getYear() == YEAR)
+                .toList();
+    }
+
+    private void assertFailedJobUntouched(UUID id) {
+        PayrollJob job = jobRepository.findById(id).orElseThrow();
+        assertEquals("FAILED", job.getStatus());
+        assertEquals(77L, job.getLastCommittedEmployeeId());
+    }
+
+    // Ei node e cholonto background run shesh (COMPLETED/FAILED) howa porjonto opekkha
+    private PayrollJob awaitFinished(UUID id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        PayrollJob job = jobRepository.findById(id).orElseThrow();
+        while ("RUNNING".equals(job.getStatus()) && NODE.equals(job.getOwnerNode())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = jobRepository.findById(id).orElseThrow();
+        }
+        return job;
+    }
+
+    private static PayrollJob job(String status, String mode, Long checkpoint) {
+        PayrollJob job = new PayrollJob();
+        job.setMonth(MONTH);
+        job.setYear(YEAR);
+        job.setMode(mode);
+        job.setStatus(status);
+        job.setLastCommittedEmployeeId(checkpoint);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        return job;
+    }
+}
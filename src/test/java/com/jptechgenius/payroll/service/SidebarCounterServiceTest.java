@@ -0,0 +1,126 @@
+package com.jptechgenius.payroll.service;
+
+import com.jptechgenius.payroll.event.AttendanceChangedEvent;
+import com.jptechgenius.payroll.event.CountersStaleEvent;
+import com.jptechgenius.payroll.event.PenaltyChangedEvent;
+import com.jptechgenius.payroll.repository.AttendanceRepository;
+import com.jptechgenius.payroll.repository.ChargeSheetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * [Sidebar Counter Service]
+ * Event er age/porer status theke badge er +1/-1 thik hoy kina, ar reconcile database er COUNT
+ * diye vul (miss howa event) thik kore kina. Repository mock - Spring context ba database lage na.
+ */
+class SidebarCounterServiceTest {
+
+    private final ChargeSheetRepository chargeSheetRepository = mock(ChargeSheetRepository.class);
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final SidebarCounterService counters = new SidebarCounterService(chargeSheetRepository, attendanceRepository);
+
+    private LocalDate today;
+
+    @BeforeEach
+    void loadCounts() {
+        today = LocalDate.now();
+        databaseCounts(5, 2, 10);
+        counters.reconcile();
+    }
+
+    @Test
+    void penaltyEventsMoveThePendingCount() {
+        counters.onPenaltyChanged(PenaltyChangedEvent.issued(1L, "PENDING"));
+        assertEquals(6, counters.pendingPenalties());
+
+        counters.onPenaltyChanged(PenaltyChangedEvent.deducted(3));
+        assertEquals(3, counters.pendingPenalties());
+
+        counters.onPenaltyChanged(PenaltyChangedEvent.deleted(1L, "PENDING"));
+        assertEquals(2, counters.pendingPenalties());
+
+        // PENDING chilo na, ekhono na - kichu bodlay na
+        counters.onPenaltyChanged(PenaltyChangedEvent.deleted(1L, "DEDUCTED"));
+        counters.onPenaltyChanged(PenaltyChangedEvent.deducted(0));
+        assertEquals(2, counters.pendingPenalties());
+    }
+
+    @Test
+    void attendanceEventsMoveDisputesAndPresentToday() {
+        // Notun check-in
+        counters.onAttendanceChanged(new AttendanceChangedEvent(1L, today, false, null, true, "CHECKED_IN"));
+        assertEquals(11, counters.presentToday());
+
+        // ABSENT er upor dispute
+        counters.onAttendanceChanged(new AttendanceChangedEvent(2L, today, false, "ABSENT", false, "DISPUTE_OPEN"));
+        assertEquals(3, counters.openDisputes());
+        assertEquals(11, counters.presentToday());
+
+        // Dispute accept - present hoye gelo
+        counters.onAttendanceChanged(new AttendanceChangedEvent(2L, today, false, "DISPUTE_OPEN", true, "PRESENT"));
+        assertEquals(2, counters.openDisputes());
+        assertEquals(12, counters.presentToday());
+
+        // Ager diner row: dispute gone hoy, kintu ajker present e na
+        counters.onAttendanceChanged(new AttendanceChangedEvent(3L, today.minusDays(1), true, "PRESENT", false, "DISPUTE_OPEN"));
+        assertEquals(3, counters.openDisputes());
+        assertEquals(12, counters.presentToday());
+    }
+
+    @Test
+    void countersNeverShowBelowZero() {
+        databaseCounts(0, 0, 0);
+        counters.reconcile();
+
+        counters.onPenaltyChanged(PenaltyChangedEvent.deleted(1L, "PENDING"));
+        counters.onAttendanceChanged(new AttendanceChangedEvent(1L, today, true, "DISPUTE_OPEN", false, "ABSENT"));
+
+        assertEquals(0, counters.pendingPenalties());
+        assertEquals(0, counters.openDisputes());
+        assertEquals(0, counters.presentToday());
+    }
+
+    @Test
+    void reconcileReplacesDriftWithDatabaseCounts() {
+        counters.onPenaltyChanged(PenaltyChangedEvent.issued(1L, "PENDING"));
+        // Onno node e bodol (event ei node e ase na)
+        databaseCounts(9, 4, 7);
+
+        counters.onCountersStale(new CountersStaleEvent("test"));
+
+        assertEquals(9, counters.pendingPenalties());
+        assertEquals(4, counters.openDisputes());
+        assertEquals(7, counters.presentToday());
+    }
+
+    @Test
+    void readsDoNotQueryOnceLoaded() {
+        SidebarCounterService fresh = new SidebarCounterService(chargeSheetRepository, attendanceRepository);
+
+        fresh.pendingPenalties();
+        fresh.openDisputes();
+        fresh.presentToday();
+        fresh.pendingPenalties();
+
+        // BeforeEach er reconcile ekbar, fresh er prothom read ekbar - tarpor ar na
+        verify(chargeSheetRepository, times(2)).countByStatus("PENDING");
+        verify(attendanceRepository, times(2)).countByDateAndIsPresentTrue(any());
+    }
+
+    // --- Helpers ---
+
+    private void databaseCounts(long pending, long disputes, long present) {
+        when(chargeSheetRepository.countByStatus("PENDING")).thenReturn(pending);
+        when(attendanceRepository.countByStatus("DISPUTE_OPEN")).thenReturn(disputes);
+        when(attendanceRepository.countByDateAndIsPresentTrue(today)).thenReturn(present);
+    }
+}
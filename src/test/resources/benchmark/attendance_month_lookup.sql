@@ -0,0 +1,82 @@
+-- =====================================================================
+-- [Benchmark: Month Lookup - MONTH()/YEAR() vs Half-Open Range]
+-- Employee portal ar payroll e "ek employee er ek masher hajira" query.
+--
+-- Chalano (test/staging database e, production e na):
+--   psql -d payroll_db -f src/test/resources/benchmark/attendance_month_lookup.sql
+--
+-- 'bench' schema te 10M row er attendance copy banay (20,000 employee x 500 din),
+-- V4 migration er moto (employee_id, date) UNIQUE index diye, tarpor duita query er
+-- EXPLAIN (ANALYZE, BUFFERS) dekhay. Shesh e schema muche fele.
+--
+-- Ki dekhben:
+--   Ager query  -> "Parallel Seq Scan on attendance" (ba Index Scan kintu puro employee er
+--                  500 row filter kore), "Rows Removed by Filter" onek, buffers hajar hajar.
+--   Notun query -> "Index Scan using bench_attendance_employee_date" with
+--                  Index Cond: employee_id = .. AND date >= .. AND date < ..; ~30 row, buffers hate gona.
+-- =====================================================================
+
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+
+CREATE TABLE bench.attendance (
+    id             BIGINT           NOT NULL PRIMARY KEY,
+    employee_id    BIGINT           NOT NULL,
+    date           DATE             NOT NULL,
+    check_in_time  TIME(6),
+    check_out_time TIME(6),
+    work_hours     DOUBLE PRECISION,
+    status         VARCHAR(20),
+    is_present     BOOLEAN          NOT NULL,
+    overtime_hours DOUBLE PRECISION
+);
+
+INSERT INTO bench.attendance (id, employee_id, date, check_in_time, check_out_time, work_hours,
+                              status, is_present, overtime_hours)
+SELECT row_number() OVER (),
+       e,
+       DATE '2024-01-01' + d,
+       TIME '09:00',
+       TIME '18:00',
+       9.0,
+       'CHECKED_OUT',
+       (e + d) % 11 <> 0,
+       CASE WHEN (e + d) % 7 = 0 THEN 1.5 ELSE 0 END
+FROM generate_series(1, 20000) AS e,
+     generate_series(0, 499) AS d;
+
+CREATE UNIQUE INDEX bench_attendance_employee_date ON bench.attendance (employee_id, date);
+CREATE INDEX bench_attendance_date ON bench.attendance (date);
+VACUUM ANALYZE bench.attendance;
+
+-- 1. Ager query (AttendanceRepository.findByEmployeeIdAndMonth): column function er vitore
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench.attendance a
+WHERE a.employee_id = 12345
+  AND extract(month FROM a.date) = 3
+  AND extract(year FROM a.date) = 2025;
+
+-- 2. Notun query (findByEmployeeIdInPeriod + DatePeriod.ofMonth(3, 2025))
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench.attendance a
+WHERE a.employee_id = 12345
+  AND a.date >= DATE '2025-03-01' AND a.date < DATE '2025-04-01'
+ORDER BY a.date;
+
+-- 3. Puro company er masher summary (payroll loader): ager moto function dile
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.employee_id, COUNT(*) FILTER (WHERE a.is_present), COALESCE(SUM(a.overtime_hours), 0)
+FROM bench.attendance a
+WHERE extract(month FROM a.date) = 3 AND extract(year FROM a.date) = 2025
+GROUP BY a.employee_id;
+
+-- 4. Same summary, half-open range (summarizeByPeriod) - date index e shudhu oi masher ~600k row
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.employee_id, COUNT(*) FILTER (WHERE a.is_present), COALESCE(SUM(a.overtime_hours), 0)
+FROM bench.attendance a
+WHERE a.date >= DATE '2025-03-01' AND a.date < DATE '2025-04-01'
+GROUP BY a.employee_id;
+
+DROP SCHEMA bench CASCADE;